@@ -0,0 +1,77 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+import java.util.*;
+
+/**
+ * The response containing the results of a batch entity retrieval.  The
+ * results are in the same order as the requested entity identifiers.
+ *
+ */
+public class SzBatchEntitiesResponse extends SzBasicResponse
+{
+  /**
+   * The {@link List} of {@link SzBatchEntityResult} instances.
+   */
+  private List<SzBatchEntityResult> results;
+
+  /**
+   * Package-private default constructor.
+   */
+  SzBatchEntitiesResponse() {
+    this.results = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * results to be added later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   *
+   * @param httpStatusCode The HTTP response status code.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzBatchEntitiesResponse(SzHttpMethod httpMethod,
+                                 int          httpStatusCode,
+                                 UriInfo      uriInfo,
+                                 Timers       timers)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.results = new LinkedList<>();
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link
+   * SzBatchEntityResult} instances in the order the entities were requested.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link
+   *         SzBatchEntityResult} instances.
+   */
+  public List<SzBatchEntityResult> getData() {
+    return Collections.unmodifiableList(this.results);
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzBatchEntityResult} instances.
+   *
+   * @param results The {@link List} of {@link SzBatchEntityResult} instances.
+   */
+  public void setData(List<SzBatchEntityResult> results) {
+    this.results = (results == null)
+        ? new LinkedList<>() : new ArrayList<>(results);
+  }
+
+  /**
+   * Adds the specified {@link SzBatchEntityResult} to the results.
+   *
+   * @param result The {@link SzBatchEntityResult} to add.
+   */
+  public void addResult(SzBatchEntityResult result) {
+    this.results.add(result);
+  }
+}
@@ -0,0 +1,202 @@
+package com.senzing.api.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the result of finding a single entity path as part of a batch
+ * entity path request.  Since batch results are returned in the order they
+ * complete, the result includes the index of the pair in the request along
+ * with the "from" and "to" entity identifiers as they were requested and
+ * either the {@link SzEntityPathData} or the errors that occurred.
+ */
+public class SzBatchEntityPathResult {
+  /**
+   * The zero-based index of the pair in the request.
+   */
+  private int index;
+
+  /**
+   * The "from" entity identifier as it was requested.
+   */
+  private String from;
+
+  /**
+   * The "to" entity identifier as it was requested.
+   */
+  private String to;
+
+  /**
+   * The HTTP status code describing the outcome for this item.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The {@link SzEntityPathData} describing the path, or <tt>null</tt> if
+   * the path could not be found.
+   */
+  private SzEntityPathData entityPath;
+
+  /**
+   * The {@link List} of {@link SzError} instances describing any failure.
+   */
+  private List<SzError> errors;
+
+  /**
+   * Default constructor.
+   */
+  public SzBatchEntityPathResult() {
+    this.index          = 0;
+    this.from           = null;
+    this.to             = null;
+    this.httpStatusCode = 0;
+    this.entityPath     = null;
+    this.errors         = null;
+  }
+
+  /**
+   * Constructs with the index of the pair and the "from" and "to" entity
+   * identifiers as they were requested.
+   *
+   * @param index The zero-based index of the pair in the request.
+   *
+   * @param from The "from" entity identifier as it was requested.
+   *
+   * @param to The "to" entity identifier as it was requested.
+   */
+  public SzBatchEntityPathResult(int index, String from, String to) {
+    this();
+    this.index  = index;
+    this.from   = from;
+    this.to     = to;
+  }
+
+  /**
+   * Returns the zero-based index of the pair in the request.
+   *
+   * @return The zero-based index of the pair in the request.
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  /**
+   * Sets the zero-based index of the pair in the request.
+   *
+   * @param index The zero-based index of the pair in the request.
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  /**
+   * Returns the "from" entity identifier as it was requested.
+   *
+   * @return The "from" entity identifier as it was requested.
+   */
+  public String getFrom() {
+    return this.from;
+  }
+
+  /**
+   * Sets the "from" entity identifier as it was requested.
+   *
+   * @param from The "from" entity identifier as it was requested.
+   */
+  public void setFrom(String from) {
+    this.from = from;
+  }
+
+  /**
+   * Returns the "to" entity identifier as it was requested.
+   *
+   * @return The "to" entity identifier as it was requested.
+   */
+  public String getTo() {
+    return this.to;
+  }
+
+  /**
+   * Sets the "to" entity identifier as it was requested.
+   *
+   * @param to The "to" entity identifier as it was requested.
+   */
+  public void setTo(String to) {
+    this.to = to;
+  }
+
+  /**
+   * Returns the HTTP status code describing the outcome for this item.
+   *
+   * @return The HTTP status code describing the outcome for this item.
+   */
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  /**
+   * Sets the HTTP status code describing the outcome for this item.
+   *
+   * @param httpStatusCode The HTTP status code describing the outcome for
+   *                       this item.
+   */
+  public void setHttpStatusCode(int httpStatusCode) {
+    this.httpStatusCode = httpStatusCode;
+  }
+
+  /**
+   * Returns the {@link SzEntityPathData} describing the path, or
+   * <tt>null</tt> if the path could not be found.
+   *
+   * @return The {@link SzEntityPathData} describing the path, or
+   *         <tt>null</tt> if the path could not be found.
+   */
+  public SzEntityPathData getEntityPath() {
+    return this.entityPath;
+  }
+
+  /**
+   * Sets the {@link SzEntityPathData} describing the path.
+   *
+   * @param entityPath The {@link SzEntityPathData} describing the path.
+   */
+  public void setEntityPath(SzEntityPathData entityPath) {
+    this.entityPath = entityPath;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   * describing any failure, or <tt>null</tt> if no failure occurred.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   *         describing any failure, or <tt>null</tt> if no failure occurred.
+   */
+  public List<SzError> getErrors() {
+    return this.errors;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzError} instances describing any
+   * failure.
+   *
+   * @param errors The {@link List} of {@link SzError} instances describing
+   *               any failure.
+   */
+  public void setErrors(List<SzError> errors) {
+    this.errors = (errors == null || errors.size() == 0) ? null
+        : Collections.unmodifiableList(new ArrayList<>(errors));
+  }
+
+  @Override
+  public String toString() {
+    return "SzBatchEntityPathResult{" +
+        "index=" + index +
+        ", from='" + from + '\'' +
+        ", to='" + to + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", entityPath=" + entityPath +
+        ", errors=" + errors +
+        '}';
+  }
+}
@@ -0,0 +1,209 @@
+package com.senzing.api.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the result of retrieving a single entity as part of a batch
+ * entity retrieval.  The result identifies the entity as it was requested
+ * (either by entity ID or by data source code and record ID) and either
+ * contains the {@link SzEntityData} or the errors that occurred.
+ */
+public class SzBatchEntityResult {
+  /**
+   * The entity ID that was requested, or <tt>null</tt> if the entity was
+   * requested by record ID.
+   */
+  private Long entityId;
+
+  /**
+   * The data source code for the requested record ID, or <tt>null</tt> if
+   * the entity was requested by entity ID.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID that was requested, or <tt>null</tt> if the entity was
+   * requested by entity ID.
+   */
+  private String recordId;
+
+  /**
+   * The HTTP status code describing the outcome for this item.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The {@link SzEntityData} describing the entity, or <tt>null</tt> if the
+   * entity could not be retrieved.
+   */
+  private SzEntityData entity;
+
+  /**
+   * The {@link List} of {@link SzError} instances describing any failure.
+   */
+  private List<SzError> errors;
+
+  /**
+   * Default constructor.
+   */
+  public SzBatchEntityResult() {
+    this.entityId       = null;
+    this.dataSource     = null;
+    this.recordId       = null;
+    this.httpStatusCode = 0;
+    this.entity         = null;
+    this.errors         = null;
+  }
+
+  /**
+   * Constructs with the {@link SzEntityIdentifier} that was requested.
+   *
+   * @param identifier The {@link SzEntityIdentifier} that was requested.
+   */
+  public SzBatchEntityResult(SzEntityIdentifier identifier) {
+    this();
+    if (identifier instanceof SzEntityId) {
+      this.entityId = ((SzEntityId) identifier).getValue();
+    } else if (identifier instanceof SzRecordId) {
+      SzRecordId recordId = (SzRecordId) identifier;
+      this.dataSource = recordId.getDataSourceCode();
+      this.recordId   = recordId.getRecordId();
+    }
+  }
+
+  /**
+   * Returns the entity ID that was requested, or <tt>null</tt> if the entity
+   * was requested by record ID.
+   *
+   * @return The entity ID that was requested, or <tt>null</tt> if the entity
+   *         was requested by record ID.
+   */
+  public Long getEntityId() {
+    return this.entityId;
+  }
+
+  /**
+   * Sets the entity ID that was requested.
+   *
+   * @param entityId The entity ID that was requested.
+   */
+  public void setEntityId(Long entityId) {
+    this.entityId = entityId;
+  }
+
+  /**
+   * Returns the data source code for the requested record ID, or
+   * <tt>null</tt> if the entity was requested by entity ID.
+   *
+   * @return The data source code for the requested record ID, or
+   *         <tt>null</tt> if the entity was requested by entity ID.
+   */
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  /**
+   * Sets the data source code for the requested record ID.
+   *
+   * @param dataSource The data source code for the requested record ID.
+   */
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Returns the record ID that was requested, or <tt>null</tt> if the entity
+   * was requested by entity ID.
+   *
+   * @return The record ID that was requested, or <tt>null</tt> if the entity
+   *         was requested by entity ID.
+   */
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  /**
+   * Sets the record ID that was requested.
+   *
+   * @param recordId The record ID that was requested.
+   */
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  /**
+   * Returns the HTTP status code describing the outcome for this item.
+   *
+   * @return The HTTP status code describing the outcome for this item.
+   */
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  /**
+   * Sets the HTTP status code describing the outcome for this item.
+   *
+   * @param httpStatusCode The HTTP status code describing the outcome for
+   *                       this item.
+   */
+  public void setHttpStatusCode(int httpStatusCode) {
+    this.httpStatusCode = httpStatusCode;
+  }
+
+  /**
+   * Returns the {@link SzEntityData} describing the entity, or <tt>null</tt>
+   * if the entity could not be retrieved.
+   *
+   * @return The {@link SzEntityData} describing the entity, or <tt>null</tt>
+   *         if the entity could not be retrieved.
+   */
+  public SzEntityData getEntity() {
+    return this.entity;
+  }
+
+  /**
+   * Sets the {@link SzEntityData} describing the entity.
+   *
+   * @param entity The {@link SzEntityData} describing the entity.
+   */
+  public void setEntity(SzEntityData entity) {
+    this.entity = entity;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   * describing any failure, or <tt>null</tt> if no failure occurred.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   *         describing any failure, or <tt>null</tt> if no failure occurred.
+   */
+  public List<SzError> getErrors() {
+    return this.errors;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzError} instances describing any
+   * failure.
+   *
+   * @param errors The {@link List} of {@link SzError} instances describing
+   *               any failure.
+   */
+  public void setErrors(List<SzError> errors) {
+    this.errors = (errors == null || errors.size() == 0) ? null
+        : Collections.unmodifiableList(new ArrayList<>(errors));
+  }
+
+  @Override
+  public String toString() {
+    return "SzBatchEntityResult{" +
+        "entityId=" + entityId +
+        ", dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", entity=" + entity +
+        ", errors=" + errors +
+        '}';
+  }
+}
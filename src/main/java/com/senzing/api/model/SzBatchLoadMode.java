@@ -0,0 +1,25 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the modes for handling records that cannot be loaded as part of
+ * a batch record load.
+ *
+ */
+public enum SzBatchLoadMode {
+  /**
+   * Load every record that is valid and report the errors for those that are
+   * invalid or fail to load.
+   */
+  REPORT_ERRORS,
+
+  /**
+   * Validate all the records before loading any of them.  If any record is
+   * invalid then none are loaded and the errors are reported.  This is
+   * <b>not</b> transactional: the validation only checks what can be checked
+   * without the engine (such as the data source being recognized), so records
+   * that pass validation may still fail in the engine.  In that case the
+   * other records of the batch remain loaded and only the failures are
+   * reported, so a partial load is possible.
+   */
+  VALIDATE_FIRST;
+}
@@ -0,0 +1,77 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+import java.util.*;
+
+/**
+ * The response containing the results of a batch record load.  The results
+ * are in the same order as the records in the request.
+ *
+ */
+public class SzBatchLoadResponse extends SzBasicResponse
+{
+  /**
+   * The {@link List} of {@link SzBatchLoadResult} instances.
+   */
+  private List<SzBatchLoadResult> results;
+
+  /**
+   * Package-private default constructor.
+   */
+  SzBatchLoadResponse() {
+    this.results = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * results to be added later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   *
+   * @param httpStatusCode The HTTP response status code.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzBatchLoadResponse(SzHttpMethod httpMethod,
+                                 int          httpStatusCode,
+                                 UriInfo      uriInfo,
+                                 Timers       timers)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.results = new LinkedList<>();
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link
+   * SzBatchLoadResult} instances in the order the records were provided.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link
+   *         SzBatchLoadResult} instances.
+   */
+  public List<SzBatchLoadResult> getData() {
+    return Collections.unmodifiableList(this.results);
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzBatchLoadResult} instances.
+   *
+   * @param results The {@link List} of {@link SzBatchLoadResult} instances.
+   */
+  public void setData(List<SzBatchLoadResult> results) {
+    this.results = (results == null)
+        ? new LinkedList<>() : new ArrayList<>(results);
+  }
+
+  /**
+   * Adds the specified {@link SzBatchLoadResult} to the results.
+   *
+   * @param result The {@link SzBatchLoadResult} to add.
+   */
+  public void addResult(SzBatchLoadResult result) {
+    this.results.add(result);
+  }
+}
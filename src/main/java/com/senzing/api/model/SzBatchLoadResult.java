@@ -0,0 +1,145 @@
+package com.senzing.api.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the result of loading a single record as part of a batch record
+ * load.  The result identifies the record by its data source code and record
+ * ID (including any record ID that was generated during loading) along with
+ * the errors that occurred, if any.
+ */
+public class SzBatchLoadResult {
+  /**
+   * The data source code for the record.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID for the record.
+   */
+  private String recordId;
+
+  /**
+   * The HTTP status code describing the outcome for this item.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The {@link List} of {@link SzError} instances describing any failure.
+   */
+  private List<SzError> errors;
+
+  /**
+   * Default constructor.
+   */
+  public SzBatchLoadResult() {
+    this.dataSource     = null;
+    this.recordId       = null;
+    this.httpStatusCode = 0;
+    this.errors         = null;
+  }
+
+  /**
+   * Constructs with the data source code and record ID.
+   *
+   * @param dataSource The data source code for the record.
+   *
+   * @param recordId The record ID for the record, or <tt>null</tt> if not
+   *                 yet known.
+   */
+  public SzBatchLoadResult(String dataSource, String recordId) {
+    this();
+    this.dataSource = dataSource;
+    this.recordId   = recordId;
+  }
+
+  /**
+   * Returns the data source code for the record.
+   *
+   * @return The data source code for the record.
+   */
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  /**
+   * Sets the data source code for the record.
+   *
+   * @param dataSource The data source code for the record.
+   */
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Returns the record ID for the record.
+   *
+   * @return The record ID for the record.
+   */
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  /**
+   * Sets the record ID for the record.
+   *
+   * @param recordId The record ID for the record.
+   */
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  /**
+   * Returns the HTTP status code describing the outcome for this item.
+   *
+   * @return The HTTP status code describing the outcome for this item.
+   */
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  /**
+   * Sets the HTTP status code describing the outcome for this item.
+   *
+   * @param httpStatusCode The HTTP status code describing the outcome for
+   *                       this item.
+   */
+  public void setHttpStatusCode(int httpStatusCode) {
+    this.httpStatusCode = httpStatusCode;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   * describing any failure, or <tt>null</tt> if no failure occurred.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   *         describing any failure, or <tt>null</tt> if no failure occurred.
+   */
+  public List<SzError> getErrors() {
+    return this.errors;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzError} instances describing any
+   * failure.
+   *
+   * @param errors The {@link List} of {@link SzError} instances describing
+   *               any failure.
+   */
+  public void setErrors(List<SzError> errors) {
+    this.errors = (errors == null || errors.size() == 0) ? null
+        : Collections.unmodifiableList(new ArrayList<>(errors));
+  }
+
+  @Override
+  public String toString() {
+    return "SzBatchLoadResult{" +
+        "dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", errors=" + errors +
+        '}';
+  }
+}
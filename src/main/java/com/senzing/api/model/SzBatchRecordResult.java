@@ -0,0 +1,169 @@
+package com.senzing.api.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the result of retrieving a single record as part of a batch
+ * record retrieval.  The result identifies the record as it was requested
+ * and either contains the {@link SzEntityRecord} or the errors that occurred.
+ */
+public class SzBatchRecordResult {
+  /**
+   * The data source code for the requested record.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID for the requested record.
+   */
+  private String recordId;
+
+  /**
+   * The HTTP status code describing the outcome for this item.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The {@link SzEntityRecord} describing the record, or <tt>null</tt> if
+   * the record could not be retrieved.
+   */
+  private SzEntityRecord record;
+
+  /**
+   * The {@link List} of {@link SzError} instances describing any failure.
+   */
+  private List<SzError> errors;
+
+  /**
+   * Default constructor.
+   */
+  public SzBatchRecordResult() {
+    this.dataSource     = null;
+    this.recordId       = null;
+    this.httpStatusCode = 0;
+    this.record         = null;
+    this.errors         = null;
+  }
+
+  /**
+   * Constructs with the {@link SzRecordId} that was requested.
+   *
+   * @param recordId The {@link SzRecordId} that was requested.
+   */
+  public SzBatchRecordResult(SzRecordId recordId) {
+    this();
+    this.dataSource = recordId.getDataSourceCode();
+    this.recordId   = recordId.getRecordId();
+  }
+
+  /**
+   * Returns the data source code for the requested record.
+   *
+   * @return The data source code for the requested record.
+   */
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  /**
+   * Sets the data source code for the requested record.
+   *
+   * @param dataSource The data source code for the requested record.
+   */
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Returns the record ID for the requested record.
+   *
+   * @return The record ID for the requested record.
+   */
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  /**
+   * Sets the record ID for the requested record.
+   *
+   * @param recordId The record ID for the requested record.
+   */
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  /**
+   * Returns the HTTP status code describing the outcome for this item.
+   *
+   * @return The HTTP status code describing the outcome for this item.
+   */
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  /**
+   * Sets the HTTP status code describing the outcome for this item.
+   *
+   * @param httpStatusCode The HTTP status code describing the outcome for
+   *                       this item.
+   */
+  public void setHttpStatusCode(int httpStatusCode) {
+    this.httpStatusCode = httpStatusCode;
+  }
+
+  /**
+   * Returns the {@link SzEntityRecord} describing the record, or
+   * <tt>null</tt> if the record could not be retrieved.
+   *
+   * @return The {@link SzEntityRecord} describing the record, or
+   *         <tt>null</tt> if the record could not be retrieved.
+   */
+  public SzEntityRecord getRecord() {
+    return this.record;
+  }
+
+  /**
+   * Sets the {@link SzEntityRecord} describing the record.
+   *
+   * @param record The {@link SzEntityRecord} describing the record.
+   */
+  public void setRecord(SzEntityRecord record) {
+    this.record = record;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   * describing any failure, or <tt>null</tt> if no failure occurred.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   *         describing any failure, or <tt>null</tt> if no failure occurred.
+   */
+  public List<SzError> getErrors() {
+    return this.errors;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzError} instances describing any
+   * failure.
+   *
+   * @param errors The {@link List} of {@link SzError} instances describing
+   *               any failure.
+   */
+  public void setErrors(List<SzError> errors) {
+    this.errors = (errors == null || errors.size() == 0) ? null
+        : Collections.unmodifiableList(new ArrayList<>(errors));
+  }
+
+  @Override
+  public String toString() {
+    return "SzBatchRecordResult{" +
+        "dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", record=" + record +
+        ", errors=" + errors +
+        '}';
+  }
+}
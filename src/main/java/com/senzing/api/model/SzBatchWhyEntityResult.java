@@ -0,0 +1,270 @@
+package com.senzing.api.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the result of evaluating a single entity as part of a batch
+ * "why entity" evaluation.  Since batch results are returned in the order
+ * they complete, the result includes the index of the entity in the request
+ * along with how it was identified and either the {@link SzWhyEntityResult}
+ * instances and associated entities or the errors that occurred.
+ */
+public class SzBatchWhyEntityResult {
+  /**
+   * The zero-based index of the entity in the request.
+   */
+  private int index;
+
+  /**
+   * The entity ID that was requested, or <tt>null</tt> if the entity was
+   * requested by record ID.
+   */
+  private Long entityId;
+
+  /**
+   * The data source code for the requested record ID, or <tt>null</tt> if
+   * the entity was requested by entity ID.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID that was requested, or <tt>null</tt> if the entity was
+   * requested by entity ID.
+   */
+  private String recordId;
+
+  /**
+   * The HTTP status code describing the outcome for this item.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The {@link List} of {@link SzWhyEntityResult} instances for the entity.
+   */
+  private List<SzWhyEntityResult> whyResults;
+
+  /**
+   * The {@link List} of {@link SzEntityData} for the entities involved.
+   */
+  private List<SzEntityData> entities;
+
+  /**
+   * The {@link List} of {@link SzError} instances describing any failure.
+   */
+  private List<SzError> errors;
+
+  /**
+   * Default constructor.
+   */
+  public SzBatchWhyEntityResult() {
+    this.index          = 0;
+    this.entityId       = null;
+    this.dataSource     = null;
+    this.recordId       = null;
+    this.httpStatusCode = 0;
+    this.whyResults     = null;
+    this.entities       = null;
+    this.errors         = null;
+  }
+
+  /**
+   * Constructs with the index of the entity and the {@link
+   * SzEntityIdentifier} that was requested.
+   *
+   * @param index The zero-based index of the entity in the request.
+   *
+   * @param identifier The {@link SzEntityIdentifier} that was requested.
+   */
+  public SzBatchWhyEntityResult(int index, SzEntityIdentifier identifier) {
+    this();
+    this.index = index;
+    if (identifier instanceof SzEntityId) {
+      this.entityId = ((SzEntityId) identifier).getValue();
+    } else if (identifier instanceof SzRecordId) {
+      SzRecordId recordId = (SzRecordId) identifier;
+      this.dataSource = recordId.getDataSourceCode();
+      this.recordId   = recordId.getRecordId();
+    }
+  }
+
+  /**
+   * Returns the zero-based index of the entity in the request.
+   *
+   * @return The zero-based index of the entity in the request.
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  /**
+   * Sets the zero-based index of the entity in the request.
+   *
+   * @param index The zero-based index of the entity in the request.
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  /**
+   * Returns the entity ID that was requested, or <tt>null</tt> if the entity
+   * was requested by record ID.
+   *
+   * @return The entity ID that was requested, or <tt>null</tt> if the entity
+   *         was requested by record ID.
+   */
+  public Long getEntityId() {
+    return this.entityId;
+  }
+
+  /**
+   * Sets the entity ID that was requested.
+   *
+   * @param entityId The entity ID that was requested.
+   */
+  public void setEntityId(Long entityId) {
+    this.entityId = entityId;
+  }
+
+  /**
+   * Returns the data source code for the requested record ID, or
+   * <tt>null</tt> if the entity was requested by entity ID.
+   *
+   * @return The data source code for the requested record ID, or
+   *         <tt>null</tt> if the entity was requested by entity ID.
+   */
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  /**
+   * Sets the data source code for the requested record ID.
+   *
+   * @param dataSource The data source code for the requested record ID.
+   */
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Returns the record ID that was requested, or <tt>null</tt> if the entity
+   * was requested by entity ID.
+   *
+   * @return The record ID that was requested, or <tt>null</tt> if the entity
+   *         was requested by entity ID.
+   */
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  /**
+   * Sets the record ID that was requested.
+   *
+   * @param recordId The record ID that was requested.
+   */
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  /**
+   * Returns the HTTP status code describing the outcome for this item.
+   *
+   * @return The HTTP status code describing the outcome for this item.
+   */
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  /**
+   * Sets the HTTP status code describing the outcome for this item.
+   *
+   * @param httpStatusCode The HTTP status code describing the outcome for
+   *                       this item.
+   */
+  public void setHttpStatusCode(int httpStatusCode) {
+    this.httpStatusCode = httpStatusCode;
+  }
+
+  /**
+   * Returns the {@link List} of {@link SzWhyEntityResult} instances for the
+   * entity, or <tt>null</tt> if the entity could not be evaluated.
+   *
+   * @return The {@link List} of {@link SzWhyEntityResult} instances for the
+   *         entity, or <tt>null</tt> if the entity could not be evaluated.
+   */
+  public List<SzWhyEntityResult> getWhyResults() {
+    return this.whyResults;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzWhyEntityResult} instances for the
+   * entity.
+   *
+   * @param whyResults The {@link List} of {@link SzWhyEntityResult}
+   *                   instances for the entity.
+   */
+  public void setWhyResults(List<SzWhyEntityResult> whyResults) {
+    this.whyResults = (whyResults == null) ? null
+        : Collections.unmodifiableList(new ArrayList<>(whyResults));
+  }
+
+  /**
+   * Returns the {@link List} of {@link SzEntityData} for the entities
+   * involved, or <tt>null</tt> if the entity could not be evaluated.
+   *
+   * @return The {@link List} of {@link SzEntityData} for the entities
+   *         involved, or <tt>null</tt> if the entity could not be evaluated.
+   */
+  public List<SzEntityData> getEntities() {
+    return this.entities;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzEntityData} for the entities involved.
+   *
+   * @param entities The {@link List} of {@link SzEntityData} for the
+   *                 entities involved.
+   */
+  public void setEntities(List<SzEntityData> entities) {
+    this.entities = (entities == null) ? null
+        : Collections.unmodifiableList(new ArrayList<>(entities));
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   * describing any failure, or <tt>null</tt> if no failure occurred.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   *         describing any failure, or <tt>null</tt> if no failure occurred.
+   */
+  public List<SzError> getErrors() {
+    return this.errors;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzError} instances describing any
+   * failure.
+   *
+   * @param errors The {@link List} of {@link SzError} instances describing
+   *               any failure.
+   */
+  public void setErrors(List<SzError> errors) {
+    this.errors = (errors == null || errors.size() == 0) ? null
+        : Collections.unmodifiableList(new ArrayList<>(errors));
+  }
+
+  @Override
+  public String toString() {
+    return "SzBatchWhyEntityResult{" +
+        "index=" + index +
+        ", entityId=" + entityId +
+        ", dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", whyResults=" + whyResults +
+        ", entities=" + entities +
+        ", errors=" + errors +
+        '}';
+  }
+}
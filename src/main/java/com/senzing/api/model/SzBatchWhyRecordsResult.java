@@ -0,0 +1,286 @@
+package com.senzing.api.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the result of evaluating a single pair of records as part of a
+ * batch "why records" evaluation.  Since batch results are returned in the
+ * order they complete, the result includes the index of the pair in the
+ * request along with the pair itself and either the {@link
+ * SzWhyRecordsResult} and associated entities or the errors that occurred.
+ */
+public class SzBatchWhyRecordsResult {
+  /**
+   * The zero-based index of the pair in the request.
+   */
+  private int index;
+
+  /**
+   * The data source code for the first record.
+   */
+  private String dataSource1;
+
+  /**
+   * The record ID for the first record.
+   */
+  private String recordId1;
+
+  /**
+   * The data source code for the second record.
+   */
+  private String dataSource2;
+
+  /**
+   * The record ID for the second record.
+   */
+  private String recordId2;
+
+  /**
+   * The HTTP status code describing the outcome for this item.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The {@link SzWhyRecordsResult} for the pair, or <tt>null</tt> if the
+   * pair could not be evaluated.
+   */
+  private SzWhyRecordsResult whyResult;
+
+  /**
+   * The {@link List} of {@link SzEntityData} for the entities involved.
+   */
+  private List<SzEntityData> entities;
+
+  /**
+   * The {@link List} of {@link SzError} instances describing any failure.
+   */
+  private List<SzError> errors;
+
+  /**
+   * Default constructor.
+   */
+  public SzBatchWhyRecordsResult() {
+    this.index          = 0;
+    this.dataSource1    = null;
+    this.recordId1      = null;
+    this.dataSource2    = null;
+    this.recordId2      = null;
+    this.httpStatusCode = 0;
+    this.whyResult      = null;
+    this.entities       = null;
+    this.errors         = null;
+  }
+
+  /**
+   * Constructs with the index of the pair and the two {@link SzRecordId}
+   * instances describing the pair.
+   *
+   * @param index The zero-based index of the pair in the request.
+   *
+   * @param record1 The {@link SzRecordId} for the first record.
+   *
+   * @param record2 The {@link SzRecordId} for the second record.
+   */
+  public SzBatchWhyRecordsResult(int        index,
+                                 SzRecordId record1,
+                                 SzRecordId record2)
+  {
+    this();
+    this.index        = index;
+    this.dataSource1  = record1.getDataSourceCode();
+    this.recordId1    = record1.getRecordId();
+    this.dataSource2  = record2.getDataSourceCode();
+    this.recordId2    = record2.getRecordId();
+  }
+
+  /**
+   * Returns the zero-based index of the pair in the request.
+   *
+   * @return The zero-based index of the pair in the request.
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  /**
+   * Sets the zero-based index of the pair in the request.
+   *
+   * @param index The zero-based index of the pair in the request.
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  /**
+   * Returns the data source code for the first record.
+   *
+   * @return The data source code for the first record.
+   */
+  public String getDataSource1() {
+    return this.dataSource1;
+  }
+
+  /**
+   * Sets the data source code for the first record.
+   *
+   * @param dataSource1 The data source code for the first record.
+   */
+  public void setDataSource1(String dataSource1) {
+    this.dataSource1 = dataSource1;
+  }
+
+  /**
+   * Returns the record ID for the first record.
+   *
+   * @return The record ID for the first record.
+   */
+  public String getRecordId1() {
+    return this.recordId1;
+  }
+
+  /**
+   * Sets the record ID for the first record.
+   *
+   * @param recordId1 The record ID for the first record.
+   */
+  public void setRecordId1(String recordId1) {
+    this.recordId1 = recordId1;
+  }
+
+  /**
+   * Returns the data source code for the second record.
+   *
+   * @return The data source code for the second record.
+   */
+  public String getDataSource2() {
+    return this.dataSource2;
+  }
+
+  /**
+   * Sets the data source code for the second record.
+   *
+   * @param dataSource2 The data source code for the second record.
+   */
+  public void setDataSource2(String dataSource2) {
+    this.dataSource2 = dataSource2;
+  }
+
+  /**
+   * Returns the record ID for the second record.
+   *
+   * @return The record ID for the second record.
+   */
+  public String getRecordId2() {
+    return this.recordId2;
+  }
+
+  /**
+   * Sets the record ID for the second record.
+   *
+   * @param recordId2 The record ID for the second record.
+   */
+  public void setRecordId2(String recordId2) {
+    this.recordId2 = recordId2;
+  }
+
+  /**
+   * Returns the HTTP status code describing the outcome for this item.
+   *
+   * @return The HTTP status code describing the outcome for this item.
+   */
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  /**
+   * Sets the HTTP status code describing the outcome for this item.
+   *
+   * @param httpStatusCode The HTTP status code describing the outcome for
+   *                       this item.
+   */
+  public void setHttpStatusCode(int httpStatusCode) {
+    this.httpStatusCode = httpStatusCode;
+  }
+
+  /**
+   * Returns the {@link SzWhyRecordsResult} for the pair, or <tt>null</tt> if
+   * the pair could not be evaluated.
+   *
+   * @return The {@link SzWhyRecordsResult} for the pair, or <tt>null</tt> if
+   *         the pair could not be evaluated.
+   */
+  public SzWhyRecordsResult getWhyResult() {
+    return this.whyResult;
+  }
+
+  /**
+   * Sets the {@link SzWhyRecordsResult} for the pair.
+   *
+   * @param whyResult The {@link SzWhyRecordsResult} for the pair.
+   */
+  public void setWhyResult(SzWhyRecordsResult whyResult) {
+    this.whyResult = whyResult;
+  }
+
+  /**
+   * Returns the {@link List} of {@link SzEntityData} for the entities
+   * involved, or <tt>null</tt> if the pair could not be evaluated.
+   *
+   * @return The {@link List} of {@link SzEntityData} for the entities
+   *         involved, or <tt>null</tt> if the pair could not be evaluated.
+   */
+  public List<SzEntityData> getEntities() {
+    return this.entities;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzEntityData} for the entities involved.
+   *
+   * @param entities The {@link List} of {@link SzEntityData} for the
+   *                 entities involved.
+   */
+  public void setEntities(List<SzEntityData> entities) {
+    this.entities = (entities == null) ? null
+        : Collections.unmodifiableList(new ArrayList<>(entities));
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   * describing any failure, or <tt>null</tt> if no failure occurred.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link SzError} instances
+   *         describing any failure, or <tt>null</tt> if no failure occurred.
+   */
+  public List<SzError> getErrors() {
+    return this.errors;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzError} instances describing any
+   * failure.
+   *
+   * @param errors The {@link List} of {@link SzError} instances describing
+   *               any failure.
+   */
+  public void setErrors(List<SzError> errors) {
+    this.errors = (errors == null || errors.size() == 0) ? null
+        : Collections.unmodifiableList(new ArrayList<>(errors));
+  }
+
+  @Override
+  public String toString() {
+    return "SzBatchWhyRecordsResult{" +
+        "index=" + index +
+        ", dataSource1='" + dataSource1 + '\'' +
+        ", recordId1='" + recordId1 + '\'' +
+        ", dataSource2='" + dataSource2 + '\'' +
+        ", recordId2='" + recordId2 + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", whyResult=" + whyResult +
+        ", entities=" + entities +
+        ", errors=" + errors +
+        '}';
+  }
+}
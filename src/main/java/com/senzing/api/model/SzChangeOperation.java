@@ -0,0 +1,17 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the operations that can change the resolved entities and are
+ * therefore published to the entity change feed.
+ */
+public enum SzChangeOperation {
+  /**
+   * A record was loaded (added or replaced) through the API server.
+   */
+  LOAD_RECORD,
+
+  /**
+   * A redo record was processed in the background by the API server.
+   */
+  PROCESS_REDO;
+}
@@ -0,0 +1,209 @@
+package com.senzing.api.model;
+
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.util.*;
+
+/**
+ * Describes a batch of configuration changes consisting of zero or more
+ * data sources, entity classes and entity types that should be added to the
+ * configuration together as a single new configuration version.
+ */
+public class SzConfigChanges {
+  /**
+   * The JSON property for the data sources.
+   */
+  private static final String DATA_SOURCES_KEY = "dataSources";
+
+  /**
+   * The JSON property for the entity classes.
+   */
+  private static final String ENTITY_CLASSES_KEY = "entityClasses";
+
+  /**
+   * The JSON property for the entity types.
+   */
+  private static final String ENTITY_TYPES_KEY = "entityTypes";
+
+  /**
+   * The {@link Map} of data source codes to {@link SzDataSource} instances.
+   */
+  private Map<String, SzDataSource> dataSources;
+
+  /**
+   * The {@link Map} of entity class codes to {@link SzEntityClass} instances.
+   */
+  private Map<String, SzEntityClass> entityClasses;
+
+  /**
+   * The {@link Map} of entity type codes to {@link SzEntityType} instances.
+   */
+  private Map<String, SzEntityType> entityTypes;
+
+  /**
+   * Default constructor.
+   */
+  public SzConfigChanges() {
+    this.dataSources    = new LinkedHashMap<>();
+    this.entityClasses  = new LinkedHashMap<>();
+    this.entityTypes    = new LinkedHashMap<>();
+  }
+
+  /**
+   * Returns the unmodifiable {@link Collection} of {@link SzDataSource}
+   * instances to be added.
+   *
+   * @return The unmodifiable {@link Collection} of {@link SzDataSource}
+   *         instances to be added.
+   */
+  public Collection<SzDataSource> getDataSources() {
+    return Collections.unmodifiableCollection(this.dataSources.values());
+  }
+
+  /**
+   * Adds the specified {@link SzDataSource} to the changes, replacing any
+   * previously added data source with the same data source code.
+   *
+   * @param dataSource The {@link SzDataSource} to add.
+   */
+  public void addDataSource(SzDataSource dataSource) {
+    this.dataSources.put(dataSource.getDataSourceCode(), dataSource);
+  }
+
+  /**
+   * Returns the unmodifiable {@link Collection} of {@link SzEntityClass}
+   * instances to be added.
+   *
+   * @return The unmodifiable {@link Collection} of {@link SzEntityClass}
+   *         instances to be added.
+   */
+  public Collection<SzEntityClass> getEntityClasses() {
+    return Collections.unmodifiableCollection(this.entityClasses.values());
+  }
+
+  /**
+   * Adds the specified {@link SzEntityClass} to the changes, replacing any
+   * previously added entity class with the same entity class code.
+   *
+   * @param entityClass The {@link SzEntityClass} to add.
+   */
+  public void addEntityClass(SzEntityClass entityClass) {
+    this.entityClasses.put(entityClass.getEntityClassCode(), entityClass);
+  }
+
+  /**
+   * Returns the unmodifiable {@link Collection} of {@link SzEntityType}
+   * instances to be added.
+   *
+   * @return The unmodifiable {@link Collection} of {@link SzEntityType}
+   *         instances to be added.
+   */
+  public Collection<SzEntityType> getEntityTypes() {
+    return Collections.unmodifiableCollection(this.entityTypes.values());
+  }
+
+  /**
+   * Adds the specified {@link SzEntityType} to the changes, replacing any
+   * previously added entity type with the same entity type code.
+   *
+   * @param entityType The {@link SzEntityType} to add.
+   */
+  public void addEntityType(SzEntityType entityType) {
+    this.entityTypes.put(entityType.getEntityTypeCode(), entityType);
+  }
+
+  /**
+   * Checks if there are no changes described by this instance.
+   *
+   * @return <tt>true</tt> if no data sources, entity classes or entity types
+   *         are specified, otherwise <tt>false</tt>.
+   */
+  public boolean isEmpty() {
+    return (this.dataSources.size() == 0
+            && this.entityClasses.size() == 0
+            && this.entityTypes.size() == 0);
+  }
+
+  /**
+   * Parses the specified text as a JSON object with optional
+   * <tt>"dataSources"</tt>, <tt>"entityClasses"</tt> and
+   * <tt>"entityTypes"</tt> properties.  Each property value may take any
+   * form accepted by {@link SzDataSourceDescriptors#valueOf(String)}, {@link
+   * SzEntityClassDescriptors#valueOf(String)} and {@link
+   * SzEntityTypeDescriptors#valueOf(String)}, respectively.  Entity classes
+   * that do not specify a resolving flag default to resolving.
+   *
+   * @param text The text to parse.
+   *
+   * @return The {@link SzConfigChanges} described by the specified text.
+   */
+  public static SzConfigChanges valueOf(String text) {
+    JsonObject jsonObject = JsonUtils.parseJsonObject(text.trim());
+
+    SzConfigChanges changes = new SzConfigChanges();
+
+    String dataSourcesText = getPropertyText(jsonObject, DATA_SOURCES_KEY);
+    if (dataSourcesText != null) {
+      SzDataSourceDescriptors descriptors
+          = SzDataSourceDescriptors.valueOf(dataSourcesText);
+      for (SzDataSourceDescriptor desc : descriptors.getDescriptors()) {
+        changes.addDataSource(desc.toDataSource());
+      }
+    }
+
+    String entityClassesText = getPropertyText(jsonObject, ENTITY_CLASSES_KEY);
+    if (entityClassesText != null) {
+      SzEntityClassDescriptors descriptors
+          = SzEntityClassDescriptors.valueOf(entityClassesText);
+      for (SzEntityClassDescriptor desc : descriptors.getDescriptors()) {
+        SzEntityClass entityClass = desc.toEntityClass();
+        if (entityClass.isResolving() == null) {
+          entityClass.setResolving(true);
+        }
+        changes.addEntityClass(entityClass);
+      }
+    }
+
+    String entityTypesText = getPropertyText(jsonObject, ENTITY_TYPES_KEY);
+    if (entityTypesText != null) {
+      SzEntityTypeDescriptors descriptors
+          = SzEntityTypeDescriptors.valueOf(entityTypesText);
+      for (SzEntityTypeDescriptor desc : descriptors.getDescriptors()) {
+        changes.addEntityType(desc.toEntityType());
+      }
+    }
+
+    return changes;
+  }
+
+  /**
+   * Gets the JSON text for the value of the specified property of the
+   * specified {@link JsonObject}, or <tt>null</tt> if the property is
+   * missing or <tt>null</tt>.
+   *
+   * @param jsonObject The {@link JsonObject} to get the property from.
+   *
+   * @param key The property key.
+   *
+   * @return The JSON text for the property value, or <tt>null</tt> if the
+   *         property is missing or <tt>null</tt>.
+   */
+  private static String getPropertyText(JsonObject jsonObject, String key) {
+    JsonValue value = jsonObject.get(key);
+    if (value == null || value.getValueType() == JsonValue.ValueType.NULL) {
+      return null;
+    }
+    return JsonUtils.toJsonText(value);
+  }
+
+  @Override
+  public String toString() {
+    return "SzConfigChanges{" +
+        "dataSources=" + dataSources.values() +
+        ", entityClasses=" + entityClasses.values() +
+        ", entityTypes=" + entityTypes.values() +
+        '}';
+  }
+}
@@ -0,0 +1,188 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+import java.util.*;
+
+/**
+ * The response describing the result of applying a batch of configuration
+ * changes.  The data section contains the codes of the data sources, entity
+ * classes and entity types that were added by the change.  Any that already
+ * existed in the configuration are not included.
+ */
+public class SzConfigChangesResponse extends SzBasicResponse
+{
+  /**
+   * The data for this instance.
+   */
+  private Data data = new Data();
+
+  /**
+   * Package-private default constructor.
+   */
+  SzConfigChangesResponse() {
+    // do nothing
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * added codes to be set later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   *
+   * @param httpStatusCode The HTTP response status code.
+   *
+   * @param selfLink The string URL link to generate this response.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzConfigChangesResponse(SzHttpMethod httpMethod,
+                                 int          httpStatusCode,
+                                 String       selfLink,
+                                 Timers       timers) {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * added codes to be set later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   *
+   * @param httpStatusCode The HTTP response status code.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzConfigChangesResponse(SzHttpMethod httpMethod,
+                                 int          httpStatusCode,
+                                 UriInfo      uriInfo,
+                                 Timers       timers)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+  }
+
+  /**
+   * Returns the {@link Data} for this instance.
+   *
+   * @return The {@link Data} for this instance.
+   */
+  public Data getData() {
+    return this.data;
+  }
+
+  /**
+   * Sets the data source codes that were added by the change.
+   *
+   * @param dataSources The {@link Collection} of data source codes that were
+   *                    added by the change.
+   */
+  public void setDataSources(Collection<String> dataSources) {
+    this.data.setDataSources(dataSources);
+  }
+
+  /**
+   * Sets the entity class codes that were added by the change.
+   *
+   * @param entityClasses The {@link Collection} of entity class codes that
+   *                      were added by the change.
+   */
+  public void setEntityClasses(Collection<String> entityClasses) {
+    this.data.setEntityClasses(entityClasses);
+  }
+
+  /**
+   * Sets the entity type codes that were added by the change.
+   *
+   * @param entityTypes The {@link Collection} of entity type codes that were
+   *                    added by the change.
+   */
+  public void setEntityTypes(Collection<String> entityTypes) {
+    this.data.setEntityTypes(entityTypes);
+  }
+
+  /**
+   * Inner class to represent the data section for this response.
+   */
+  public static class Data {
+    /**
+     * The {@link Set} of data source codes that were added.
+     */
+    private Set<String> dataSources;
+
+    /**
+     * The {@link Set} of entity class codes that were added.
+     */
+    private Set<String> entityClasses;
+
+    /**
+     * The {@link Set} of entity type codes that were added.
+     */
+    private Set<String> entityTypes;
+
+    /**
+     * Private default constructor.
+     */
+    private Data() {
+      this.dataSources    = new LinkedHashSet<>();
+      this.entityClasses  = new LinkedHashSet<>();
+      this.entityTypes    = new LinkedHashSet<>();
+    }
+
+    /**
+     * Gets the unmodifiable {@link Set} of data source codes that were added.
+     *
+     * @return The unmodifiable {@link Set} of data source codes that were
+     *         added.
+     */
+    public Set<String> getDataSources() {
+      return Collections.unmodifiableSet(this.dataSources);
+    }
+
+    /**
+     * Private setter used for deserialization.
+     */
+    private void setDataSources(Collection<String> dataSources) {
+      this.dataSources.clear();
+      if (dataSources != null) this.dataSources.addAll(dataSources);
+    }
+
+    /**
+     * Gets the unmodifiable {@link Set} of entity class codes that were added.
+     *
+     * @return The unmodifiable {@link Set} of entity class codes that were
+     *         added.
+     */
+    public Set<String> getEntityClasses() {
+      return Collections.unmodifiableSet(this.entityClasses);
+    }
+
+    /**
+     * Private setter used for deserialization.
+     */
+    private void setEntityClasses(Collection<String> entityClasses) {
+      this.entityClasses.clear();
+      if (entityClasses != null) this.entityClasses.addAll(entityClasses);
+    }
+
+    /**
+     * Gets the unmodifiable {@link Set} of entity type codes that were added.
+     *
+     * @return The unmodifiable {@link Set} of entity type codes that were
+     *         added.
+     */
+    public Set<String> getEntityTypes() {
+      return Collections.unmodifiableSet(this.entityTypes);
+    }
+
+    /**
+     * Private setter used for deserialization.
+     */
+    private void setEntityTypes(Collection<String> entityTypes) {
+      this.entityTypes.clear();
+      if (entityTypes != null) this.entityTypes.addAll(entityTypes);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.senzing.api.model;
+
+import java.util.*;
+
+/**
+ * Describes a single change published to the entity change feed, including
+ * the sequence number with which a consumer can resume the feed and the
+ * entity IDs of the entities affected by the change.
+ */
+public class SzEntityChange {
+  /**
+   * The sequence number of the change.
+   */
+  private long sequence;
+
+  /**
+   * The {@link SzChangeOperation} that caused the change.
+   */
+  private SzChangeOperation operation;
+
+  /**
+   * The data source code for the record that was changed, or <tt>null</tt>
+   * if not known.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID for the record that was changed, or <tt>null</tt> if not
+   * known.
+   */
+  private String recordId;
+
+  /**
+   * The entity IDs of the affected entities.
+   */
+  private Set<Long> entityIds;
+
+  /**
+   * The timestamp of the change.
+   */
+  private Date timestamp;
+
+  /**
+   * Default constructor.
+   */
+  public SzEntityChange() {
+    this.sequence   = 0L;
+    this.operation  = null;
+    this.dataSource = null;
+    this.recordId   = null;
+    this.entityIds  = new LinkedHashSet<>();
+    this.timestamp  = new Date();
+  }
+
+  /**
+   * Gets the sequence number of the change.
+   *
+   * @return The sequence number of the change.
+   */
+  public long getSequence() {
+    return this.sequence;
+  }
+
+  /**
+   * Sets the sequence number of the change.
+   *
+   * @param sequence The sequence number of the change.
+   */
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  /**
+   * Gets the {@link SzChangeOperation} that caused the change.
+   *
+   * @return The {@link SzChangeOperation} that caused the change.
+   */
+  public SzChangeOperation getOperation() {
+    return this.operation;
+  }
+
+  /**
+   * Sets the {@link SzChangeOperation} that caused the change.
+   *
+   * @param operation The {@link SzChangeOperation} that caused the change.
+   */
+  public void setOperation(SzChangeOperation operation) {
+    this.operation = operation;
+  }
+
+  /**
+   * Gets the data source code for the record that was changed.
+   *
+   * @return The data source code for the record that was changed, or
+   *         <tt>null</tt> if not known.
+   */
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  /**
+   * Sets the data source code for the record that was changed.
+   *
+   * @param dataSource The data source code for the record that was changed,
+   *                   or <tt>null</tt> if not known.
+   */
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Gets the record ID for the record that was changed.
+   *
+   * @return The record ID for the record that was changed, or <tt>null</tt>
+   *         if not known.
+   */
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  /**
+   * Sets the record ID for the record that was changed.
+   *
+   * @param recordId The record ID for the record that was changed, or
+   *                 <tt>null</tt> if not known.
+   */
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  /**
+   * Gets the unmodifiable {@link Set} of entity IDs for the affected entities.
+   *
+   * @return The unmodifiable {@link Set} of entity IDs for the affected
+   *         entities.
+   */
+  public Set<Long> getEntityIds() {
+    return Collections.unmodifiableSet(this.entityIds);
+  }
+
+  /**
+   * Sets the entity IDs for the affected entities.
+   *
+   * @param entityIds The entity IDs for the affected entities.
+   */
+  public void setEntityIds(Collection<Long> entityIds) {
+    this.entityIds.clear();
+    if (entityIds != null) this.entityIds.addAll(entityIds);
+  }
+
+  /**
+   * Gets the timestamp of the change.
+   *
+   * @return The timestamp of the change.
+   */
+  public Date getTimestamp() {
+    return this.timestamp;
+  }
+
+  /**
+   * Sets the timestamp of the change.
+   *
+   * @param timestamp The timestamp of the change.
+   */
+  public void setTimestamp(Date timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  @Override
+  public String toString() {
+    return "SzEntityChange{" +
+        "sequence=" + sequence +
+        ", operation=" + operation +
+        ", dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", entityIds=" + entityIds +
+        ", timestamp=" + timestamp +
+        '}';
+  }
+}
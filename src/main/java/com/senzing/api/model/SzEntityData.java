@@ -5,6 +5,7 @@ import com.senzing.util.JsonUtils;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -22,12 +23,34 @@ public class SzEntityData {
    */
   private List<SzRelatedEntity> relatedEntities;
 
+  /**
+   * The <tt>"RELATED_ENTITIES"</tt> {@link JsonArray} in the Senzing native
+   * API format that has not yet been parsed, or <tt>null</tt> if the related
+   * entities have already been parsed or were set directly.
+   */
+  private JsonArray pendingRelated;
+
+  /**
+   * The mapping function to map feature names to attribute classes when
+   * parsing the {@linkplain #pendingRelated pending related entities}.
+   */
+  private Function<String,String> pendingMapper;
+
+  /**
+   * The {@link Consumer} instances to apply to each related entity once the
+   * {@linkplain #pendingRelated pending related entities} are parsed.
+   */
+  private List<Consumer<SzRelatedEntity>> pendingConsumers;
+
   /**
    * Default constructor.
    */
   public SzEntityData() {
     this.resolvedEntity = null;
     this.relatedEntities = new LinkedList<>();
+    this.pendingRelated = null;
+    this.pendingMapper = null;
+    this.pendingConsumers = new LinkedList<>();
   }
 
   /**
@@ -55,6 +78,7 @@ public class SzEntityData {
    * @return The {@link List} of {@linkplain SzRelatedEntity related entities}.
    */
   public List<SzRelatedEntity> getRelatedEntities() {
+    this.ensureRelatedParsed();
     return Collections.unmodifiableList(this.relatedEntities);
   }
 
@@ -65,6 +89,9 @@ public class SzEntityData {
    *                        related entities}.
    */
   public void setRelatedEntities(List<SzRelatedEntity> relatedEntities) {
+    this.pendingRelated = null;
+    this.pendingMapper = null;
+    this.pendingConsumers.clear();
     this.relatedEntities.clear();
     if (relatedEntities != null) {
       this.relatedEntities.addAll(relatedEntities);
@@ -75,11 +102,63 @@ public class SzEntityData {
    * Adds the specified {@link SzRelatedEntity}
    */
   public void addRelatedEntity(SzRelatedEntity relatedEntity) {
+    this.ensureRelatedParsed();
     if (relatedEntity != null) {
       this.relatedEntities.add(relatedEntity);
     }
   }
 
+  /**
+   * Applies the specified {@link Consumer} to each of the {@linkplain
+   * SzRelatedEntity related entities}.  If the related entities have not
+   * yet been parsed then they are not parsed by this method, instead the
+   * {@link Consumer} is applied to each related entity once they are parsed.
+   *
+   * @param consumer The {@link Consumer} to apply to each related entity.
+   */
+  public void forEachRelated(Consumer<SzRelatedEntity> consumer) {
+    if (this.pendingRelated != null) {
+      this.pendingConsumers.add(consumer);
+    } else {
+      this.relatedEntities.forEach(consumer);
+    }
+  }
+
+  /**
+   * Sets whether or not the resolved entity and the related entities are
+   * only partially populated without forcing the related entities to be
+   * parsed.
+   *
+   * @param partial <tt>true</tt> if the entities are only partially
+   *                populated, otherwise <tt>false</tt>.
+   */
+  public void setPartial(boolean partial) {
+    if (this.resolvedEntity != null) this.resolvedEntity.setPartial(partial);
+    this.forEachRelated(e -> e.setPartial(partial));
+  }
+
+  /**
+   * Parses the {@linkplain #pendingRelated pending related entities} (if any)
+   * and populates the related entities, applying any {@link Consumer}
+   * instances that were deferred until they were parsed.
+   */
+  private void ensureRelatedParsed() {
+    if (this.pendingRelated == null) return;
+
+    List<SzRelatedEntity> relatedEntities
+        = SzRelatedEntity.parseRelatedEntityList(null,
+                                                 this.pendingRelated,
+                                                 this.pendingMapper);
+
+    List<Consumer<SzRelatedEntity>> consumers
+        = new ArrayList<>(this.pendingConsumers);
+
+    // this clears the pending related entities
+    this.setRelatedEntities(relatedEntities);
+
+    consumers.forEach(consumer -> this.relatedEntities.forEach(consumer));
+  }
+
   /**
    * Parses a list of entity data instances from a {@link JsonArray}
    * describing a JSON array in the Senzing native API format for entity
@@ -149,19 +228,19 @@ public class SzEntityData {
     JsonArray relatedArray
         = JsonUtils.getJsonArray(jsonObject,"RELATED_ENTITIES");
 
-    List<SzRelatedEntity> relatedEntities
-        = SzRelatedEntity.parseRelatedEntityList(null,
-                                                 relatedArray,
-                                                 mapper);
-
     entityData.setResolvedEntity(resolvedEntity);
-    entityData.setRelatedEntities(relatedEntities);
+    entityData.setRelatedEntities(null);
+
+    // defer parsing the related entities until they are accessed
+    entityData.pendingRelated = relatedArray;
+    entityData.pendingMapper  = mapper;
 
     return entityData;
   }
 
   @Override
   public String toString() {
+    this.ensureRelatedParsed();
     return "SzEntityData{" +
         "resolvedEntity=" + resolvedEntity +
         ", relatedEntities=" + relatedEntities +
@@ -0,0 +1,40 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the formats in which the entity report can be exported.
+ */
+public enum SzExportFormat {
+  /**
+   * Newline-delimited JSON with one JSON entity per line.
+   */
+  JSON("application/x-ndjson"),
+
+  /**
+   * Comma-separated values with a header line followed by one line per
+   * record of each entity.
+   */
+  CSV("text/csv");
+
+  /**
+   * The media type for the format.
+   */
+  private String mediaType;
+
+  /**
+   * Constructs with the media type for the format.
+   *
+   * @param mediaType The media type for the format.
+   */
+  SzExportFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  /**
+   * Gets the media type for the format.
+   *
+   * @return The media type for the format.
+   */
+  public String getMediaType() {
+    return this.mediaType;
+  }
+}
@@ -0,0 +1,93 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * Extends the {@link SzBasicResponse} to carry only the raw JSON text
+ * returned by the native Senzing API.  Unlike {@link SzResponseWithRawData}
+ * the raw text is neither parsed nor normalized but is written verbatim as
+ * the <tt>"rawData"</tt> section of the response.
+ */
+public class SzRawDataResponse extends SzBasicResponse {
+  /**
+   * The raw JSON text associated with the response.
+   */
+  private String rawData;
+
+  /**
+   * Default constructor.
+   */
+  SzRawDataResponse() {
+    this.rawData = null;
+  }
+
+  /**
+   * Constructs with the specified HTTP method, self link and raw JSON text
+   * from the native API.
+   *
+   * @param httpMethod The {@link SzHttpMethod} from the request.
+   *
+   * @param httpStatusCode The HTTP response status code.
+   *
+   * @param selfLink The self link from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   *
+   * @param rawData The raw JSON text from the native API.
+   */
+  public SzRawDataResponse(SzHttpMethod httpMethod,
+                           int          httpStatusCode,
+                           String       selfLink,
+                           Timers       timers,
+                           String       rawData)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.rawData = rawData;
+  }
+
+  /**
+   * Constructs with the specified HTTP method, {@link UriInfo} and raw JSON
+   * text from the native API.
+   *
+   * @param httpMethod The {@link SzHttpMethod} from the request.
+   *
+   * @param httpStatusCode The HTTP response status code.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   *
+   * @param rawData The raw JSON text from the native API.
+   */
+  public SzRawDataResponse(SzHttpMethod httpMethod,
+                           int          httpStatusCode,
+                           UriInfo      uriInfo,
+                           Timers       timers,
+                           String       rawData)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.rawData = rawData;
+  }
+
+  /**
+   * Returns the raw JSON text associated with this response.
+   *
+   * @return The raw JSON text associated with this response.
+   */
+  @JsonRawValue
+  public String getRawData() {
+    return this.rawData;
+  }
+
+  /**
+   * Sets the raw JSON text associated with this response.
+   *
+   * @param rawData The raw JSON text associated with this response.
+   */
+  public void setRawData(String rawData) {
+    this.rawData = rawData;
+  }
+}
@@ -0,0 +1,154 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the metrics for the background processing of redo records by
+ * the API server.
+ */
+public class SzRedoMetrics {
+  /**
+   * The number of pending redo records as of the last check, or
+   * <tt>null</tt> if not yet known.
+   */
+  private Long backlog;
+
+  /**
+   * The number of redo records that were successfully processed.
+   */
+  private long processedCount;
+
+  /**
+   * The number of redo records that failed to be processed.
+   */
+  private long failedCount;
+
+  /**
+   * The number of times processing backed off to yield to requests.
+   */
+  private long yieldCount;
+
+  /**
+   * The number of redo records processed per second over the most recent
+   * measurement period.
+   */
+  private double recordsPerSecond;
+
+  /**
+   * Default constructor.
+   */
+  public SzRedoMetrics() {
+    this.backlog          = null;
+    this.processedCount   = 0L;
+    this.failedCount      = 0L;
+    this.yieldCount       = 0L;
+    this.recordsPerSecond = 0.0;
+  }
+
+  /**
+   * Gets the number of pending redo records as of the last check.
+   *
+   * @return The number of pending redo records as of the last check, or
+   *         <tt>null</tt> if not yet known.
+   */
+  public Long getBacklog() {
+    return this.backlog;
+  }
+
+  /**
+   * Sets the number of pending redo records as of the last check.
+   *
+   * @param backlog The number of pending redo records as of the last check,
+   *                or <tt>null</tt> if not yet known.
+   */
+  public void setBacklog(Long backlog) {
+    this.backlog = backlog;
+  }
+
+  /**
+   * Gets the number of redo records that were successfully processed.
+   *
+   * @return The number of redo records that were successfully processed.
+   */
+  public long getProcessedCount() {
+    return this.processedCount;
+  }
+
+  /**
+   * Sets the number of redo records that were successfully processed.
+   *
+   * @param processedCount The number of redo records that were successfully
+   *                       processed.
+   */
+  public void setProcessedCount(long processedCount) {
+    this.processedCount = processedCount;
+  }
+
+  /**
+   * Gets the number of redo records that failed to be processed.
+   *
+   * @return The number of redo records that failed to be processed.
+   */
+  public long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Sets the number of redo records that failed to be processed.
+   *
+   * @param failedCount The number of redo records that failed to be
+   *                    processed.
+   */
+  public void setFailedCount(long failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  /**
+   * Gets the number of times that redo processing backed off to yield the
+   * engine threads to requests.
+   *
+   * @return The number of times that redo processing backed off.
+   */
+  public long getYieldCount() {
+    return this.yieldCount;
+  }
+
+  /**
+   * Sets the number of times that redo processing backed off to yield the
+   * engine threads to requests.
+   *
+   * @param yieldCount The number of times that redo processing backed off.
+   */
+  public void setYieldCount(long yieldCount) {
+    this.yieldCount = yieldCount;
+  }
+
+  /**
+   * Gets the number of redo records processed per second over the most
+   * recent measurement period.
+   *
+   * @return The number of redo records processed per second.
+   */
+  public double getRecordsPerSecond() {
+    return this.recordsPerSecond;
+  }
+
+  /**
+   * Sets the number of redo records processed per second over the most
+   * recent measurement period.
+   *
+   * @param recordsPerSecond The number of redo records processed per second.
+   */
+  public void setRecordsPerSecond(double recordsPerSecond) {
+    this.recordsPerSecond = recordsPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "SzRedoMetrics{" +
+        "backlog=" + backlog +
+        ", processedCount=" + processedCount +
+        ", failedCount=" + failedCount +
+        ", yieldCount=" + yieldCount +
+        ", recordsPerSecond=" + recordsPerSecond +
+        '}';
+  }
+}
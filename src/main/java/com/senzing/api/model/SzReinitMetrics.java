@@ -0,0 +1,141 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the metrics for the reinitialization of the API server with a
+ * new configuration.  The stall time of a reinitialization is the time
+ * during which calls to the Senzing engine could be blocked, which is the
+ * time that the worker threads were paused or, if they are not paused, the
+ * time to reinitialize the engine and swap in the new configuration data.
+ */
+public class SzReinitMetrics {
+  /**
+   * The number of reinitializations.
+   */
+  private int reinitCount;
+
+  /**
+   * The stall time in milliseconds of the most recent reinitialization.
+   */
+  private long lastStallMillis;
+
+  /**
+   * The maximum stall time in milliseconds of all reinitializations.
+   */
+  private long maxStallMillis;
+
+  /**
+   * The total stall time in milliseconds of all reinitializations.
+   */
+  private long totalStallMillis;
+
+  /**
+   * Default constructor.
+   */
+  public SzReinitMetrics() {
+    this.reinitCount      = 0;
+    this.lastStallMillis  = 0L;
+    this.maxStallMillis   = 0L;
+    this.totalStallMillis = 0L;
+  }
+
+  /**
+   * Gets the number of times the API server has been reinitialized with a
+   * new configuration.
+   *
+   * @return The number of reinitializations.
+   */
+  public int getReinitCount() {
+    return this.reinitCount;
+  }
+
+  /**
+   * Sets the number of times the API server has been reinitialized with a
+   * new configuration.
+   *
+   * @param reinitCount The number of reinitializations.
+   */
+  public void setReinitCount(int reinitCount) {
+    this.reinitCount = reinitCount;
+  }
+
+  /**
+   * Gets the stall time in milliseconds of the most recent reinitialization.
+   *
+   * @return The stall time in milliseconds of the most recent
+   *         reinitialization.
+   */
+  public long getLastStallMillis() {
+    return this.lastStallMillis;
+  }
+
+  /**
+   * Sets the stall time in milliseconds of the most recent reinitialization.
+   *
+   * @param lastStallMillis The stall time in milliseconds of the most recent
+   *                        reinitialization.
+   */
+  public void setLastStallMillis(long lastStallMillis) {
+    this.lastStallMillis = lastStallMillis;
+  }
+
+  /**
+   * Gets the maximum stall time in milliseconds of all reinitializations.
+   *
+   * @return The maximum stall time in milliseconds of all reinitializations.
+   */
+  public long getMaxStallMillis() {
+    return this.maxStallMillis;
+  }
+
+  /**
+   * Sets the maximum stall time in milliseconds of all reinitializations.
+   *
+   * @param maxStallMillis The maximum stall time in milliseconds of all
+   *                       reinitializations.
+   */
+  public void setMaxStallMillis(long maxStallMillis) {
+    this.maxStallMillis = maxStallMillis;
+  }
+
+  /**
+   * Gets the total stall time in milliseconds of all reinitializations.
+   *
+   * @return The total stall time in milliseconds of all reinitializations.
+   */
+  public long getTotalStallMillis() {
+    return this.totalStallMillis;
+  }
+
+  /**
+   * Sets the total stall time in milliseconds of all reinitializations.
+   *
+   * @param totalStallMillis The total stall time in milliseconds of all
+   *                         reinitializations.
+   */
+  public void setTotalStallMillis(long totalStallMillis) {
+    this.totalStallMillis = totalStallMillis;
+  }
+
+  /**
+   * Records a reinitialization with the specified stall time.
+   *
+   * @param stallMillis The stall time in milliseconds of the
+   *                    reinitialization.
+   */
+  public void recordReinit(long stallMillis) {
+    this.reinitCount++;
+    this.lastStallMillis = stallMillis;
+    this.maxStallMillis = Math.max(this.maxStallMillis, stallMillis);
+    this.totalStallMillis += stallMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "SzReinitMetrics{" +
+        "reinitCount=" + reinitCount +
+        ", lastStallMillis=" + lastStallMillis +
+        ", maxStallMillis=" + maxStallMillis +
+        ", totalStallMillis=" + totalStallMillis +
+        '}';
+  }
+}
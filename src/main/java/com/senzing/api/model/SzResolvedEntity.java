@@ -89,6 +89,31 @@ public class SzResolvedEntity {
    */
   private boolean partial;
 
+  /**
+   * The <tt>"FEATURES"</tt> {@link JsonObject} in the Senzing native API
+   * format that has not yet been parsed, or <tt>null</tt> if the features
+   * have already been parsed or were set directly.
+   */
+  private JsonObject pendingFeatures;
+
+  /**
+   * The mapping function to map feature names to attribute classes when
+   * parsing the {@linkplain #pendingFeatures pending features}.
+   */
+  private Function<String,String> pendingMapper;
+
+  /**
+   * The <tt>"RECORDS"</tt> {@link JsonArray} in the Senzing native API format
+   * that has not yet been parsed, or <tt>null</tt> if the records have
+   * already been parsed or were set directly.
+   */
+  private JsonArray pendingRecords;
+
+  /**
+   * Whether or not the duplicate values should be stripped from the features.
+   */
+  private boolean stripDuplicateValues;
+
   /**
    * Default constructor.
    */
@@ -108,6 +133,10 @@ public class SzResolvedEntity {
     this.unmodifiableFeatures = new LinkedHashMap<>();
     this.records              = new LinkedList<>();
     this.partial              = true;
+    this.pendingFeatures      = null;
+    this.pendingMapper        = null;
+    this.pendingRecords       = null;
+    this.stripDuplicateValues = false;
   }
 
   /**
@@ -180,6 +209,7 @@ public class SzResolvedEntity {
    *         for the entity.
    */
   public List<SzMatchedRecord> getRecords() {
+    this.ensureRecordsParsed();
     return Collections.unmodifiableList(this.records);
   }
 
@@ -189,6 +219,7 @@ public class SzResolvedEntity {
    * @param records The list {@linkplain SzMatchedRecord records} for the entity.
    */
   public void setRecords(List<SzMatchedRecord> records) {
+    this.pendingRecords = null;
     this.records.clear();
     if (records != null) {
       this.records.addAll(records);
@@ -216,6 +247,7 @@ public class SzResolvedEntity {
    */
   public void addRecord(SzMatchedRecord record)
   {
+    this.ensureRecordsParsed();
     this.records.add(record);
     List<String> recordOtherData = record.getOtherData();
     if (recordOtherData != null) {
@@ -268,15 +300,19 @@ public class SzResolvedEntity {
    */
   public List<String> getAddressData()
   {
+    this.ensureFeaturesParsed();
     return Collections.unmodifiableList(this.addressData);
   }
 
   /**
    * Sets the address data list for the entity.
+   * If the features have not yet been parsed then they are discarded
+   * rather than parsed.
    *
    * @param addressData The list of address data strings.
    */
   public void setAddressData(List<String> addressData) {
+    this.discardPendingFeatures();
     this.addressData.clear();
     if (addressData != null) {
       this.addressData.addAll(addressData);
@@ -290,6 +326,7 @@ public class SzResolvedEntity {
    */
   public void addAddressData(String addressData)
   {
+    this.ensureFeaturesParsed();
     this.addressData.add(addressData);
   }
 
@@ -300,15 +337,19 @@ public class SzResolvedEntity {
    */
   public List<String> getAttributeData()
   {
+    this.ensureFeaturesParsed();
     return Collections.unmodifiableList(this.attributeData);
   }
 
   /**
    * Sets the attribute data list for the entity.
+   * If the features have not yet been parsed then they are discarded
+   * rather than parsed.
    *
    * @param attributeData The list of attribute data strings.
    */
   public void setAttributeData(List<String> attributeData) {
+    this.discardPendingFeatures();
     this.attributeData.clear();
     if (attributeData != null) {
       this.attributeData.addAll(attributeData);
@@ -323,6 +364,7 @@ public class SzResolvedEntity {
    */
   public void addAttributeData(String attributeData)
   {
+    this.ensureFeaturesParsed();
     this.attributeData.add(attributeData);
   }
 
@@ -333,15 +375,19 @@ public class SzResolvedEntity {
    */
   public List<String> getIdentifierData()
   {
+    this.ensureFeaturesParsed();
     return Collections.unmodifiableList(this.identifierData);
   }
 
   /**
    * Sets the identifier data list for the entity.
+   * If the features have not yet been parsed then they are discarded
+   * rather than parsed.
    *
    * @param identifierData The list of identifier data strings.
    */
   public void setIdentifierData(List<String> identifierData) {
+    this.discardPendingFeatures();
     this.identifierData.clear();
     if (identifierData != null) {
       this.identifierData.addAll(identifierData);
@@ -356,6 +402,7 @@ public class SzResolvedEntity {
    */
   public void addIdentifierData(String identifierData)
   {
+    this.ensureFeaturesParsed();
     this.identifierData.add(identifierData);
   }
 
@@ -365,15 +412,19 @@ public class SzResolvedEntity {
    * @return The list of name data strings for the entity.
    */
   public List<String> getNameData() {
+    this.ensureFeaturesParsed();
     return Collections.unmodifiableList(this.nameData);
   }
 
   /**
    * Sets the name data list for the entity.
+   * If the features have not yet been parsed then they are discarded
+   * rather than parsed.
    *
    * @param nameData The list of name data strings.
    */
   public void setNameData(List<String> nameData) {
+    this.discardPendingFeatures();
     this.nameData.clear();
     if (nameData != null) {
       this.nameData.addAll(nameData);
@@ -387,6 +438,7 @@ public class SzResolvedEntity {
    */
   public void addNameData(String nameData)
   {
+    this.ensureFeaturesParsed();
     this.nameData.add(nameData);
   }
 
@@ -396,15 +448,19 @@ public class SzResolvedEntity {
    * @return The list of phone data strings for the entity.
    */
   public List<String> getPhoneData() {
+    this.ensureFeaturesParsed();
     return Collections.unmodifiableList(this.phoneData);
   }
 
   /**
    * Sets the phone data list for the entity.
+   * If the features have not yet been parsed then they are discarded
+   * rather than parsed.
    *
    * @param phoneData The list of name data strings.
    */
   public void setPhoneData(List<String> phoneData) {
+    this.discardPendingFeatures();
     this.phoneData.clear();
     if (phoneData != null) {
       this.phoneData.addAll(phoneData);
@@ -418,6 +474,7 @@ public class SzResolvedEntity {
    */
   public void addPhoneData(String phoneData)
   {
+    this.ensureFeaturesParsed();
     this.phoneData.add(phoneData);
   }
 
@@ -427,15 +484,19 @@ public class SzResolvedEntity {
    * @return The list of relationship data strings for the entity.
    */
   public List<String> getRelationshipData() {
+    this.ensureFeaturesParsed();
     return Collections.unmodifiableList(this.relationshipData);
   }
 
   /**
    * Sets the relationship data list for the entity.
+   * If the features have not yet been parsed then they are discarded
+   * rather than parsed.
    *
    * @param relationshipData The list of relationship data strings.
    */
   public void setRelationshipData(List<String> relationshipData) {
+    this.discardPendingFeatures();
     this.relationshipData.clear();
     if (relationshipData != null) {
       this.relationshipData.addAll(relationshipData);
@@ -450,6 +511,7 @@ public class SzResolvedEntity {
    */
   public void addRelationshipData(String relationshipData)
   {
+    this.ensureFeaturesParsed();
     this.relationshipData.add(relationshipData);
   }
 
@@ -459,15 +521,19 @@ public class SzResolvedEntity {
    * @return The list of other data strings for the entity.
    */
   public List<String> getOtherData() {
+    this.ensureRecordsParsed();
     return Collections.unmodifiableList(this.otherData);
   }
 
   /**
    * Sets the other data list for the entity.
+   * If the records have not yet been parsed then they are discarded
+   * rather than parsed.
    *
    * @param otherData The list of other data strings.
    */
   public void setOtherData(List<String> otherData) {
+    this.discardPendingRecords();
     this.otherData.clear();
     if (otherData != null) {
       this.otherData.addAll(otherData);
@@ -481,6 +547,7 @@ public class SzResolvedEntity {
    */
   public void addOtherData(String otherData)
   {
+    this.ensureRecordsParsed();
     this.otherData.add(otherData);
   }
 
@@ -493,6 +560,7 @@ public class SzResolvedEntity {
    *         features.
    */
   public Map<String, List<SzEntityFeature>> getFeatures() {
+    this.ensureFeaturesParsed();
     return Collections.unmodifiableMap(this.unmodifiableFeatures);
   }
 
@@ -502,6 +570,8 @@ public class SzResolvedEntity {
    * @param featureMap The {@link Map} of features.
    */
   private void setFeatures(Map<String, List<SzEntityFeature>> featureMap) {
+    this.pendingFeatures = null;
+    this.pendingMapper   = null;
     this.features.clear();
     this.unmodifiableFeatures.clear();
 
@@ -577,6 +647,7 @@ public class SzResolvedEntity {
    */
   public void setFeature(String featureName, List<SzEntityFeature> values)
   {
+    this.ensureFeaturesParsed();
     List<SzEntityFeature> featureValues = this.features.get(featureName);
 
     if (featureValues != null && (values == null || values.size() == 0)) {
@@ -611,6 +682,7 @@ public class SzResolvedEntity {
    */
   public void addFeature(String featureName, SzEntityFeature value)
   {
+    this.ensureFeaturesParsed();
     if (value == null) return;
     List<SzEntityFeature> featureValues = this.features.get(featureName);
     if (featureValues == null) {
@@ -625,6 +697,84 @@ public class SzResolvedEntity {
     featureValues.add(value);
   }
 
+  /**
+   * Strips the duplicate values from the features of this entity.  If the
+   * features have not yet been parsed then the duplicate values are omitted
+   * once they are parsed.
+   */
+  public void stripDuplicateFeatureValues() {
+    this.stripDuplicateValues = true;
+    if (this.pendingFeatures != null) return;
+    this.features.values().forEach(list -> {
+      list.forEach(f -> f.setDuplicateValues(null));
+    });
+  }
+
+  /**
+   * Parses the {@linkplain #pendingFeatures pending features} (if any) and
+   * populates the features and the data lists derived from them.
+   */
+  private void ensureFeaturesParsed() {
+    if (this.pendingFeatures == null) return;
+
+    JsonObject              features  = this.pendingFeatures;
+    Function<String,String> mapper    = this.pendingMapper;
+
+    Map<String,List<SzEntityFeature>> featureMap = null;
+    for (String key : features.keySet()) {
+      JsonArray jsonArray = features.getJsonArray(key);
+      List<SzEntityFeature> featureValues
+          = SzEntityFeature.parseEntityFeatureList(null, jsonArray);
+      if (this.stripDuplicateValues) {
+        featureValues.forEach(f -> f.setDuplicateValues(null));
+      }
+      if (featureMap == null) {
+        featureMap = new LinkedHashMap<>();
+      }
+      featureMap.put(key, featureValues);
+    }
+
+    if (featureMap != null) {
+      featureMap = Collections.unmodifiableMap(featureMap);
+    }
+
+    // this clears the pending features
+    this.setFeatures(featureMap, mapper);
+  }
+
+  /**
+   * Discards the {@linkplain #pendingFeatures pending features} (if any)
+   * without parsing them.  This is done when a data list derived from the
+   * features is set directly since it replaces the parsed values.
+   */
+  private void discardPendingFeatures() {
+    this.pendingFeatures = null;
+    this.pendingMapper   = null;
+  }
+
+  /**
+   * Discards the {@linkplain #pendingRecords pending records} (if any)
+   * without parsing them.  This is done when the "other data" derived from
+   * the records is set directly since it replaces the parsed values.
+   */
+  private void discardPendingRecords() {
+    this.pendingRecords = null;
+  }
+
+  /**
+   * Parses the {@linkplain #pendingRecords pending records} (if any) and
+   * populates the records and the "other data" derived from them.
+   */
+  private void ensureRecordsParsed() {
+    if (this.pendingRecords == null) return;
+
+    List<SzMatchedRecord> recordList
+        = SzMatchedRecord.parseMatchedRecordList(null, this.pendingRecords);
+
+    // this clears the pending records
+    this.setRecords(recordList);
+  }
+
   /**
    * Checks whether or not the entity data is only partially populated.
    * If partially populated then it will not have complete features or records
@@ -716,36 +866,16 @@ public class SzResolvedEntity {
     long entityId     = jsonObject.getJsonNumber("ENTITY_ID").longValue();
     String entityName = JsonUtils.getString(jsonObject, "ENTITY_NAME");
 
-    Map<String,List<SzEntityFeature>> featureMap = null;
-
     boolean partial = (!jsonObject.containsKey("FEATURES")
                       || !jsonObject.containsKey("RECORDS"));
 
-    if (jsonObject.containsKey("FEATURES")) {
-      JsonObject features = jsonObject.getJsonObject("FEATURES");
-      for (String key : features.keySet()) {
-        JsonArray jsonArray = features.getJsonArray(key);
-        List<SzEntityFeature> featureValues
-            = SzEntityFeature.parseEntityFeatureList(null, jsonArray);
-        if (featureMap == null) {
-          featureMap = new LinkedHashMap<>();
-        }
-        featureMap.put(key, featureValues);
-      }
-
-      if (featureMap != null) {
-        featureMap = Collections.unmodifiableMap(featureMap);
-      }
-    }
-
-    // get the records
-    List<SzMatchedRecord> recordList = null;
+    // get the record summaries without parsing the records
     List<SzDataSourceRecordSummary> summaries = null;
+    JsonArray records = null;
 
     if (jsonObject.containsKey("RECORDS")) {
-      JsonArray records = jsonObject.getJsonArray("RECORDS");
-      recordList = SzMatchedRecord.parseMatchedRecordList(null, records);
-      summaries = summarizeRecords(recordList);
+      records = jsonObject.getJsonArray("RECORDS");
+      summaries = summarizeRecordArray(records);
 
     } else if (jsonObject.containsKey("RECORD_SUMMARY")) {
       JsonArray jsonArray = jsonObject.getJsonArray("RECORD_SUMMARY");
@@ -755,15 +885,43 @@ public class SzResolvedEntity {
 
     entity.setEntityName(entityName);
     entity.setEntityId(entityId);
-    entity.setFeatures(featureMap, featureToAttrClassMapper);
-    entity.setRecords(recordList);
+    entity.setFeatures(null, featureToAttrClassMapper);
+    entity.setRecords(null);
     entity.setRecordSummaries(summaries);
     entity.setPartial(partial);
 
+    // defer parsing the features and records until they are accessed
+    entity.pendingFeatures  = JsonUtils.getJsonObject(jsonObject, "FEATURES");
+    entity.pendingMapper    = featureToAttrClassMapper;
+    entity.pendingRecords   = records;
+
     // iterate over the feature map
     return entity;
   }
 
+  /**
+   * Summarizes the records described by the specified {@link JsonArray} in
+   * the Senzing native API format using only their data source codes and
+   * record IDs so the records themselves need not be fully parsed.
+   *
+   * @param records The {@link JsonArray} describing the records.
+   *
+   * @return The {@link List} of {@link SzDataSourceRecordSummary} instances
+   *         describing the summaries.
+   */
+  private static List<SzDataSourceRecordSummary> summarizeRecordArray(
+      JsonArray records)
+  {
+    List<SzMatchedRecord> list = new ArrayList<>(records.size());
+    for (JsonObject jsonObject : records.getValuesAs(JsonObject.class)) {
+      SzMatchedRecord record = new SzMatchedRecord();
+      record.setDataSource(jsonObject.getString("DATA_SOURCE"));
+      record.setRecordId(jsonObject.getString("RECORD_ID"));
+      list.add(record);
+    }
+    return summarizeRecords(list);
+  }
+
   /**
    * Summarizes the specified {@link List} of {@linkplain SzMatchedRecord
    * records} and produces a {@link List} of {@link SzDataSourceRecordSummary} instances.
@@ -903,6 +1061,8 @@ public class SzResolvedEntity {
 
   @Override
   public String toString() {
+    this.ensureFeaturesParsed();
+    this.ensureRecordsParsed();
     return "SzResolvedEntity{" +
         "entityId=" + entityId +
         ", partial=" + partial +
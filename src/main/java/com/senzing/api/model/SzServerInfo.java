@@ -33,6 +33,18 @@ public class SzServerInfo {
    */
   private boolean adminEnabled;
 
+  /**
+   * The metrics describing the reinitializations with new configurations,
+   * or <tt>null</tt> if not known.
+   */
+  private SzReinitMetrics reinitMetrics;
+
+  /**
+   * The metrics describing the background processing of redo records, or
+   * <tt>null</tt> if redo records are not processed in the background.
+   */
+  private SzRedoMetrics redoMetrics;
+
   /**
    * Default constructor.
    */
@@ -42,6 +54,8 @@ public class SzServerInfo {
     this.dynamicConfig    = false;
     this.readOnly         = false;
     this.adminEnabled     = false;
+    this.reinitMetrics    = null;
+    this.redoMetrics      = null;
   }
 
   /**
@@ -156,4 +170,52 @@ public class SzServerInfo {
   public void setAdminEnabled(boolean adminEnabled) {
     this.adminEnabled = adminEnabled;
   }
+
+  /**
+   * Gets the {@link SzReinitMetrics} describing the number of times the
+   * server has reinitialized with a new configuration and the time that
+   * engine calls were stalled by the reinitializations.
+   *
+   * @return The {@link SzReinitMetrics} describing the reinitializations, or
+   *         <tt>null</tt> if not known.
+   */
+  public SzReinitMetrics getReinitMetrics() {
+    return reinitMetrics;
+  }
+
+  /**
+   * Sets the {@link SzReinitMetrics} describing the number of times the
+   * server has reinitialized with a new configuration and the time that
+   * engine calls were stalled by the reinitializations.
+   *
+   * @param reinitMetrics The {@link SzReinitMetrics} describing the
+   *                      reinitializations, or <tt>null</tt> if not known.
+   */
+  public void setReinitMetrics(SzReinitMetrics reinitMetrics) {
+    this.reinitMetrics = reinitMetrics;
+  }
+
+  /**
+   * Gets the {@link SzRedoMetrics} describing the background processing of
+   * redo records by the server.
+   *
+   * @return The {@link SzRedoMetrics} describing the background processing
+   *         of redo records, or <tt>null</tt> if redo records are not
+   *         processed in the background.
+   */
+  public SzRedoMetrics getRedoMetrics() {
+    return redoMetrics;
+  }
+
+  /**
+   * Sets the {@link SzRedoMetrics} describing the background processing of
+   * redo records by the server.
+   *
+   * @param redoMetrics The {@link SzRedoMetrics} describing the background
+   *                    processing of redo records, or <tt>null</tt> if redo
+   *                    records are not processed in the background.
+   */
+  public void setRedoMetrics(SzRedoMetrics redoMetrics) {
+    this.redoMetrics = redoMetrics;
+  }
 }
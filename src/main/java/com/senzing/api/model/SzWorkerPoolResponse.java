@@ -0,0 +1,117 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * A response object that contains worker thread pool statistics.
+ *
+ */
+public class SzWorkerPoolResponse extends SzBasicResponse {
+  /**
+   * The data for this instance.
+   */
+  private SzWorkerPoolStats poolStats;
+
+  /**
+   * Default constructor.
+   */
+  SzWorkerPoolResponse() {
+    // do nothing
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * pool statistics to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzWorkerPoolResponse(SzHttpMethod httpMethod,
+                              int          httpStatusCode,
+                              String       selfLink,
+                              Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, selfLink, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the
+   * {@link SzWorkerPoolStats} describing the pool.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param poolStats The {@link SzWorkerPoolStats} describing the pool.
+   */
+  public SzWorkerPoolResponse(SzHttpMethod      httpMethod,
+                              int               httpStatusCode,
+                              String            selfLink,
+                              Timers            timers,
+                              SzWorkerPoolStats poolStats)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.poolStats = poolStats;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * pool statistics to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   *
+   */
+  public SzWorkerPoolResponse(SzHttpMethod httpMethod,
+                              int          httpStatusCode,
+                              UriInfo      uriInfo,
+                              Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, uriInfo, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, {@link UriInfo} and the
+   * {@link SzWorkerPoolStats} describing the pool.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param poolStats The {@link SzWorkerPoolStats} describing the pool.
+   */
+  public SzWorkerPoolResponse(SzHttpMethod      httpMethod,
+                              int               httpStatusCode,
+                              UriInfo           uriInfo,
+                              Timers            timers,
+                              SzWorkerPoolStats poolStats)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.poolStats = poolStats;
+  }
+
+  /**
+   * Returns the {@link SzWorkerPoolStats} associated with this response.
+   *
+   * @return The data associated with this response.
+   */
+  public SzWorkerPoolStats getData() {
+    return this.poolStats;
+  }
+
+  /**
+   * Sets the data associated with this response with an
+   * {@link SzWorkerPoolStats}.
+   *
+   * @param poolStats The {@link SzWorkerPoolStats} describing the pool.
+   */
+  public void setData(SzWorkerPoolStats poolStats) {
+    this.poolStats = poolStats;
+  }
+}
@@ -0,0 +1,150 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the live statistics for the pool of Senzing worker threads that
+ * handle requests.
+ */
+public class SzWorkerPoolStats {
+  /**
+   * The configured number of worker threads.
+   */
+  private int concurrency;
+
+  /**
+   * The number of worker threads currently alive, which can exceed the
+   * concurrency briefly while busy threads are retired after shrinking.
+   */
+  private int threadCount;
+
+  /**
+   * The number of worker threads currently busy executing tasks.
+   */
+  private int busyThreads;
+
+  /**
+   * The number of requests currently waiting for a worker thread.
+   */
+  private int queueLength;
+
+  /**
+   * The total number of tasks executed by the worker threads.
+   */
+  private long tasksExecuted;
+
+  /**
+   * Default constructor.
+   */
+  public SzWorkerPoolStats() {
+    this.concurrency    = 0;
+    this.threadCount    = 0;
+    this.busyThreads    = 0;
+    this.queueLength    = 0;
+    this.tasksExecuted  = 0L;
+  }
+
+  /**
+   * Gets the configured number of Senzing worker threads.
+   *
+   * @return The configured number of Senzing worker threads.
+   */
+  public int getConcurrency() {
+    return this.concurrency;
+  }
+
+  /**
+   * Sets the configured number of Senzing worker threads.
+   *
+   * @param concurrency The configured number of Senzing worker threads.
+   */
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Gets the number of worker threads currently alive.  This can briefly
+   * exceed the {@linkplain #getConcurrency() concurrency} after the pool is
+   * shrunk while the busy threads complete their current tasks.
+   *
+   * @return The number of worker threads currently alive.
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Sets the number of worker threads currently alive.
+   *
+   * @param threadCount The number of worker threads currently alive.
+   */
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Gets the number of worker threads currently busy executing tasks.
+   *
+   * @return The number of worker threads currently busy executing tasks.
+   */
+  public int getBusyThreads() {
+    return this.busyThreads;
+  }
+
+  /**
+   * Sets the number of worker threads currently busy executing tasks.
+   *
+   * @param busyThreads The number of worker threads currently busy executing
+   *                    tasks.
+   */
+  public void setBusyThreads(int busyThreads) {
+    this.busyThreads = busyThreads;
+  }
+
+  /**
+   * Gets the number of requests currently waiting for a worker thread.
+   *
+   * @return The number of requests currently waiting for a worker thread.
+   */
+  public int getQueueLength() {
+    return this.queueLength;
+  }
+
+  /**
+   * Sets the number of requests currently waiting for a worker thread.
+   *
+   * @param queueLength The number of requests currently waiting for a worker
+   *                    thread.
+   */
+  public void setQueueLength(int queueLength) {
+    this.queueLength = queueLength;
+  }
+
+  /**
+   * Gets the total number of tasks executed by the worker threads.
+   *
+   * @return The total number of tasks executed by the worker threads.
+   */
+  public long getTasksExecuted() {
+    return this.tasksExecuted;
+  }
+
+  /**
+   * Sets the total number of tasks executed by the worker threads.
+   *
+   * @param tasksExecuted The total number of tasks executed by the worker
+   *                      threads.
+   */
+  public void setTasksExecuted(long tasksExecuted) {
+    this.tasksExecuted = tasksExecuted;
+  }
+
+  @Override
+  public String toString() {
+    return "SzWorkerPoolStats{" +
+        "concurrency=" + concurrency +
+        ", threadCount=" + threadCount +
+        ", busyThreads=" + busyThreads +
+        ", queueLength=" + queueLength +
+        ", tasksExecuted=" + tasksExecuted +
+        '}';
+  }
+}
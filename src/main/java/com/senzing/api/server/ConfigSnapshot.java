@@ -0,0 +1,133 @@
+package com.senzing.api.server;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the configuration data cached by {@link
+ * SzApiServer}.  A new snapshot can be prepared without disturbing the
+ * current one and then swapped in with a single reference assignment so
+ * that readers always see a consistent view of the configuration.
+ */
+class ConfigSnapshot {
+  /**
+   * The configuration ID associated with the snapshot, or <tt>null</tt> if
+   * not known.
+   */
+  private Long configId;
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of configured data sources.
+   */
+  private Set<String> dataSources;
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of configured entity classes.
+   */
+  private Set<String> entityClasses;
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of configured entity types.
+   */
+  private Set<String> entityTypes;
+
+  /**
+   * The <b>unmodifiable</b> {@link Map} of FTYPE_CODE values to ATTR_CLASS
+   * values from the config.
+   */
+  private Map<String, String> featureToAttrClassMap;
+
+  /**
+   * The <b>unmodifiable</b> {@link Map} of ATTR_CODE values to ATTR_CLASS
+   * values from the config.
+   */
+  private Map<String, String> attrCodeToAttrClassMap;
+
+  /**
+   * Constructs with the specified parameters.  The specified collections
+   * are expected to already be unmodifiable.
+   *
+   * @param configId The configuration ID, or <tt>null</tt> if not known.
+   * @param dataSources The {@link Set} of data sources.
+   * @param entityClasses The {@link Set} of entity classes.
+   * @param entityTypes The {@link Set} of entity types.
+   * @param featureToAttrClassMap The {@link Map} of FTYPE_CODE values to
+   *                              ATTR_CLASS values.
+   * @param attrCodeToAttrClassMap The {@link Map} of ATTR_CODE values to
+   *                               ATTR_CLASS values.
+   */
+  ConfigSnapshot(Long                 configId,
+                 Set<String>          dataSources,
+                 Set<String>          entityClasses,
+                 Set<String>          entityTypes,
+                 Map<String, String>  featureToAttrClassMap,
+                 Map<String, String>  attrCodeToAttrClassMap)
+  {
+    this.configId               = configId;
+    this.dataSources            = dataSources;
+    this.entityClasses          = entityClasses;
+    this.entityTypes            = entityTypes;
+    this.featureToAttrClassMap  = featureToAttrClassMap;
+    this.attrCodeToAttrClassMap = attrCodeToAttrClassMap;
+  }
+
+  /**
+   * Returns the configuration ID associated with the snapshot, or
+   * <tt>null</tt> if not known.
+   *
+   * @return The configuration ID associated with the snapshot, or
+   *         <tt>null</tt> if not known.
+   */
+  Long getConfigId() {
+    return this.configId;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Set} of configured data sources.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of configured data sources.
+   */
+  Set<String> getDataSources() {
+    return this.dataSources;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Set} of configured entity classes.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of configured entity classes.
+   */
+  Set<String> getEntityClasses() {
+    return this.entityClasses;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Set} of configured entity types.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of configured entity types.
+   */
+  Set<String> getEntityTypes() {
+    return this.entityTypes;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Map} of FTYPE_CODE values to
+   * ATTR_CLASS values.
+   *
+   * @return The <b>unmodifiable</b> {@link Map} of FTYPE_CODE values to
+   *         ATTR_CLASS values.
+   */
+  Map<String, String> getFeatureToAttrClassMap() {
+    return this.featureToAttrClassMap;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Map} of ATTR_CODE values to
+   * ATTR_CLASS values.
+   *
+   * @return The <b>unmodifiable</b> {@link Map} of ATTR_CODE values to
+   *         ATTR_CLASS values.
+   */
+  Map<String, String> getAttrCodeToAttrClassMap() {
+    return this.attrCodeToAttrClassMap;
+  }
+}
@@ -0,0 +1,117 @@
+package com.senzing.api.server;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * An immutable consistent hash ring that maps keys to nodes.  Each node is
+ * placed on the ring at a number of virtual positions so that the keys are
+ * spread evenly and only the keys belonging to a node move when that node is
+ * added or removed.
+ *
+ * @param <T> The type of the nodes on the ring.
+ */
+class ConsistentHashRing<T> {
+  /**
+   * The default number of virtual positions for each node.
+   */
+  static final int DEFAULT_VIRTUAL_NODE_COUNT = 128;
+
+  /**
+   * The {@link NavigableMap} of ring positions to nodes.
+   */
+  private final NavigableMap<Long, T> ring;
+
+  /**
+   * Constructs with the specified {@link Map} of {@link String} node
+   * identifiers to nodes using the {@linkplain #DEFAULT_VIRTUAL_NODE_COUNT
+   * default number of virtual positions}.  The node identifiers determine the
+   * positions of the nodes on the ring and should be stable.
+   *
+   * @param nodes The {@link Map} of {@link String} node identifiers to nodes.
+   */
+  ConsistentHashRing(Map<String, T> nodes) {
+    this(nodes, DEFAULT_VIRTUAL_NODE_COUNT);
+  }
+
+  /**
+   * Constructs with the specified {@link Map} of {@link String} node
+   * identifiers to nodes and the specified number of virtual positions for
+   * each node.  The node identifiers determine the positions of the nodes on
+   * the ring and should be stable.
+   *
+   * @param nodes The {@link Map} of {@link String} node identifiers to nodes.
+   *
+   * @param virtualNodeCount The number of virtual positions for each node.
+   *
+   * @throws IllegalArgumentException If the virtual node count is not
+   *                                  positive.
+   */
+  ConsistentHashRing(Map<String, T> nodes, int virtualNodeCount)
+    throws IllegalArgumentException
+  {
+    if (virtualNodeCount <= 0) {
+      throw new IllegalArgumentException(
+          "The virtual node count must be positive: " + virtualNodeCount);
+    }
+    NavigableMap<Long, T> ring = new TreeMap<>();
+    nodes.forEach((id, node) -> {
+      for (int index = 0; index < virtualNodeCount; index++) {
+        ring.put(hash(id + "#" + index), node);
+      }
+    });
+    this.ring = Collections.unmodifiableNavigableMap(ring);
+  }
+
+  /**
+   * Checks if there are no nodes on the ring.
+   *
+   * @return <tt>true</tt> if there are no nodes on the ring, otherwise
+   *         <tt>false</tt>.
+   */
+  boolean isEmpty() {
+    return this.ring.isEmpty();
+  }
+
+  /**
+   * Gets the node for the specified key, which is the first node at or after
+   * the position of the key on the ring.
+   *
+   * @param key The key for which the node is being requested.
+   *
+   * @return The node for the specified key, or <tt>null</tt> if there are no
+   *         nodes on the ring.
+   */
+  T get(String key) {
+    if (this.ring.isEmpty()) return null;
+    Map.Entry<Long, T> entry = this.ring.ceilingEntry(hash(key));
+    if (entry == null) entry = this.ring.firstEntry();
+    return entry.getValue();
+  }
+
+  /**
+   * Hashes the specified text to a position on the ring using the first
+   * eight bytes of its MD5 digest.
+   *
+   * @param text The text to hash.
+   *
+   * @return The position on the ring.
+   */
+  static long hash(String text) {
+    byte[] digest;
+    try {
+      MessageDigest md5 = MessageDigest.getInstance("MD5");
+      digest = md5.digest(text.getBytes(StandardCharsets.UTF_8));
+
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    long result = 0L;
+    for (int index = 0; index < 8; index++) {
+      result = (result << 8) | (digest[index] & 0xFFL);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,298 @@
+package com.senzing.api.server;
+
+import com.senzing.api.services.SzApiProvider;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.g2.engine.G2Engine.*;
+import static com.senzing.util.LoggingUtilities.formatError;
+
+/**
+ * Warms up the Senzing engine before the API server reports that it is
+ * ready by optionally calling {@link G2Engine#primeEngine()} and then
+ * replaying a list of "hot" queries captured from recent traffic.  The
+ * queries are read from a file containing one JSON object per line in one
+ * of the following forms (blank lines and lines starting with <tt>#</tt>
+ * are ignored):
+ * <ul>
+ *   <li><tt>{"entityId": 123}</tt> -- retrieves an entity by entity ID.</li>
+ *   <li><tt>{"dataSource": "CUSTOMERS", "recordId": "ABC"}</tt> -- retrieves
+ *       the entity for a record.</li>
+ *   <li><tt>{"attributes": {"NAME_FULL": "Joe Schmoe"}}</tt> -- searches by
+ *       the specified attributes.</li>
+ * </ul>
+ * The queries are replayed concurrently on the engine worker threads.  A
+ * failed query is counted but does not abort the warm-up.
+ */
+class EngineWarmUp {
+  /**
+   * The JSON property for the entity ID of an entity query.
+   */
+  static final String ENTITY_ID_KEY = "entityId";
+
+  /**
+   * The JSON property for the data source code of a record query.
+   */
+  static final String DATA_SOURCE_KEY = "dataSource";
+
+  /**
+   * The JSON property for the record ID of a record query.
+   */
+  static final String RECORD_ID_KEY = "recordId";
+
+  /**
+   * The JSON property for the attributes of a search query.
+   */
+  static final String ATTRIBUTES_KEY = "attributes";
+
+  /**
+   * The flags to use when replaying the queries, which match the default
+   * entity retrieval of the API server.
+   */
+  private static final int QUERY_FLAGS
+      = G2_ENTITY_INCLUDE_ALL_RELATIONS
+      | G2_ENTITY_INCLUDE_REPRESENTATIVE_FEATURES;
+
+  /**
+   * The {@link SzApiProvider} whose engine is being warmed up.
+   */
+  private SzApiProvider apiServer;
+
+  /**
+   * Whether or not {@link G2Engine#primeEngine()} should be called.
+   */
+  private boolean primeEngine;
+
+  /**
+   * The {@link List} of {@link JsonObject} queries to replay.
+   */
+  private List<JsonObject> queries;
+
+  /**
+   * The number of queries that were replayed successfully.
+   */
+  private AtomicInteger successCount = new AtomicInteger(0);
+
+  /**
+   * The number of queries that failed when replayed.
+   */
+  private AtomicInteger failureCount = new AtomicInteger(0);
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param apiServer The {@link SzApiProvider} whose engine is to be warmed
+   *                  up.
+   *
+   * @param primeEngine <tt>true</tt> if {@link G2Engine#primeEngine()}
+   *                    should be called, otherwise <tt>false</tt>.
+   *
+   * @param queryFile The file containing the queries to replay, or
+   *                  <tt>null</tt> if no queries should be replayed.
+   *
+   * @throws IOException If a failure occurs reading the query file.
+   *
+   * @throws IllegalArgumentException If the query file contains an invalid
+   *                                  query.
+   */
+  EngineWarmUp(SzApiProvider  apiServer,
+               boolean        primeEngine,
+               File           queryFile)
+    throws IOException, IllegalArgumentException
+  {
+    this.apiServer    = apiServer;
+    this.primeEngine  = primeEngine;
+    this.queries      = (queryFile == null)
+                      ? Collections.emptyList() : readQueries(queryFile);
+  }
+
+  /**
+   * Returns the number of queries to be replayed.
+   *
+   * @return The number of queries to be replayed.
+   */
+  int getQueryCount() {
+    return this.queries.size();
+  }
+
+  /**
+   * Returns the number of queries that were successfully replayed.
+   *
+   * @return The number of queries that were successfully replayed.
+   */
+  int getSuccessCount() {
+    return this.successCount.get();
+  }
+
+  /**
+   * Returns the number of queries that failed when replayed.
+   *
+   * @return The number of queries that failed when replayed.
+   */
+  int getFailureCount() {
+    return this.failureCount.get();
+  }
+
+  /**
+   * Performs the warm-up, returning once the engine has been primed (if
+   * requested) and all queries have been replayed.
+   *
+   * @throws Exception If priming the engine fails.
+   */
+  void run() throws Exception {
+    G2Engine engineApi = this.apiServer.getEngineApi();
+
+    if (this.primeEngine) {
+      int returnCode = this.apiServer.executeInThread(
+          () -> engineApi.primeEngine());
+      if (returnCode != 0) {
+        throw new IllegalStateException(
+            formatError("G2Engine.primeEngine()", engineApi));
+      }
+    }
+
+    if (this.queries.size() == 0) return;
+
+    // use one thread per engine worker thread to keep them all busy
+    int threadCount = Math.min(this.apiServer.getConcurrency(),
+                               this.queries.size());
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      for (JsonObject query : this.queries) {
+        executor.execute(() -> {
+          try {
+            int returnCode = this.apiServer.executeInThread(() -> {
+              int result = replay(engineApi, query);
+              // clear the failure on this worker thread so it is not
+              // reported as the failure of a later request
+              if (result != 0) engineApi.clearLastException();
+              return result;
+            });
+            if (returnCode == 0) {
+              this.successCount.incrementAndGet();
+            } else {
+              this.failureCount.incrementAndGet();
+            }
+          } catch (Exception e) {
+            this.failureCount.incrementAndGet();
+          }
+        });
+      }
+    } finally {
+      executor.shutdown();
+      while (!executor.awaitTermination(10L, TimeUnit.SECONDS)) {
+        // keep waiting
+      }
+    }
+  }
+
+  /**
+   * Replays the specified query against the specified {@link G2Engine}.
+   *
+   * @param engineApi The {@link G2Engine} to use.
+   *
+   * @param query The {@link JsonObject} describing the query.
+   *
+   * @return The return code from the native API.
+   */
+  private static int replay(G2Engine engineApi, JsonObject query) {
+    StringBuffer sb = new StringBuffer();
+    if (query.containsKey(ENTITY_ID_KEY)) {
+      long entityId = query.getJsonNumber(ENTITY_ID_KEY).longValue();
+      return engineApi.getEntityByEntityIDV2(entityId, QUERY_FLAGS, sb);
+
+    } else if (query.containsKey(ATTRIBUTES_KEY)) {
+      String attributes = JsonUtils.toJsonText(query.get(ATTRIBUTES_KEY));
+      return engineApi.searchByAttributesV2(attributes, QUERY_FLAGS, sb);
+
+    } else {
+      String dataSource = query.getString(DATA_SOURCE_KEY);
+      String recordId   = query.getString(RECORD_ID_KEY);
+      return engineApi.getEntityByRecordIDV2(
+          dataSource, recordId, QUERY_FLAGS, sb);
+    }
+  }
+
+  /**
+   * Reads the queries from the specified file, validating each one.
+   *
+   * @param queryFile The file containing the queries.
+   *
+   * @return The {@link List} of {@link JsonObject} queries.
+   *
+   * @throws IOException If a failure occurs reading the file.
+   *
+   * @throws IllegalArgumentException If the file contains an invalid query.
+   */
+  static List<JsonObject> readQueries(File queryFile)
+    throws IOException, IllegalArgumentException
+  {
+    List<JsonObject> queries = new LinkedList<>();
+    try (FileInputStream fis = new FileInputStream(queryFile);
+         InputStreamReader isr = new InputStreamReader(fis, "UTF-8");
+         BufferedReader br = new BufferedReader(isr))
+    {
+      int lineNumber = 0;
+      for (String line = br.readLine(); line != null; line = br.readLine()) {
+        lineNumber++;
+        line = line.trim();
+        if (line.length() == 0 || line.startsWith("#")) continue;
+        try {
+          JsonObject query = JsonUtils.parseJsonObject(line);
+          validateQuery(query);
+          queries.add(query);
+
+        } catch (Exception e) {
+          throw new IllegalArgumentException(
+              "Invalid warm-up query at line " + lineNumber + " of "
+              + queryFile + ": " + line, e);
+        }
+      }
+    }
+    return queries;
+  }
+
+  /**
+   * Validates that the specified {@link JsonObject} describes a supported
+   * query.
+   *
+   * @param query The {@link JsonObject} to validate.
+   *
+   * @throws IllegalArgumentException If the query is not valid.
+   */
+  private static void validateQuery(JsonObject query)
+    throws IllegalArgumentException
+  {
+    if (query.containsKey(ENTITY_ID_KEY)) {
+      query.getJsonNumber(ENTITY_ID_KEY).longValueExact();
+
+    } else if (query.containsKey(ATTRIBUTES_KEY)) {
+      if (query.get(ATTRIBUTES_KEY).getValueType()
+          != JsonValue.ValueType.OBJECT)
+      {
+        throw new IllegalArgumentException(
+            "The " + ATTRIBUTES_KEY + " property must be a JSON object.");
+      }
+
+    } else if (!query.containsKey(DATA_SOURCE_KEY)
+               || !query.containsKey(RECORD_ID_KEY))
+    {
+      throw new IllegalArgumentException(
+          "Expected " + ENTITY_ID_KEY + ", " + ATTRIBUTES_KEY + " or both "
+          + DATA_SOURCE_KEY + " and " + RECORD_ID_KEY + " properties.");
+
+    } else {
+      query.getString(DATA_SOURCE_KEY);
+      query.getString(RECORD_ID_KEY);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.senzing.api.server;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link HandlerWrapper} that invokes a callback once the first request
+ * handled by the server has completed so that the time from startup to the
+ * first served request can be reported.
+ */
+class FirstRequestHandler extends HandlerWrapper {
+  /**
+   * Flag indicating if the first request has been handled.
+   */
+  private final AtomicBoolean handled = new AtomicBoolean(false);
+
+  /**
+   * The {@link Runnable} to invoke when the first request has been handled.
+   */
+  private final Runnable callback;
+
+  /**
+   * Constructs with the {@link Runnable} to invoke when the first request has
+   * been handled.
+   *
+   * @param callback The {@link Runnable} to invoke when the first request has
+   *                 been handled.
+   */
+  FirstRequestHandler(Runnable callback) {
+    this.callback = callback;
+  }
+
+  @Override
+  public void handle(String              target,
+                     Request             baseRequest,
+                     HttpServletRequest  request,
+                     HttpServletResponse response)
+    throws IOException, ServletException
+  {
+    try {
+      super.handle(target, baseRequest, request, response);
+
+    } finally {
+      if (!this.handled.get() && this.handled.compareAndSet(false, true)) {
+        this.callback.run();
+      }
+    }
+  }
+}
@@ -5,10 +5,12 @@ import com.senzing.g2.engine.Result;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import static com.senzing.api.services.EntityDataServices.*;
 import static com.senzing.util.LoggingUtilities.multilineFormat;
 
 /**
@@ -30,6 +32,15 @@ class G2EngineRetryHandler implements InvocationHandler {
    */
   private static Set<Method> UNSUPPORTED_METHODS;
 
+  /**
+   * The set of error codes for failures that are not related to the
+   * configuration and therefore do not warrant checking if the configuration
+   * is current.
+   */
+  private static final Set<Integer> NON_CONFIG_ERROR_CODES
+      = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+          RECORD_NOT_FOUND_CODE, ENTITY_ID_NOT_FOUND_CODE)));
+
   /**
    * Utility method to get an optional method that may not exist on the version
    * of g2.jar that we are building with.
@@ -69,27 +80,6 @@ class G2EngineRetryHandler implements InvocationHandler {
       unsupportedSet.add(cls.getMethod("reinitV2", long.class));
       unsupportedSet.add(cls.getMethod("destroy"));
 
-      // handle unsupported methods that may not be in the version of g2.jar
-      // that is installed in the build/runtime environment
-      addMethodIfExists(unsupportedSet,"addRecordWithInfo",
-                        String.class, String.class, String.class,
-                        String.class, int.class, StringBuffer.class);
-      addMethodIfExists(unsupportedSet,"replaceRecordWithInfo",
-                        String.class, String.class, String.class,
-                        String.class, int.class, StringBuffer.class);
-      addMethodIfExists(unsupportedSet,"deleteRecordWithInfo",
-                        String.class, String.class, String.class,
-                        int.class, StringBuffer.class);
-      addMethodIfExists(unsupportedSet,"reevaluateEntityWithInfo",
-                        long.class, int.class, StringBuffer.class);
-      addMethodIfExists(unsupportedSet,"reevaluateRecordWithInfo",
-                        String.class, String.class,
-                        int.class, StringBuffer.class);
-      addMethodIfExists(unsupportedSet,"processRedoRecordWithInfo",
-                        int.class, StringBuffer.class, StringBuffer.class);
-      addMethodIfExists(unsupportedSet,"processWithInfo",
-                        String.class, int.class, StringBuffer.class);
-
       directSet.add(cls.getMethod("primeEngine"));
       directSet.add(cls.getMethod("purgeRepository"));
       directSet.add(cls.getMethod("stats"));
@@ -194,6 +184,32 @@ class G2EngineRetryHandler implements InvocationHandler {
       retrySet.add(cls.getMethod("process", String.class));
       retrySet.add(cls.getMethod(
           "process", String.class, StringBuffer.class));
+
+      // handle the methods returning the affected entities that may not be
+      // in the version of g2.jar that is installed in the build/runtime
+      // environment -- these are used for the entity change feed
+      addMethodIfExists(retrySet, "addRecordWithInfo",
+                        String.class, String.class, String.class,
+                        String.class, int.class, StringBuffer.class);
+      addMethodIfExists(retrySet, "addRecordWithInfoWithReturnedRecordID",
+                        String.class, String.class, String.class,
+                        int.class, StringBuffer.class, StringBuffer.class);
+      addMethodIfExists(retrySet, "replaceRecordWithInfo",
+                        String.class, String.class, String.class,
+                        String.class, int.class, StringBuffer.class);
+      addMethodIfExists(retrySet, "deleteRecordWithInfo",
+                        String.class, String.class, String.class,
+                        int.class, StringBuffer.class);
+      addMethodIfExists(retrySet, "reevaluateEntityWithInfo",
+                        long.class, int.class, StringBuffer.class);
+      addMethodIfExists(retrySet, "reevaluateRecordWithInfo",
+                        String.class, String.class,
+                        int.class, StringBuffer.class);
+      addMethodIfExists(retrySet, "processRedoRecordWithInfo",
+                        int.class, StringBuffer.class, StringBuffer.class);
+      addMethodIfExists(retrySet, "processWithInfo",
+                        String.class, int.class, StringBuffer.class);
+
       retrySet.add(cls.getMethod(
           "whyEntityByRecordID", String.class, String.class,
           StringBuffer.class));
@@ -334,7 +350,9 @@ class G2EngineRetryHandler implements InvocationHandler {
    * Checks if a retry is needed by comparing the active config ID to the
    * default config ID.  If they are the same then <tt>false</tt> is returned,
    * but if they differ then the {@link G2Engine} is reinitialized and
-   * <tt>true</tt> is returned.
+   * <tt>true</tt> is returned.  The check is skipped if the failure is
+   * clearly not related to the configuration (e.g.: the record or entity was
+   * not found) and the cheap check of the default config ID is done first.
    *
    * @param retried Indicates if we have already retried once.
    * @return <tt>true</tt> if the last operation should be retried, otherwise
@@ -343,6 +361,14 @@ class G2EngineRetryHandler implements InvocationHandler {
   private boolean checkRetryNeeded(boolean retried) {
     if (retried) return false;
 
+    // check if the failure is not related to the configuration
+    int errorCode = this.engineApi.getLastExceptionCode();
+    if (NON_CONFIG_ERROR_CODES.contains(errorCode)) return false;
+
+    // check if the default config ID is unchanged
+    Boolean changed = this.apiServer.isConfigChangeDetected();
+    if (changed != null && !changed) return false;
+
     Boolean result = this.apiServer.ensureConfigCurrent(false);
     if (result == null) return false;
     return result;
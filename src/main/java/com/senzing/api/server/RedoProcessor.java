@@ -0,0 +1,298 @@
+package com.senzing.api.server;
+
+import com.senzing.api.model.SzRedoMetrics;
+import com.senzing.api.model.SzWorkerPoolStats;
+import com.senzing.api.services.EntityChangeFeed;
+import com.senzing.api.services.SzApiProvider;
+import com.senzing.g2.engine.G2Engine;
+
+import static com.senzing.api.services.ServicesUtil.invalidateLastModified;
+import static com.senzing.util.LoggingUtilities.*;
+
+/**
+ * Background thread that drains the redo queue of the entity repository so
+ * that entity resolution catches up after records are loaded through the
+ * API server.  Redo records are processed one at a time on the engine
+ * worker threads, so at most one worker thread is used for redo processing.
+ * The pacing adapts to the requests being handled: while requests are
+ * waiting for a worker thread or all but one of the worker threads are busy
+ * the processor backs off exponentially from {@link #MIN_BACKOFF} up to
+ * {@link #MAX_BACKOFF}, and the back-off is halved again with each record
+ * processed while the server is not busy.  When the queue is empty the
+ * processor waits {@link #IDLE_PERIOD} before checking again.  If the
+ * {@link EntityChangeFeed} is enabled then the entities affected by each
+ * processed redo record are published to it.  The sampled repository
+ * last-modified time is invalidated after each processed redo record since
+ * it may have changed the resolved entities.
+ */
+class RedoProcessor extends Thread {
+  /**
+   * The minimum number of milliseconds to back off when yielding to
+   * requests.
+   */
+  static final long MIN_BACKOFF = 10L;
+
+  /**
+   * The maximum number of milliseconds to back off when yielding to
+   * requests or after a failure.
+   */
+  static final long MAX_BACKOFF = 2000L;
+
+  /**
+   * The number of milliseconds to wait before checking for new redo records
+   * when the redo queue is empty.
+   */
+  static final long IDLE_PERIOD = 5000L;
+
+  /**
+   * The number of milliseconds between updates of the backlog count and the
+   * throughput measurement.
+   */
+  static final long METRICS_PERIOD = 10000L;
+
+  /**
+   * The {@link SzApiProvider} whose engine is used to process the redo
+   * records.
+   */
+  private SzApiProvider apiServer;
+
+  /**
+   * The G2 engine API used to process the redo records.
+   */
+  private G2Engine engineApi;
+
+  /**
+   * The minimum number of milliseconds to back off when yielding to
+   * requests.
+   */
+  private final long minBackoff;
+
+  /**
+   * The maximum number of milliseconds to back off when yielding to
+   * requests or after a failure.
+   */
+  private final long maxBackoff;
+
+  /**
+   * The number of milliseconds to wait before checking for new redo records
+   * when the redo queue is empty.
+   */
+  private final long idlePeriod;
+
+  /**
+   * Flag indicating if the thread should complete or continue processing.
+   */
+  private boolean complete;
+
+  /**
+   * The {@link SzRedoMetrics} maintained by this instance.
+   */
+  private final SzRedoMetrics metrics = new SzRedoMetrics();
+
+  /**
+   * Constructs with the {@link SzApiProvider} and starts the thread.
+   *
+   * @param apiServer The {@link SzApiProvider} to process redo records for.
+   */
+  RedoProcessor(SzApiProvider apiServer) {
+    this(apiServer, MIN_BACKOFF, MAX_BACKOFF, IDLE_PERIOD);
+  }
+
+  /**
+   * Constructs with the {@link SzApiProvider} and the pacing periods and
+   * starts the thread.
+   *
+   * @param apiServer The {@link SzApiProvider} to process redo records for.
+   *
+   * @param minBackoff The minimum number of milliseconds to back off when
+   *                   yielding to requests.
+   *
+   * @param maxBackoff The maximum number of milliseconds to back off when
+   *                   yielding to requests or after a failure.
+   *
+   * @param idlePeriod The number of milliseconds to wait before checking for
+   *                   new redo records when the redo queue is empty.
+   */
+  RedoProcessor(SzApiProvider apiServer,
+                long          minBackoff,
+                long          maxBackoff,
+                long          idlePeriod)
+  {
+    super("SzApiServer-RedoProcessor");
+    this.apiServer  = apiServer;
+    this.engineApi  = apiServer.getEngineApi();
+    this.minBackoff = minBackoff;
+    this.maxBackoff = maxBackoff;
+    this.idlePeriod = idlePeriod;
+    this.complete   = false;
+    this.setDaemon(true);
+    this.start();
+  }
+
+  /**
+   * Signals that this thread should complete execution.
+   */
+  synchronized void complete() {
+    if (this.complete) return;
+    this.complete = true;
+    this.notifyAll();
+  }
+
+  /**
+   * Checks if this thread has received the completion signal.
+   *
+   * @return <tt>true</tt> if the completion signal has been received,
+   *         otherwise <tt>false</tt>.
+   */
+  synchronized boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Returns a snapshot of the {@link SzRedoMetrics} for this instance.
+   *
+   * @return A snapshot of the {@link SzRedoMetrics} for this instance.
+   */
+  SzRedoMetrics getMetrics() {
+    synchronized (this.metrics) {
+      SzRedoMetrics result = new SzRedoMetrics();
+      result.setBacklog(this.metrics.getBacklog());
+      result.setProcessedCount(this.metrics.getProcessedCount());
+      result.setFailedCount(this.metrics.getFailedCount());
+      result.setYieldCount(this.metrics.getYieldCount());
+      result.setRecordsPerSecond(this.metrics.getRecordsPerSecond());
+      return result;
+    }
+  }
+
+  /**
+   * Waits for the specified number of milliseconds or until signaled to
+   * complete.
+   *
+   * @param delay The number of milliseconds to wait.
+   */
+  private synchronized void pause(long delay) {
+    if (this.complete) return;
+    try {
+      this.wait(delay);
+    } catch (InterruptedException ignore) {
+      // do nothing
+    }
+  }
+
+  /**
+   * Checks if redo processing should yield to requests because requests are
+   * waiting for a worker thread or all but one worker thread is busy.
+   *
+   * @return <tt>true</tt> if redo processing should yield, otherwise
+   *         <tt>false</tt>.
+   */
+  private boolean isServerBusy() {
+    SzWorkerPoolStats stats = this.apiServer.getWorkerPoolStats();
+    if (stats.getQueueLength() > 0) return true;
+    return stats.getBusyThreads() >= Math.max(1, stats.getConcurrency() - 1);
+  }
+
+  /**
+   * Updates the backlog and the throughput measurement.
+   *
+   * @param elapsed The number of milliseconds since the last update.
+   *
+   * @param handled The number of redo records handled since the last update.
+   */
+  private void updateMetrics(long elapsed, long handled) {
+    Long backlog = null;
+    try {
+      long count = this.apiServer.executeInThread(
+          () -> this.engineApi.countRedoRecords());
+      if (count >= 0L) backlog = count;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+    synchronized (this.metrics) {
+      if (backlog != null) this.metrics.setBacklog(backlog);
+      if (elapsed > 0L) {
+        this.metrics.setRecordsPerSecond((handled * 1000.0) / elapsed);
+      }
+    }
+  }
+
+  /**
+   * The run method implemented to process the redo records with adaptive
+   * pacing until signaled to complete.
+   */
+  public void run() {
+    long backoff      = 0L;
+    long lastUpdate   = System.currentTimeMillis();
+    long handled      = 0L;
+
+    this.updateMetrics(0L, 0L);
+    while (!this.isComplete()) {
+      long now = System.currentTimeMillis();
+      if (now - lastUpdate >= METRICS_PERIOD) {
+        this.updateMetrics(now - lastUpdate, handled);
+        lastUpdate  = now;
+        handled     = 0L;
+      }
+
+      // yield to requests if the server is busy
+      if (this.isServerBusy()) {
+        backoff = Math.min(Math.max(backoff * 2L, this.minBackoff),
+                           this.maxBackoff);
+        synchronized (this.metrics) {
+          this.metrics.setYieldCount(this.metrics.getYieldCount() + 1L);
+        }
+        this.pause(backoff);
+        continue;
+      }
+      backoff /= 2L;
+
+      // process the next redo record (if any)
+      StringBuffer sb = new StringBuffer();
+      boolean success;
+      try {
+        // process through the change feed (if enabled) to publish changes
+        EntityChangeFeed changeFeed = this.apiServer.getChangeFeed();
+        int returnCode = this.apiServer.executeInThread(
+            () -> (changeFeed == null)
+                ? this.engineApi.processRedoRecord(sb)
+                : changeFeed.processRedoRecord(this.engineApi, sb));
+        success = (returnCode == 0);
+        if (!success) {
+          System.err.println(
+              formatError("G2Engine.processRedoRecord()", this.engineApi));
+        }
+
+      } catch (Exception e) {
+        if (this.isComplete()) break;
+        e.printStackTrace();
+        success = false;
+      }
+
+      if (!success) {
+        synchronized (this.metrics) {
+          this.metrics.setFailedCount(this.metrics.getFailedCount() + 1L);
+        }
+        handled++;
+        this.pause(this.maxBackoff);
+
+      } else if (sb.length() == 0) {
+        // the redo queue is empty
+        synchronized (this.metrics) {
+          this.metrics.setBacklog(0L);
+        }
+        this.pause(this.idlePeriod);
+
+      } else {
+        synchronized (this.metrics) {
+          this.metrics.setProcessedCount(
+              this.metrics.getProcessedCount() + 1L);
+        }
+        invalidateLastModified();
+        handled++;
+        if (backoff > 0L) this.pause(backoff);
+      }
+    }
+  }
+}
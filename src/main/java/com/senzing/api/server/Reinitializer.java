@@ -3,11 +3,23 @@ package com.senzing.api.server;
 import com.senzing.g2.engine.G2ConfigMgr;
 import com.senzing.g2.engine.G2Engine;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import static com.senzing.api.server.SzApiServer.*;
 
 /**
- * Background thread to periodically check to see if there is a new
- * configuration and update the configuration if so.
+ * Background thread to check to see if there is a new configuration and
+ * update the configuration if so.  Configuration changes made through this
+ * server are {@linkplain #signalChange() signaled} so they are handled
+ * immediately.  External changes are detected by polling the default
+ * configuration ID, which is cheap since it is compared against the cached
+ * active configuration ID.  Polling normally happens at the configured
+ * auto-refresh period.  After a change is signaled or detected the polling
+ * period drops to {@link #MIN_POLL_PERIOD}, since further changes often
+ * follow, and backs off exponentially to the auto-refresh period while the
+ * configuration is unchanged.  Each delay is randomly adjusted by up to
+ * {@link #JITTER_FRACTION} so that multiple servers sharing a repository do
+ * not poll in lock step.
  */
 class Reinitializer extends Thread {
   /**
@@ -16,6 +28,18 @@ class Reinitializer extends Thread {
    */
   static final int MAX_ERROR_COUNT = 5;
 
+  /**
+   * The minimum number of milliseconds between polls of the default
+   * configuration ID.
+   */
+  static final long MIN_POLL_PERIOD = 1000L;
+
+  /**
+   * The maximum fraction of the polling delay by which the delay is randomly
+   * increased or decreased.
+   */
+  static final double JITTER_FRACTION = 0.2;
+
   /**
    * The G2 engine API used to monitor the active config.
    */
@@ -41,6 +65,11 @@ class Reinitializer extends Thread {
    */
   private boolean refreshRequested = false;
 
+  /**
+   * Indicates if a configuration change has been signaled.
+   */
+  private boolean changeSignaled = false;
+
   /**
    * Constructs with the {@link G2ConfigMgr} and {@link G2Engine} API
    * references.
@@ -52,13 +81,32 @@ class Reinitializer extends Thread {
   Reinitializer(G2ConfigMgr       configMgrApi,
                 G2Engine          engineApi,
                 SzApiServer       apiServer)
+  {
+    this(configMgrApi, engineApi, apiServer, true);
+  }
+
+  /**
+   * Constructs with the {@link G2ConfigMgr} and {@link G2Engine} API
+   * references, optionally without starting the thread so that a subclass
+   * can complete its initialization before the thread is started.
+   *
+   * @param configMgrApi The {@link G2ConfigMgr} API.
+   * @param engineApi The {@link G2Engine} API.
+   * @param apiServer The {@link SzApiServer} to notify of reinitialization.
+   * @param start <tt>true</tt> if the thread should be started, otherwise
+   *              <tt>false</tt>.
+   */
+  Reinitializer(G2ConfigMgr       configMgrApi,
+                G2Engine          engineApi,
+                SzApiServer       apiServer,
+                boolean           start)
   {
     this.configMgrApi     = configMgrApi;
     this.engineApi        = engineApi;
     this.apiServer        = apiServer;
     this.complete         = false;
     this.refreshRequested = false;
-    this.start();
+    if (start) this.start();
   }
 
   /**
@@ -79,6 +127,17 @@ class Reinitializer extends Thread {
     return this.complete;
   }
 
+  /**
+   * Signals that the configuration was changed so that it is checked
+   * without waiting for the next poll.  Unlike {@link #requestRefresh()}
+   * this does not wait for the check to complete.  Signals are ignored until
+   * the next requested refresh if the auto-refresh period is negative.
+   */
+  synchronized void signalChange() {
+    this.changeSignaled = true;
+    this.notifyAll();
+  }
+
   /**
    * Requests a refresh.
    */
@@ -114,15 +173,6 @@ class Reinitializer extends Thread {
     }
   }
 
-  /**
-   * Checks if a refresh has been requested.
-   * @return <tt>true</tt> if a refresh has been requested, otherwise
-   *         <tt>false</tt>
-   */
-  private synchronized boolean isRefreshRequested() {
-    return this.refreshRequested;
-  }
-
   /**
    * Clears the refresh request and notifies.
    */
@@ -132,12 +182,82 @@ class Reinitializer extends Thread {
   }
 
   /**
-   * The run method implemented to periodially check if the active configuration
-   * ID differs from the default configuration ID and if so, reinitializes.
+   * Applies the random jitter to the specified delay.
+   *
+   * @param delay The delay in milliseconds.
+   * @return The jittered delay in milliseconds.
+   */
+  static long jitter(long delay) {
+    double factor = ThreadLocalRandom.current().nextDouble(
+        1.0 - JITTER_FRACTION, 1.0 + JITTER_FRACTION);
+    return Math.max(1L, (long) (delay * factor));
+  }
+
+  /**
+   * Gets the polling period to use after a poll, which is reset to {@link
+   * #MIN_POLL_PERIOD} if the configuration changed and is otherwise doubled
+   * up to the auto-refresh period.  A polling period of {@link
+   * Long#MAX_VALUE} is used for the steady state and yields the auto-refresh
+   * period unless the configuration changed.
+   *
+   * @param pollPeriod The current polling period in milliseconds.
+   * @param changed <tt>true</tt> if the configuration changed, otherwise
+   *                <tt>false</tt>.
+   * @param refreshPeriod The positive auto-refresh period in milliseconds.
+   * @return The next polling period in milliseconds.
+   */
+  static long nextPollPeriod(long     pollPeriod,
+                             boolean  changed,
+                             long     refreshPeriod)
+  {
+    if (changed) return MIN_POLL_PERIOD;
+    long maxPeriod = Math.max(refreshPeriod, MIN_POLL_PERIOD);
+    return (pollPeriod >= maxPeriod / 2L) ? maxPeriod : pollPeriod * 2L;
+  }
+
+  /**
+   * Gets the configuration auto-refresh period from the {@link SzApiServer}.
+   *
+   * @return The configuration auto-refresh period in milliseconds.
+   */
+  long getConfigAutoRefreshPeriod() {
+    return this.apiServer.getConfigAutoRefreshPeriod();
+  }
+
+  /**
+   * Cheaply checks with the {@link SzApiServer} if the default configuration
+   * differs from the active configuration.
+   *
+   * @return <tt>true</tt> if a change is detected, <tt>false</tt> if not and
+   *         <tt>null</tt> if an error occurred.
+   */
+  Boolean isConfigChangeDetected() {
+    return this.apiServer.isConfigChangeDetected();
+  }
+
+  /**
+   * Has the {@link SzApiServer} ensure its configuration is current,
+   * pausing the worker threads if it must reinitialize.
+   *
+   * @return <tt>true</tt> if the configuration was updated, <tt>false</tt>
+   *         if it was already current and <tt>null</tt> if an error
+   *         occurred.
+   */
+  Boolean ensureConfigCurrent() {
+    return this.apiServer.ensureConfigCurrent(true);
+  }
+
+  /**
+   * The run method implemented to check if the active configuration ID
+   * differs from the default configuration ID when signaled or polling and
+   * if so, reinitializes.
    */
   public void run() {
     try {
       int errorCount = 0;
+      // poll at the auto-refresh period until a change is seen
+      long pollPeriod = Long.MAX_VALUE;
+
       // loop until completed
       while (!this.isComplete()) {
         // check if we have reached the maximum error count
@@ -149,7 +269,7 @@ class Reinitializer extends Thread {
         }
 
         // get the refresh period
-        long delay = this.apiServer.getConfigAutoRefreshPeriod();
+        long delay = this.getConfigAutoRefreshPeriod();
 
         // check if zero (we should not really get here since this thread
         // should not be started if the delay is zero)
@@ -158,44 +278,52 @@ class Reinitializer extends Thread {
           continue;
         }
 
-        Boolean result;
-        // check if sleeping until notified
-        if (delay < 0) {
-          // we are sleeping until notified -- synchronize
-          synchronized (this) {
-            try {
-              // wait for a notification
-              this.wait(DEFAULT_CONFIG_REFRESH_PERIOD);
-            } catch (InterruptedException e) {
-              // check if interrupted and up the error count
-              errorCount++;
-              continue;
-            }
-
-            // check if a refresh has been requested
-            if (!this.isRefreshRequested()) {
-              continue;
-            }
-
-            // ensure the configuration is current
-            result = this.apiServer.ensureConfigCurrent(true);
+        boolean signaled;
+        boolean requested;
+        synchronized (this) {
+          try {
+            if (delay < 0) {
+              // we are sleeping until a refresh is requested
+              if (!this.refreshRequested) {
+                this.wait(DEFAULT_CONFIG_REFRESH_PERIOD);
+              }
+              if (!this.refreshRequested) continue;
 
-            synchronized (this) {
-              this.clearRefreshRequest();
+            } else if (!this.refreshRequested && !this.changeSignaled) {
+              // sleep for the backed-off polling period unless signaled
+              this.wait(jitter(Math.min(pollPeriod, delay)));
             }
+          } catch (InterruptedException e) {
+            // check if interrupted and up the error count
+            errorCount++;
+            continue;
           }
-        } else {
-          // sleep for the delay period
-          try {
-            Thread.sleep(delay);
 
+          if (this.isComplete()) continue;
+          requested = this.refreshRequested;
+          signaled = (requested || this.changeSignaled);
+          this.changeSignaled = false;
+        }
+
+        Boolean result;
+        try {
+          if (signaled) {
             // ensure the configuration is current
-            result = this.apiServer.ensureConfigCurrent(true);
+            result = this.ensureConfigCurrent();
 
-          } catch (InterruptedException e) {
-            errorCount++;
-            continue;
+          } else {
+            // cheaply poll for a change before checking further
+            Boolean changed = this.isConfigChangeDetected();
+            if (changed == null) {
+              result = null;
+            } else if (changed) {
+              result = this.ensureConfigCurrent();
+            } else {
+              result = Boolean.FALSE;
+            }
           }
+        } finally {
+          if (requested) this.clearRefreshRequest();
         }
 
         // check the result
@@ -206,6 +334,9 @@ class Reinitializer extends Thread {
 
         // reset the error count if we successfully reach this point
         errorCount = 0;
+
+        // poll faster after a change, otherwise back off
+        pollPeriod = nextPollPeriod(pollPeriod, result || signaled, delay);
       }
     } catch (Exception e) {
       System.err.println(
@@ -0,0 +1,215 @@
+package com.senzing.api.server;
+
+import com.senzing.util.JsonUtils;
+
+import javax.json.*;
+import java.io.*;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.io.IOUtilities.readTextFileAsString;
+
+/**
+ * Describes a local API server process fronted by {@link SzApiRouter}.  The
+ * backend is discovered through the file written and periodically updated
+ * by the {@link FileMonitor} of the API server process (specified with its
+ * <tt>-monitorFile</tt> option), which contains its process ID, HTTP port,
+ * shutdown flag and heartbeat timestamp.  The backend is considered available
+ * while the file has a recent heartbeat and the shutdown flag is not set.
+ */
+class RouterBackend {
+  /**
+   * The number of milliseconds after the last heartbeat before the backend
+   * is considered unavailable.  The {@link FileMonitor} updates the heartbeat
+   * every five seconds.
+   */
+  static final long HEARTBEAT_TIMEOUT = 15000L;
+
+  /**
+   * The monitor file for the backend.
+   */
+  private final File monitorFile;
+
+  /**
+   * The process for the backend if it was launched by the router, otherwise
+   * <tt>null</tt>.
+   */
+  private final Process process;
+
+  /**
+   * The HTTP port of the backend, or negative one (-1) if not yet known.
+   */
+  private volatile int port = -1;
+
+  /**
+   * Whether or not the backend is currently available.
+   */
+  private volatile boolean available = false;
+
+  /**
+   * The number of requests currently outstanding to the backend.
+   */
+  private final AtomicInteger outstanding = new AtomicInteger(0);
+
+  /**
+   * Constructs with the specified monitor file and optional process.
+   *
+   * @param monitorFile The monitor file for the backend.
+   *
+   * @param process The {@link Process} for the backend if launched by the
+   *                router, otherwise <tt>null</tt>.
+   */
+  RouterBackend(File monitorFile, Process process) {
+    this.monitorFile  = monitorFile;
+    this.process      = process;
+  }
+
+  /**
+   * Returns the stable identifier for the backend, which is the absolute
+   * path of its monitor file.
+   *
+   * @return The stable identifier for the backend.
+   */
+  String getId() {
+    return this.monitorFile.getAbsolutePath();
+  }
+
+  /**
+   * Returns the monitor file for the backend.
+   *
+   * @return The monitor file for the backend.
+   */
+  File getMonitorFile() {
+    return this.monitorFile;
+  }
+
+  /**
+   * Returns the {@link Process} for the backend if it was launched by the
+   * router, otherwise <tt>null</tt>.
+   *
+   * @return The {@link Process} for the backend, or <tt>null</tt>.
+   */
+  Process getProcess() {
+    return this.process;
+  }
+
+  /**
+   * Checks if the backend is currently available.
+   *
+   * @return <tt>true</tt> if the backend is available, otherwise
+   *         <tt>false</tt>.
+   */
+  boolean isAvailable() {
+    return this.available;
+  }
+
+  /**
+   * Returns the base URL for the backend (without a trailing slash).
+   *
+   * @return The base URL for the backend.
+   */
+  String getBaseUrl() {
+    return "http://127.0.0.1:" + this.port;
+  }
+
+  /**
+   * Returns the number of requests currently outstanding to the backend.
+   *
+   * @return The number of requests currently outstanding to the backend.
+   */
+  int getOutstandingCount() {
+    return this.outstanding.get();
+  }
+
+  /**
+   * Records that a request has been routed to the backend.
+   */
+  void acquire() {
+    this.outstanding.incrementAndGet();
+  }
+
+  /**
+   * Records that a request routed to the backend has completed.
+   */
+  void release() {
+    this.outstanding.decrementAndGet();
+  }
+
+  /**
+   * Re-reads the monitor file to update the port and availability of the
+   * backend.
+   *
+   * @return <tt>true</tt> if the port or availability changed, otherwise
+   *         <tt>false</tt>.
+   */
+  boolean refresh() {
+    int     oldPort       = this.port;
+    boolean wasAvailable  = this.available;
+    int     port          = -1;
+    boolean available     = false;
+
+    try {
+      if ((this.process == null || this.process.isAlive())
+          && this.monitorFile.exists() && this.monitorFile.length() > 0L)
+      {
+        JsonObject jsonObj = JsonUtils.parseJsonObject(
+            readTextFileAsString(this.monitorFile, "UTF-8"));
+
+        long heartbeat = jsonObj.getJsonNumber("heartbeat").longValue();
+        long elapsed   = System.currentTimeMillis() - heartbeat;
+
+        port      = jsonObj.getInt("port");
+        available = (port > 0 && !jsonObj.getBoolean("shutdown")
+                     && elapsed <= HEARTBEAT_TIMEOUT);
+      }
+    } catch (Exception e) {
+      // the file may be mid-write, treat as unavailable until next refresh
+      available = false;
+    }
+
+    if (port > 0) this.port = port;
+    this.available = available;
+    return (wasAvailable != available || oldPort != this.port);
+  }
+
+  /**
+   * Requests that the backend shutdown by setting the shutdown flag in its
+   * monitor file, which is what its {@link FileMonitor} checks for.
+   */
+  void requestShutdown() {
+    try {
+      if (!this.monitorFile.exists() || this.monitorFile.length() == 0L) {
+        return;
+      }
+      JsonObject jsonObj = JsonUtils.parseJsonObject(
+          readTextFileAsString(this.monitorFile, "UTF-8"));
+
+      JsonObjectBuilder builder = Json.createObjectBuilder(jsonObj);
+      builder.remove("shutdown");
+      builder.add("shutdown", true);
+
+      JsonWriterFactory writerFactory
+          = Json.createWriterFactory(Collections.emptyMap());
+
+      try (FileOutputStream fos = new FileOutputStream(this.monitorFile);
+           OutputStreamWriter osw = new OutputStreamWriter(fos, "UTF-8");
+           JsonWriter jw = writerFactory.createWriter(osw))
+      {
+        jw.writeObject(builder.build());
+        osw.flush();
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "RouterBackend{" +
+        "monitorFile=" + monitorFile +
+        ", port=" + port +
+        ", available=" + available +
+        ", outstanding=" + outstanding +
+        '}';
+  }
+}
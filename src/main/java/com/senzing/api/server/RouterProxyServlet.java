@@ -0,0 +1,142 @@
+package com.senzing.api.server;
+
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.proxy.ProxyServlet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link ProxyServlet} used by {@link SzApiRouter} to forward requests to
+ * the local API server processes.  Requests that add, replace or delete a
+ * specific record (i.e.: <tt>PUT</tt>, <tt>POST</tt> or <tt>DELETE</tt> on
+ * <tt>/data-sources/{dataSourceCode}/records/{recordId}</tt>) are routed by
+ * consistent hash of the data source code and record ID so that concurrent
+ * writes to the same record are always handled by the same process.  All
+ * other requests are routed according to the read policy of the router.
+ */
+class RouterProxyServlet extends ProxyServlet {
+  /**
+   * The serial version UID for the servlet.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The request attribute for the {@link RouterBackend} to which the request
+   * was routed.
+   */
+  private static final String BACKEND_ATTRIBUTE
+      = RouterProxyServlet.class.getName() + ".backend";
+
+  /**
+   * The {@link Pattern} for the path of a request that targets a specific
+   * record, with the encoded data source code and record ID as groups.
+   */
+  private static final Pattern RECORD_PATH_PATTERN = Pattern.compile(
+      "^(?:/sz/api)?/data-sources/([^/]+)/records/([^/]+)/?$");
+
+  /**
+   * The {@link SzApiRouter} that selects the backends.
+   */
+  private final transient SzApiRouter router;
+
+  /**
+   * Constructs with the specified {@link SzApiRouter}.
+   *
+   * @param router The {@link SzApiRouter} that selects the backends.
+   */
+  RouterProxyServlet(SzApiRouter router) {
+    this.router = router;
+  }
+
+  @Override
+  protected String rewriteTarget(HttpServletRequest clientRequest) {
+    RouterBackend backend = null;
+    String method = clientRequest.getMethod();
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      Matcher matcher
+          = RECORD_PATH_PATTERN.matcher(clientRequest.getRequestURI());
+      if (matcher.matches()) {
+        String dataSource = decode(matcher.group(1)).trim().toUpperCase();
+        String recordId   = decode(matcher.group(2));
+        backend = this.router.selectWriteBackend(dataSource, recordId);
+      }
+    }
+    if (backend == null) {
+      backend = this.router.selectReadBackend();
+    }
+    if (backend == null) return null;
+
+    backend.acquire();
+    clientRequest.setAttribute(BACKEND_ATTRIBUTE, backend);
+
+    StringBuilder sb = new StringBuilder(backend.getBaseUrl());
+    sb.append(clientRequest.getRequestURI());
+    String query = clientRequest.getQueryString();
+    if (query != null) sb.append("?").append(query);
+    return sb.toString();
+  }
+
+  @Override
+  protected void onProxyRewriteFailed(HttpServletRequest  clientRequest,
+                                      HttpServletResponse proxyResponse)
+  {
+    // no backend is available
+    this.sendProxyResponseError(
+        clientRequest, proxyResponse,
+        HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+  }
+
+  @Override
+  protected void onProxyResponseSuccess(HttpServletRequest  clientRequest,
+                                        HttpServletResponse proxyResponse,
+                                        Response            serverResponse)
+  {
+    this.release(clientRequest);
+    super.onProxyResponseSuccess(clientRequest, proxyResponse, serverResponse);
+  }
+
+  @Override
+  protected void onProxyResponseFailure(HttpServletRequest  clientRequest,
+                                        HttpServletResponse proxyResponse,
+                                        Response            serverResponse,
+                                        Throwable           failure)
+  {
+    this.release(clientRequest);
+    super.onProxyResponseFailure(
+        clientRequest, proxyResponse, serverResponse, failure);
+  }
+
+  /**
+   * Releases the {@link RouterBackend} to which the specified request was
+   * routed (if any) so it no longer counts as outstanding.
+   *
+   * @param clientRequest The {@link HttpServletRequest} that completed.
+   */
+  private void release(HttpServletRequest clientRequest) {
+    Object backend = clientRequest.getAttribute(BACKEND_ATTRIBUTE);
+    if (backend == null) return;
+    clientRequest.removeAttribute(BACKEND_ATTRIBUTE);
+    ((RouterBackend) backend).release();
+  }
+
+  /**
+   * URL-decodes the specified path segment.
+   *
+   * @param segment The path segment to decode.
+   *
+   * @return The decoded path segment.
+   */
+  private static String decode(String segment) {
+    try {
+      return URLDecoder.decode(segment.replace("+", "%2B"), "UTF-8");
+
+    } catch (UnsupportedEncodingException cannotHappen) {
+      throw new IllegalStateException(cannotHappen);
+    }
+  }
+}
@@ -0,0 +1,575 @@
+package com.senzing.api.server;
+
+import com.senzing.cmdline.CommandLineUtilities;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.cmdline.CommandLineUtilities.*;
+import static com.senzing.util.LoggingUtilities.*;
+
+/**
+ * A lightweight HTTP router that fronts several local {@link SzApiServer}
+ * processes so that a single host can scale beyond one engine process.  The
+ * router either launches the API server processes itself or fronts processes
+ * that were started separately, discovering each one through the file that
+ * it maintains via its <tt>-monitorFile</tt> option.  Read requests are
+ * spread across the available processes by round-robin or by the fewest
+ * outstanding requests, and record writes are routed by consistent hash of
+ * the data source code and record ID (see {@link RouterProxyServlet}).
+ */
+public class SzApiRouter {
+  /**
+   * The policy for routing requests that do not target a specific record.
+   */
+  public enum ReadPolicy {
+    /**
+     * Routes to each available backend in turn.
+     */
+    ROUND_ROBIN("round-robin"),
+
+    /**
+     * Routes to the available backend with the fewest outstanding requests.
+     */
+    LEAST_OUTSTANDING("least-outstanding");
+
+    /**
+     * The command-line token for the policy.
+     */
+    private String token;
+
+    /**
+     * Constructs with the command-line token for the policy.
+     *
+     * @param token The command-line token for the policy.
+     */
+    ReadPolicy(String token) {
+      this.token = token;
+    }
+
+    /**
+     * Returns the command-line token for the policy.
+     *
+     * @return The command-line token for the policy.
+     */
+    public String getToken() {
+      return this.token;
+    }
+
+    /**
+     * Returns the {@link ReadPolicy} for the specified command-line token.
+     *
+     * @param token The command-line token.
+     *
+     * @return The {@link ReadPolicy} for the token, or <tt>null</tt> if the
+     *         token is not recognized.
+     */
+    public static ReadPolicy fromToken(String token) {
+      for (ReadPolicy policy : values()) {
+        if (policy.getToken().equalsIgnoreCase(token)) return policy;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * The number of milliseconds between checks of the backend monitor files.
+   */
+  static final long DISCOVERY_PERIOD = 2000L;
+
+  /**
+   * The maximum number of milliseconds to wait for launched backend processes
+   * to exit after requesting that they shutdown.
+   */
+  static final long SHUTDOWN_TIMEOUT = 30000L;
+
+  /**
+   * The {@link List} of all {@link RouterBackend} instances.
+   */
+  private final List<RouterBackend> backends;
+
+  /**
+   * The {@link List} of currently available {@link RouterBackend} instances.
+   */
+  private volatile List<RouterBackend> availableBackends
+      = Collections.emptyList();
+
+  /**
+   * The {@link ConsistentHashRing} of currently available {@link
+   * RouterBackend} instances for routing record writes.
+   */
+  private volatile ConsistentHashRing<RouterBackend> writeRing
+      = new ConsistentHashRing<>(Collections.emptyMap());
+
+  /**
+   * The {@link ReadPolicy} for the router.
+   */
+  private final ReadPolicy readPolicy;
+
+  /**
+   * The counter used to rotate through the available backends.
+   */
+  private final AtomicInteger rotation = new AtomicInteger(0);
+
+  /**
+   * The Jetty {@link Server} for the router.
+   */
+  private final Server jettyServer;
+
+  /**
+   * The {@link Thread} that periodically refreshes the backends.
+   */
+  private final Thread discoveryThread;
+
+  /**
+   * Flag indicating if the router has been shutdown.
+   */
+  private volatile boolean shutdown = false;
+
+  /**
+   * Constructs and starts the router with the specified parameters.
+   *
+   * @param bindAddress The {@link InetAddress} to bind to.
+   *
+   * @param httpPort The HTTP port to listen on.
+   *
+   * @param readPolicy The {@link ReadPolicy} for the router.
+   *
+   * @param backends The {@link List} of {@link RouterBackend} instances to
+   *                 route to.
+   *
+   * @throws Exception If a failure occurs starting the router.
+   */
+  SzApiRouter(InetAddress          bindAddress,
+              int                  httpPort,
+              ReadPolicy           readPolicy,
+              List<RouterBackend>  backends)
+    throws Exception
+  {
+    this.backends   = Collections.unmodifiableList(new ArrayList<>(backends));
+    this.readPolicy = readPolicy;
+
+    this.refreshBackends();
+
+    this.discoveryThread = new Thread(() -> {
+      while (!this.shutdown) {
+        try {
+          Thread.sleep(DISCOVERY_PERIOD);
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+        if (!this.shutdown) this.refreshBackends();
+      }
+    }, "SzApiRouter-Discovery");
+    this.discoveryThread.setDaemon(true);
+    this.discoveryThread.start();
+
+    ServletContextHandler context
+        = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+    context.setContextPath("/");
+    SzApiServer.addProxyServlet(context,
+                                new RouterProxyServlet(this),
+                                "/*",
+                                null,
+                                true,
+                                null,
+                                0);
+
+    this.jettyServer = new Server(new InetSocketAddress(bindAddress, httpPort));
+    this.jettyServer.setHandler(context);
+    this.jettyServer.start();
+  }
+
+  /**
+   * Returns the {@link ReadPolicy} for the router.
+   *
+   * @return The {@link ReadPolicy} for the router.
+   */
+  public ReadPolicy getReadPolicy() {
+    return this.readPolicy;
+  }
+
+  /**
+   * Returns the number of backends that are currently available.
+   *
+   * @return The number of backends that are currently available.
+   */
+  public int getAvailableCount() {
+    return this.availableBackends.size();
+  }
+
+  /**
+   * Selects the backend for a request that does not target a specific record
+   * according to the {@link ReadPolicy} of the router.
+   *
+   * @return The selected {@link RouterBackend}, or <tt>null</tt> if none are
+   *         available.
+   */
+  RouterBackend selectReadBackend() {
+    List<RouterBackend> available = this.availableBackends;
+    int count = available.size();
+    if (count == 0) return null;
+    int start = Math.floorMod(this.rotation.getAndIncrement(), count);
+
+    if (this.readPolicy == ReadPolicy.ROUND_ROBIN) {
+      return available.get(start);
+    }
+
+    // start from a rotating index so ties are spread across the backends
+    RouterBackend result = null;
+    int fewest = Integer.MAX_VALUE;
+    for (int index = 0; index < count; index++) {
+      RouterBackend backend = available.get((start + index) % count);
+      int outstanding = backend.getOutstandingCount();
+      if (outstanding < fewest) {
+        result = backend;
+        fewest = outstanding;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Selects the backend for a request that writes the record identified by
+   * the specified data source code and record ID.
+   *
+   * @param dataSource The data source code for the record.
+   *
+   * @param recordId The record ID for the record.
+   *
+   * @return The selected {@link RouterBackend}, or <tt>null</tt> if none are
+   *         available.
+   */
+  RouterBackend selectWriteBackend(String dataSource, String recordId) {
+    return this.writeRing.get(dataSource + "\n" + recordId);
+  }
+
+  /**
+   * Refreshes each of the backends from its monitor file and rebuilds the
+   * list of available backends and the write ring if any have changed.
+   */
+  synchronized void refreshBackends() {
+    boolean changed = false;
+    for (RouterBackend backend : this.backends) {
+      if (backend.refresh()) {
+        changed = true;
+        System.out.println((backend.isAvailable() ? "Backend available: "
+                            : "Backend unavailable: ")
+                           + backend.getBaseUrl() + " ("
+                           + backend.getMonitorFile() + ")");
+      }
+    }
+    if (!changed) return;
+
+    List<RouterBackend>         available = new ArrayList<>();
+    Map<String, RouterBackend>  ringNodes = new LinkedHashMap<>();
+    for (RouterBackend backend : this.backends) {
+      if (!backend.isAvailable()) continue;
+      available.add(backend);
+      ringNodes.put(backend.getId(), backend);
+    }
+    this.writeRing          = new ConsistentHashRing<>(ringNodes);
+    this.availableBackends  = Collections.unmodifiableList(available);
+  }
+
+  /**
+   * Shuts down the router, requesting that each backend shutdown and then
+   * waiting for any launched backend processes to exit.
+   */
+  public void shutdown() {
+    synchronized (this) {
+      if (this.shutdown) return;
+      this.shutdown = true;
+    }
+    this.discoveryThread.interrupt();
+    try {
+      this.jettyServer.stop();
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+
+    for (RouterBackend backend : this.backends) {
+      backend.requestShutdown();
+    }
+
+    long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT;
+    for (RouterBackend backend : this.backends) {
+      Process process = backend.getProcess();
+      if (process == null) continue;
+      while (process.isAlive() && System.currentTimeMillis() < deadline) {
+        try {
+          process.waitFor(DISCOVERY_PERIOD, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+        // the heartbeat may have overwritten the shutdown flag, so repeat
+        if (process.isAlive()) backend.requestShutdown();
+      }
+      if (process.isAlive()) process.destroy();
+    }
+  }
+
+  /**
+   * Waits for the router to stop.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public void join() throws InterruptedException {
+    this.jettyServer.join();
+  }
+
+  /**
+   * Launches the specified number of local {@link SzApiServer} processes
+   * with the specified server options, each on an ephemeral HTTP port with
+   * its own temporary monitor file.
+   *
+   * @param count The number of processes to launch.
+   *
+   * @param serverArgs The {@link List} of command-line options for the
+   *                   {@link SzApiServer} processes.
+   *
+   * @return The {@link List} of {@link RouterBackend} instances for the
+   *         launched processes.
+   *
+   * @throws Exception If a failure occurs launching the processes.
+   */
+  static List<RouterBackend> launchBackends(int count, List<String> serverArgs)
+    throws Exception
+  {
+    String javaPath = System.getProperty("java.home")
+        + File.separator + "bin" + File.separator + "java";
+    String classPath = System.getProperty("java.class.path");
+
+    List<RouterBackend> backends = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      File monitorFile = File.createTempFile("sz-api-router-", ".json");
+      monitorFile.deleteOnExit();
+
+      List<String> command = new ArrayList<>();
+      command.add(javaPath);
+      command.add("-cp");
+      command.add(classPath);
+      command.add(SzApiServer.class.getName());
+      command.add(SzApiServerOption.HTTP_PORT.getCommandLineFlag());
+      command.add("0");
+      command.add(SzApiServerOption.MONITOR_FILE.getCommandLineFlag());
+      command.add(monitorFile.getAbsolutePath());
+      command.addAll(serverArgs);
+
+      ProcessBuilder builder = new ProcessBuilder(command);
+      builder.inheritIO();
+      backends.add(new RouterBackend(monitorFile, builder.start()));
+    }
+    return backends;
+  }
+
+  /**
+   * Parses the command line arguments for the router (not including the API
+   * server options that follow <tt>--</tt>).
+   *
+   * @param args The command line arguments.
+   *
+   * @return The {@link Map} of {@link SzApiRouterOption} keys to values.
+   */
+  private static Map<SzApiRouterOption, ?> parseCommandLine(String[] args) {
+    return CommandLineUtilities.parseCommandLine(
+        SzApiRouterOption.class,
+        args,
+        (option, params) -> {
+          switch (option) {
+            case HELP:
+              if (args.length > 1) {
+                throw new IllegalArgumentException(
+                    "Help option should be only option when provided.");
+              }
+              return Boolean.TRUE;
+
+            case HTTP_PORT: {
+              int port = Integer.parseInt(params.get(0));
+              if (port < 0) {
+                throw new IllegalArgumentException(
+                    "Negative port numbers are not allowed: " + port);
+              }
+              return port;
+            }
+            case BIND_ADDRESS: {
+              String addrArg = params.get(0);
+              try {
+                if ("all".equals(addrArg)) {
+                  return InetAddress.getByName("0.0.0.0");
+                } else if ("loopback".equals(addrArg)) {
+                  return InetAddress.getLoopbackAddress();
+                } else {
+                  return InetAddress.getByName(addrArg);
+                }
+              } catch (Exception e) {
+                throw new IllegalArgumentException(e);
+              }
+            }
+            case LAUNCH: {
+              int count = Integer.parseInt(params.get(0));
+              if (count <= 0) {
+                throw new IllegalArgumentException(
+                    "The number of processes to launch must be positive: "
+                    + count);
+              }
+              return count;
+            }
+            case MONITOR_FILES: {
+              List<File> files = new ArrayList<>(params.size());
+              for (String param : params) {
+                files.add(new File(param));
+              }
+              return files;
+            }
+            case READ_POLICY: {
+              ReadPolicy policy = ReadPolicy.fromToken(params.get(0));
+              if (policy == null) {
+                throw new IllegalArgumentException(
+                    "Unrecognized read policy: " + params.get(0));
+              }
+              return policy;
+            }
+            default:
+              throw new IllegalArgumentException(
+                  "Unhandled command line option: "
+                      + option.getCommandLineFlag()
+                      + " / " + option);
+          }
+        });
+  }
+
+  /**
+   * @return
+   */
+  public static String getUsageString() {
+    StringWriter sw = new StringWriter();
+    PrintWriter pw = new PrintWriter(sw);
+
+    pw.println();
+    pw.println(multilineFormat(
+        "java -jar " + JAR_FILE_NAME + " --router <options> [-- <server-options>]",
+        "",
+        "<options> includes: ",
+        "",
+        "   -help",
+        "        Should be the first and only option if provided.",
+        "        Causes this help message to be displayed.",
+        "",
+        "   -launch <process-count>",
+        "        Launches the specified number of API server processes on this",
+        "        host using the <server-options> that follow \"--\" (which must",
+        "        not include -httpPort or -monitorFile).  The processes are",
+        "        shutdown when the router is shutdown.",
+        "",
+        "   -monitorFiles <file-path> [file-path ...]",
+        "        Fronts API server processes that were started separately with",
+        "        the specified -monitorFile paths.  The processes are discovered",
+        "        from those files and are requested to shutdown with the router.",
+        "",
+        "   -httpPort <port-number>",
+        "        Sets the port for the router to listen on.  Defaults to "
+            + SzApiServer.DEFAULT_PORT + ".",
+        "",
+        "   -bindAddr <ip-address|loopback|all>",
+        "        Sets the address for the router to bind to.  Defaults to the",
+        "        loopback address.",
+        "",
+        "   -readPolicy <round-robin|least-outstanding>",
+        "        Sets how requests that do not write a specific record are",
+        "        spread across the processes.  Defaults to least-outstanding.",
+        "        Record writes are always routed by data source and record ID",
+        "        so that writes to the same record go to the same process."));
+    pw.flush();
+    sw.flush();
+
+    return sw.toString();
+  }
+
+  /**
+   * @param args
+   * @throws Exception
+   */
+  public static void main(String[] args) throws Exception {
+    // split off the API server options following "--"
+    List<String> routerArgs = new ArrayList<>(Arrays.asList(args));
+    List<String> serverArgs = new ArrayList<>();
+    int splitIndex = routerArgs.indexOf("--");
+    if (splitIndex >= 0) {
+      serverArgs.addAll(routerArgs.subList(splitIndex + 1, routerArgs.size()));
+      routerArgs = routerArgs.subList(0, splitIndex);
+    }
+
+    Map<SzApiRouterOption, ?> options = null;
+    try {
+      if (serverArgs.contains(SzApiServerOption.HTTP_PORT.getCommandLineFlag())
+          || serverArgs.contains(
+              SzApiServerOption.MONITOR_FILE.getCommandLineFlag()))
+      {
+        throw new IllegalArgumentException(
+            "The server options may not include the "
+            + SzApiServerOption.HTTP_PORT.getCommandLineFlag() + " or "
+            + SzApiServerOption.MONITOR_FILE.getCommandLineFlag()
+            + " options.");
+      }
+      options = parseCommandLine(routerArgs.toArray(new String[0]));
+
+    } catch (Exception e) {
+      if (!isLastLoggedException(e)) {
+        System.err.println();
+        System.err.println(e.getMessage());
+        System.err.println();
+      }
+      System.err.println(SzApiRouter.getUsageString());
+      System.exit(1);
+    }
+
+    if (options.containsKey(SzApiRouterOption.HELP)) {
+      System.out.println(SzApiRouter.getUsageString());
+      System.exit(0);
+    }
+
+    Integer port = (Integer) options.get(SzApiRouterOption.HTTP_PORT);
+    if (port == null) port = SzApiServer.DEFAULT_PORT;
+
+    InetAddress bindAddress
+        = (InetAddress) options.get(SzApiRouterOption.BIND_ADDRESS);
+    if (bindAddress == null) bindAddress = InetAddress.getLoopbackAddress();
+
+    ReadPolicy readPolicy
+        = (ReadPolicy) options.get(SzApiRouterOption.READ_POLICY);
+    if (readPolicy == null) readPolicy = ReadPolicy.LEAST_OUTSTANDING;
+
+    List<RouterBackend> backends;
+    if (options.containsKey(SzApiRouterOption.LAUNCH)) {
+      int count = (Integer) options.get(SzApiRouterOption.LAUNCH);
+      backends = launchBackends(count, serverArgs);
+
+    } else {
+      List<?> files = (List<?>) options.get(SzApiRouterOption.MONITOR_FILES);
+      backends = new ArrayList<>(files.size());
+      for (Object file : files) {
+        backends.add(new RouterBackend((File) file, null));
+      }
+    }
+
+    final SzApiRouter router
+        = new SzApiRouter(bindAddress, port, readPolicy, backends);
+
+    Runtime.getRuntime().addShutdownHook(new Thread(router::shutdown));
+
+    System.out.println("Routing " + bindAddress.getHostAddress() + ":" + port
+                       + " to " + backends.size() + " API server process(es) "
+                       + "using " + readPolicy.getToken() + " reads.");
+
+    router.join();
+  }
+}
@@ -0,0 +1,89 @@
+package com.senzing.api.server;
+
+import com.senzing.cmdline.CommandLineOption;
+
+import java.util.*;
+
+import static java.util.EnumSet.*;
+
+/**
+ * Describes the command-line options for {@link SzApiRouter}.
+ */
+enum SzApiRouterOption implements CommandLineOption<SzApiRouterOption> {
+  HELP("-help", true, 0),
+  HTTP_PORT("-httpPort", 1),
+  BIND_ADDRESS("-bindAddr", 1),
+  LAUNCH("-launch", true, 1),
+  MONITOR_FILES("-monitorFiles", true, 1, -1),
+  READ_POLICY("-readPolicy", 1);
+
+  SzApiRouterOption(String commandLineFlag, int parameterCount) {
+    this(commandLineFlag, false, parameterCount);
+  }
+  SzApiRouterOption(String  commandLineFlag,
+                    boolean primary,
+                    int     parameterCount)
+  {
+    this(commandLineFlag,
+         primary,
+         parameterCount < 0 ? 0 : parameterCount,
+         parameterCount);
+  }
+  SzApiRouterOption(String  commandLineFlag,
+                    boolean primary,
+                    int     minParameterCount,
+                    int     maxParameterCount)
+  {
+    this.commandLineFlag = commandLineFlag;
+    this.primary         = primary;
+    this.minParamCount   = minParameterCount;
+    this.maxParamCount   = maxParameterCount;
+    this.conflicts       = null;
+    this.dependencies    = null;
+  }
+
+  private static Map<String, SzApiRouterOption> OPTIONS_BY_FLAG;
+
+  private String commandLineFlag;
+  private boolean primary;
+  private int minParamCount;
+  private int maxParamCount;
+  private Set<SzApiRouterOption> conflicts;
+  private Set<Set<SzApiRouterOption>> dependencies;
+
+  public String getCommandLineFlag() {
+    return this.commandLineFlag;
+  }
+
+  public int getMinimumParameterCount() { return this.minParamCount; }
+
+  public int getMaximumParameterCount() { return this.maxParamCount; }
+
+  public boolean isPrimary() { return this.primary; }
+
+  public boolean isDeprecated() { return false; }
+
+  public Set<SzApiRouterOption> getConflicts() {
+    return this.conflicts;
+  }
+
+  public Set<Set<SzApiRouterOption>> getDependencies() {
+    return this.dependencies;
+  }
+
+  public static SzApiRouterOption lookup(String commandLineFlag) {
+    return OPTIONS_BY_FLAG.get(commandLineFlag.toLowerCase());
+  }
+
+  static {
+    Map<String, SzApiRouterOption> lookupMap = new LinkedHashMap<>();
+    for (SzApiRouterOption opt: values()) {
+      lookupMap.put(opt.getCommandLineFlag().toLowerCase(), opt);
+    }
+    OPTIONS_BY_FLAG = Collections.unmodifiableMap(lookupMap);
+
+    HELP.conflicts = complementOf(of(HELP));
+    LAUNCH.conflicts = of(HELP, MONITOR_FILES);
+    MONITOR_FILES.conflicts = of(HELP, LAUNCH);
+  }
+}
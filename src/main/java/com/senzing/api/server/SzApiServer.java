@@ -3,30 +3,44 @@ package com.senzing.api.server;
 import java.io.*;
 import java.lang.reflect.Proxy;
 import java.net.InetAddress;
-import java.net.InetSocketAddress;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.senzing.api.BuildInfo;
 import com.senzing.nativeapi.NativeApiFactory;
+import com.senzing.api.services.EntityChangeFeed;
 import com.senzing.api.services.SzApiProvider;
+import com.senzing.api.services.SzApiResourceConfig;
 import com.senzing.api.model.SzLicenseInfo;
+import com.senzing.api.model.SzRedoMetrics;
+import com.senzing.api.model.SzReinitMetrics;
+import com.senzing.api.model.SzWorkerPoolStats;
 import com.senzing.cmdline.CommandLineUtilities;
 import com.senzing.configmgr.ConfigurationManager;
 import com.senzing.g2.engine.*;
 import com.senzing.repomgr.RepositoryManager;
 import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
 import com.senzing.util.WorkerThreadPool;
 import com.senzing.util.AccessToken;
 import org.eclipse.jetty.server.ServerConnector;
 
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
@@ -35,6 +49,11 @@ import org.eclipse.jetty.rewrite.handler.RewriteHandler;
 import org.eclipse.jetty.rewrite.handler.TerminatingRegexRule;
 import org.eclipse.jetty.rewrite.handler.RewriteRegexRule;
 import org.eclipse.jetty.servlets.CrossOriginFilter;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.servlet.ServletContainer;
 
 import javax.json.*;
 import javax.servlet.DispatcherType;
@@ -75,6 +94,35 @@ public class SzApiServer implements SzApiProvider {
    */
   public static final long DEFAULT_CONFIG_REFRESH_PERIOD = 10000;
 
+  /**
+   * The default maximum number of items that may be requested in a single
+   * call to a batch endpoint if an explicit maximum is not provided.
+   */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+  /**
+   * The default compression level for compressing HTTP responses if an
+   * explicit compression level is not provided.  This is zero (0) so that
+   * responses are only compressed if explicitly enabled.
+   */
+  public static final int DEFAULT_COMPRESSION_LEVEL = 0;
+
+  /**
+   * The default minimum size in bytes of an HTTP response for it to be
+   * compressed if an explicit minimum size is not provided.
+   */
+  public static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of MIME types for the HTTP responses
+   * that are compressed if explicit MIME types are not provided.
+   */
+  public static final Set<String> DEFAULT_COMPRESSION_MIME_TYPES
+      = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+          "application/json", "application/cbor", "application/x-ndjson",
+          "application/cbor-seq", "application/javascript", "text/html",
+          "text/css", "text/plain")));
+
   /**
    * The number of milliseconds to provide advance warning of an expiring
    * license.
@@ -183,6 +231,28 @@ public class SzApiServer implements SzApiProvider {
    */
   private int concurrency;
 
+  /**
+   * The maximum number of items that may be requested in a single call to
+   * a batch endpoint.
+   */
+  private int maxBatchSize;
+
+  /**
+   * The compression level for HTTP responses, or zero (0) if responses are
+   * not compressed.
+   */
+  private int compressionLevel;
+
+  /**
+   * The minimum size in bytes of an HTTP response for it to be compressed.
+   */
+  private int compressionMinSize;
+
+  /**
+   * The {@link Set} of MIME types for the HTTP responses that are compressed.
+   */
+  private Set<String> compressionMimeTypes;
+
   /**
    * The {@link G2Config} config API.
    */
@@ -216,29 +286,50 @@ public class SzApiServer implements SzApiProvider {
   private G2ConfigMgr configMgrApi;
 
   /**
-   * The set of configured data sources.
+   * The {@link ConfigSnapshot} describing the configuration data as of the
+   * last time it was initialized.  This is swapped as a whole whenever the
+   * configuration changes.
    */
-  private Set<String> dataSources;
+  private volatile ConfigSnapshot configSnapshot = null;
 
   /**
-   * The set of configured entity classes.
+   * Whether or not the worker threads should be left running when
+   * reinitializing with a new configuration (blue/green reinitialization).
    */
-  private Set<String> entityClasses;
+  private boolean blueGreenReinit;
 
   /**
-   * The set of configured entity types.
+   * Whether or not the engine should be primed before the server is started.
    */
-  private Set<String> entityTypes;
+  private boolean primeEngine;
 
   /**
-   * The {@link Map} of FTYPE_CODE values to ATTR_CLASS values from the config.
+   * The file containing the queries to replay to warm up the engine before
+   * the server is started, or <tt>null</tt> if no queries are replayed.
    */
-  private Map<String, String> featureToAttrClassMap;
+  private File warmUpFile;
 
   /**
-   * The {@link Map} of ATTR_CODE values to ATTR_CLASS values from the config.
+   * Whether or not redo records should be processed in the background.
    */
-  private Map<String, String> attrCodeToAttrClassMap;
+  private boolean processRedos;
+
+  /**
+   * The {@link RedoProcessor} processing redo records in the background, or
+   * <tt>null</tt> if redo records are not being processed.
+   */
+  private RedoProcessor redoProcessor = null;
+
+  /**
+   * The {@link EntityChangeFeed} to which changes are published, or
+   * <tt>null</tt> if the change feed is not enabled.
+   */
+  private EntityChangeFeed changeFeed = null;
+
+  /**
+   * The {@link SzReinitMetrics} describing the reinitializations.
+   */
+  private final SzReinitMetrics reinitMetrics = new SzReinitMetrics();
 
   /**
    * The Jetty Server.
@@ -319,6 +410,23 @@ public class SzApiServer implements SzApiProvider {
    */
   private Reinitializer reinitializer = null;
 
+  /**
+   * The time (in milliseconds since the epoch) that construction began.
+   */
+  private final long startupTime = System.currentTimeMillis();
+
+  /**
+   * The {@link Timers} for the phases of startup.
+   */
+  private final Timers startupTimers = new Timers("total");
+
+  /**
+   * The number of milliseconds from the start of construction until the
+   * first request was served, or <tt>null</tt> if no request has yet been
+   * served.
+   */
+  private volatile Long timeToFirstRequest = null;
+
   /**
    * The monitor object to use while waiting for the server to shutdown.
    */
@@ -459,6 +567,95 @@ public class SzApiServer implements SzApiProvider {
     return this.adminEnabled;
   }
 
+  /**
+   * Returns the active configuration ID as of the last time the configuration
+   * data was initialized or reinitialized.
+   *
+   * @return The active configuration ID, or <tt>null</tt> if not known.
+   */
+  public Long getActiveConfigId() {
+    this.assertNotShutdown();
+    ConfigSnapshot snapshot = this.configSnapshot;
+    return (snapshot == null) ? null : snapshot.getConfigId();
+  }
+
+  /**
+   * Checks whether or not the worker threads are left running when
+   * reinitializing with a new configuration (blue/green reinitialization).
+   *
+   * @return <tt>true</tt> if the worker threads are left running when
+   *         reinitializing, otherwise <tt>false</tt>.
+   */
+  public boolean isBlueGreenReinit() {
+    return this.blueGreenReinit;
+  }
+
+  /**
+   * Returns a copy of the {@link SzReinitMetrics} describing the number of
+   * reinitializations and the time that engine calls were stalled by them.
+   *
+   * @return The {@link SzReinitMetrics} describing the reinitializations.
+   */
+  public SzReinitMetrics getReinitMetrics() {
+    synchronized (this.reinitMetrics) {
+      SzReinitMetrics metrics = new SzReinitMetrics();
+      metrics.setReinitCount(this.reinitMetrics.getReinitCount());
+      metrics.setLastStallMillis(this.reinitMetrics.getLastStallMillis());
+      metrics.setMaxStallMillis(this.reinitMetrics.getMaxStallMillis());
+      metrics.setTotalStallMillis(this.reinitMetrics.getTotalStallMillis());
+      return metrics;
+    }
+  }
+
+  /**
+   * Returns the {@link Map} of startup phase names to the number of
+   * milliseconds spent in each phase.  Some phases are run in parallel so the
+   * <tt>"total"</tt> phase may be less than the sum of the others.
+   *
+   * @return The {@link Map} of startup phase names to the number of
+   *         milliseconds spent in each phase.
+   */
+  public Map<String, Long> getStartupTimings() {
+    return this.startupTimers.getTimings();
+  }
+
+  /**
+   * Returns the number of milliseconds from the start of construction until
+   * the first request was served, or <tt>null</tt> if no request has yet been
+   * served.
+   *
+   * @return The number of milliseconds from the start of construction until
+   *         the first request was served, or <tt>null</tt> if no request has
+   *         yet been served.
+   */
+  public Long getTimeToFirstRequest() {
+    return this.timeToFirstRequest;
+  }
+
+  /**
+   * Records that the first request has been served.
+   */
+  private void recordFirstRequest() {
+    this.timeToFirstRequest = System.currentTimeMillis() - this.startupTime;
+    this.echo("Served first request " + this.timeToFirstRequest
+              + "ms after startup began.");
+  }
+
+  /**
+   * Records a reinitialization that stalled engine calls from the specified
+   * start time in nanoseconds until now.
+   *
+   * @param stallStart The {@link System#nanoTime()} at which the stall began.
+   */
+  private void recordReinit(long stallStart) {
+    long stallMillis = (System.nanoTime() - stallStart) / 1000000L;
+    synchronized (this.reinitMetrics) {
+      this.reinitMetrics.recordReinit(stallMillis);
+    }
+    this.echo("Reinitialization stalled engine calls for " + stallMillis
+              + "ms.");
+  }
+
   /**
    * Returns the number of worker threads initialized to do work against
    * the Senzing repository.
@@ -470,6 +667,116 @@ public class SzApiServer implements SzApiProvider {
     return this.workerThreadPool.size();
   }
 
+  /**
+   * Changes the number of worker threads initialized to do work against the
+   * Senzing repository without restarting the server.  Growing the pool
+   * starts the new threads immediately and shrinking it retires idle threads
+   * immediately and busy threads once their current tasks complete.
+   *
+   * @param concurrency The new number of worker threads.
+   *
+   * @throws IllegalArgumentException If the specified concurrency is not
+   *                                  positive.
+   */
+  public synchronized void setConcurrency(int concurrency)
+    throws IllegalArgumentException
+  {
+    if (concurrency <= 0) {
+      throw new IllegalArgumentException(
+          "The concurrency must be positive: " + concurrency);
+    }
+    this.workerThreadPool.resize(concurrency);
+    this.concurrency = concurrency;
+    this.echo("Resized Senzing engine thread pool to " + concurrency
+              + " thread(s).");
+  }
+
+  /**
+   * Returns the {@link SzRedoMetrics} describing the background processing
+   * of redo records, or <tt>null</tt> if redo records are not being
+   * processed in the background.
+   *
+   * @return The {@link SzRedoMetrics} describing the background processing
+   *         of redo records, or <tt>null</tt> if not processing redos.
+   */
+  public SzRedoMetrics getRedoMetrics() {
+    RedoProcessor processor = this.redoProcessor;
+    return (processor == null) ? null : processor.getMetrics();
+  }
+
+  /**
+   * Returns the {@link EntityChangeFeed} to which the entities affected by
+   * changes made through the API server are published, or <tt>null</tt> if
+   * the change feed is not enabled.
+   *
+   * @return The {@link EntityChangeFeed} for the API server, or <tt>null</tt>
+   *         if the change feed is not enabled.
+   */
+  public EntityChangeFeed getChangeFeed() {
+    return this.changeFeed;
+  }
+
+  /**
+   * Returns the {@link SzWorkerPoolStats} describing the current state of
+   * the pool of worker threads.
+   *
+   * @return The {@link SzWorkerPoolStats} describing the worker thread pool.
+   */
+  public SzWorkerPoolStats getWorkerPoolStats() {
+    WorkerThreadPool pool = this.workerThreadPool;
+    SzWorkerPoolStats stats = new SzWorkerPoolStats();
+    stats.setConcurrency(pool.size());
+    stats.setThreadCount(pool.getThreadCount());
+    stats.setBusyThreads(pool.getBusyCount());
+    stats.setQueueLength(pool.getQueueLength());
+    stats.setTasksExecuted(pool.getTaskCount());
+    return stats;
+  }
+
+  /**
+   * Returns the maximum number of items that may be requested in a single
+   * call to a batch endpoint.
+   *
+   * @return The maximum number of items that may be requested in a single
+   *         call to a batch endpoint.
+   */
+  public int getMaxBatchSize() {
+    return this.maxBatchSize;
+  }
+
+  /**
+   * Returns the compression level (from one to nine) for compressing HTTP
+   * responses, or zero (0) if responses are not compressed.
+   *
+   * @return The compression level for compressing HTTP responses, or zero
+   *         (0) if responses are not compressed.
+   */
+  public int getCompressionLevel() {
+    return this.compressionLevel;
+  }
+
+  /**
+   * Returns the minimum size in bytes of an HTTP response for it to be
+   * compressed.
+   *
+   * @return The minimum size in bytes of an HTTP response for it to be
+   *         compressed.
+   */
+  public int getCompressionMinSize() {
+    return this.compressionMinSize;
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Set} of MIME types for the HTTP
+   * responses that are compressed.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of MIME types for the HTTP
+   *         responses that are compressed.
+   */
+  public Set<String> getCompressionMimeTypes() {
+    return this.compressionMimeTypes;
+  }
+
   /**
    * Evaluates the configuration and populates the {@link Set} of
    * data sources and maps mapping f-type code to attribute class and
@@ -558,16 +865,16 @@ public class SzApiServer implements SzApiProvider {
    * @return The unmodifiable {@link Set} of configured data source codes.
    */
   public Set<String> getDataSources(String... expectedDataSources) {
-    synchronized (this.reinitMonitor) {
-      this.assertNotShutdown();
-      for (String dataSource : expectedDataSources) {
-        if (! this.dataSources.contains(dataSource)) {
-          this.ensureConfigCurrent(false);
-          break;
-        }
+    this.assertNotShutdown();
+    ConfigSnapshot snapshot = this.configSnapshot;
+    for (String dataSource : expectedDataSources) {
+      if (! snapshot.getDataSources().contains(dataSource)) {
+        this.ensureConfigCurrent(false);
+        snapshot = this.configSnapshot;
+        break;
       }
-      return this.dataSources;
     }
+    return snapshot.getDataSources();
   }
 
   /**
@@ -579,16 +886,16 @@ public class SzApiServer implements SzApiProvider {
    * @return The unmodifiable {@link Set} of configured entity class codes.
    */
   public Set<String> getEntityClasses(String... expectedEntityClasses) {
-    synchronized (this.reinitMonitor) {
-      this.assertNotShutdown();
-      for (String entityClass : expectedEntityClasses) {
-        if (! this.entityClasses.contains(entityClass)) {
-          this.ensureConfigCurrent(false);
-          break;
-        }
+    this.assertNotShutdown();
+    ConfigSnapshot snapshot = this.configSnapshot;
+    for (String entityClass : expectedEntityClasses) {
+      if (! snapshot.getEntityClasses().contains(entityClass)) {
+        this.ensureConfigCurrent(false);
+        snapshot = this.configSnapshot;
+        break;
       }
-      return this.entityClasses;
     }
+    return snapshot.getEntityClasses();
   }
 
   /**
@@ -600,16 +907,16 @@ public class SzApiServer implements SzApiProvider {
    * @return The unmodifiable {@link Set} of configured entity type codes.
    */
   public Set<String> getEntityTypes(String... expectedEntityTypes) {
-    synchronized (this.reinitMonitor) {
-      this.assertNotShutdown();
-      for (String entityType : expectedEntityTypes) {
-        if (! this.entityTypes.contains(entityType)) {
-          this.ensureConfigCurrent(false);
-          break;
-        }
+    this.assertNotShutdown();
+    ConfigSnapshot snapshot = this.configSnapshot;
+    for (String entityType : expectedEntityTypes) {
+      if (! snapshot.getEntityTypes().contains(entityType)) {
+        this.ensureConfigCurrent(false);
+        snapshot = this.configSnapshot;
+        break;
       }
-      return this.entityTypes;
     }
+    return snapshot.getEntityTypes();
   }
 
   /**
@@ -621,13 +928,13 @@ public class SzApiServer implements SzApiProvider {
    * @return The attribute class associated with the specified f-type code.
    */
   public String getAttributeClassForFeature(String featureName) {
-    synchronized (this.reinitMonitor) {
-      this.assertNotShutdown();
-      if (!this.featureToAttrClassMap.containsKey(featureName)) {
-        this.ensureConfigCurrent(false);
-      }
-      return this.featureToAttrClassMap.get(featureName);
+    this.assertNotShutdown();
+    ConfigSnapshot snapshot = this.configSnapshot;
+    if (!snapshot.getFeatureToAttrClassMap().containsKey(featureName)) {
+      this.ensureConfigCurrent(false);
+      snapshot = this.configSnapshot;
     }
+    return snapshot.getFeatureToAttrClassMap().get(featureName);
   }
 
   /**
@@ -639,13 +946,13 @@ public class SzApiServer implements SzApiProvider {
    * @return The attribute class associated with the specified attribute code.
    */
   public String getAttributeClassForAttributeCode(String attrCode) {
-    synchronized (this.reinitMonitor) {
-      this.assertNotShutdown();
-      if (!this.attrCodeToAttrClassMap.containsKey(attrCode)) {
-        this.ensureConfigCurrent(false);
-      }
-      return this.attrCodeToAttrClassMap.get(attrCode);
+    this.assertNotShutdown();
+    ConfigSnapshot snapshot = this.configSnapshot;
+    if (!snapshot.getAttrCodeToAttrClassMap().containsKey(attrCode)) {
+      this.ensureConfigCurrent(false);
+      snapshot = this.configSnapshot;
     }
+    return snapshot.getAttrCodeToAttrClassMap().get(attrCode);
   }
 
   /**
@@ -681,7 +988,7 @@ public class SzApiServer implements SzApiProvider {
    * @param args
    * @return
    */
-  private static Map<SzApiServerOption, ?> parseCommandLine(String[] args) {
+  static Map<SzApiServerOption, ?> parseCommandLine(String[] args) {
     return CommandLineUtilities.parseCommandLine(
         SzApiServerOption.class,
         args,
@@ -748,6 +1055,116 @@ public class SzApiServer implements SzApiProvider {
               return threadCount;
             }
 
+            case MAX_BATCH_SIZE:
+            {
+              int batchSize;
+              try {
+                batchSize = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Maximum batch size must be an integer: " + params.get(0));
+              }
+              if (batchSize <= 0) {
+                throw new IllegalArgumentException(
+                    "Maximum batch size must be positive: " + batchSize);
+              }
+              return batchSize;
+            }
+
+            case COMPRESSION_LEVEL:
+            {
+              int level;
+              try {
+                level = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Compression level must be an integer: " + params.get(0));
+              }
+              if (level < 0 || level > 9) {
+                throw new IllegalArgumentException(
+                    "Compression level must be from 0 to 9: " + level);
+              }
+              return level;
+            }
+
+            case COMPRESSION_MIN_SIZE:
+            {
+              int minSize;
+              try {
+                minSize = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Compression minimum size must be an integer: "
+                        + params.get(0));
+              }
+              if (minSize < 0) {
+                throw new IllegalArgumentException(
+                    "Negative compression minimum sizes are not allowed: "
+                        + minSize);
+              }
+              return minSize;
+            }
+
+            case COMPRESSION_MIME_TYPES:
+            {
+              Set<String> mimeTypes = new LinkedHashSet<>();
+              for (String token : params.get(0).split(",")) {
+                String mimeType = token.trim();
+                if (mimeType.length() == 0) continue;
+                if (mimeType.indexOf('/') <= 0) {
+                  throw new IllegalArgumentException(
+                      "Invalid compression MIME type: " + mimeType);
+                }
+                mimeTypes.add(mimeType);
+              }
+              if (mimeTypes.size() == 0) {
+                throw new IllegalArgumentException(
+                    "At least one compression MIME type must be specified: "
+                        + params.get(0));
+              }
+              return Collections.unmodifiableSet(mimeTypes);
+            }
+
+            case CHANGE_FEED_SIZE:
+              return parseIntegerParameter(
+                  "Change feed size", params.get(0), 1);
+
+            case HTTP_ACCEPTORS:
+              return parseIntegerParameter(
+                  "HTTP acceptor thread count", params.get(0), 0);
+
+            case HTTP_SELECTORS:
+              return parseIntegerParameter(
+                  "HTTP selector thread count", params.get(0), 1);
+
+            case HTTP_MIN_THREADS:
+              return parseIntegerParameter(
+                  "HTTP minimum thread count", params.get(0), 1);
+
+            case HTTP_MAX_THREADS:
+              return parseIntegerParameter(
+                  "HTTP maximum thread count", params.get(0), 1);
+
+            case HTTP_QUEUE_SIZE:
+              return parseIntegerParameter(
+                  "HTTP queue size", params.get(0), 1);
+
+            case HTTP_IDLE_TIMEOUT:
+              return parseIntegerParameter(
+                  "HTTP idle timeout", params.get(0), 1);
+
+            case HTTP_OUTPUT_BUFFER_SIZE:
+              return parseIntegerParameter(
+                  "HTTP output buffer size", params.get(0), 1);
+
+            case WARM_UP_FILE:
+              File warmUpFile = new File(params.get(0));
+              if (!warmUpFile.exists()) {
+                throw new IllegalArgumentException(
+                    "Specified warm-up file does not exist: " + warmUpFile);
+              }
+              return warmUpFile;
+
             case INI_FILE:
               File iniFile = new File(params.get(0));
               if (!iniFile.exists()) {
@@ -837,6 +1254,11 @@ public class SzApiServer implements SzApiProvider {
 
             case READ_ONLY:
             case ENABLE_ADMIN:
+            case DISABLE_KEEP_ALIVE:
+            case ENABLE_H2C:
+            case BLUE_GREEN_REINIT:
+            case PRIME_ENGINE:
+            case PROCESS_REDOS:
             case VERBOSE:
             case QUIET:
               return Boolean.TRUE;
@@ -920,6 +1342,68 @@ public class SzApiServer implements SzApiProvider {
         "        Senzing API functions (i.e.: the number of engine threads).",
         "        If not specified, then this defaults to "
                    + DEFAULT_CONCURRENCY + ".",
+        "        This can be changed without restarting via PUT /worker-pool",
+        "        if -enableAdmin is specified.",
+        "",
+        "   -maxBatchSize <item-count>",
+        "        Sets the maximum number of items that may be requested in a",
+        "        single call to a batch endpoint.  If not specified, then this",
+        "        defaults to " + DEFAULT_MAX_BATCH_SIZE + ".",
+        "",
+        "   -compressionLevel <level>",
+        "        Sets the gzip compression level (from 1 to 9) for HTTP responses.",
+        "        Specify 0 to disable response compression.  If not specified,",
+        "        then this defaults to " + DEFAULT_COMPRESSION_LEVEL
+                   + " (responses are not compressed).",
+        "",
+        "   -compressionMinSize <byte-count>",
+        "        Sets the minimum size in bytes of an HTTP response for it to be",
+        "        compressed.  If not specified, then this defaults to "
+                   + DEFAULT_COMPRESSION_MIN_SIZE + ".",
+        "",
+        "   -compressionMimeTypes <mime-type>[,<mime-type>]*",
+        "        Sets the comma-separated MIME types of the HTTP responses that",
+        "        may be compressed.  If not specified, then this defaults to:",
+        "        " + String.join(",", DEFAULT_COMPRESSION_MIME_TYPES),
+        "",
+        "   -httpAcceptors <thread-count>",
+        "        Sets the number of threads dedicated to accepting HTTP",
+        "        connections.  If not specified, then the Jetty default is",
+        "        used.",
+        "",
+        "   -httpSelectors <thread-count>",
+        "        Sets the number of threads dedicated to selecting HTTP",
+        "        connections for I/O.  If not specified, then the Jetty default",
+        "        is used.",
+        "",
+        "   -httpMinThreads <thread-count>",
+        "        Sets the minimum number of threads in the HTTP request thread",
+        "        pool.  If not specified, then the Jetty default is used.",
+        "",
+        "   -httpMaxThreads <thread-count>",
+        "        Sets the maximum number of threads in the HTTP request thread",
+        "        pool.  If not specified, then the Jetty default is used.",
+        "",
+        "   -httpQueueSize <task-count>",
+        "        Sets the maximum number of HTTP tasks that may be queued while",
+        "        awaiting a request thread.  If not specified, then the queue",
+        "        is unbounded.",
+        "",
+        "   -httpIdleTimeout <milliseconds>",
+        "        Sets the number of milliseconds an idle HTTP connection is",
+        "        kept open.  If not specified, then the Jetty default is used.",
+        "",
+        "   -httpOutputBufferSize <byte-count>",
+        "        Sets the size in bytes of the HTTP response output buffer.  If",
+        "        not specified, then the Jetty default is used.",
+        "",
+        "   -disableKeepAlive",
+        "        Disables HTTP persistent connections so that each connection",
+        "        is closed after its response.",
+        "",
+        "   -enableH2c",
+        "        Enables HTTP/2 cleartext (h2c) connections in addition to",
+        "        HTTP/1.1 on the HTTP port.",
         "",
         "   -moduleName <module-name>",
         "        The module name to initialize with.  Defaults to '"
@@ -952,7 +1436,10 @@ public class SzApiServer implements SzApiProvider {
         "        this is used to specify how often the API server should background",
         "        check that the current active config is the same as the current",
         "        default config, and if different reinitialize with the current",
-        "        default config.  If zero is specified, then the auto-refresh",
+        "        default config.  The check is done more frequently just after",
+        "        a configuration change and backs off to this period.  Changes",
+        "        made through this API server are handled immediately.",
+        "        If zero is specified, then the auto-refresh",
         "        is disabled and it will only occur when a requested configuration",
         "        element is not found in the current active config.  Specifying",
         "        a negative integer is allowed but is used to enable a check and ",
@@ -961,6 +1448,37 @@ public class SzApiServer implements SzApiProvider {
         "        the config was specified via the G2CONFIGFILE init option or if ",
         "        -configId has been specified to lock to a specific configuration.",
         "",
+        "   -blueGreenReinit",
+        "        If specified then the API server does not pause its engine",
+        "        threads when reinitializing with a new configuration.  Instead",
+        "        the new configuration data is prepared in the background and",
+        "        swapped in once the engine has been reinitialized.",
+        "",
+        "   -primeEngine",
+        "        If specified then the Senzing engine is primed before the API",
+        "        server is started and reports that it is ready.",
+        "",
+        "   -warmUpFile <file-path>",
+        "        Specifies a file of queries captured from recent traffic that",
+        "        are replayed to warm up the engine before the API server is",
+        "        started and reports that it is ready.  Each line is a JSON",
+        "        object with an \"entityId\" property, \"dataSource\" and",
+        "        \"recordId\" properties, or an \"attributes\" object to search",
+        "        by.  Blank lines and lines starting with # are ignored.",
+        "",
+        "   -processRedos",
+        "        If specified then the API server processes pending redo records",
+        "        in the background on a single engine thread, backing off while",
+        "        requests are waiting for engine threads.  Cannot be combined",
+        "        with -readOnly.",
+        "",
+        "   -changeFeedSize <change-count>",
+        "        If specified then the entities affected by records loaded and",
+        "        redo records processed through the API server are published",
+        "        to a change feed at /entity-changes which retains the given",
+        "        number of most recent changes for consumers to resume from.",
+        "        This requires an extra entity lookup per record loaded.",
+        "",
         "   -verbose If specified then initialize in verbose mode.",
         "",
         "   -quiet If specified then the API server reduces the number of messages",
@@ -979,7 +1497,16 @@ public class SzApiServer implements SzApiProvider {
         "        are interpreted as configuration manager options.  If this option",
         "        is specified by itself then a help message on configuration manager",
         "        options will be displayed.",
-        "        NOTE: If this option is provided, the server will not start."));
+        "        NOTE: If this option is provided, the server will not start.",
+        "",
+        "   --router [router options] [-- server options]",
+        "        Should be the first option if provided.  Starts a router that",
+        "        launches or fronts several API server processes on this host and",
+        "        spreads requests across them.  Options following \"--\" are",
+        "        passed to each launched API server process.  If this option is",
+        "        specified by itself then a help message on router options will",
+        "        be displayed.",
+        "        NOTE: If this option is provided, this server will not start."));
     pw.println();
     pw.flush();
     sw.flush();
@@ -993,32 +1520,155 @@ public class SzApiServer implements SzApiProvider {
   }
 
   /**
-   * @param context
-   * @param packageName
-   * @param path
-   * @param initOrder
+   * Parses the specified command-line parameter as an integer that must be
+   * no less than the specified minimum value.
+   *
+   * @param label The label describing the parameter for error messages.
+   * @param param The parameter value to parse.
+   * @param minValue The minimum allowed value.
+   * @return The parsed {@link Integer} value.
+   * @throws IllegalArgumentException If the parameter is not an integer or is
+   *                                  less than the minimum value.
    */
-  private static void addJerseyServlet(ServletContextHandler context,
-                                       String packageName,
-                                       String path,
-                                       int initOrder) {
-    ServletHolder jerseyServlet = context.addServlet(
-        org.glassfish.jersey.servlet.ServletContainer.class, path);
+  private static Integer parseIntegerParameter(String label,
+                                               String param,
+                                               int    minValue)
+  {
+    int value;
+    try {
+      value = Integer.parseInt(param);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          label + " must be an integer: " + param);
+    }
+    if (value < minValue) {
+      throw new IllegalArgumentException(
+          label + " must be at least " + minValue + ": " + value);
+    }
+    return value;
+  }
 
-    jerseyServlet.setInitOrder(initOrder);
+  /**
+   * Creates the {@link QueuedThreadPool} for handling HTTP requests using
+   * the thread counts and queue size in the specified options, defaulting to
+   * the Jetty defaults for those that were not specified.
+   *
+   * @param options The {@link Map} of {@link SzApiServerOption} keys to
+   *                option values.
+   *
+   * @return The {@link QueuedThreadPool} for handling HTTP requests.
+   */
+  static QueuedThreadPool createThreadPool(
+      Map<SzApiServerOption, ?> options)
+  {
+    Integer httpMinThreads
+        = (Integer) options.get(SzApiServerOption.HTTP_MIN_THREADS);
+    Integer httpMaxThreads
+        = (Integer) options.get(SzApiServerOption.HTTP_MAX_THREADS);
+    Integer httpQueueSize
+        = (Integer) options.get(SzApiServerOption.HTTP_QUEUE_SIZE);
+
+    QueuedThreadPool threadPool = new QueuedThreadPool();
+    int maxThreads = (httpMaxThreads != null)
+        ? httpMaxThreads : threadPool.getMaxThreads();
+    int minThreads = (httpMinThreads != null)
+        ? httpMinThreads
+        : Math.min(threadPool.getMinThreads(), maxThreads);
+
+    // the queue can only be bounded via the constructor
+    BlockingQueue<Runnable> queue = (httpQueueSize == null) ? null
+        : new BlockingArrayQueue<>(httpQueueSize);
+
+    threadPool = new QueuedThreadPool(
+        maxThreads, minThreads, threadPool.getIdleTimeout(), queue);
+    threadPool.setName("SzApiServer-http");
+    return threadPool;
+  }
 
-    jerseyServlet.setInitParameter(
-        "jersey.config.server.provider.packages",
-        packageName + ";"
-            + "org.codehaus.jackson.jaxrs;"
-            + "org.glassfish.jersey.media.multipart");
+  /**
+   * Creates the {@link ServerConnector} for the specified host and port
+   * using the acceptor and selector counts, idle timeout, output buffer size
+   * and keep-alive setting in the specified options.  If h2c is enabled then
+   * the connector supports HTTP/2 cleartext connections alongside HTTP/1.1.
+   *
+   * @param server The Jetty {@link Server} for the connector.
+   *
+   * @param host The host address to bind to.
+   *
+   * @param port The HTTP port to bind to.
+   *
+   * @param options The {@link Map} of {@link SzApiServerOption} keys to
+   *                option values.
+   *
+   * @return The {@link ServerConnector} for the HTTP port.
+   */
+  static ServerConnector createConnector(Server                    server,
+                                         String                    host,
+                                         int                       port,
+                                         Map<SzApiServerOption, ?> options)
+  {
+    Integer httpAcceptors
+        = (Integer) options.get(SzApiServerOption.HTTP_ACCEPTORS);
+    Integer httpSelectors
+        = (Integer) options.get(SzApiServerOption.HTTP_SELECTORS);
+    Integer httpIdleTimeout
+        = (Integer) options.get(SzApiServerOption.HTTP_IDLE_TIMEOUT);
+    Integer httpOutputBufferSize
+        = (Integer) options.get(SzApiServerOption.HTTP_OUTPUT_BUFFER_SIZE);
+    boolean keepAliveDisabled = Boolean.TRUE.equals(
+        options.get(SzApiServerOption.DISABLE_KEEP_ALIVE));
+    boolean h2cEnabled = Boolean.TRUE.equals(
+        options.get(SzApiServerOption.ENABLE_H2C));
+
+    HttpConfiguration httpConfig = new HttpConfiguration();
+    if (httpOutputBufferSize != null) {
+      httpConfig.setOutputBufferSize(httpOutputBufferSize);
+    }
+    httpConfig.setPersistentConnectionsEnabled(!keepAliveDisabled);
+
+    List<ConnectionFactory> factories = new ArrayList<>(2);
+    factories.add(new HttpConnectionFactory(httpConfig));
+    if (h2cEnabled) {
+      factories.add(new HTTP2CServerConnectionFactory(httpConfig));
+    }
+
+    int acceptors = (httpAcceptors != null) ? httpAcceptors : -1;
+    int selectors = (httpSelectors != null) ? httpSelectors : -1;
+
+    ServerConnector connector = new ServerConnector(
+        server,
+        acceptors,
+        selectors,
+        factories.toArray(new ConnectionFactory[factories.size()]));
+
+    connector.setHost(host);
+    connector.setPort(port);
+    if (httpIdleTimeout != null) {
+      connector.setIdleTimeout(httpIdleTimeout);
+    }
+    return connector;
+  }
 
-    jerseyServlet.setInitParameter(
-        "jersey.config.server.provider.classnames",
-        "org.glassfish.jersey.media.multipart.MultiPartFeature");
+  /**
+   * Adds the Jersey servlet for the specified {@link ResourceConfig} to the
+   * specified context.
+   *
+   * @param context The {@link ServletContextHandler} to add the servlet to.
+   * @param resourceConfig The {@link ResourceConfig} for the Jersey
+   *                       application.
+   * @param path The path for the servlet.
+   * @param initOrder The initialization order for the servlet.
+   */
+  private static void addJerseyServlet(ServletContextHandler  context,
+                                       ResourceConfig         resourceConfig,
+                                       String                 path,
+                                       int                    initOrder) {
+    ServletHolder jerseyServlet
+        = new ServletHolder(new ServletContainer(resourceConfig));
 
-    jerseyServlet.setInitParameter(
-        "jersey.api.json.POJOMappingFeature", "true");
+    jerseyServlet.setInitOrder(initOrder);
+
+    context.addServlet(jerseyServlet, path);
   }
 
   /**
@@ -1035,17 +1685,52 @@ public class SzApiServer implements SzApiProvider {
                                       boolean preserveHost,
                                       String hostHeader,
                                       int initOrder) {
-    ServletHolder proxyServlet = context.addServlet(
-        org.eclipse.jetty.proxy.ProxyServlet.class, path);
+    addProxyServlet(context,
+                    new org.eclipse.jetty.proxy.ProxyServlet(),
+                    path,
+                    viaHost,
+                    preserveHost,
+                    hostHeader,
+                    initOrder);
+  }
+
+  /**
+   * Adds the specified proxy servlet to the specified context at the
+   * specified path with the specified proxy settings.
+   *
+   * @param context The {@link ServletContextHandler} to add the servlet to.
+   * @param proxyServlet The {@link org.eclipse.jetty.proxy.ProxyServlet} to
+   *                     add.
+   * @param path The path for the servlet.
+   * @param viaHost The host name for the <tt>Via</tt> header, or
+   *                <tt>null</tt> for the Jetty default.
+   * @param preserveHost <tt>true</tt> if the <tt>Host</tt> header of the
+   *                     request should be forwarded, otherwise
+   *                     <tt>false</tt>.
+   * @param hostHeader The value to force for the <tt>Host</tt> header, or
+   *                   <tt>null</tt> if not forced.
+   * @param initOrder The initialization order for the servlet.
+   */
+  static void addProxyServlet(ServletContextHandler               context,
+                              org.eclipse.jetty.proxy.ProxyServlet proxyServlet,
+                              String                              path,
+                              String                              viaHost,
+                              boolean                             preserveHost,
+                              String                              hostHeader,
+                              int                                 initOrder) {
+    ServletHolder proxyHolder = new ServletHolder(proxyServlet);
+    context.addServlet(proxyHolder, path);
 
-    proxyServlet.setInitOrder(initOrder);
+    proxyHolder.setInitOrder(initOrder);
 
-    proxyServlet.setInitParameter("viaHost", viaHost);
+    if (viaHost != null) {
+      proxyHolder.setInitParameter("viaHost", viaHost);
+    }
 
-    proxyServlet.setInitParameter("preserveHost", "" + preserveHost);
+    proxyHolder.setInitParameter("preserveHost", "" + preserveHost);
 
     if (hostHeader != null) {
-      proxyServlet.setInitParameter("hostHeader", hostHeader);
+      proxyHolder.setInitParameter("hostHeader", hostHeader);
     }
   }
 
@@ -1065,6 +1750,11 @@ public class SzApiServer implements SzApiProvider {
       ConfigurationManager.main(args2);
       return;
     }
+    if (args.length > 0 && args[0].equals("--router")) {
+      String[] args2 = shiftArguments(args, 1);
+      SzApiRouter.main(args2);
+      return;
+    }
 
     Map<SzApiServerOption, ?> options = null;
     try {
@@ -1320,6 +2010,31 @@ public class SzApiServer implements SzApiProvider {
     this(accessToken, options.buildOptionsMap());
   }
 
+  /**
+   * Constructs an instance with the specified {@link G2Engine} and {@link
+   * G2ConfigMgr} APIs without initializing the native APIs, the worker
+   * threads or the HTTP server.  This is used to test the configuration
+   * handling.
+   *
+   * @param engineApi The {@link G2Engine} API to use.
+   *
+   * @param configMgrApi The {@link G2ConfigMgr} API to use.
+   *
+   * @param blueGreenReinit <tt>true</tt> if the worker threads should be left
+   *                        running when reinitializing, otherwise
+   *                        <tt>false</tt>.
+   */
+  SzApiServer(G2Engine    engineApi,
+              G2ConfigMgr configMgrApi,
+              boolean     blueGreenReinit)
+  {
+    this.engineApi        = engineApi;
+    this.configMgrApi     = configMgrApi;
+    this.blueGreenReinit  = blueGreenReinit;
+    this.quiet            = true;
+    this.initializeConfigData();
+  }
+
   /**
    * Internal method to build an options map.
    */
@@ -1370,6 +2085,73 @@ public class SzApiServer implements SzApiProvider {
       this.concurrency = (Integer) options.get(SzApiServerOption.CONCURRENCY);
     }
 
+    this.maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    if (options.containsKey(SzApiServerOption.MAX_BATCH_SIZE)) {
+      this.maxBatchSize
+          = (Integer) options.get(SzApiServerOption.MAX_BATCH_SIZE);
+    }
+
+    this.compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+    if (options.containsKey(SzApiServerOption.COMPRESSION_LEVEL)) {
+      this.compressionLevel
+          = (Integer) options.get(SzApiServerOption.COMPRESSION_LEVEL);
+    }
+
+    this.compressionMinSize = DEFAULT_COMPRESSION_MIN_SIZE;
+    if (options.containsKey(SzApiServerOption.COMPRESSION_MIN_SIZE)) {
+      this.compressionMinSize
+          = (Integer) options.get(SzApiServerOption.COMPRESSION_MIN_SIZE);
+    }
+
+    this.compressionMimeTypes = DEFAULT_COMPRESSION_MIME_TYPES;
+    if (options.containsKey(SzApiServerOption.COMPRESSION_MIME_TYPES)) {
+      Set<String> mimeTypes = new LinkedHashSet<>();
+      Collection<?> values = (Collection<?>)
+          options.get(SzApiServerOption.COMPRESSION_MIME_TYPES);
+      for (Object value : values) {
+        mimeTypes.add((String) value);
+      }
+      this.compressionMimeTypes = Collections.unmodifiableSet(mimeTypes);
+    }
+
+    Integer httpMinThreads
+        = (Integer) options.get(SzApiServerOption.HTTP_MIN_THREADS);
+    Integer httpMaxThreads
+        = (Integer) options.get(SzApiServerOption.HTTP_MAX_THREADS);
+    if (httpMinThreads != null && httpMaxThreads != null
+        && httpMinThreads > httpMaxThreads)
+    {
+      throw new IllegalArgumentException(
+          "The HTTP minimum thread count (" + httpMinThreads
+          + ") cannot exceed the HTTP maximum thread count ("
+          + httpMaxThreads + ").");
+    }
+
+    this.blueGreenReinit = false;
+    if (options.containsKey(SzApiServerOption.BLUE_GREEN_REINIT)) {
+      this.blueGreenReinit
+          = (Boolean) options.get(SzApiServerOption.BLUE_GREEN_REINIT);
+    }
+
+    this.primeEngine = false;
+    if (options.containsKey(SzApiServerOption.PRIME_ENGINE)) {
+      this.primeEngine = (Boolean) options.get(SzApiServerOption.PRIME_ENGINE);
+    }
+
+    this.warmUpFile = (File) options.get(SzApiServerOption.WARM_UP_FILE);
+
+    this.processRedos = false;
+    if (options.containsKey(SzApiServerOption.PROCESS_REDOS)) {
+      this.processRedos
+          = (Boolean) options.get(SzApiServerOption.PROCESS_REDOS);
+    }
+
+    Integer changeFeedSize
+        = (Integer) options.get(SzApiServerOption.CHANGE_FEED_SIZE);
+    if (changeFeedSize != null) {
+      this.changeFeed = new EntityChangeFeed(changeFeedSize);
+    }
+
     this.moduleName = DEFAULT_MODULE_NAME;
     if (options.containsKey(SzApiServerOption.MODULE_NAME)) {
       this.moduleName = (String) options.get(SzApiServerOption.MODULE_NAME);
@@ -1546,27 +2328,8 @@ public class SzApiServer implements SzApiProvider {
 
     this.baseUrl = "http://" + ipAddr.getHostAddress() + ":" + httpPort + "/";
 
-    this.initNativeApis();
-
-    this.workerThreadPool
-        = new WorkerThreadPool(this.getClass().getName(), this.concurrency);
-
-    this.echo("Created Senzing engine thread pool with " + this.concurrency
-              + " thread(s).");
-
-    if (this.configMgrApi != null) {
-      // check if the auto refresh period is null
-      if (this.autoRefreshPeriod == null) {
-        this.autoRefreshPeriod = DEFAULT_CONFIG_REFRESH_PERIOD;
-      }
-      if (!this.autoRefreshPeriod.equals(0)) {
-        this.reinitializer = new Reinitializer(this.configMgrApi,
-                                               this.engineApi,
-                                               this);
-      }
-    }
-
-    this.initializeConfigData();
+    // build the HTTP server first since it does not depend on the engine
+    this.startupTimers.start("buildHttpServer");
 
     // setup a servlet context handler
     ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
@@ -1597,32 +2360,91 @@ public class SzApiServer implements SzApiProvider {
     rewriteHandler.setHandler(context);
 
     // create our server (TODO: add connectors for HTTP + HTTPS)
-    this.jettyServer = new Server(new InetSocketAddress(ipAddr, httpPort));
+    this.jettyServer = new Server(createThreadPool(options));
+    this.jettyServer.addConnector(createConnector(
+        this.jettyServer, this.ipAddr.getHostAddress(), this.httpPort,
+        options));
 
     this.fileMonitor = null;
     if (options.containsKey(SzApiServerOption.MONITOR_FILE)) {
       this.fileMonitor = (FileMonitor) options.get(SzApiServerOption.MONITOR_FILE);
     }
-    this.jettyServer.setHandler(rewriteHandler);
+    FirstRequestHandler firstRequestHandler
+        = new FirstRequestHandler(this::recordFirstRequest);
+    if (this.compressionLevel > 0) {
+      GzipHandler gzipHandler = new GzipHandler();
+      gzipHandler.setCompressionLevel(this.compressionLevel);
+      gzipHandler.setMinGzipSize(this.compressionMinSize);
+      gzipHandler.setIncludedMimeTypes(
+          this.compressionMimeTypes.toArray(new String[0]));
+      gzipHandler.setIncludedMethods("GET", "POST");
+      gzipHandler.setHandler(rewriteHandler);
+      firstRequestHandler.setHandler(gzipHandler);
+
+    } else {
+      firstRequestHandler.setHandler(rewriteHandler);
+    }
+    this.jettyServer.setHandler(firstRequestHandler);
     LifeCycleListener lifeCycleListener
         = new LifeCycleListener(this.jettyServer, httpPort, ipAddr, this.fileMonitor);
     this.jettyServer.addLifeCycleListener(lifeCycleListener);
     int initOrder = 0;
-    String packageName = SzApiProvider.class.getPackage().getName();
     String apiPath = "/*";
 
     //addProxyServlet(context, "/www/*", "https://www.senzing.com", false,
     //                "www.senzing.com", initOrder++);
 
-    addJerseyServlet(context, packageName, apiPath, initOrder++);
+    addJerseyServlet(context, new SzApiResourceConfig(), apiPath, initOrder++);
 
     ServletHolder rootHolder = new ServletHolder("default", DefaultServlet.class);
     rootHolder.setInitParameter("dirAllowed", "false");
     context.addServlet(rootHolder, "/");
 
+    this.startupTimers.pause("buildHttpServer");
+
+    // start the servlet context (initializing Jersey) in the background while
+    // the engine is initialized -- the connector is not opened until the
+    // server is started after both have completed
+    Timers contextTimers = new Timers();
+    FutureTask<Void> contextStarter = new FutureTask<>(() -> {
+      contextTimers.start("startServletContext");
+      try {
+        context.start();
+      } finally {
+        contextTimers.pause("startServletContext");
+      }
+      return null;
+    });
+    Thread contextThread = new Thread(contextStarter, "SzApiServer-Context");
+    contextThread.start();
+
+    try {
+      this.initEngine();
+
+    } catch (Exception e) {
+      this.stopServletContext(contextStarter, context);
+      // shutdown if the native APIs were successfully initialized
+      if (this.workerThreadPool != null) this.shutdown();
+      throw e;
+    }
+
+    // wait for the servlet context to start
+    try {
+      contextStarter.get();
+      this.startupTimers.mergeWith(contextTimers);
+
+    } catch (ExecutionException e) {
+      this.shutdown();
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) throw (Exception) cause;
+      throw e;
+    }
+
     // System.out.println("INITIALIZING SENZING ENGINE....");
     try {
+      this.startupTimers.start("startHttpServer");
       this.jettyServer.start();
+      this.startupTimers.pause("startHttpServer");
       int actualPort = this.httpPort
           = ((ServerConnector) (this.jettyServer.getConnectors()[0])).getLocalPort();
 
@@ -1635,6 +2457,9 @@ public class SzApiServer implements SzApiProvider {
       throw e;
     }
 
+    this.startupTimers.pause("total");
+    this.echo("Startup timings (ms): " + this.getStartupTimings());
+
     // create a thread to monitor for server termination
     Thread thread = new Thread(() -> {
       try {
@@ -1648,10 +2473,13 @@ public class SzApiServer implements SzApiProvider {
           this.echo("********************************************** ");
           try {
             if (this.reinitializer != null) this.reinitializer.complete();
+            if (this.redoProcessor != null) this.redoProcessor.complete();
+            if (this.changeFeed != null) this.changeFeed.close();
             context.stop();
             this.jettyServer.stop();
             this.jettyServer.join();
             this.joinReinitializer();
+            this.joinRedoProcessor();
 
           } catch (Exception e) {
             e.printStackTrace();
@@ -1830,6 +2658,102 @@ public class SzApiServer implements SzApiProvider {
     }
   }
 
+  /**
+   * Initializes the native APIs, the engine worker thread pool, the
+   * reinitializer and the configuration data, then warms up the engine if
+   * requested.  Each phase is recorded in the startup timers.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  private void initEngine() throws Exception {
+    this.startupTimers.start("initNativeApis");
+    this.initNativeApis();
+    this.startupTimers.pause("initNativeApis");
+
+    this.workerThreadPool
+        = new WorkerThreadPool(this.getClass().getName(), this.concurrency);
+
+    this.echo("Created Senzing engine thread pool with " + this.concurrency
+              + " thread(s).");
+
+    if (this.configMgrApi != null) {
+      // check if the auto refresh period is null
+      if (this.autoRefreshPeriod == null) {
+        this.autoRefreshPeriod = DEFAULT_CONFIG_REFRESH_PERIOD;
+      }
+      if (!this.autoRefreshPeriod.equals(0)) {
+        this.reinitializer = new Reinitializer(this.configMgrApi,
+                                               this.engineApi,
+                                               this);
+      }
+    }
+
+    this.startupTimers.start("initializeConfigData");
+    this.initializeConfigData();
+    this.startupTimers.pause("initializeConfigData");
+
+    // warm up the engine before the server starts and reports that it is ready
+    if (this.primeEngine || this.warmUpFile != null) {
+      this.startupTimers.start("warmUpEngine");
+      this.warmUpEngine();
+      this.startupTimers.pause("warmUpEngine");
+    }
+
+    if (this.processRedos && !this.readOnly) {
+      this.redoProcessor = new RedoProcessor(this);
+      this.echo("Started processing redo records in the background.");
+    }
+  }
+
+  /**
+   * Waits for the servlet context to finish starting in the background and
+   * then stops it.  This is used when the engine fails to initialize.
+   *
+   * @param contextStarter The {@link Future} for starting the context.
+   *
+   * @param context The {@link ServletContextHandler} to stop.
+   */
+  private void stopServletContext(Future<?>             contextStarter,
+                                  ServletContextHandler context)
+  {
+    try {
+      contextStarter.get();
+    } catch (Exception ignore) {
+      // ignore
+    }
+    try {
+      context.stop();
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Warms up the Senzing engine by priming it (if requested) and replaying
+   * the queries from the warm-up file (if any).  This is called before the
+   * HTTP server is started so that readiness is only reported once the
+   * warm-up completes.
+   *
+   * @throws Exception If the warm-up file is invalid or priming fails.
+   */
+  private void warmUpEngine() throws Exception {
+    long start = System.currentTimeMillis();
+    EngineWarmUp warmUp
+        = new EngineWarmUp(this, this.primeEngine, this.warmUpFile);
+
+    this.echo("Warming up Senzing engine"
+              + (this.primeEngine ? " (priming engine)" : "") + " with "
+              + warmUp.getQueryCount() + " quer"
+              + ((warmUp.getQueryCount() == 1) ? "y" : "ies") + "....");
+
+    warmUp.run();
+
+    long duration = System.currentTimeMillis() - start;
+    this.echo("Warmed up Senzing engine in " + duration + "ms (succeeded: "
+              + warmUp.getSuccessCount() + ", failed: "
+              + warmUp.getFailureCount() + ").");
+  }
+
   private void initNativeApis()
   {
     String  initJsonText  = JsonUtils.toJsonText(this.initJson);
@@ -1973,6 +2897,9 @@ public class SzApiServer implements SzApiProvider {
    * Internal method for handling cleanup on shutdown.
    */
   private void shutdown() {
+    // release any consumers waiting on the change feed
+    if (this.changeFeed != null) this.changeFeed.close();
+
     if (this.jettyServer != null) {
       synchronized (this.jettyServer) {
         try {
@@ -1989,6 +2916,9 @@ public class SzApiServer implements SzApiProvider {
     // shutdown the reinitializer
     this.joinReinitializer();
 
+    // shutdown the redo processor
+    this.joinRedoProcessor();
+
     // uninitialize
     synchronized (SzApiServer.class) {
       if (SzApiServer.INSTANCE == this) {
@@ -2061,6 +2991,7 @@ public class SzApiServer implements SzApiProvider {
       }
     }
     this.joinReinitializer();
+    this.joinRedoProcessor();
     this.joinFileMonitor();
   }
 
@@ -2080,6 +3011,22 @@ public class SzApiServer implements SzApiProvider {
     }
   }
 
+  /**
+   * Shuts down and joins with the redo processor (if any)
+   */
+  private void joinRedoProcessor() {
+    if (this.redoProcessor != null) {
+      this.redoProcessor.complete();
+      while (this.redoProcessor.isAlive()) {
+        try {
+          this.redoProcessor.join();
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+      }
+    }
+  }
+
   /**
    * Shuts down and joins with the file monitor (if any)
    */
@@ -2111,6 +3058,49 @@ public class SzApiServer implements SzApiProvider {
     this.reinitializer.requestRefresh();
   }
 
+  /**
+   * Implemented to signal the reinitializer thread (if any) to check for the
+   * configuration change without waiting for its next poll.  This returns
+   * immediately without waiting for the check.
+   */
+  public void notifyConfigChanged() {
+    if (this.reinitializer == null) return;
+    this.reinitializer.signalChange();
+  }
+
+  /**
+   * Checks if the default configuration ID differs from the active
+   * configuration ID that was cached when the configuration data was last
+   * initialized.  This only requires a single call to the {@link G2ConfigMgr}
+   * API, making it cheap enough for polling.  If the active configuration ID
+   * is not known then <tt>true</tt> is returned so that a full check is done.
+   *
+   * @return <tt>true</tt> if a configuration change is detected,
+   *         <tt>false</tt> if not and <tt>null</tt> if an error occurred in
+   *         obtaining the default configuration ID.
+   */
+  Boolean isConfigChangeDetected() {
+    G2ConfigMgr configMgrApi = this.getConfigMgrApi();
+    if (configMgrApi == null) return false;
+
+    ConfigSnapshot snapshot = this.configSnapshot;
+    Long activeConfigId = (snapshot == null) ? null : snapshot.getConfigId();
+    if (activeConfigId == null) return true;
+
+    // synchronize since G2ConfigMgr API is not thread-safe
+    Result<Long> result = new Result<>();
+    synchronized (configMgrApi) {
+      int returnCode = configMgrApi.getDefaultConfigID(result);
+      if (returnCode != 0) {
+        String errorMsg = formatError(
+            "G2ConfigMgr.getDefaultConfigID", configMgrApi);
+        System.err.println("Failed to get default config ID: " + errorMsg);
+        return null;
+      }
+    }
+    return !activeConfigId.equals(result.getValue());
+  }
+
   /**
    * Checks if the engine's active config is stale and if so reinitializes
    * with the new configuration.
@@ -2127,6 +3117,12 @@ public class SzApiServer implements SzApiProvider {
    * Checks if the engine's active config is stale and if so reinitializes
    * with the new configuration.
    *
+   * If {@linkplain #isBlueGreenReinit() blue/green reinitialization} is
+   * enabled then the worker threads are never paused.  Instead the new
+   * configuration data is prepared before the engine is reinitialized and
+   * then swapped in as a whole so that only the engine reinitialization
+   * itself can stall the in-flight engine calls.
+   *
    * @param pauseWorkers <tt>true</tt> if the worker threads should be paused
    *                     before reinitialization and <tt>false</tt> if not.
    *
@@ -2150,7 +3146,19 @@ public class SzApiServer implements SzApiProvider {
       if (defaultConfigId == null) return false;
 
       this.echo("Detected configuration change.");
+      G2ConfigMgr configMgrApi = this.getConfigMgrApi();
+
+      // for blue/green reinitialization we prepare the new configuration
+      // data while the workers continue and never pause the workers
+      ConfigSnapshot prepared = null;
+      if (this.blueGreenReinit) {
+        pauseWorkers = false;
+        prepared = prepareConfigSnapshot(configMgrApi, defaultConfigId);
+      }
+
       AccessToken pauseToken = null;
+      long stallStart = System.nanoTime();
+      boolean reinitialized = false;
 
       // we can pause all workers before reinitializing or just let the underlying
       // G2Engine API handle the mutual exclusion issues
@@ -2160,7 +3168,6 @@ public class SzApiServer implements SzApiProvider {
       }
 
       int returnCode;
-      G2ConfigMgr configMgrApi = this.getConfigMgrApi();
       // once we get here we just need to reinitialize
       synchronized (configMgrApi) {
         try {
@@ -2182,6 +3189,16 @@ public class SzApiServer implements SzApiProvider {
           }
           this.echo("Reinitializing with config: " + defaultConfigId);
 
+          // discard the prepared data if the configuration changed again
+          if (prepared != null
+              && !defaultConfigId.equals(prepared.getConfigId()))
+          {
+            prepared = null;
+          }
+
+          // if not paused then the stall is only the reinitialization
+          if (!pauseWorkers) stallStart = System.nanoTime();
+
           // reinitialize with the default config ID
           returnCode = this.engineApi.reinitV2(defaultConfigId);
           if (returnCode != 0) {
@@ -2191,9 +3208,16 @@ public class SzApiServer implements SzApiProvider {
                                    + defaultConfigId + "): " + errorMsg);
             return null;
           }
+          reinitialized = true;
 
-          // reinitialize the cached configuration data
-          this.initializeConfigData();
+          // swap in the prepared configuration data or reinitialize it
+          if (prepared != null) {
+            synchronized (this.reinitMonitor) {
+              this.configSnapshot = prepared;
+            }
+          } else {
+            this.initializeConfigData();
+          }
 
           // return true to indicate we reinitialized
           return true;
@@ -2203,6 +3227,9 @@ public class SzApiServer implements SzApiProvider {
             this.workerThreadPool.resume(pauseToken);
             this.echo("Resumed API server.");
           }
+          if (reinitialized) {
+            this.recordReinit(stallStart);
+          }
         }
       }
 
@@ -2273,24 +3300,77 @@ public class SzApiServer implements SzApiProvider {
 
       JsonObject config = JsonUtils.parseJsonObject(sb.toString());
 
-      Set<String>         dataSourceSet   = new LinkedHashSet<>();
-      Set<String>         entityClassSet  = new LinkedHashSet<>();
-      Set<String>         entityTypeSet   = new LinkedHashSet<>();
-      Map<String,String>  ftypeCodeMap    = new LinkedHashMap<>();
-      Map<String,String>  attrCodeMap     = new LinkedHashMap<>();
-
-      this.evaluateConfig(config,
-                          dataSourceSet,
-                          entityClassSet,
-                          entityTypeSet,
-                          ftypeCodeMap,
-                          attrCodeMap);
-
-      this.dataSources            = Collections.unmodifiableSet(dataSourceSet);
-      this.entityClasses          = Collections.unmodifiableSet(entityClassSet);
-      this.entityTypes            = Collections.unmodifiableSet(entityTypeSet);
-      this.featureToAttrClassMap  = Collections.unmodifiableMap(ftypeCodeMap);
-      this.attrCodeToAttrClassMap = Collections.unmodifiableMap(attrCodeMap);
+      // record the active config ID associated with the config data
+      Result<Long> result = new Result<>();
+      int returnCode = this.engineApi.getActiveConfigID(result);
+      Long activeConfigId = (returnCode == 0) ? result.getValue() : null;
+
+      this.configSnapshot = buildConfigSnapshot(activeConfigId, config);
+    }
+  }
+
+  /**
+   * Prepares the {@link ConfigSnapshot} for the specified configuration ID
+   * from the configuration stored via the {@link G2ConfigMgr} API without
+   * disturbing the current {@link ConfigSnapshot} or the engine.  This
+   * returns <tt>null</tt> if the configuration could not be obtained.
+   *
+   * @param configMgrApi The {@link G2ConfigMgr} API to use.
+   *
+   * @param configId The configuration ID for the snapshot.
+   *
+   * @return The prepared {@link ConfigSnapshot}, or <tt>null</tt> if the
+   *         configuration could not be obtained.
+   */
+  private static ConfigSnapshot prepareConfigSnapshot(G2ConfigMgr configMgrApi,
+                                                      long        configId)
+  {
+    StringBuffer sb = new StringBuffer();
+    int returnCode;
+    synchronized (configMgrApi) {
+      returnCode = configMgrApi.getConfig(configId, sb);
     }
+    if (returnCode != 0) {
+      String errorMsg = formatError("G2ConfigMgr.getConfig", configMgrApi);
+      System.err.println("Failed to get config (" + configId + "): "
+                             + errorMsg);
+      return null;
+    }
+    JsonObject config = JsonUtils.parseJsonObject(sb.toString());
+    return buildConfigSnapshot(configId, config);
+  }
+
+  /**
+   * Builds the {@link ConfigSnapshot} for the specified configuration ID and
+   * {@link JsonObject} describing the configuration.
+   *
+   * @param configId The configuration ID, or <tt>null</tt> if not known.
+   *
+   * @param config The {@link JsonObject} describing the configuration.
+   *
+   * @return The {@link ConfigSnapshot} for the configuration.
+   */
+  private static ConfigSnapshot buildConfigSnapshot(Long        configId,
+                                                    JsonObject  config)
+  {
+    Set<String>         dataSourceSet   = new LinkedHashSet<>();
+    Set<String>         entityClassSet  = new LinkedHashSet<>();
+    Set<String>         entityTypeSet   = new LinkedHashSet<>();
+    Map<String,String>  ftypeCodeMap    = new LinkedHashMap<>();
+    Map<String,String>  attrCodeMap     = new LinkedHashMap<>();
+
+    evaluateConfig(config,
+                   dataSourceSet,
+                   entityClassSet,
+                   entityTypeSet,
+                   ftypeCodeMap,
+                   attrCodeMap);
+
+    return new ConfigSnapshot(configId,
+                              Collections.unmodifiableSet(dataSourceSet),
+                              Collections.unmodifiableSet(entityClassSet),
+                              Collections.unmodifiableSet(entityTypeSet),
+                              Collections.unmodifiableMap(ftypeCodeMap),
+                              Collections.unmodifiableMap(attrCodeMap));
   }
 }
@@ -27,7 +27,25 @@ enum SzApiServerOption implements CommandLineOption<SzApiServerOption> {
   MONITOR_FILE("-monitorFile", 1),
   CONCURRENCY("-concurrency", 1),
   AUTO_REFRESH_PERIOD("-autoRefreshPeriod", 1),
-  ALLOWED_ORIGINS("-allowedOrigins", 1);
+  ALLOWED_ORIGINS("-allowedOrigins", 1),
+  MAX_BATCH_SIZE("-maxBatchSize", 1),
+  COMPRESSION_LEVEL("-compressionLevel", 1),
+  COMPRESSION_MIN_SIZE("-compressionMinSize", 1),
+  COMPRESSION_MIME_TYPES("-compressionMimeTypes", 1),
+  HTTP_ACCEPTORS("-httpAcceptors", 1),
+  HTTP_SELECTORS("-httpSelectors", 1),
+  HTTP_MIN_THREADS("-httpMinThreads", 1),
+  HTTP_MAX_THREADS("-httpMaxThreads", 1),
+  HTTP_QUEUE_SIZE("-httpQueueSize", 1),
+  HTTP_IDLE_TIMEOUT("-httpIdleTimeout", 1),
+  HTTP_OUTPUT_BUFFER_SIZE("-httpOutputBufferSize", 1),
+  DISABLE_KEEP_ALIVE("-disableKeepAlive", 0),
+  ENABLE_H2C("-enableH2c", 0),
+  BLUE_GREEN_REINIT("-blueGreenReinit", 0),
+  PRIME_ENGINE("-primeEngine", 0),
+  WARM_UP_FILE("-warmUpFile", 1),
+  PROCESS_REDOS("-processRedos", 0),
+  CHANGE_FEED_SIZE("-changeFeedSize", 1);
 
   private static Map<SzApiServerOption, Set<SzApiServerOption>> CONFLICTING_OPTIONS;
 
@@ -139,6 +157,10 @@ enum SzApiServerOption implements CommandLineOption<SzApiServerOption> {
       }
     }
 
+    // processing redo records modifies the entity repository
+    conflictMap.get(PROCESS_REDOS).add(READ_ONLY);
+    conflictMap.get(READ_ONLY).add(PROCESS_REDOS);
+
     Set<SzApiServerOption> iniAlts = altMap.get(INI_FILE);
     iniAlts.add(INIT_ENV_VAR);
     iniAlts.add(INIT_FILE);
@@ -3,10 +3,9 @@ package com.senzing.api.server;
 import com.senzing.util.JsonUtils;
 
 import javax.json.JsonObject;
+import java.io.File;
 import java.net.InetAddress;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 
 import static com.senzing.api.server.SzApiServer.*;
 import static com.senzing.api.server.SzApiServerOption.*;
@@ -17,18 +16,36 @@ import static com.senzing.api.server.SzApiServerOption.*;
  *
  */
 public class SzApiServerOptions {
-  private int         httpPort          = DEFAULT_PORT;
-  private InetAddress bindAddress       = null;
-  private int         concurrency       = DEFAULT_CONCURRENCY;
-  private String      moduleName        = DEFAULT_MODULE_NAME;
-  private boolean     verbose           = false;
-  private boolean     quiet             = false;
-  private boolean     readOnly          = false;
-  private boolean     adminEnabled      = false;
-  private String      allowedOrigins    = null;
-  private Long        configId          = null;
-  private Long        autoRefreshPeriod = null;
-  private JsonObject  jsonInit          = null;
+  private int         httpPort             = DEFAULT_PORT;
+  private InetAddress bindAddress          = null;
+  private int         concurrency          = DEFAULT_CONCURRENCY;
+  private String      moduleName           = DEFAULT_MODULE_NAME;
+  private boolean     verbose              = false;
+  private boolean     quiet                = false;
+  private boolean     readOnly             = false;
+  private boolean     adminEnabled         = false;
+  private String      allowedOrigins       = null;
+  private int         maxBatchSize         = DEFAULT_MAX_BATCH_SIZE;
+  private int         compressionLevel     = DEFAULT_COMPRESSION_LEVEL;
+  private int         compressionMinSize   = DEFAULT_COMPRESSION_MIN_SIZE;
+  private Set<String> compressionMimeTypes = DEFAULT_COMPRESSION_MIME_TYPES;
+  private Integer     httpAcceptors        = null;
+  private Integer     httpSelectors        = null;
+  private Integer     httpMinThreads       = null;
+  private Integer     httpMaxThreads       = null;
+  private Integer     httpQueueSize        = null;
+  private Integer     httpIdleTimeout      = null;
+  private Integer     httpOutputBufferSize = null;
+  private boolean     keepAliveDisabled    = false;
+  private boolean     h2cEnabled           = false;
+  private boolean     blueGreenReinit      = false;
+  private boolean     primeEngine          = false;
+  private File        warmUpFile           = null;
+  private boolean     processRedos         = false;
+  private Integer     changeFeedSize       = null;
+  private Long        configId             = null;
+  private Long        autoRefreshPeriod    = null;
+  private JsonObject  jsonInit             = null;
 
   /**
    * Constructs with the JSON initialization parameters as a {@link
@@ -298,6 +315,507 @@ public class SzApiServerOptions {
     return this;
   }
 
+  /**
+   * Gets the maximum number of items that may be requested in a single call
+   * to a batch endpoint.  If the value has not {@linkplain
+   * #setMaxBatchSize(Integer) explicitly set} then {@link
+   * SzApiServer#DEFAULT_MAX_BATCH_SIZE} is returned.
+   *
+   * @return The maximum number of items that may be requested in a single
+   *         call to a batch endpoint.
+   */
+  public int getMaxBatchSize() {
+    return this.maxBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of items that may be requested in a single call
+   * to a batch endpoint.  Set to <tt>null</tt> to use the {@linkplain
+   * SzApiServer#DEFAULT_MAX_BATCH_SIZE default maximum batch size}.
+   *
+   * @param maxBatchSize The maximum number of items for a batch request, or
+   *                     <tt>null</tt> for the default maximum batch size.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setMaxBatchSize(Integer maxBatchSize) {
+    this.maxBatchSize = (maxBatchSize != null)
+        ? maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+    return this;
+  }
+
+  /**
+   * Gets the compression level (from one to nine) for compressing HTTP
+   * responses, or zero (0) if responses are never compressed.  If the value
+   * has not been {@linkplain #setCompressionLevel(Integer) explicitly set}
+   * then {@link SzApiServer#DEFAULT_COMPRESSION_LEVEL} is returned.
+   *
+   * @return The compression level for compressing HTTP responses, or zero
+   *         (0) if responses are never compressed.
+   */
+  public int getCompressionLevel() {
+    return this.compressionLevel;
+  }
+
+  /**
+   * Sets the compression level (from one to nine) for compressing HTTP
+   * responses.  Set to zero (0) to disable response compression or to
+   * <tt>null</tt> to use the {@linkplain SzApiServer#DEFAULT_COMPRESSION_LEVEL
+   * default compression level}.
+   *
+   * @param compressionLevel The compression level, zero (0) to disable
+   *                         compression or <tt>null</tt> for the default
+   *                         compression level.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setCompressionLevel(Integer compressionLevel) {
+    this.compressionLevel = (compressionLevel != null)
+        ? compressionLevel : DEFAULT_COMPRESSION_LEVEL;
+    return this;
+  }
+
+  /**
+   * Gets the minimum size in bytes of an HTTP response for it to be
+   * compressed.  If the value has not been {@linkplain
+   * #setCompressionMinSize(Integer) explicitly set} then {@link
+   * SzApiServer#DEFAULT_COMPRESSION_MIN_SIZE} is returned.
+   *
+   * @return The minimum size in bytes of an HTTP response for it to be
+   *         compressed.
+   */
+  public int getCompressionMinSize() {
+    return this.compressionMinSize;
+  }
+
+  /**
+   * Sets the minimum size in bytes of an HTTP response for it to be
+   * compressed.  Set to <tt>null</tt> to use the {@linkplain
+   * SzApiServer#DEFAULT_COMPRESSION_MIN_SIZE default minimum size}.
+   *
+   * @param minSize The minimum size in bytes of a compressed response, or
+   *                <tt>null</tt> for the default minimum size.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setCompressionMinSize(Integer minSize) {
+    this.compressionMinSize = (minSize != null)
+        ? minSize : DEFAULT_COMPRESSION_MIN_SIZE;
+    return this;
+  }
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link Set} of MIME types for the HTTP
+   * responses that may be compressed.  If the value has not been {@linkplain
+   * #setCompressionMimeTypes(Set) explicitly set} then {@link
+   * SzApiServer#DEFAULT_COMPRESSION_MIME_TYPES} is returned.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of MIME types for the HTTP
+   *         responses that may be compressed.
+   */
+  public Set<String> getCompressionMimeTypes() {
+    return this.compressionMimeTypes;
+  }
+
+  /**
+   * Sets the {@link Set} of MIME types for the HTTP responses that may be
+   * compressed.  Set to <tt>null</tt> to use the {@linkplain
+   * SzApiServer#DEFAULT_COMPRESSION_MIME_TYPES default MIME types}.
+   *
+   * @param mimeTypes The {@link Set} of MIME types for the compressed
+   *                  responses, or <tt>null</tt> for the default MIME types.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setCompressionMimeTypes(Set<String> mimeTypes) {
+    this.compressionMimeTypes = (mimeTypes != null)
+        ? Collections.unmodifiableSet(new LinkedHashSet<>(mimeTypes))
+        : DEFAULT_COMPRESSION_MIME_TYPES;
+    return this;
+  }
+
+  /**
+   * Gets the number of threads dedicated to accepting HTTP connections. This
+   * returns <tt>null</tt> if the Jetty default is to be used, which is also the
+   * case if the value has not been {@linkplain #setHttpAcceptors(Integer)
+   * explicitly set}.
+   *
+   * @return The number of threads dedicated to accepting HTTP connections, or
+   *         <tt>null</tt> if the Jetty default is to be used.
+   */
+  public Integer getHttpAcceptors() {
+    return this.httpAcceptors;
+  }
+
+  /**
+   * Sets the number of threads dedicated to accepting HTTP connections. Set to
+   * <tt>null</tt> to use the Jetty default.
+   *
+   * @param acceptorCount The acceptor thread count, or <tt>null</tt> for the
+   *                      Jetty default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setHttpAcceptors(Integer acceptorCount) {
+    this.httpAcceptors = acceptorCount;
+    return this;
+  }
+
+  /**
+   * Gets the number of threads dedicated to selecting HTTP connections for I/O.
+   * This returns <tt>null</tt> if the Jetty default is to be used, which is
+   * also the case if the value has not been {@linkplain
+   * #setHttpSelectors(Integer) explicitly set}.
+   *
+   * @return The number of threads dedicated to selecting HTTP connections for
+   *         I/O, or <tt>null</tt> if the Jetty default is to be used.
+   */
+  public Integer getHttpSelectors() {
+    return this.httpSelectors;
+  }
+
+  /**
+   * Sets the number of threads dedicated to selecting HTTP connections for I/O.
+   * Set to <tt>null</tt> to use the Jetty default.
+   *
+   * @param selectorCount The selector thread count, or <tt>null</tt> for the
+   *                      Jetty default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setHttpSelectors(Integer selectorCount) {
+    this.httpSelectors = selectorCount;
+    return this;
+  }
+
+  /**
+   * Gets the minimum number of threads in the HTTP request thread pool. This
+   * returns <tt>null</tt> if the Jetty default is to be used, which is also the
+   * case if the value has not been {@linkplain #setHttpMinThreads(Integer)
+   * explicitly set}.
+   *
+   * @return The minimum number of threads in the HTTP request thread pool, or
+   *         <tt>null</tt> if the Jetty default is to be used.
+   */
+  public Integer getHttpMinThreads() {
+    return this.httpMinThreads;
+  }
+
+  /**
+   * Sets the minimum number of threads in the HTTP request thread pool. Set to
+   * <tt>null</tt> to use the Jetty default.
+   *
+   * @param minThreads The minimum thread count, or <tt>null</tt> for the Jetty
+   *                   default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setHttpMinThreads(Integer minThreads) {
+    this.httpMinThreads = minThreads;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of threads in the HTTP request thread pool. This
+   * returns <tt>null</tt> if the Jetty default is to be used, which is also the
+   * case if the value has not been {@linkplain #setHttpMaxThreads(Integer)
+   * explicitly set}.
+   *
+   * @return The maximum number of threads in the HTTP request thread pool, or
+   *         <tt>null</tt> if the Jetty default is to be used.
+   */
+  public Integer getHttpMaxThreads() {
+    return this.httpMaxThreads;
+  }
+
+  /**
+   * Sets the maximum number of threads in the HTTP request thread pool. Set to
+   * <tt>null</tt> to use the Jetty default.
+   *
+   * @param maxThreads The maximum thread count, or <tt>null</tt> for the Jetty
+   *                   default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setHttpMaxThreads(Integer maxThreads) {
+    this.httpMaxThreads = maxThreads;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of HTTP tasks queued while awaiting a request
+   * thread.  This returns <tt>null</tt> if the Jetty default is to be used,
+   * which is also the case if the value has not been {@linkplain
+   * #setHttpQueueSize(Integer) explicitly set}.
+   *
+   * @return The maximum number of HTTP tasks queued while awaiting a request
+   *         thread, or <tt>null</tt> if the Jetty default is to be used.
+   */
+  public Integer getHttpQueueSize() {
+    return this.httpQueueSize;
+  }
+
+  /**
+   * Sets the maximum number of HTTP tasks queued while awaiting a request
+   * thread.  Set to <tt>null</tt> to use the Jetty default.
+   *
+   * @param queueSize The maximum queue size, or <tt>null</tt> for the Jetty
+   *                  default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setHttpQueueSize(Integer queueSize) {
+    this.httpQueueSize = queueSize;
+    return this;
+  }
+
+  /**
+   * Gets the number of milliseconds an idle HTTP connection is kept open. This
+   * returns <tt>null</tt> if the Jetty default is to be used, which is also the
+   * case if the value has not been {@linkplain #setHttpIdleTimeout(Integer)
+   * explicitly set}.
+   *
+   * @return The number of milliseconds an idle HTTP connection is kept open, or
+   *         <tt>null</tt> if the Jetty default is to be used.
+   */
+  public Integer getHttpIdleTimeout() {
+    return this.httpIdleTimeout;
+  }
+
+  /**
+   * Sets the number of milliseconds an idle HTTP connection is kept open. Set
+   * to <tt>null</tt> to use the Jetty default.
+   *
+   * @param idleTimeout The idle timeout in milliseconds, or <tt>null</tt> for
+   *                    the Jetty default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setHttpIdleTimeout(Integer idleTimeout) {
+    this.httpIdleTimeout = idleTimeout;
+    return this;
+  }
+
+  /**
+   * Gets the size in bytes of the HTTP response output buffer.  This returns
+   * <tt>null</tt> if the Jetty default is to be used, which is also the case if
+   * the value has not been {@linkplain #setHttpOutputBufferSize(Integer)
+   * explicitly set}.
+   *
+   * @return The size in bytes of the HTTP response output buffer, or
+   *         <tt>null</tt> if the Jetty default is to be used.
+   */
+  public Integer getHttpOutputBufferSize() {
+    return this.httpOutputBufferSize;
+  }
+
+  /**
+   * Sets the size in bytes of the HTTP response output buffer. Set to
+   * <tt>null</tt> to use the Jetty default.
+   *
+   * @param bufferSize The buffer size in bytes, or <tt>null</tt> for the Jetty
+   *                   default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setHttpOutputBufferSize(Integer bufferSize) {
+    this.httpOutputBufferSize = bufferSize;
+    return this;
+  }
+
+  /**
+   * Checks whether or not HTTP persistent connections (keep-alive) are
+   * disabled.  If not {@linkplain #setKeepAliveDisabled(boolean) explicitly
+   * disabled} then <tt>false</tt> is returned.
+   *
+   * @return <tt>true</tt> if HTTP persistent connections are disabled,
+   *         otherwise <tt>false</tt>.
+   */
+  public boolean isKeepAliveDisabled() {
+    return this.keepAliveDisabled;
+  }
+
+  /**
+   * Sets whether or not HTTP persistent connections (keep-alive) are
+   * disabled.
+   *
+   * @param disabled <tt>true</tt> if HTTP persistent connections should be
+   *                 disabled, otherwise <tt>false</tt>.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKeepAliveDisabled(boolean disabled) {
+    this.keepAliveDisabled = disabled;
+    return this;
+  }
+
+  /**
+   * Checks whether or not HTTP/2 cleartext (h2c) connections are supported
+   * in addition to HTTP/1.1.  If not {@linkplain #setH2cEnabled(boolean)
+   * explicitly enabled} then <tt>false</tt> is returned.
+   *
+   * @return <tt>true</tt> if HTTP/2 cleartext connections are supported,
+   *         otherwise <tt>false</tt>.
+   */
+  public boolean isH2cEnabled() {
+    return this.h2cEnabled;
+  }
+
+  /**
+   * Sets whether or not HTTP/2 cleartext (h2c) connections are supported in
+   * addition to HTTP/1.1.
+   *
+   * @param enabled <tt>true</tt> if HTTP/2 cleartext connections should be
+   *                supported, otherwise <tt>false</tt>.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setH2cEnabled(boolean enabled) {
+    this.h2cEnabled = enabled;
+    return this;
+  }
+
+  /**
+   * Checks whether or not the API server leaves its worker threads running
+   * when reinitializing with a new configuration, preparing the new
+   * configuration data in the background (blue/green reinitialization).  If
+   * not {@linkplain #setBlueGreenReinit(boolean) explicitly enabled} then
+   * <tt>false</tt> is returned.
+   *
+   * @return <tt>true</tt> if blue/green reinitialization is enabled,
+   *         otherwise <tt>false</tt>.
+   */
+  public boolean isBlueGreenReinit() {
+    return this.blueGreenReinit;
+  }
+
+  /**
+   * Sets whether or not the API server leaves its worker threads running
+   * when reinitializing with a new configuration, preparing the new
+   * configuration data in the background (blue/green reinitialization).
+   *
+   * @param enabled <tt>true</tt> if blue/green reinitialization should be
+   *                enabled, otherwise <tt>false</tt>.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setBlueGreenReinit(boolean enabled) {
+    this.blueGreenReinit = enabled;
+    return this;
+  }
+
+  /**
+   * Checks whether or not the Senzing engine should be primed before the
+   * API server is started and reports that it is ready.  If not {@linkplain
+   * #setPrimeEngine(boolean) explicitly enabled} then <tt>false</tt> is
+   * returned.
+   *
+   * @return <tt>true</tt> if the engine should be primed, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isPrimeEngine() {
+    return this.primeEngine;
+  }
+
+  /**
+   * Sets whether or not the Senzing engine should be primed before the API
+   * server is started and reports that it is ready.
+   *
+   * @param primeEngine <tt>true</tt> if the engine should be primed,
+   *                    otherwise <tt>false</tt>.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setPrimeEngine(boolean primeEngine) {
+    this.primeEngine = primeEngine;
+    return this;
+  }
+
+  /**
+   * Gets the file containing the queries to replay to warm up the engine
+   * before the API server is started and reports that it is ready.  This
+   * returns <tt>null</tt> if no warm-up file has been {@linkplain
+   * #setWarmUpFile(File) explicitly set}.
+   *
+   * @return The warm-up query file, or <tt>null</tt> if none.
+   */
+  public File getWarmUpFile() {
+    return this.warmUpFile;
+  }
+
+  /**
+   * Sets the file containing the queries to replay to warm up the engine
+   * before the API server is started and reports that it is ready.  Each
+   * line of the file is a JSON object with an <tt>"entityId"</tt> property,
+   * <tt>"dataSource"</tt> and <tt>"recordId"</tt> properties, or an
+   * <tt>"attributes"</tt> object to search by.  Set to <tt>null</tt> if no
+   * queries should be replayed.
+   *
+   * @param warmUpFile The warm-up query file, or <tt>null</tt> if none.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setWarmUpFile(File warmUpFile) {
+    this.warmUpFile = warmUpFile;
+    return this;
+  }
+
+  /**
+   * Checks whether or not the API server should process redo records in the
+   * background.  If not {@linkplain #setProcessRedos(boolean) explicitly
+   * enabled} then <tt>false</tt> is returned.
+   *
+   * @return <tt>true</tt> if redo records should be processed in the
+   *         background, otherwise <tt>false</tt>.
+   */
+  public boolean isProcessRedos() {
+    return this.processRedos;
+  }
+
+  /**
+   * Sets whether or not the API server should process redo records in the
+   * background.  This cannot be enabled for a read-only server.
+   *
+   * @param processRedos <tt>true</tt> if redo records should be processed in
+   *                     the background, otherwise <tt>false</tt>.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setProcessRedos(boolean processRedos) {
+    this.processRedos = processRedos;
+    return this;
+  }
+
+  /**
+   * Returns the number of changes retained by the entity change feed, or
+   * <tt>null</tt> if the change feed is not enabled.  If not {@linkplain
+   * #setChangeFeedSize(Integer) explicitly set} then <tt>null</tt> is
+   * returned.
+   *
+   * @return The number of changes retained by the entity change feed, or
+   *         <tt>null</tt> if the change feed is not enabled.
+   */
+  public Integer getChangeFeedSize() {
+    return this.changeFeedSize;
+  }
+
+  /**
+   * Sets the number of changes retained by the entity change feed.  Setting
+   * this enables the change feed, which requires an extra entity lookup for
+   * each record that is loaded.  Set to <tt>null</tt> to disable the change
+   * feed.
+   *
+   * @param changeFeedSize The number of changes retained by the entity
+   *                       change feed, or <tt>null</tt> if the change feed
+   *                       should not be enabled.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setChangeFeedSize(Integer changeFeedSize) {
+    this.changeFeedSize = changeFeedSize;
+    return this;
+  }
+
   /**
    * Gets the explicit configuration ID with which to initialize the Senzing
    * native engine API.  This method returns <tt>null</tt> if the API server
@@ -362,18 +880,36 @@ public class SzApiServerOptions {
    */
   Map<SzApiServerOption, ?> buildOptionsMap() {
     Map<SzApiServerOption, Object> map = new HashMap<>();
-    map.put(HTTP_PORT,            this.getHttpPort());
-    map.put(BIND_ADDRESS,         this.getBindAddress());
-    map.put(CONCURRENCY,          this.getConcurrency());
-    map.put(MODULE_NAME,          this.getModuleName());
-    map.put(VERBOSE,              this.isVerbose());
-    map.put(QUIET,                this.isQuiet());
-    map.put(READ_ONLY,            this.isReadOnly());
-    map.put(ENABLE_ADMIN,         this.isAdminEnabled());
-    map.put(ALLOWED_ORIGINS,      this.getAllowedOrigins());
-    map.put(CONFIG_ID,            this.getConfigurationId());
-    map.put(INIT_JSON,            this.getJsonInitParameters());
-    map.put(AUTO_REFRESH_PERIOD,  this.getAutoRefreshPeriod());
+    map.put(HTTP_PORT,               this.getHttpPort());
+    map.put(BIND_ADDRESS,            this.getBindAddress());
+    map.put(CONCURRENCY,             this.getConcurrency());
+    map.put(MODULE_NAME,             this.getModuleName());
+    map.put(VERBOSE,                 this.isVerbose());
+    map.put(QUIET,                   this.isQuiet());
+    map.put(READ_ONLY,               this.isReadOnly());
+    map.put(ENABLE_ADMIN,            this.isAdminEnabled());
+    map.put(ALLOWED_ORIGINS,         this.getAllowedOrigins());
+    map.put(MAX_BATCH_SIZE,          this.getMaxBatchSize());
+    map.put(COMPRESSION_LEVEL,       this.getCompressionLevel());
+    map.put(COMPRESSION_MIN_SIZE,    this.getCompressionMinSize());
+    map.put(COMPRESSION_MIME_TYPES,  this.getCompressionMimeTypes());
+    map.put(HTTP_ACCEPTORS,          this.getHttpAcceptors());
+    map.put(HTTP_SELECTORS,          this.getHttpSelectors());
+    map.put(HTTP_MIN_THREADS,        this.getHttpMinThreads());
+    map.put(HTTP_MAX_THREADS,        this.getHttpMaxThreads());
+    map.put(HTTP_QUEUE_SIZE,         this.getHttpQueueSize());
+    map.put(HTTP_IDLE_TIMEOUT,       this.getHttpIdleTimeout());
+    map.put(HTTP_OUTPUT_BUFFER_SIZE, this.getHttpOutputBufferSize());
+    map.put(DISABLE_KEEP_ALIVE,      this.isKeepAliveDisabled());
+    map.put(ENABLE_H2C,              this.isH2cEnabled());
+    map.put(BLUE_GREEN_REINIT,       this.isBlueGreenReinit());
+    map.put(PRIME_ENGINE,            this.isPrimeEngine());
+    map.put(WARM_UP_FILE,            this.getWarmUpFile());
+    map.put(PROCESS_REDOS,           this.isProcessRedos());
+    map.put(CHANGE_FEED_SIZE,        this.getChangeFeedSize());
+    map.put(CONFIG_ID,               this.getConfigurationId());
+    map.put(INIT_JSON,               this.getJsonInitParameters());
+    map.put(AUTO_REFRESH_PERIOD,     this.getAutoRefreshPeriod());
     return map;
   }
 }
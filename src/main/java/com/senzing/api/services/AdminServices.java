@@ -23,7 +23,7 @@ import static com.senzing.api.services.ServicesUtil.*;
  * Administration REST services.
  */
 @Path("/")
-@Produces("application/json; charset=UTF-8")
+@Produces({"application/json; charset=UTF-8", "application/cbor; qs=0.5"})
 public class AdminServices {
   /**
    * Generates a heartbeat response to affirnm the provider is running.
@@ -167,6 +167,8 @@ public class AdminServices {
       serverInfo.setReadOnly(provider.isReadOnly());
       serverInfo.setAdminEnabled(provider.isAdminEnabled());
       serverInfo.setActiveConfigId(activeConfigId);
+      serverInfo.setReinitMetrics(provider.getReinitMetrics());
+      serverInfo.setRedoMetrics(provider.getRedoMetrics());
 
       return new SzServerInfoResponse(
           GET, 200, uriInfo, timers, serverInfo);
@@ -183,4 +185,70 @@ public class AdminServices {
       throw newInternalServerErrorException(GET, uriInfo, timers, e);
     }
   }
+
+  /**
+   * Provides the live statistics for the pool of worker threads.
+   */
+  @GET
+  @Path("worker-pool")
+  public SzWorkerPoolResponse getWorkerPool(@Context UriInfo uriInfo)
+      throws WebApplicationException {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    try {
+      SzWorkerPoolStats poolStats = provider.getWorkerPoolStats();
+
+      return new SzWorkerPoolResponse(GET, 200, uriInfo, timers, poolStats);
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(GET, uriInfo, timers, e);
+    }
+  }
+
+  /**
+   * Changes the number of worker threads without restarting the server and
+   * provides the resulting statistics for the pool.  This requires that the
+   * server was started with admin functions enabled.
+   */
+  @PUT
+  @Path("worker-pool")
+  public SzWorkerPoolResponse setWorkerPoolConcurrency(
+      @QueryParam("concurrency") Integer concurrency,
+      @Context UriInfo uriInfo)
+      throws WebApplicationException {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+    ensureAdminEnabled(provider, PUT, uriInfo, timers);
+
+    if (concurrency == null) {
+      throw newBadRequestException(
+          PUT, uriInfo, timers,
+          "The concurrency query parameter must be specified.");
+    }
+    if (concurrency <= 0) {
+      throw newBadRequestException(
+          PUT, uriInfo, timers,
+          "The concurrency must be positive: " + concurrency);
+    }
+
+    try {
+      provider.setConcurrency(concurrency);
+
+      SzWorkerPoolStats poolStats = provider.getWorkerPoolStats();
+
+      return new SzWorkerPoolResponse(PUT, 200, uriInfo, timers, poolStats);
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(PUT, uriInfo, timers, e);
+    }
+  }
 }
@@ -0,0 +1,429 @@
+package com.senzing.api.services;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.senzing.util.AsyncWorkerPool.*;
+
+/**
+ * Executes the items of a batch request concurrently on a long-lived thread
+ * pool that is shared by all batches, allowing each batch at most a bounded
+ * number of concurrent tasks.  Each task is expected to call {@link
+ * SzApiProvider#executeInThread(com.senzing.util.WorkerThreadPool.Task)}
+ * so the total concurrency against the native API remains limited by the
+ * provider's worker thread pool.  Completed results are handed to a {@link
+ * ResultHandler} on the thread that {@linkplain #submit(Task) submits} the
+ * tasks, either in completion order or in submission order.  When handling
+ * in submission order, a result that completes ahead of an earlier one is
+ * held until the earlier one is handled, so submission is also limited to
+ * a {@linkplain #ORDERED_WINDOW_FACTOR window} of unhandled tasks to bound
+ * the number of results held in memory.
+ *
+ * @param <T> The type of value produced by the tasks.
+ */
+class BatchExecutor<T> {
+  /**
+   * Interface for handling the results of the batch tasks.
+   *
+   * @param <T> The type of value produced by the tasks.
+   */
+  interface ResultHandler<T> {
+    /**
+     * Handles the result for a task.
+     *
+     * @param result The {@link BatchResult} for the task.
+     *
+     * @throws Exception If a failure occurs in handling the result.
+     */
+    void handle(BatchResult<T> result) throws Exception;
+  }
+
+  /**
+   * Describes the result of a single task in the batch.
+   *
+   * @param <T> The type of value produced by the task.
+   */
+  static class BatchResult<T> {
+    /**
+     * The zero-based index of the task in the order it was submitted.
+     */
+    private int index;
+
+    /**
+     * The value produced by the task, or <tt>null</tt> if it failed.
+     */
+    private T value;
+
+    /**
+     * The failure that occurred, or <tt>null</tt> if the task succeeded.
+     */
+    private Exception failure;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param index The index of the task.
+     * @param value The value produced by the task.
+     * @param failure The failure that occurred.
+     */
+    private BatchResult(int index, T value, Exception failure) {
+      this.index    = index;
+      this.value    = value;
+      this.failure  = failure;
+    }
+
+    /**
+     * Returns the zero-based index of the task in the order it was submitted.
+     *
+     * @return The zero-based index of the task.
+     */
+    int getIndex() {
+      return this.index;
+    }
+
+    /**
+     * Returns the value produced by the task, or <tt>null</tt> if the task
+     * failed.
+     *
+     * @return The value produced by the task, or <tt>null</tt> if the task
+     *         failed.
+     */
+    T getValue() {
+      return this.value;
+    }
+
+    /**
+     * Returns the failure that occurred, or <tt>null</tt> if the task
+     * succeeded.
+     *
+     * @return The failure that occurred, or <tt>null</tt> if the task
+     *         succeeded.
+     */
+    Exception getFailure() {
+      return this.failure;
+    }
+  }
+
+  /**
+   * The number of seconds an idle thread of the shared thread pool is
+   * retained.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60L;
+
+  /**
+   * The factor applied to the parallelism to obtain the maximum number of
+   * submitted tasks whose results have not yet been handled when handling
+   * in submission order.
+   */
+  static final int ORDERED_WINDOW_FACTOR = 2;
+
+  /**
+   * The shared thread pool for executing the tasks of all batches.  It is
+   * grown to the largest parallelism requested by a batch, which callers
+   * bound by the concurrency of the provider.
+   */
+  private static final ThreadPoolExecutor SHARED_POOL;
+
+  static {
+    SHARED_POOL = new ThreadPoolExecutor(
+        1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactory() {
+          private int threadCount = 0;
+
+          @Override
+          public synchronized Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(
+                runnable, "batch-" + (++this.threadCount));
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    SHARED_POOL.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * The maximum number of tasks from this batch to execute concurrently.
+   */
+  private int parallelism;
+
+  /**
+   * Whether or not the results are handled in submission order.
+   */
+  private boolean ordered;
+
+  /**
+   * The maximum number of submitted tasks whose results have not been
+   * handled when handling in submission order.
+   */
+  private int window;
+
+  /**
+   * The {@link ResultHandler} for the results.
+   */
+  private ResultHandler<T> handler;
+
+  /**
+   * The number of tasks submitted so far.
+   */
+  private int submitCount = 0;
+
+  /**
+   * The index of the next result to handle when handling in order.
+   */
+  private int nextIndex = 0;
+
+  /**
+   * The number of results that have been taken from the completion queue.
+   */
+  private int completedCount = 0;
+
+  /**
+   * The completed results awaiting handling when handling in order.
+   */
+  private Map<Integer, BatchResult<T>> pending = new HashMap<>();
+
+  /**
+   * The queue to which the results are added as the tasks complete.
+   */
+  private BlockingQueue<BatchResult<T>> completed
+      = new LinkedBlockingQueue<>();
+
+  /**
+   * The {@link Future} instances for the submitted tasks.
+   */
+  private List<Future<?>> futures = new LinkedList<>();
+
+  /**
+   * The number of tasks that have started executing.
+   */
+  private int startedCount = 0;
+
+  /**
+   * Whether or not this batch has been aborted.
+   */
+  private boolean aborted = false;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param parallelism The maximum number of tasks to execute concurrently.
+   *
+   * @param ordered <tt>true</tt> if the results should be handled in the
+   *                order the tasks were submitted, or <tt>false</tt> if they
+   *                should be handled in the order they complete.
+   *
+   * @param handler The {@link ResultHandler} for the results.
+   */
+  BatchExecutor(int               parallelism,
+                boolean           ordered,
+                ResultHandler<T>  handler)
+  {
+    this.parallelism  = Math.max(1, parallelism);
+    this.ordered      = ordered;
+    this.window       = this.parallelism * ORDERED_WINDOW_FACTOR;
+    this.handler      = handler;
+    ensurePoolSize(this.parallelism);
+  }
+
+  /**
+   * Grows the shared thread pool so that it can execute at least the
+   * specified number of tasks concurrently.
+   *
+   * @param size The minimum number of threads for the shared thread pool.
+   */
+  private static synchronized void ensurePoolSize(int size) {
+    if (SHARED_POOL.getMaximumPoolSize() >= size) return;
+    SHARED_POOL.setMaximumPoolSize(size);
+    SHARED_POOL.setCorePoolSize(size);
+  }
+
+  /**
+   * Submits the specified task for execution.  This blocks while the
+   * maximum number of tasks from this batch are executing or, if handling
+   * in submission order, while the window of unhandled tasks is full.  Any
+   * results that become available are handled before returning.
+   *
+   * @param task The task to execute.
+   *
+   * @throws Exception If the {@link ResultHandler} fails.
+   */
+  void submit(Task<T> task) throws Exception {
+    while ((this.submitCount - this.completedCount >= this.parallelism)
+           || (this.ordered
+               && this.submitCount - this.nextIndex >= this.window))
+    {
+      this.takeResult();
+    }
+
+    final int index = this.submitCount++;
+    this.futures.add(SHARED_POOL.submit(() -> {
+      if (!this.startTask()) return;
+      BatchResult<T> result;
+      try {
+        result = new BatchResult<>(index, task.execute(), null);
+      } catch (Exception e) {
+        result = new BatchResult<>(index, null, e);
+      } catch (Error e) {
+        result = new BatchResult<>(index, null, new ExecutionException(e));
+      }
+      this.completed.add(result);
+    }));
+
+    for (BatchResult<T> result = this.completed.poll(); result != null;
+         result = this.completed.poll())
+    {
+      this.completedCount++;
+      this.handleResult(result);
+    }
+  }
+
+  /**
+   * Waits for all submitted tasks to complete and handles the remaining
+   * results.
+   *
+   * @throws Exception If the {@link ResultHandler} fails.
+   */
+  void complete() throws Exception {
+    while (this.completedCount < this.submitCount) {
+      this.takeResult();
+    }
+    this.futures.clear();
+  }
+
+  /**
+   * Abandons the batch after a failure without handling any remaining
+   * results.  The tasks that have not started are cancelled and this waits
+   * for those already executing to finish.
+   */
+  void abort() {
+    int started;
+    synchronized (this) {
+      this.aborted = true;
+      started = this.startedCount;
+    }
+    for (Future<?> future : this.futures) {
+      future.cancel(false);
+    }
+    this.futures.clear();
+    try {
+      while (this.completedCount < started) {
+        this.completed.take();
+        this.completedCount++;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Records that a task is starting unless this batch has been aborted.
+   *
+   * @return <tt>true</tt> if the task should execute, or <tt>false</tt> if
+   *         this batch has been aborted.
+   */
+  private synchronized boolean startTask() {
+    if (this.aborted) return false;
+    this.startedCount++;
+    return true;
+  }
+
+  /**
+   * Waits for the next task to complete and handles its result.
+   *
+   * @throws Exception If the {@link ResultHandler} fails.
+   */
+  private void takeResult() throws Exception {
+    BatchResult<T> result = this.completed.take();
+    this.completedCount++;
+    this.handleResult(result);
+  }
+
+  /**
+   * Handles the specified result either immediately or, if handling in
+   * order, once all the results before it have been handled.
+   *
+   * @param result The {@link BatchResult} to handle.
+   *
+   * @throws Exception If the {@link ResultHandler} fails.
+   */
+  private void handleResult(BatchResult<T> result) throws Exception {
+    if (!this.ordered) {
+      this.handler.handle(result);
+      return;
+    }
+    this.pending.put(result.getIndex(), result);
+    while (this.pending.containsKey(this.nextIndex)) {
+      this.handler.handle(this.pending.remove(this.nextIndex++));
+    }
+  }
+
+  /**
+   * Convenience method to execute all the specified tasks with the specified
+   * parallelism and handle each result with the specified {@link
+   * ResultHandler} on the calling thread.
+   *
+   * @param parallelism The maximum number of tasks to execute concurrently.
+   *
+   * @param ordered <tt>true</tt> if the results should be handled in the
+   *                order of the tasks, or <tt>false</tt> if they should be
+   *                handled in the order they complete.
+   *
+   * @param tasks The {@link List} of tasks to execute.
+   *
+   * @param handler The {@link ResultHandler} for the results.
+   *
+   * @param <T> The type of value produced by the tasks.
+   *
+   * @throws Exception If the {@link ResultHandler} fails.
+   */
+  static <T> void executeAll(int              parallelism,
+                             boolean          ordered,
+                             List<Task<T>>    tasks,
+                             ResultHandler<T> handler)
+    throws Exception
+  {
+    BatchExecutor<T> executor = new BatchExecutor<>(
+        Math.min(parallelism, tasks.size()), ordered, handler);
+    try {
+      for (Task<T> task : tasks) {
+        executor.submit(task);
+      }
+      executor.complete();
+
+    } finally {
+      executor.abort();
+    }
+  }
+
+  /**
+   * Convenience method to execute all the specified tasks with the specified
+   * parallelism and return the {@link List} of {@link BatchResult} instances
+   * in the same order as the tasks.
+   *
+   * @param parallelism The maximum number of tasks to execute concurrently.
+   *
+   * @param tasks The {@link List} of tasks to execute.
+   *
+   * @param <T> The type of value produced by the tasks.
+   *
+   * @return The {@link List} of {@link BatchResult} instances in the same
+   *         order as the tasks.
+   */
+  static <T> List<BatchResult<T>> executeAll(int            parallelism,
+                                             List<Task<T>>  tasks)
+  {
+    List<BatchResult<T>> results = new ArrayList<>(tasks.size());
+    try {
+      executeAll(parallelism, true, tasks, results::add);
+
+    } catch (RuntimeException e) {
+      throw e;
+
+    } catch (Exception e) {
+      // the handler does not throw so this should not happen
+      throw new IllegalStateException(e);
+    }
+    return results;
+  }
+}
@@ -41,7 +41,7 @@ import static com.senzing.util.LoggingUtilities.*;
  * Bulk data REST services.
  */
 @Path("/bulk-data")
-@Produces("application/json; charset=UTF-8; qs=1.0")
+@Produces({"application/json; charset=UTF-8; qs=1.0", "application/cbor; qs=0.5"})
 public class BulkDataServices {
   /**
    * The file date pattern.
@@ -705,7 +705,8 @@ public class BulkDataServices {
         enteringQueue(timers);
         return provider.executeInThread(() -> {
           exitingQueue(timers);
-          int returnCode = this.addRecord(engineApi,
+          int returnCode = this.addRecord(provider,
+                                          engineApi,
                                           dataSource,
                                           recordId,
                                           recordJSON,
@@ -758,7 +759,8 @@ public class BulkDataServices {
           bulkLoadResult.trackIncompleteRecord(dataSource, entityType);
 
         } else {
-          int returnCode = this.addRecord(engineApi,
+          int returnCode = this.addRecord(provider,
+                                          engineApi,
                                           dataSource,
                                           recordId,
                                           recordJSON,
@@ -788,32 +790,42 @@ public class BulkDataServices {
 
   /**
    * Adds the record either with or without a record ID and tracks the timing.
+   * If the change feed is enabled then the record is added through it so the
+   * affected entities are published.
    */
-  private int addRecord(G2Engine    engineApi,
-                        String      dataSource,
-                        String      recordId,
-                        String      recordJSON,
-                        String      loadId,
-                        Timers      timers)
+  private int addRecord(SzApiProvider provider,
+                        G2Engine      engineApi,
+                        String        dataSource,
+                        String        recordId,
+                        String        recordJSON,
+                        String        loadId,
+                        Timers        timers)
   {
+    EntityChangeFeed changeFeed = provider.getChangeFeed();
+
     int returnCode;
     if (recordId != null) {
       callingNativeAPI(timers, "engine", "addRecord");
-      returnCode = engineApi.addRecord(dataSource,
-                                       recordId,
-                                       recordJSON,
-                                       loadId);
+      returnCode = (changeFeed == null)
+          ? engineApi.addRecord(dataSource, recordId, recordJSON, loadId)
+          : changeFeed.addRecord(
+              engineApi, dataSource, recordId, recordJSON, loadId);
       calledNativeAPI(timers, "engine", "addRecord");
 
     } else {
       callingNativeAPI(timers, "engine",
                        "addRecordWithReturnedRecordID");
       StringBuffer sb = new StringBuffer();
-      returnCode = engineApi.addRecordWithReturnedRecordID(
-          dataSource, sb, recordJSON, loadId);
+      returnCode = (changeFeed == null)
+          ? engineApi.addRecordWithReturnedRecordID(
+              dataSource, sb, recordJSON, loadId)
+          : changeFeed.addRecordWithReturnedRecordID(
+              engineApi, dataSource, sb, recordJSON, loadId);
       calledNativeAPI(timers, "engine",
                       "addRecordWithReturnedRecordID");
     }
+    LastModifiedSampler.getInstance().invalidate();
+
     return returnCode;
   }
 
@@ -0,0 +1,155 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.senzing.api.model.SzRawDataResponse;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes responses in the binary CBOR encoding when the client negotiates
+ * the <tt>application/cbor</tt> media type via the <tt>Accept</tt> header.
+ * The CBOR form has the same structure as the JSON form since it is produced
+ * from the same model objects with the same Jackson serialization.  Streamed
+ * responses (see {@link StreamingResponseOutput}) are streamed in CBOR as
+ * well, including those streamed as a sequence of values, which are written
+ * as a CBOR sequence (<tt>application/cbor-seq</tt>).
+ */
+@Provider
+@Produces({CborResponseWriter.APPLICATION_CBOR,
+           CborResponseWriter.APPLICATION_CBOR_SEQ})
+public class CborResponseWriter implements MessageBodyWriter<Object> {
+  /**
+   * The media type for CBOR-encoded responses.
+   */
+  public static final String APPLICATION_CBOR = "application/cbor";
+
+  /**
+   * The {@link MediaType} for CBOR-encoded responses.
+   */
+  public static final MediaType APPLICATION_CBOR_TYPE
+      = MediaType.valueOf(APPLICATION_CBOR);
+
+  /**
+   * The media type for responses streamed as a CBOR sequence.
+   */
+  public static final String APPLICATION_CBOR_SEQ = "application/cbor-seq";
+
+  /**
+   * The {@link MediaType} for responses streamed as a CBOR sequence.
+   */
+  public static final MediaType APPLICATION_CBOR_SEQ_TYPE
+      = MediaType.valueOf(APPLICATION_CBOR_SEQ);
+
+  /**
+   * The {@link JsonFactory} for creating CBOR generators.
+   */
+  static final JsonFactory CBOR_FACTORY = new CBORFactory();
+
+  /**
+   * The {@link ObjectMapper} for serializing to CBOR.
+   */
+  private static final ObjectMapper CBOR_MAPPER
+      = new ObjectMapper(CBOR_FACTORY);
+
+  /**
+   * The {@link ObjectMapper} for converting JSON text to a tree.
+   */
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+  static {
+    CBOR_MAPPER.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  /**
+   * Checks if the specified {@link MediaType} is the CBOR media type.
+   *
+   * @param mediaType The {@link MediaType} to check.
+   *
+   * @return <tt>true</tt> if the specified {@link MediaType} is the CBOR
+   *         media type, otherwise <tt>false</tt>.
+   */
+  static boolean isCbor(MediaType mediaType) {
+    return (mediaType != null
+            && APPLICATION_CBOR_TYPE.getType().equals(mediaType.getType())
+            && APPLICATION_CBOR_TYPE.getSubtype().equals(
+                mediaType.getSubtype()));
+  }
+
+  /**
+   * Checks if the specified {@link MediaType} is the CBOR sequence media
+   * type.
+   *
+   * @param mediaType The {@link MediaType} to check.
+   *
+   * @return <tt>true</tt> if the specified {@link MediaType} is the CBOR
+   *         sequence media type, otherwise <tt>false</tt>.
+   */
+  static boolean isCborSequence(MediaType mediaType) {
+    return (mediaType != null
+            && APPLICATION_CBOR_SEQ_TYPE.getType().equals(mediaType.getType())
+            && APPLICATION_CBOR_SEQ_TYPE.getSubtype().equals(
+                mediaType.getSubtype()));
+  }
+
+  @Override
+  public boolean isWriteable(Class<?>      type,
+                             Type          genericType,
+                             Annotation[]  annotations,
+                             MediaType     mediaType)
+  {
+    // only streamed arrays can be written as a CBOR sequence
+    if (isCborSequence(mediaType)) {
+      return StreamingArrayOutput.class.isAssignableFrom(type);
+    }
+    if (!isCbor(mediaType)) return false;
+
+    // only streaming output that we produce can be written as CBOR
+    return (!StreamingOutput.class.isAssignableFrom(type)
+            || StreamingResponseOutput.class.isAssignableFrom(type));
+  }
+
+  @Override
+  public long getSize(Object        value,
+                      Class<?>      type,
+                      Type          genericType,
+                      Annotation[]  annotations,
+                      MediaType     mediaType)
+  {
+    return -1L;
+  }
+
+  @Override
+  public void writeTo(Object                          value,
+                      Class<?>                        type,
+                      Type                            genericType,
+                      Annotation[]                    annotations,
+                      MediaType                       mediaType,
+                      MultivaluedMap<String, Object>  httpHeaders,
+                      OutputStream                    outputStream)
+    throws IOException
+  {
+    if (value instanceof StreamingResponseOutput) {
+      ((StreamingResponseOutput) value).write(outputStream, CBOR_FACTORY);
+      return;
+    }
+
+    // the raw data is JSON text so it must be converted before encoding
+    if (value instanceof SzRawDataResponse) {
+      value = JSON_MAPPER.readTree(JSON_MAPPER.writeValueAsBytes(value));
+    }
+
+    CBOR_MAPPER.writeValue(outputStream, value);
+  }
+}
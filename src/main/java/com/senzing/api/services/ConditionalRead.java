@@ -0,0 +1,21 @@
+package com.senzing.api.services;
+
+import javax.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Name-binding annotation for read endpoints whose responses depend only on
+ * the repository content and the active configuration.  Such endpoints are
+ * handled by the {@link ConditionalReadFilter} which adds
+ * <tt>Last-Modified</tt> and <tt>ETag</tt> validators and answers matching
+ * conditional requests with <tt>304 Not Modified</tt> before the endpoint
+ * is invoked.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConditionalRead {
+}
@@ -0,0 +1,125 @@
+package com.senzing.api.services;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.util.Date;
+
+/**
+ * Handles conditional <tt>GET</tt> requests for endpoints annotated with
+ * {@link ConditionalRead}.  The validators are derived from the sampled
+ * repository last-modified time (see {@link LastModifiedSampler}) and the
+ * active configuration ID.  If the request preconditions show that the
+ * client already has the current representation then the request is aborted
+ * with <tt>304 Not Modified</tt> before any entity retrieval is performed,
+ * otherwise the validators are added to the successful response.  No
+ * validators are used while the last-modified time has not yet been sampled
+ * (for example, just after a modification through this server) since the
+ * sampling is done in the background without blocking the request, nor
+ * while the active configuration ID is unknown.
+ */
+@Provider
+@ConditionalRead
+public class ConditionalReadFilter
+    implements ContainerRequestFilter, ContainerResponseFilter
+{
+  /**
+   * The request property for the {@link EntityTag} computed for the request.
+   */
+  private static final String ENTITY_TAG_PROPERTY
+      = ConditionalReadFilter.class.getName() + ".entityTag";
+
+  /**
+   * The request property for the last-modified {@link Date} computed for the
+   * request.
+   */
+  private static final String LAST_MODIFIED_PROPERTY
+      = ConditionalReadFilter.class.getName() + ".lastModified";
+
+  /**
+   * The {@link SzApiProvider} to use, or <tt>null</tt> if the installed
+   * provider should be used.
+   */
+  private final SzApiProvider provider;
+
+  /**
+   * The {@link LastModifiedSampler} to use.
+   */
+  private final LastModifiedSampler sampler;
+
+  /**
+   * Default constructor.
+   */
+  public ConditionalReadFilter() {
+    this(null, LastModifiedSampler.getInstance());
+  }
+
+  /**
+   * Constructs with the {@link SzApiProvider} and {@link LastModifiedSampler}
+   * to use.
+   *
+   * @param provider The {@link SzApiProvider} to use, or <tt>null</tt> if the
+   *                 installed provider should be used.
+   *
+   * @param sampler The {@link LastModifiedSampler} to use.
+   */
+  ConditionalReadFilter(SzApiProvider provider, LastModifiedSampler sampler) {
+    this.provider = provider;
+    this.sampler  = sampler;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    if (!HttpMethod.GET.equals(requestContext.getMethod())) return;
+
+    SzApiProvider provider = (this.provider != null)
+        ? this.provider : SzApiProvider.Factory.getProvider();
+    Long lastModifiedTime = this.sampler.getLastModifiedTime(provider);
+
+    // if the last-modified time is unknown then we have no validators
+    if (lastModifiedTime == null) return;
+
+    // the entity content also depends on the configuration so we have no
+    // validators if it is unknown
+    Long configId = provider.getActiveConfigId();
+    if (configId == null) return;
+
+    EntityTag entityTag = new EntityTag(
+        "repo-" + lastModifiedTime + "-" + configId, true);
+    Date lastModified = new Date(lastModifiedTime);
+
+    Response.ResponseBuilder builder = requestContext.getRequest()
+        .evaluatePreconditions(lastModified, entityTag);
+
+    // check if the client representation is current
+    if (builder != null) {
+      requestContext.abortWith(
+          builder.tag(entityTag).lastModified(lastModified).build());
+      return;
+    }
+
+    requestContext.setProperty(ENTITY_TAG_PROPERTY, entityTag);
+    requestContext.setProperty(LAST_MODIFIED_PROPERTY, lastModified);
+  }
+
+  @Override
+  public void filter(ContainerRequestContext   requestContext,
+                     ContainerResponseContext  responseContext)
+  {
+    if (responseContext.getStatus() != 200) return;
+
+    Object entityTag    = requestContext.getProperty(ENTITY_TAG_PROPERTY);
+    Object lastModified = requestContext.getProperty(LAST_MODIFIED_PROPERTY);
+    if (entityTag == null || lastModified == null) return;
+
+    responseContext.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+    responseContext.getHeaders().putSingle(HttpHeaders.LAST_MODIFIED,
+                                           lastModified);
+  }
+}
@@ -0,0 +1,333 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.senzing.api.model.SzBasicResponse;
+import com.senzing.api.model.SzHttpMethod;
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the pre-serialized response bodies for configuration endpoints
+ * whose content only changes when the active configuration changes.  The
+ * cached bytes exclude the <tt>"meta"</tt> and <tt>"links"</tt> sections of
+ * the response since those are specific to each request.  All entries are
+ * discarded whenever a different configuration ID is encountered.
+ * <p>
+ * The body bytes may also be cached in gzip-compressed form so that clients
+ * accepting gzip encoding do not require the body to be compressed on every
+ * hit.  Since concatenated gzip members decompress to the concatenation of
+ * their contents, only the request-specific envelope is compressed per
+ * request and the pre-compressed body is appended to it.
+ */
+class ConfigResponseCache {
+  /**
+   * The singleton instance.
+   */
+  private static final ConfigResponseCache INSTANCE = new ConfigResponseCache();
+
+  /**
+   * The {@link ObjectMapper} to use for serialization.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * The suffix appended to entity tags of gzip-compressed responses.  This
+   * matches the suffix used by Jetty's <tt>GzipHandler</tt> so that it
+   * strips the suffix from the <tt>If-None-Match</tt> header of conditional
+   * requests.
+   */
+  private static final String GZIP_ETAG_SUFFIX = "--gzip";
+
+  /**
+   * Describes a cached entry.
+   */
+  private static class Entry {
+    /**
+     * The body bytes.
+     */
+    private byte[] bodyBytes;
+
+    /**
+     * The gzip-compressed body bytes, or <tt>null</tt> if the body is not
+     * to be compressed.
+     */
+    private byte[] compressedBytes;
+
+    /**
+     * Constructs with the body bytes and compressed body bytes.
+     */
+    private Entry(byte[] bodyBytes, byte[] compressedBytes) {
+      this.bodyBytes        = bodyBytes;
+      this.compressedBytes  = compressedBytes;
+    }
+  }
+
+  /**
+   * The configuration ID for the currently cached entries.
+   */
+  private long configId = 0L;
+
+  /**
+   * The {@link Map} of {@link String} keys to cached {@link Entry} instances.
+   */
+  private final Map<String, Entry> cache = new HashMap<>();
+
+  /**
+   * Private default constructor.
+   */
+  private ConfigResponseCache() {
+    // do nothing
+  }
+
+  /**
+   * Returns the singleton instance.
+   *
+   * @return The singleton instance.
+   */
+  static ConfigResponseCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the cached body bytes for the specified key if they were cached
+   * for the specified configuration ID.
+   *
+   * @param configId The configuration ID for which the bytes are requested.
+   *
+   * @param key The key identifying the endpoint and its parameters.
+   *
+   * @return The cached body bytes, or <tt>null</tt> if none are cached.
+   */
+  synchronized byte[] get(long configId, String key) {
+    if (this.configId != configId) return null;
+    Entry entry = this.cache.get(key);
+    return (entry == null) ? null : entry.bodyBytes;
+  }
+
+  /**
+   * Gets the cached gzip-compressed body bytes for the specified key if they
+   * were cached for the specified configuration ID.
+   *
+   * @param configId The configuration ID for which the bytes are requested.
+   *
+   * @param key The key identifying the endpoint and its parameters.
+   *
+   * @return The cached gzip-compressed body bytes, or <tt>null</tt> if none
+   *         are cached.
+   */
+  synchronized byte[] getCompressed(long configId, String key) {
+    if (this.configId != configId) return null;
+    Entry entry = this.cache.get(key);
+    return (entry == null) ? null : entry.compressedBytes;
+  }
+
+  /**
+   * Caches the body bytes for the specified key and configuration ID.  If the
+   * configuration ID differs from the currently cached configuration ID then
+   * all previously cached entries are discarded.
+   *
+   * @param configId The configuration ID associated with the bytes.
+   *
+   * @param key The key identifying the endpoint and its parameters.
+   *
+   * @param bodyBytes The body bytes to cache.
+   *
+   * @param compressedBytes The {@linkplain #compressBody(byte[], int)
+   *                        gzip-compressed body bytes} to cache, or
+   *                        <tt>null</tt> if the body is not to be compressed.
+   */
+  synchronized void put(long    configId,
+                        String  key,
+                        byte[]  bodyBytes,
+                        byte[]  compressedBytes)
+  {
+    if (this.configId != configId) {
+      this.cache.clear();
+      this.configId = configId;
+    }
+    this.cache.put(key, new Entry(bodyBytes, compressedBytes));
+  }
+
+  /**
+   * Creates the strong {@link EntityTag} for the specified configuration ID.
+   *
+   * @param configId The configuration ID for the entity tag.
+   *
+   * @return The {@link EntityTag} for the specified configuration ID.
+   */
+  static EntityTag newEntityTag(long configId) {
+    return new EntityTag("config-" + configId);
+  }
+
+  /**
+   * Creates the strong {@link EntityTag} for the gzip-compressed
+   * representation for the specified configuration ID.
+   *
+   * @param configId The configuration ID for the entity tag.
+   *
+   * @return The {@link EntityTag} for the gzip-compressed representation for
+   *         the specified configuration ID.
+   */
+  static EntityTag newCompressedEntityTag(long configId) {
+    return new EntityTag(newEntityTag(configId).getValue() + GZIP_ETAG_SUFFIX);
+  }
+
+  /**
+   * Compresses the specified body bytes for {@linkplain
+   * #buildCompressedResponseBytes(SzHttpMethod, UriInfo, Timers, byte[],
+   * int) appending} to a compressed envelope.  The opening brace of the body
+   * is omitted from the compressed bytes.  This returns <tt>null</tt> if the
+   * body has no fields to splice in.
+   *
+   * @param bodyBytes The body bytes to compress.
+   *
+   * @param level The compression level.
+   *
+   * @return The gzip-compressed body bytes, or <tt>null</tt> if the body has
+   *         no fields.
+   */
+  static byte[] compressBody(byte[] bodyBytes, int level) {
+    if (bodyBytes.length <= 2) return null;
+    return gzip(bodyBytes, 1, bodyBytes.length - 1, level);
+  }
+
+  /**
+   * Serializes the specified response excluding its <tt>"meta"</tt> and
+   * <tt>"links"</tt> sections to produce the cacheable body bytes.
+   *
+   * @param response The {@link SzBasicResponse} to serialize.
+   *
+   * @return The serialized body bytes.
+   */
+  static byte[] serializeBody(SzBasicResponse response) {
+    try {
+      ObjectNode node = OBJECT_MAPPER.valueToTree(response);
+      node.remove("meta");
+      node.remove("links");
+      return OBJECT_MAPPER.writeValueAsBytes(node);
+
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Builds the complete response bytes by serializing a new envelope with
+   * the <tt>"meta"</tt> and <tt>"links"</tt> sections for the current
+   * request and splicing in the specified cached body bytes.
+   *
+   * @param httpMethod The HTTP method for the request.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   *
+   * @param bodyBytes The cached body bytes.
+   *
+   * @return The complete response bytes.
+   */
+  static byte[] buildResponseBytes(SzHttpMethod httpMethod,
+                                   UriInfo      uriInfo,
+                                   Timers       timers,
+                                   byte[]       bodyBytes)
+  {
+    byte[] envelopeBytes = serializeEnvelope(httpMethod, uriInfo, timers);
+
+    // check if the body has no fields to splice in
+    if (bodyBytes.length <= 2) return envelopeBytes;
+
+    // drop the closing brace of the envelope and the opening brace of the
+    // body and join them with a comma
+    int envelopeLength  = envelopeBytes.length - 1;
+    int bodyLength      = bodyBytes.length - 1;
+    byte[] result = new byte[envelopeLength + 1 + bodyLength];
+    System.arraycopy(envelopeBytes, 0, result, 0, envelopeLength);
+    result[envelopeLength] = ',';
+    System.arraycopy(bodyBytes, 1, result, envelopeLength + 1, bodyLength);
+    return result;
+  }
+
+  /**
+   * Builds the complete gzip-compressed response bytes by serializing and
+   * compressing a new envelope with the <tt>"meta"</tt> and <tt>"links"</tt>
+   * sections for the current request and appending the specified cached
+   * {@linkplain #compressBody(byte[], int) compressed body bytes} as a second
+   * gzip member.
+   *
+   * @param httpMethod The HTTP method for the request.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   *
+   * @param compressedBytes The cached compressed body bytes.
+   *
+   * @param level The compression level for the envelope.
+   *
+   * @return The complete gzip-compressed response bytes.
+   */
+  static byte[] buildCompressedResponseBytes(SzHttpMethod httpMethod,
+                                             UriInfo      uriInfo,
+                                             Timers       timers,
+                                             byte[]       compressedBytes,
+                                             int          level)
+  {
+    byte[] envelopeBytes = serializeEnvelope(httpMethod, uriInfo, timers);
+
+    // replace the closing brace of the envelope with a comma so the body
+    // (which omits its opening brace) follows it
+    envelopeBytes[envelopeBytes.length - 1] = ',';
+
+    byte[] prefix = gzip(envelopeBytes, 0, envelopeBytes.length, level);
+    byte[] result = new byte[prefix.length + compressedBytes.length];
+    System.arraycopy(prefix, 0, result, 0, prefix.length);
+    System.arraycopy(
+        compressedBytes, 0, result, prefix.length, compressedBytes.length);
+    return result;
+  }
+
+  /**
+   * Serializes a new envelope with the <tt>"meta"</tt> and <tt>"links"</tt>
+   * sections for the current request.
+   */
+  private static byte[] serializeEnvelope(SzHttpMethod httpMethod,
+                                          UriInfo      uriInfo,
+                                          Timers       timers)
+  {
+    SzBasicResponse envelope
+        = new SzBasicResponse(httpMethod, 200, uriInfo, timers);
+    envelope.concludeTimers();
+
+    try {
+      return OBJECT_MAPPER.writeValueAsBytes(envelope);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Compresses the specified range of bytes as a single gzip member using
+   * the specified compression level.
+   */
+  private static byte[] gzip(byte[] bytes, int offset, int length, int level)
+  {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(length / 4 + 32);
+    try (GZIPOutputStream gzos = new GZIPOutputStream(baos) {
+      { this.def.setLevel(level); }
+    }) {
+      gzos.write(bytes, offset, length);
+
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return baos.toByteArray();
+  }
+}
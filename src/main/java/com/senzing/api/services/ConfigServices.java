@@ -11,9 +11,16 @@ import com.senzing.util.Timers;
 import javax.json.*;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.core.Variant;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import static com.senzing.api.model.SzHttpMethod.*;
 import static com.senzing.api.services.ServicesUtil.*;
@@ -21,14 +28,33 @@ import static com.senzing.api.services.ServicesUtil.*;
 /**
  * Provides config related API services.
  */
-@Produces("application/json; charset=UTF-8")
+@Produces({"application/json; charset=UTF-8", "application/cbor; qs=0.5"})
 @Path("/")
 public class ConfigServices {
+  /**
+   * The {@link Variant} instances for selecting whether or not a cached
+   * response body can be used for a request.
+   */
+  private static final List<Variant> CACHEABLE_VARIANTS
+      = Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE,
+                           CborResponseWriter.APPLICATION_CBOR_TYPE).build();
+
   @GET
   @Path("data-sources")
-  public SzDataSourcesResponse getDataSources(
+  public Response getDataSources(
       @DefaultValue("false") @QueryParam("withRaw") boolean withRaw,
-      @Context UriInfo uriInfo) {
+      @Context UriInfo uriInfo,
+      @Context Request request,
+      @Context HttpHeaders headers)
+  {
+    String cacheKey = "data-sources;withRaw=" + withRaw;
+    return this.getCachedResponse(
+        cacheKey, uriInfo, request, headers,
+        () -> this.getDataSources(withRaw, uriInfo));
+  }
+
+  public SzDataSourcesResponse getDataSources(boolean withRaw, UriInfo uriInfo)
+  {
     Timers timers = newTimers();
     SzApiProvider provider = SzApiProvider.Factory.getProvider();
 
@@ -417,19 +443,44 @@ public class ConfigServices {
 
   @GET
   @Path("entity-classes/{entityClass}/entity-types")
-  public SzEntityTypesResponse getEntityTypesByClass(
+  public Response getEntityTypesByClass(
       @PathParam("entityClass") String entityClass,
       @DefaultValue("false") @QueryParam("withRaw") boolean withRaw,
-      @Context UriInfo uriInfo) {
+      @Context UriInfo uriInfo,
+      @Context Request request,
+      @Context HttpHeaders headers)
+  {
+    return this.getEntityTypes(
+        entityClass, withRaw, uriInfo, request, headers);
+  }
+
+  public SzEntityTypesResponse getEntityTypesByClass(String   entityClass,
+                                                     boolean  withRaw,
+                                                     UriInfo  uriInfo)
+  {
     return this.getEntityTypes(entityClass, withRaw, uriInfo);
   }
 
   @GET
   @Path("entity-types")
-  public SzEntityTypesResponse getEntityTypes(
+  public Response getEntityTypes(
       @QueryParam("entityClass") String entityClass,
       @DefaultValue("false") @QueryParam("withRaw") boolean withRaw,
-      @Context UriInfo uriInfo) {
+      @Context UriInfo uriInfo,
+      @Context Request request,
+      @Context HttpHeaders headers)
+  {
+    String ec = (entityClass == null) ? "" : entityClass.trim().toUpperCase();
+    String cacheKey = "entity-types;entityClass=" + ec + ";withRaw=" + withRaw;
+    return this.getCachedResponse(
+        cacheKey, uriInfo, request, headers,
+        () -> this.getEntityTypes(entityClass, withRaw, uriInfo));
+  }
+
+  public SzEntityTypesResponse getEntityTypes(String  entityClass,
+                                              boolean withRaw,
+                                              UriInfo uriInfo)
+  {
     Timers timers = newTimers();
     SzApiProvider provider = SzApiProvider.Factory.getProvider();
 
@@ -856,7 +907,8 @@ public class ConfigServices {
                   timers,
                   defaultConfigId,
                   configHandle,
-                  "Added data source(s): " + createdSet);
+                  "Added data source(s): " + createdSet,
+                  true);
             }
 
           } finally {
@@ -1081,7 +1133,8 @@ public class ConfigServices {
                   timers,
                   defaultConfigId,
                   configHandle,
-                  "Added entity class(es): " + createdSet);
+                  "Added entity class(es): " + createdSet,
+                  true);
             }
 
           } finally {
@@ -1380,7 +1433,8 @@ public class ConfigServices {
                   timers,
                   defaultConfigId,
                   configHandle,
-                  "Added entity type(s): " + createdSet);
+                  "Added entity type(s): " + createdSet,
+                  true);
             }
 
           } finally {
@@ -1413,6 +1467,332 @@ public class ConfigServices {
     }
   }
 
+  @POST
+  @Path("config/changes")
+  public SzConfigChangesResponse addConfigChanges(
+      @Context UriInfo uriInfo,
+      String changesInBody)
+  {
+    Timers timers = newTimers();
+
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+    ensureConfigChangesAllowed(provider, POST, uriInfo, timers);
+
+    SzConfigChanges changes = null;
+    try {
+      if (changesInBody == null || changesInBody.trim().length() == 0) {
+        throw newBadRequestException(
+            POST, uriInfo, timers, "No configuration changes specified.");
+      }
+      changes = SzConfigChanges.valueOf(changesInBody);
+
+    } catch (WebApplicationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw newBadRequestException(POST, uriInfo, timers, e);
+    }
+
+    if (changes.isEmpty()) {
+      throw newBadRequestException(
+          POST, uriInfo, timers, "No configuration changes specified.");
+    }
+
+    return this.doAddConfigChanges(POST, changes, uriInfo, timers);
+  }
+
+  /**
+   * Internal method for applying a batch of configuration changes as a
+   * single new configuration version.  The data sources, entity classes and
+   * entity types are all added to the same loaded configuration before it is
+   * saved and made the default so that only one reinitialization is needed.
+   *
+   * @return An {@link SzConfigChangesResponse} describing the changes.
+   */
+  private SzConfigChangesResponse doAddConfigChanges(
+      SzHttpMethod    httpMethod,
+      SzConfigChanges changes,
+      UriInfo         uriInfo,
+      Timers          timers)
+  {
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    try {
+      // get the config manager API and the config API
+      G2ConfigMgr configMgrApi          = provider.getConfigMgrApi();
+      G2Config    configApi             = provider.getConfigApi();
+      Set<String> createdDataSources    = new LinkedHashSet<>();
+      Set<String> createdEntityClasses  = new LinkedHashSet<>();
+      Set<String> createdEntityTypes    = new LinkedHashSet<>();
+
+      if (configMgrApi == null) {
+        throw newForbiddenException(
+            httpMethod, uriInfo, timers, "Configuration changes not permitted.");
+      }
+
+      Collection<SzDataSource>  dataSources   = changes.getDataSources();
+      Collection<SzEntityClass> entityClasses = changes.getEntityClasses();
+      Collection<SzEntityType>  entityTypes   = changes.getEntityTypes();
+
+      enteringQueue(timers);
+      provider.executeInThread(() -> {
+        exitingQueue(timers);
+
+        // loop until the change is applied without a concurrent change
+        boolean applied = false;
+        while (!applied) {
+          createdDataSources.clear();
+          createdEntityClasses.clear();
+          createdEntityTypes.clear();
+
+          Result<Long> result = new Result<>();
+          String configJSON = this.getDefaultConfig(httpMethod,
+                                                    uriInfo,
+                                                    configMgrApi,
+                                                    timers,
+                                                    result);
+          Long defaultConfigId = result.getValue();
+
+          Long configHandle = null;
+          try {
+            // load into a config object by ID
+            callingNativeAPI(timers, "config", "load");
+            configHandle = configApi.load(configJSON);
+            calledNativeAPI(timers, "config", "load");
+
+            if (configHandle <= 0) {
+              throw newInternalServerErrorException(
+                  httpMethod, uriInfo, timers, configApi);
+            }
+
+            // get the current data sources, entity classes and entity types
+            Map<String, SzDataSource> dataSourceMap
+                = this.getDataSourcesMap(httpMethod,
+                                         uriInfo,
+                                         configApi,
+                                         timers,
+                                         configHandle);
+
+            Map<String, SzEntityClass> entityClassMap
+                = this.getEntityClassesMap(httpMethod,
+                                           uriInfo,
+                                           configApi,
+                                           timers,
+                                           configHandle);
+
+            Map<String, SzEntityType> entityTypeMap
+                = this.getEntityTypesMap(httpMethod,
+                                         uriInfo,
+                                         configApi,
+                                         timers,
+                                         configHandle);
+
+            // check for consistency before making any changes
+            for (SzDataSource dataSource : dataSources) {
+              String        dataSourceCode  = dataSource.getDataSourceCode();
+              Integer       dataSourceId    = dataSource.getDataSourceId();
+              SzDataSource  existingDS      = dataSourceMap.get(dataSourceCode);
+              if (existingDS != null && dataSourceId != null
+                  && !dataSourceId.equals(existingDS.getDataSourceId()))
+              {
+                throw newBadRequestException(
+                    httpMethod, uriInfo, timers,
+                    "At least one data source already exists, but "
+                    + "with a different data source ID.  specified=[ "
+                    + dataSource + " ], existing=[ " + existingDS + " ]");
+              }
+            }
+
+            Set<String> knownClasses
+                = new LinkedHashSet<>(entityClassMap.keySet());
+            for (SzEntityClass entityClass : entityClasses) {
+              String        classCode     = entityClass.getEntityClassCode();
+              Integer       classId       = entityClass.getEntityClassId();
+              Boolean       resolving     = entityClass.isResolving();
+              SzEntityClass existingEC    = entityClassMap.get(classCode);
+              if (existingEC != null && classId != null
+                  && !classId.equals(existingEC.getEntityClassId()))
+              {
+                throw newBadRequestException(
+                    httpMethod, uriInfo, timers,
+                    "At least one entity class already exists, but "
+                        + "with a different entity class ID.  specified=[ "
+                        + entityClass + " ], existing=[ " + existingEC + " ]");
+              }
+              if (existingEC != null && resolving != null
+                  && !resolving.equals(existingEC.isResolving()))
+              {
+                throw newBadRequestException(
+                    httpMethod, uriInfo, timers,
+                    "At least one entity class already exists, but "
+                        + "with a different resolving flag.  specified=[ "
+                        + entityClass + " ], existing=[ " + existingEC + " ]");
+              }
+              knownClasses.add(classCode);
+            }
+
+            for (SzEntityType entityType : entityTypes) {
+              String        typeCode      = entityType.getEntityTypeCode();
+              Integer       typeId        = entityType.getEntityTypeId();
+              String        classCode     = entityType.getEntityClassCode();
+              SzEntityType  existingET    = entityTypeMap.get(typeCode);
+
+              // check if it already exists with a different entity type ID
+              if (existingET != null && typeId != null
+                  && !typeId.equals(existingET.getEntityTypeId()))
+              {
+                throw newBadRequestException(
+                    httpMethod, uriInfo, timers,
+                    "At least one entity type already exists, but "
+                        + "with a different entity type ID.  specified=[ "
+                        + entityType + " ], existing=[ " + existingET + " ]");
+              }
+
+              // check if it already exists with a different entity class
+              if (existingET != null && classCode != null
+                  && !classCode.equals(existingET.getEntityClassCode()))
+              {
+                throw newBadRequestException(
+                    httpMethod, uriInfo, timers,
+                    "At least one entity type already exists, but "
+                        + "with a different entity class code.  specified=[ "
+                        + entityType + " ], existing=[ " + existingET + " ]");
+              }
+
+              // check if the entity class is neither existing nor being added
+              if (classCode != null && !knownClasses.contains(classCode)) {
+                throw newBadRequestException(
+                    httpMethod, uriInfo, timers,
+                    "Entity type (" + typeCode + ") specified with "
+                    + "unrecognized entity class: " + classCode);
+              }
+            }
+
+            // add the data sources first
+            for (SzDataSource dataSource : dataSources) {
+              if (dataSourceMap.containsKey(dataSource.getDataSourceCode())) {
+                continue;
+              }
+
+              callingNativeAPI(timers, "config", "addDataSourceV2");
+              int returnCode = configApi.addDataSourceV2(
+                  configHandle, dataSource.toNativeJson(), new StringBuffer());
+              calledNativeAPI(timers, "config", "addDataSourceV2");
+
+              if (returnCode != 0) {
+                throw newInternalServerErrorException(
+                    httpMethod, uriInfo, timers, configApi);
+              }
+
+              createdDataSources.add(dataSource.getDataSourceCode());
+            }
+
+            // add the entity classes before the entity types that use them
+            for (SzEntityClass entityClass : entityClasses) {
+              if (entityClassMap.containsKey(entityClass.getEntityClassCode()))
+              {
+                continue;
+              }
+
+              callingNativeAPI(timers, "config", "addEntityClassV2");
+              int returnCode = configApi.addEntityClassV2(
+                  configHandle, entityClass.toNativeJson(), new StringBuffer());
+              calledNativeAPI(timers, "config", "addEntityClassV2");
+
+              if (returnCode != 0) {
+                throw newInternalServerErrorException(
+                    httpMethod, uriInfo, timers, configApi);
+              }
+
+              createdEntityClasses.add(entityClass.getEntityClassCode());
+            }
+
+            for (SzEntityType entityType : entityTypes) {
+              if (entityTypeMap.containsKey(entityType.getEntityTypeCode())) {
+                continue;
+              }
+
+              callingNativeAPI(timers, "config", "addEntityTypeV2");
+              int returnCode = configApi.addEntityTypeV2(
+                  configHandle, entityType.toNativeJson(), new StringBuffer());
+              calledNativeAPI(timers, "config", "addEntityTypeV2");
+
+              if (returnCode != 0) {
+                throw newInternalServerErrorException(
+                    httpMethod, uriInfo, timers, configApi);
+              }
+
+              createdEntityTypes.add(entityType.getEntityTypeCode());
+            }
+
+            // save a single config version for all the changes
+            if (createdDataSources.size() > 0
+                || createdEntityClasses.size() > 0
+                || createdEntityTypes.size() > 0)
+            {
+              applied = this.updateCurrentConfig(
+                  httpMethod,
+                  uriInfo,
+                  configApi,
+                  configMgrApi,
+                  timers,
+                  defaultConfigId,
+                  configHandle,
+                  "Applied configuration changes: data sources="
+                      + createdDataSources + ", entity classes="
+                      + createdEntityClasses + ", entity types="
+                      + createdEntityTypes,
+                  false);
+            } else {
+              applied = true;
+            }
+
+          } finally {
+            if (configHandle != null) {
+              configApi.close(configHandle);
+            }
+          }
+        }
+
+        // reinitialize inline rather than signaling the reinitializer so the
+        // response reflects the new config (a single reinit since the first
+        // of these calls to find a code missing refreshes all of the
+        // configuration data)
+        provider.getDataSources(
+            dataSources.stream()
+                .map(ds -> ds.getDataSourceCode())
+                .toArray(String[]::new));
+        provider.getEntityClasses(
+            entityClasses.stream()
+                .map(ec -> ec.getEntityClassCode())
+                .toArray(String[]::new));
+        provider.getEntityTypes(
+            entityTypes.stream()
+                .map(et -> et.getEntityTypeCode())
+                .toArray(String[]::new));
+
+        return null;
+      });
+
+      SzConfigChangesResponse response = new SzConfigChangesResponse(
+          httpMethod, 200, uriInfo, timers);
+      response.setDataSources(createdDataSources);
+      response.setEntityClasses(createdEntityClasses);
+      response.setEntityTypes(createdEntityTypes);
+      return response;
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(httpMethod, uriInfo, timers, e);
+    }
+  }
+
   private String getDefaultConfig(SzHttpMethod  httpMethod,
                                   UriInfo       uriInfo,
                                   G2ConfigMgr   configMgrApi,
@@ -1453,7 +1833,8 @@ public class ConfigServices {
                                       Timers       timers,
                                       long         defaultConfigId,
                                       long         configHandle,
-                                      String       configComment)
+                                      String       configComment,
+                                      boolean      notifyChange)
   {
     StringBuffer sb     = new StringBuffer();
     Result<Long> result = new Result<>();
@@ -1508,6 +1889,12 @@ public class ConfigServices {
       }
       calledNativeAPI(timers, "configMgr", "setDefaultConfigID");
     }
+
+    // signal the change rather than waiting for it to be detected unless
+    // the caller will reinitialize with the new configuration itself
+    if (notifyChange) {
+      SzApiProvider.Factory.getProvider().notifyConfigChanged();
+    }
     return true;
   }
 
@@ -1597,12 +1984,33 @@ public class ConfigServices {
 
   @GET
   @Path("attribute-types")
-  public SzAttributeTypesResponse getAttributeTypes(
+  public Response getAttributeTypes(
       @DefaultValue("false") @QueryParam("withInternal") boolean withInternal,
       @QueryParam("attributeClass")                      String  attributeClass,
       @QueryParam("featureType")                         String  featureType,
       @DefaultValue("false") @QueryParam("withRaw")      boolean withRaw,
-      @Context                                           UriInfo uriInfo)
+      @Context                                           UriInfo uriInfo,
+      @Context                                           Request request,
+      @Context                                           HttpHeaders headers)
+  {
+    String ac = (attributeClass == null)
+        ? "" : attributeClass.trim().toUpperCase();
+    String ft = (featureType == null) ? "" : featureType.trim().toUpperCase();
+    String cacheKey = "attribute-types;withInternal=" + withInternal
+        + ";attributeClass=" + ac + ";featureType=" + ft
+        + ";withRaw=" + withRaw;
+
+    return this.getCachedResponse(
+        cacheKey, uriInfo, request, headers,
+        () -> this.getAttributeTypes(
+            withInternal, attributeClass, featureType, withRaw, uriInfo));
+  }
+
+  public SzAttributeTypesResponse getAttributeTypes(boolean withInternal,
+                                                    String  attributeClass,
+                                                    String  featureType,
+                                                    boolean withRaw,
+                                                    UriInfo uriInfo)
   {
     Timers timers = newTimers();
     SzApiProvider provider = SzApiProvider.Factory.getProvider();
@@ -1900,6 +2308,111 @@ public class ConfigServices {
     }
   }
 
+  /**
+   * Produces the {@link Response} for a configuration endpoint whose content
+   * only changes when the active configuration changes.  The response carries
+   * a strong entity tag derived from the active configuration ID so that
+   * conditional requests with a matching <tt>If-None-Match</tt> header get a
+   * <tt>304 Not Modified</tt> response.  The serialized body is cached per
+   * configuration ID and cache key so that subsequent requests only need to
+   * serialize their own <tt>"meta"</tt> and <tt>"links"</tt> sections.  If
+   * response compression is enabled then the body is also cached in
+   * gzip-compressed form and served pre-compressed to clients that accept
+   * gzip encoding.
+   *
+   * @param cacheKey The key identifying the endpoint and its parameters.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param request The {@link Request} for evaluating preconditions.
+   *
+   * @param headers The {@link HttpHeaders} for the request.
+   *
+   * @param responder The {@link Supplier} for producing the response if it is
+   *                  not already cached.
+   *
+   * @return The {@link Response} for the request.
+   */
+  private Response getCachedResponse(
+      String                              cacheKey,
+      UriInfo                             uriInfo,
+      Request                             request,
+      HttpHeaders                         headers,
+      Supplier<? extends SzBasicResponse> responder)
+  {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    // check if the active config ID is unknown (cannot cache)
+    Long configId = provider.getActiveConfigId();
+    if (configId == null) {
+      return Response.ok(responder.get()).build();
+    }
+
+    // the cached bytes are JSON text so bypass the cache for other encodings
+    Variant variant = request.selectVariant(CACHEABLE_VARIANTS);
+    if (variant != null && !MediaType.APPLICATION_JSON_TYPE.isCompatible(
+        variant.getMediaType()))
+    {
+      return Response.ok(responder.get()).build();
+    }
+
+    // check if the client already has the current representation
+    EntityTag entityTag = ConfigResponseCache.newEntityTag(configId);
+    Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+    if (builder != null) return builder.tag(entityTag).build();
+
+    ConfigResponseCache cache = ConfigResponseCache.getInstance();
+    byte[] bodyBytes = cache.get(configId, cacheKey);
+    int level = provider.getCompressionLevel();
+
+    // check if not cached
+    if (bodyBytes == null) {
+      SzBasicResponse response = responder.get();
+      bodyBytes = ConfigResponseCache.serializeBody(response);
+
+      // pre-compress the body if responses of its size are compressed
+      byte[] compressedBytes = null;
+      if (level > 0 && bodyBytes.length >= provider.getCompressionMinSize()
+          && provider.getCompressionMimeTypes().contains(
+              MediaType.APPLICATION_JSON))
+      {
+        compressedBytes = ConfigResponseCache.compressBody(bodyBytes, level);
+      }
+      cache.put(configId, cacheKey, bodyBytes, compressedBytes);
+      return Response.ok(response).tag(entityTag).build();
+    }
+
+    try {
+      // check if the pre-compressed body can be used
+      byte[] compressedBytes = cache.getCompressed(configId, cacheKey);
+      if (compressedBytes != null && isGzipAccepted(headers)) {
+        byte[] responseBytes = ConfigResponseCache.buildCompressedResponseBytes(
+            GET, uriInfo, timers, compressedBytes, level);
+
+        return Response.ok(responseBytes)
+            .tag(ConfigResponseCache.newCompressedEntityTag(configId))
+            .header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .build();
+      }
+
+      byte[] responseBytes = ConfigResponseCache.buildResponseBytes(
+          GET, uriInfo, timers, bodyBytes);
+
+      // the representation varies with Accept-Encoding if it is compressible
+      Response.ResponseBuilder responseBuilder
+          = Response.ok(responseBytes).tag(entityTag);
+      if (compressedBytes != null) {
+        responseBuilder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      }
+      return responseBuilder.build();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(GET, uriInfo, timers, e);
+    }
+  }
 
   /**
    * Exports the config using the specified {@link G2Engine} instance.
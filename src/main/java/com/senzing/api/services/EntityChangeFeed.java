@@ -0,0 +1,580 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzChangeOperation;
+import com.senzing.api.model.SzEntityChange;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import static com.senzing.api.model.SzChangeOperation.*;
+import static com.senzing.g2.engine.G2Engine.*;
+
+/**
+ * Publishes the entities affected by the changes made through the API server
+ * so that consumers can re-fetch those entities incrementally rather than
+ * periodically scanning the entire repository.  Each change is assigned an
+ * increasing sequence number and the most recent changes are retained in a
+ * bounded ring buffer.  Consumers {@linkplain #poll(long, int, long) poll}
+ * for the changes after the last sequence number they received, so a
+ * consumer can reconnect and resume where it left off.  A consumer that
+ * falls behind by more than the {@linkplain #getCapacity() capacity} of the
+ * buffer, or that resumes with a sequence number that is no longer retained,
+ * is told so instead of silently missing changes, which bounds the memory
+ * used no matter how many consumers there are or how slowly they read.
+ * <p>
+ * The records are changed through this class so that the affected entities
+ * can be obtained from the "with info" variants of the {@link G2Engine}
+ * methods, which report every entity affected by the change including those
+ * merged or split as a result.  If the version of g2.jar found at runtime
+ * lacks those methods then the affected entities are instead found by
+ * looking up the entity for the changed record before and after the change,
+ * which misses the other entities involved in a merge or split.  Either way
+ * the methods that change records must be called on an engine worker thread.
+ */
+public class EntityChangeFeed {
+  /**
+   * The default number of changes retained by the feed.
+   */
+  public static final int DEFAULT_CAPACITY = 10000;
+
+  /**
+   * The flags used to look up the entity for a record.
+   */
+  private static final int LOOKUP_FLAGS
+      = G2_ENTITY_MINIMAL_FORMAT | G2_ENTITY_INCLUDE_NO_RELATIONS;
+
+  /**
+   * The flags used for the "with info" methods.
+   */
+  private static final int WITH_INFO_FLAGS = 0;
+
+  /**
+   * The optional <tt>addRecordWithInfo()</tt> method, or <tt>null</tt> if
+   * not present in the version of g2.jar found at runtime.
+   */
+  private static final Method ADD_RECORD_WITH_INFO = getEngineMethod(
+      "addRecordWithInfo", String.class, String.class, String.class,
+      String.class, int.class, StringBuffer.class);
+
+  /**
+   * The optional <tt>addRecordWithInfoWithReturnedRecordID()</tt> method, or
+   * <tt>null</tt> if not present in the version of g2.jar found at runtime.
+   */
+  private static final Method ADD_RECORD_WITH_INFO_RETURNING_ID
+      = getEngineMethod("addRecordWithInfoWithReturnedRecordID",
+                        String.class, String.class, String.class,
+                        int.class, StringBuffer.class, StringBuffer.class);
+
+  /**
+   * The optional <tt>processRedoRecordWithInfo()</tt> method, or
+   * <tt>null</tt> if not present in the version of g2.jar found at runtime.
+   */
+  private static final Method PROCESS_REDO_RECORD_WITH_INFO = getEngineMethod(
+      "processRedoRecordWithInfo",
+      int.class, StringBuffer.class, StringBuffer.class);
+
+  /**
+   * The ring buffer of retained changes indexed by sequence number modulo
+   * the capacity.
+   */
+  private final SzEntityChange[] changes;
+
+  /**
+   * The sequence number of the most recent change.
+   */
+  private long lastSequence;
+
+  /**
+   * The number of changes currently retained.
+   */
+  private int retainedCount;
+
+  /**
+   * Whether or not this instance has been closed.
+   */
+  private boolean closed;
+
+  /**
+   * Whether or not to use the "with info" methods when they are available.
+   */
+  private final boolean withInfo;
+
+  /**
+   * Gets the {@link G2Engine} method with the specified name and parameter
+   * types if it exists in the version of g2.jar found at runtime.
+   *
+   * @param name The name of the method.
+   *
+   * @param argTypes The parameter types of the method.
+   *
+   * @return The {@link Method}, or <tt>null</tt> if it does not exist.
+   */
+  private static Method getEngineMethod(String name, Class<?>... argTypes) {
+    try {
+      return G2Engine.class.getMethod(name, argTypes);
+    } catch (NoSuchMethodException ignore) {
+      return null;
+    }
+  }
+
+  /**
+   * Constructs with the number of changes to retain.
+   *
+   * @param capacity The number of changes to retain.
+   *
+   * @throws IllegalArgumentException If the specified capacity is not
+   *                                  positive.
+   */
+  public EntityChangeFeed(int capacity) {
+    this(capacity, true);
+  }
+
+  /**
+   * Constructs with the number of changes to retain and whether or not to
+   * use the "with info" methods when they are available.
+   *
+   * @param capacity The number of changes to retain.
+   *
+   * @param withInfo <tt>true</tt> if the "with info" methods should be used
+   *                 when available, or <tt>false</tt> if the affected
+   *                 entities should always be looked up.
+   *
+   * @throws IllegalArgumentException If the specified capacity is not
+   *                                  positive.
+   */
+  EntityChangeFeed(int capacity, boolean withInfo) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          "The capacity must be positive: " + capacity);
+    }
+    this.changes        = new SzEntityChange[capacity];
+    this.retainedCount  = 0;
+    this.closed         = false;
+    this.withInfo       = withInfo;
+
+    // start from the current time so that sequence numbers obtained from a
+    // previous process are never mistaken for changes retained by this one
+    this.lastSequence = System.currentTimeMillis() * 1000L;
+  }
+
+  /**
+   * Returns the number of changes retained by this instance.
+   *
+   * @return The number of changes retained by this instance.
+   */
+  public int getCapacity() {
+    return this.changes.length;
+  }
+
+  /**
+   * Returns the sequence number of the most recent change.  If no changes
+   * have been published then this is the sequence number preceding the
+   * first change.
+   *
+   * @return The sequence number of the most recent change.
+   */
+  public synchronized long getLastSequence() {
+    return this.lastSequence;
+  }
+
+  /**
+   * Closes this instance so that any threads waiting for changes return
+   * immediately.  This is done when the API server shuts down.
+   */
+  public synchronized void close() {
+    this.closed = true;
+    this.notifyAll();
+  }
+
+  /**
+   * Checks if this instance has been {@linkplain #close() closed}.
+   *
+   * @return <tt>true</tt> if this instance has been closed, otherwise
+   *         <tt>false</tt>.
+   */
+  public synchronized boolean isClosed() {
+    return this.closed;
+  }
+
+  /**
+   * Publishes a change affecting the specified entities and wakes up any
+   * consumers waiting for changes.
+   *
+   * @param operation The {@link SzChangeOperation} that caused the change.
+   *
+   * @param dataSource The data source code of the changed record, or
+   *                   <tt>null</tt> if not known.
+   *
+   * @param recordId The record ID of the changed record, or <tt>null</tt> if
+   *                 not known.
+   *
+   * @param entityIds The entity IDs of the affected entities.
+   *
+   * @return The published {@link SzEntityChange}.
+   */
+  public synchronized SzEntityChange publish(SzChangeOperation  operation,
+                                             String             dataSource,
+                                             String             recordId,
+                                             Collection<Long>   entityIds)
+  {
+    SzEntityChange change = new SzEntityChange();
+    change.setSequence(++this.lastSequence);
+    change.setOperation(operation);
+    change.setDataSource(dataSource);
+    change.setRecordId(recordId);
+    change.setEntityIds(entityIds);
+
+    this.changes[this.indexOf(change.getSequence())] = change;
+    if (this.retainedCount < this.changes.length) this.retainedCount++;
+
+    this.notifyAll();
+    return change;
+  }
+
+  /**
+   * Gets the changes following the specified sequence number, waiting up to
+   * the specified number of milliseconds for a change if there are none.
+   * This returns <tt>null</tt> if changes following the specified sequence
+   * number are no longer retained (or the sequence number was not issued by
+   * this instance), in which case the consumer should rescan the entities
+   * and resume from the {@linkplain #getLastSequence() last sequence number}.
+   * An empty list is returned if there are no changes before the timeout or
+   * this instance is closed.
+   *
+   * @param afterSequence The sequence number of the last change received by
+   *                      the consumer.
+   *
+   * @param maxCount The maximum number of changes to return.
+   *
+   * @param timeout The maximum number of milliseconds to wait for a change.
+   *
+   * @return The {@link List} of {@link SzEntityChange} instances following
+   *         the specified sequence number in order, or <tt>null</tt> if
+   *         the changes following the sequence number are not retained.
+   */
+  public synchronized List<SzEntityChange> poll(long  afterSequence,
+                                                int   maxCount,
+                                                long  timeout)
+  {
+    long start = System.currentTimeMillis();
+    long remaining = timeout;
+    while (!this.closed && afterSequence == this.lastSequence
+           && remaining > 0L)
+    {
+      try {
+        this.wait(remaining);
+      } catch (InterruptedException ignore) {
+        // do nothing
+      }
+      remaining = timeout - (System.currentTimeMillis() - start);
+    }
+
+    long oldestSequence = this.lastSequence - this.retainedCount + 1L;
+    if (afterSequence < oldestSequence - 1L
+        || afterSequence > this.lastSequence)
+    {
+      return null;
+    }
+
+    int count = (int) Math.min(maxCount, this.lastSequence - afterSequence);
+    List<SzEntityChange> result = new ArrayList<>(count);
+    for (long sequence = afterSequence + 1L; result.size() < count; sequence++)
+    {
+      result.add(this.changes[this.indexOf(sequence)]);
+    }
+    return result;
+  }
+
+  /**
+   * Adds the record with the specified record ID and publishes the change.
+   * This must be called on an engine worker thread.
+   *
+   * @param engineApi The {@link G2Engine} to use.
+   *
+   * @param dataSource The data source code for the record.
+   *
+   * @param recordId The record ID for the record.
+   *
+   * @param recordJson The JSON text for the record.
+   *
+   * @param loadId The load ID for the record, or <tt>null</tt> if none.
+   *
+   * @return The return code from the engine.
+   */
+  public int addRecord(G2Engine engineApi,
+                       String   dataSource,
+                       String   recordId,
+                       String   recordJson,
+                       String   loadId)
+  {
+    if (this.withInfo && ADD_RECORD_WITH_INFO != null) {
+      StringBuffer info = new StringBuffer();
+      int returnCode = invokeEngine(
+          ADD_RECORD_WITH_INFO, engineApi, dataSource, recordId, recordJson,
+          loadId, WITH_INFO_FLAGS, info);
+      if (returnCode == 0) {
+        this.publishInfo(LOAD_RECORD, dataSource, recordId, info);
+      }
+      return returnCode;
+    }
+
+    Set<Long> priorEntityIds
+        = this.findEntityIds(engineApi, dataSource, recordId);
+    int returnCode = engineApi.addRecord(
+        dataSource, recordId, recordJson, loadId);
+    if (returnCode == 0) {
+      this.publishRecordChange(
+          engineApi, LOAD_RECORD, dataSource, recordId, priorEntityIds);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Adds the record with a record ID assigned by the engine and publishes
+   * the change.  This must be called on an engine worker thread.
+   *
+   * @param engineApi The {@link G2Engine} to use.
+   *
+   * @param dataSource The data source code for the record.
+   *
+   * @param recordId The {@link StringBuffer} to write the assigned record
+   *                 ID to.
+   *
+   * @param recordJson The JSON text for the record.
+   *
+   * @param loadId The load ID for the record, or <tt>null</tt> if none.
+   *
+   * @return The return code from the engine.
+   */
+  public int addRecordWithReturnedRecordID(G2Engine     engineApi,
+                                           String       dataSource,
+                                           StringBuffer recordId,
+                                           String       recordJson,
+                                           String       loadId)
+  {
+    if (this.withInfo && ADD_RECORD_WITH_INFO_RETURNING_ID != null) {
+      StringBuffer info = new StringBuffer();
+      int returnCode = invokeEngine(
+          ADD_RECORD_WITH_INFO_RETURNING_ID, engineApi, dataSource,
+          recordJson, loadId, WITH_INFO_FLAGS, recordId, info);
+      if (returnCode == 0) {
+        this.publishInfo(
+            LOAD_RECORD, dataSource, recordId.toString().trim(), info);
+      }
+      return returnCode;
+    }
+
+    int returnCode = engineApi.addRecordWithReturnedRecordID(
+        dataSource, recordId, recordJson, loadId);
+    if (returnCode == 0) {
+      this.publishRecordChange(engineApi, LOAD_RECORD, dataSource,
+                               recordId.toString().trim(), null);
+    }
+    return returnCode;
+  }
+
+  /**
+   * Processes the next redo record (if any) and publishes the change.  This
+   * must be called on an engine worker thread.
+   *
+   * @param engineApi The {@link G2Engine} to use.
+   *
+   * @param redoRecord The {@link StringBuffer} to write the processed redo
+   *                   record to, which is left empty if there was none.
+   *
+   * @return The return code from the engine.
+   */
+  public int processRedoRecord(G2Engine engineApi, StringBuffer redoRecord) {
+    if (this.withInfo && PROCESS_REDO_RECORD_WITH_INFO != null) {
+      StringBuffer info = new StringBuffer();
+      int returnCode = invokeEngine(
+          PROCESS_REDO_RECORD_WITH_INFO, engineApi,
+          WITH_INFO_FLAGS, redoRecord, info);
+      if (returnCode == 0 && redoRecord.length() > 0) {
+        this.publishInfo(PROCESS_REDO, null, null, info);
+      }
+      return returnCode;
+    }
+
+    int returnCode = engineApi.processRedoRecord(redoRecord);
+    if (returnCode == 0 && redoRecord.length() > 0) {
+      try {
+        JsonObject jsonObject
+            = JsonUtils.parseJsonObject(redoRecord.toString());
+        String dataSource = JsonUtils.getString(jsonObject, "DATA_SOURCE");
+        String recordId   = JsonUtils.getString(jsonObject, "RECORD_ID");
+        Long   entityId   = JsonUtils.getLong(jsonObject, "ENTITY_ID");
+
+        Set<Long> entityIds = (entityId == null)
+            ? null : Collections.singleton(entityId);
+
+        this.publishRecordChange(
+            engineApi, PROCESS_REDO, dataSource, recordId, entityIds);
+
+      } catch (Exception e) {
+        // the redo record was processed, so do not treat this as a failure
+        e.printStackTrace();
+      }
+    }
+    return returnCode;
+  }
+
+  /**
+   * Invokes the specified optional {@link G2Engine} method.
+   *
+   * @param method The {@link Method} to invoke.
+   *
+   * @param engineApi The {@link G2Engine} to invoke the method on.
+   *
+   * @param args The arguments for the method.
+   *
+   * @return The return code from the engine.
+   */
+  private static int invokeEngine(Method    method,
+                                  G2Engine  engineApi,
+                                  Object... args)
+  {
+    try {
+      return (Integer) method.invoke(engineApi, args);
+
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new IllegalStateException(cause);
+
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Publishes the change described by the specified info returned from one
+   * of the "with info" methods.  The data source code and record ID found
+   * in the info are used in preference to those specified.
+   *
+   * @param operation The {@link SzChangeOperation} that caused the change.
+   *
+   * @param dataSource The data source code of the changed record, or
+   *                   <tt>null</tt> if not known.
+   *
+   * @param recordId The record ID of the changed record, or <tt>null</tt> if
+   *                 not known.
+   *
+   * @param info The info returned from the engine.
+   */
+  private void publishInfo(SzChangeOperation  operation,
+                           String             dataSource,
+                           String             recordId,
+                           StringBuffer       info)
+  {
+    try {
+      Set<Long> entityIds = new LinkedHashSet<>();
+      if (info.length() > 0) {
+        JsonObject jsonObject = JsonUtils.parseJsonObject(info.toString());
+        dataSource = JsonUtils.getString(
+            jsonObject, "DATA_SOURCE", dataSource);
+        recordId = JsonUtils.getString(jsonObject, "RECORD_ID", recordId);
+        JsonArray affected
+            = JsonUtils.getJsonArray(jsonObject, "AFFECTED_ENTITIES");
+        if (affected != null) {
+          for (JsonValue value : affected) {
+            Long entityId = JsonUtils.getLong(
+                value.asJsonObject(), "ENTITY_ID");
+            if (entityId != null) entityIds.add(entityId);
+          }
+        }
+      }
+      this.publish(operation, dataSource, recordId, entityIds);
+
+    } catch (Exception e) {
+      // the record was changed, so do not treat this as a failure
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Looks up the entity IDs for the entity that the specified record belongs
+   * to.  This is the fallback used when the "with info" methods are not
+   * available.
+   *
+   * @param engineApi The {@link G2Engine} to use for the lookup.
+   *
+   * @param dataSource The data source code for the record.
+   *
+   * @param recordId The record ID for the record.
+   *
+   * @return The {@link Set} of entity IDs, which is empty if the record was
+   *         not found.
+   */
+  private Set<Long> findEntityIds(G2Engine  engineApi,
+                                  String    dataSource,
+                                  String    recordId)
+  {
+    Set<Long> result = new LinkedHashSet<>();
+    if (dataSource == null || recordId == null) return result;
+
+    StringBuffer sb = new StringBuffer();
+    int returnCode = engineApi.getEntityByRecordIDV2(
+        dataSource, recordId, LOOKUP_FLAGS, sb);
+    if (returnCode != 0) {
+      // the record does not exist (yet) or cannot be found
+      engineApi.clearLastException();
+      return result;
+    }
+
+    JsonObject jsonObject = JsonUtils.parseJsonObject(sb.toString());
+    JsonObject entity = JsonUtils.getJsonObject(jsonObject, "RESOLVED_ENTITY");
+    Long entityId = JsonUtils.getLong(entity, "ENTITY_ID");
+    if (entityId != null) result.add(entityId);
+    return result;
+  }
+
+  /**
+   * Publishes the change to the specified record by looking up the entity
+   * the record now belongs to and combining it with the entity IDs the
+   * record belonged to before the change (if known).  This is the fallback
+   * used when the "with info" methods are not available, and it misses any
+   * other entities affected when the change causes entities to merge or
+   * split.
+   *
+   * @param engineApi The {@link G2Engine} to use for the lookup.
+   *
+   * @param operation The {@link SzChangeOperation} that caused the change.
+   *
+   * @param dataSource The data source code of the changed record.
+   *
+   * @param recordId The record ID of the changed record.
+   *
+   * @param priorEntityIds The entity IDs the record belonged to before the
+   *                       change, or <tt>null</tt> if not known.
+   */
+  private void publishRecordChange(G2Engine          engineApi,
+                                   SzChangeOperation operation,
+                                   String            dataSource,
+                                   String            recordId,
+                                   Set<Long>         priorEntityIds)
+  {
+    Set<Long> entityIds = new LinkedHashSet<>();
+    if (priorEntityIds != null) entityIds.addAll(priorEntityIds);
+    entityIds.addAll(this.findEntityIds(engineApi, dataSource, recordId));
+    this.publish(operation, dataSource, recordId, entityIds);
+  }
+
+  /**
+   * Gets the index into the ring buffer for the specified sequence number.
+   *
+   * @param sequence The sequence number.
+   *
+   * @return The index into the ring buffer for the sequence number.
+   */
+  private int indexOf(long sequence) {
+    return (int) (sequence % this.changes.length);
+  }
+}
@@ -0,0 +1,343 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzEntityChange;
+
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.senzing.api.services.BulkDataServices.RECONNECT_DELAY;
+import static com.senzing.api.services.EntityDataServices.CHANGE_EVENT;
+import static com.senzing.api.services.EntityDataServices.RESET_EVENT;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+
+/**
+ * Streams the changes published to an {@link EntityChangeFeed} to the
+ * subscribed {@link SseEventSink} instances so that no request thread is
+ * held for the life of a subscription.  A single dispatcher thread waits
+ * for changes and hands each subscriber that is behind to a small shared
+ * pool of sender threads, with at most one send in progress per subscriber.
+ * A client that is slow to read therefore only holds up the others once
+ * every sender thread is blocked writing to such a client, and a subscriber
+ * that falls behind by more than the capacity of the feed is sent a {@link
+ * EntityDataServices#RESET_EVENT} and closed.
+ */
+class EntityChangeStreamer {
+  /**
+   * The number of threads used to send events to the subscribers.
+   */
+  static final int SENDER_COUNT = 4;
+
+  /**
+   * The maximum number of changes to send to a subscriber at once.
+   */
+  static final int BATCH_SIZE = 100;
+
+  /**
+   * The maximum number of milliseconds without sending an event to a
+   * subscriber before a keep-alive comment is sent.
+   */
+  static final long KEEP_ALIVE = 15000L;
+
+  /**
+   * The maximum number of milliseconds the dispatcher waits for a change
+   * before checking if any subscribers are due for a keep-alive.
+   */
+  private static final long DISPATCH_PERIOD = 1000L;
+
+  /**
+   * The number of seconds an idle sender thread is kept alive.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60L;
+
+  /**
+   * The shared pool of sender threads.
+   */
+  private static final ThreadPoolExecutor SENDERS;
+
+  /**
+   * The instance for the current {@link EntityChangeFeed}.
+   */
+  private static EntityChangeStreamer INSTANCE = null;
+
+  static {
+    SENDERS = new ThreadPoolExecutor(
+        SENDER_COUNT, SENDER_COUNT, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactory() {
+          private int threadCount = 0;
+
+          @Override
+          public synchronized Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(
+                runnable, "entity-changes-" + (++this.threadCount));
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    SENDERS.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * The {@link EntityChangeFeed} whose changes are streamed.
+   */
+  private final EntityChangeFeed feed;
+
+  /**
+   * The {@link List} of current subscribers.
+   */
+  private final List<Subscriber> subscribers;
+
+  /**
+   * The dispatcher thread, or <tt>null</tt> if not running.
+   */
+  private Thread dispatcher;
+
+  /**
+   * Gets the instance for the specified {@link EntityChangeFeed}, creating
+   * it if the feed differs from that of the current instance.
+   *
+   * @param feed The {@link EntityChangeFeed} whose changes are streamed.
+   *
+   * @return The {@link EntityChangeStreamer} for the specified feed.
+   */
+  static synchronized EntityChangeStreamer getInstance(EntityChangeFeed feed)
+  {
+    if (INSTANCE == null || INSTANCE.feed != feed) {
+      INSTANCE = new EntityChangeStreamer(feed);
+    }
+    return INSTANCE;
+  }
+
+  /**
+   * Constructs with the {@link EntityChangeFeed} whose changes are streamed.
+   *
+   * @param feed The {@link EntityChangeFeed} whose changes are streamed.
+   */
+  private EntityChangeStreamer(EntityChangeFeed feed) {
+    this.feed         = feed;
+    this.subscribers  = new LinkedList<>();
+    this.dispatcher   = null;
+  }
+
+  /**
+   * Subscribes the specified {@link SseEventSink} to the changes following
+   * the specified sequence number.  This returns immediately and the sink
+   * is closed once the subscription ends.
+   *
+   * @param sink The {@link SseEventSink} to send the events to.
+   *
+   * @param sse The {@link Sse} with which to build the events.
+   *
+   * @param sequence The sequence number of the last change received by the
+   *                 subscriber.
+   */
+  void subscribe(SseEventSink sink, Sse sse, long sequence) {
+    Subscriber subscriber = new Subscriber(sink, sse, sequence);
+    synchronized (this) {
+      this.subscribers.add(subscriber);
+      if (this.dispatcher == null) {
+        this.dispatcher = new Thread(this::dispatch, "entity-changes");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+      }
+    }
+    subscriber.schedule();
+  }
+
+  /**
+   * Returns the number of current subscribers.
+   *
+   * @return The number of current subscribers.
+   */
+  synchronized int getSubscriberCount() {
+    this.subscribers.removeIf(Subscriber::isClosed);
+    return this.subscribers.size();
+  }
+
+  /**
+   * The dispatcher loop that schedules the subscribers that are behind or
+   * due for a keep-alive until the feed is closed, at which point the
+   * subscribers are closed.
+   */
+  private void dispatch() {
+    while (!this.feed.isClosed()) {
+      List<Subscriber> current;
+      synchronized (this) {
+        this.subscribers.removeIf(Subscriber::isClosed);
+        current = new ArrayList<>(this.subscribers);
+      }
+
+      long lastSequence = this.feed.getLastSequence();
+      long now = System.currentTimeMillis();
+      for (Subscriber subscriber : current) {
+        if (subscriber.isDue(lastSequence, now)) subscriber.schedule();
+      }
+
+      // wait for the next change
+      this.feed.poll(lastSequence, 1, DISPATCH_PERIOD);
+    }
+
+    List<Subscriber> remaining;
+    synchronized (this) {
+      remaining = new ArrayList<>(this.subscribers);
+      this.subscribers.clear();
+      this.dispatcher = null;
+    }
+    for (Subscriber subscriber : remaining) {
+      subscriber.close();
+    }
+  }
+
+  /**
+   * Tracks the state of a subscription.
+   */
+  private class Subscriber {
+    /**
+     * The {@link SseEventSink} to send the events to.
+     */
+    private final SseEventSink sink;
+
+    /**
+     * The {@link Sse} with which to build the events.
+     */
+    private final Sse sse;
+
+    /**
+     * The sequence number of the last change sent.
+     */
+    private long sequence;
+
+    /**
+     * The time the last event was sent.
+     */
+    private long lastSendTime;
+
+    /**
+     * Whether or not a send is scheduled or in progress.
+     */
+    private boolean sending;
+
+    /**
+     * Constructs with the {@link SseEventSink}, the {@link Sse} and the
+     * sequence number of the last change received.
+     */
+    private Subscriber(SseEventSink sink, Sse sse, long sequence) {
+      this.sink         = sink;
+      this.sse          = sse;
+      this.sequence     = sequence;
+      this.lastSendTime = System.currentTimeMillis();
+      this.sending      = false;
+    }
+
+    /**
+     * Checks if the {@link SseEventSink} has been closed.
+     */
+    private boolean isClosed() {
+      return this.sink.isClosed();
+    }
+
+    /**
+     * Checks if this subscriber is not sending and either has not been sent
+     * the specified last sequence number or is due for a keep-alive.
+     */
+    private synchronized boolean isDue(long lastSequence, long now) {
+      if (this.sending || this.isClosed()) return false;
+      return (this.sequence != lastSequence)
+          || (now - this.lastSendTime >= KEEP_ALIVE);
+    }
+
+    /**
+     * Schedules a send on the sender threads unless one is already scheduled
+     * or in progress.
+     */
+    private void schedule() {
+      synchronized (this) {
+        if (this.sending || this.isClosed()) return;
+        this.sending = true;
+      }
+      SENDERS.execute(this::send);
+    }
+
+    /**
+     * Sends the changes following the last change sent, a reset if those
+     * changes are no longer retained or a keep-alive if there are none.
+     * This reschedules itself if more changes remain.
+     */
+    private void send() {
+      EntityChangeFeed feed = EntityChangeStreamer.this.feed;
+      long now = System.currentTimeMillis();
+      try {
+        List<SzEntityChange> changes
+            = feed.poll(this.sequence, BATCH_SIZE, 0L);
+
+        if (changes == null) {
+          // changes were missed
+          long lastSequence = feed.getLastSequence();
+          this.sink.send(this.sse.newEventBuilder()
+                             .name(RESET_EVENT)
+                             .id(String.valueOf(lastSequence))
+                             .mediaType(APPLICATION_JSON_TYPE)
+                             .data(Collections.singletonMap(
+                                 "lastSequence", lastSequence))
+                             .reconnectDelay(RECONNECT_DELAY)
+                             .build());
+          this.close();
+
+        } else if (changes.size() == 0) {
+          if (feed.isClosed()) {
+            this.close();
+          } else if (now - this.lastSendTime >= KEEP_ALIVE) {
+            this.sink.send(this.sse.newEventBuilder()
+                               .comment("keep-alive")
+                               .build());
+            this.lastSendTime = now;
+          }
+
+        } else {
+          // these writes block while the client is not reading, so a slow
+          // client falls behind and is reset rather than buffered
+          for (SzEntityChange change : changes) {
+            this.sink.send(this.sse.newEventBuilder()
+                               .name(CHANGE_EVENT)
+                               .id(String.valueOf(change.getSequence()))
+                               .mediaType(APPLICATION_JSON_TYPE)
+                               .data(change)
+                               .reconnectDelay(RECONNECT_DELAY)
+                               .build());
+            this.sequence = change.getSequence();
+          }
+          this.lastSendTime = System.currentTimeMillis();
+        }
+
+      } catch (Exception e) {
+        e.printStackTrace();
+        this.close();
+
+      } finally {
+        synchronized (this) {
+          this.sending = false;
+        }
+      }
+
+      if (this.isDue(feed.getLastSequence(), System.currentTimeMillis())) {
+        this.schedule();
+      }
+    }
+
+    /**
+     * Closes the {@link SseEventSink} if not already closed.
+     */
+    private void close() {
+      try {
+        if (!this.sink.isClosed()) this.sink.close();
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+  }
+}
@@ -2,33 +2,73 @@ package com.senzing.api.services;
 
 import com.senzing.api.model.*;
 import com.senzing.g2.engine.G2Engine;
+import com.senzing.io.RecordReader;
+import com.senzing.util.AsyncWorkerPool;
 import com.senzing.util.JsonUtils;
 import com.senzing.util.Timers;
 
 import javax.json.*;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 
+import java.io.StringReader;
 import java.util.*;
 
 import static com.senzing.api.model.SzHttpMethod.*;
 import static com.senzing.api.model.SzFeatureInclusion.*;
+import static com.senzing.api.services.BulkDataServices.FAILED_EVENT;
 import static com.senzing.api.services.ServicesUtil.*;
 import static com.senzing.g2.engine.G2Engine.*;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 
 /**
  * Provides entity data related API services.
  */
 @Path("/")
-@Produces("application/json; charset=UTF-8")
+@Produces({"application/json; charset=UTF-8", "application/cbor; qs=0.5"})
 public class EntityDataServices {
   private static final int DATA_SOURCE_NOT_FOUND_CODE = 27;
 
-  private static final int RECORD_NOT_FOUND_CODE = 33;
+  /**
+   * The native API error code for a record that was not found.
+   */
+  public static final int RECORD_NOT_FOUND_CODE = 33;
+
+  /**
+   * The native API error code for an entity ID that was not found.
+   */
+  public static final int ENTITY_ID_NOT_FOUND_CODE = 37;
+
+  /**
+   * The flags used when retrieving records for a batch, which request the
+   * same record content as {@link G2Engine#getRecord}.
+   */
+  private static final int BATCH_RECORD_FLAGS = 0;
 
-  private static final int ENTITY_ID_NOT_FOUND_CODE = 37;
+  /**
+   * The maximum number of records retrieved by a single worker thread task
+   * for a batch, which bounds the delay before the first results are
+   * streamed.
+   */
+  private static final int MAX_RECORD_CHUNK_SIZE = 50;
+
+  /**
+   * SSE event type string for entity change events.
+   */
+  public static final String CHANGE_EVENT = "change";
+
+  /**
+   * SSE event type string for the event sent when changes following the
+   * requested sequence number are no longer retained.
+   */
+  public static final String RESET_EVENT = "reset";
 
   @POST
   @Path("data-sources/{dataSourceCode}/records")
@@ -67,12 +107,17 @@ public class EntityDataServices {
         // get the engine API and the config API
         G2Engine engineApi = provider.getEngineApi();
 
+        // add through the change feed (if enabled) to publish the change
+        EntityChangeFeed changeFeed = provider.getChangeFeed();
+
         callingNativeAPI(timers, "engine","addRecordWithReturnedRecordID");
-        int result = engineApi.addRecordWithReturnedRecordID(dataSource,
-                                                             sb,
-                                                             recordText,
-                                                             normalizedLoadId);
+        int result = (changeFeed == null)
+            ? engineApi.addRecordWithReturnedRecordID(
+                dataSource, sb, recordText, normalizedLoadId)
+            : changeFeed.addRecordWithReturnedRecordID(
+                engineApi, dataSource, sb, recordText, normalizedLoadId);
         calledNativeAPI(timers, "engine","addRecordWithReturnedRecordID");
+        LastModifiedSampler.getInstance().invalidate();
 
         if (result != 0) {
           throw newWebApplicationException(POST, uriInfo, timers, engineApi);
@@ -145,12 +190,17 @@ public class EntityDataServices {
         // get the engine API
         G2Engine engineApi = provider.getEngineApi();
 
+        // add through the change feed (if enabled) to publish the change
+        EntityChangeFeed changeFeed = provider.getChangeFeed();
+
         callingNativeAPI(timers, "engine", "addRecord");
-        int result = engineApi.addRecord(dataSource,
-                                         recordId,
-                                         recordText,
-                                         normalizedLoadId);
+        int result = (changeFeed == null)
+            ? engineApi.addRecord(
+                dataSource, recordId, recordText, normalizedLoadId)
+            : changeFeed.addRecord(
+                engineApi, dataSource, recordId, recordText, normalizedLoadId);
         calledNativeAPI(timers, "engine", "addRecord");
+        LastModifiedSampler.getInstance().invalidate();
         if (result != 0) {
           throw newWebApplicationException(PUT, uriInfo, timers, engineApi);
         }
@@ -178,12 +228,223 @@ public class EntityDataServices {
     }
   }
 
+  @POST
+  @Path("records")
+  public SzBatchLoadResponse loadRecords(
+      @QueryParam("dataSource")                           String          dataSource,
+      @QueryParam("loadId")                               String          loadId,
+      @DefaultValue("REPORT_ERRORS") @QueryParam("mode")  SzBatchLoadMode mode,
+      @Context                                            UriInfo         uriInfo,
+      String                                                              recordsText)
+  {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+    ensureLoadingIsAllowed(provider, POST, uriInfo, timers);
+
+    final String normalizedLoadId = normalizeString(loadId);
+    String defaultDataSource = normalizeString(dataSource);
+    if (defaultDataSource != null) {
+      defaultDataSource = defaultDataSource.toUpperCase();
+    }
+
+    // read the records as a JSON array or as JSON lines, stopping once we
+    // know there are too many records
+    int maxBatchSize = provider.getMaxBatchSize();
+    List<JsonObject> records = new ArrayList<>();
+    if (recordsText != null) {
+      String trimmed = recordsText.trim();
+      RecordReader.Format format = (trimmed.startsWith("["))
+          ? RecordReader.Format.JSON : RecordReader.Format.JSON_LINES;
+      try {
+        RecordReader recordReader = new RecordReader(
+            format, new StringReader(trimmed), defaultDataSource, null);
+        for (JsonObject record = recordReader.readRecord();
+             record != null && records.size() <= maxBatchSize;
+             record = recordReader.readRecord())
+        {
+          records.add(record);
+        }
+      } catch (Exception e) {
+        throw newBadRequestException(
+            POST, uriInfo, timers,
+            "Improperly formatted records in request body.  Expected a JSON "
+                + "array or JSON lines: " + e.getMessage());
+      }
+    }
+
+    checkBatchSize(provider, records.size(), POST, uriInfo, timers);
+
+    try {
+      // determine the data sources and record IDs
+      int recordCount = records.size();
+      List<SzBatchLoadResult> results = new ArrayList<>(recordCount);
+      List<String> recordTexts = new ArrayList<>(recordCount);
+      Set<String> expectedDataSources = new LinkedHashSet<>();
+      for (JsonObject record : records) {
+        String dsrc = normalizeString(
+            JsonUtils.getString(record, "DATA_SOURCE"));
+        if (dsrc != null) {
+          dsrc = dsrc.toUpperCase();
+          expectedDataSources.add(dsrc);
+          record = Json.createObjectBuilder(record)
+              .add("DATA_SOURCE", dsrc).build();
+        }
+        results.add(new SzBatchLoadResult(
+            dsrc, normalizeString(JsonUtils.getString(record, "RECORD_ID"))));
+        recordTexts.add(JsonUtils.toJsonText(record));
+      }
+
+      // validate the records
+      Set<String> dataSources = provider.getDataSources(
+          expectedDataSources.toArray(new String[expectedDataSources.size()]));
+      boolean invalid = false;
+      for (SzBatchLoadResult result : results) {
+        String dsrc = result.getDataSource();
+        if (dsrc == null) {
+          invalid = true;
+          result.setHttpStatusCode(400);
+          result.setErrors(Collections.singletonList(new SzError(
+              "The record does not specify a data source.")));
+
+        } else if (!dataSources.contains(dsrc)) {
+          invalid = true;
+          result.setHttpStatusCode(404);
+          result.setErrors(Collections.singletonList(new SzError(
+              "The specified data source is not recognized: " + dsrc)));
+        }
+      }
+
+      // check if nothing should be loaded
+      if (invalid && mode == SzBatchLoadMode.VALIDATE_FIRST) {
+        SzBatchLoadResponse response
+            = new SzBatchLoadResponse(POST, 400, uriInfo, timers);
+        for (SzBatchLoadResult result : results) {
+          if (result.getHttpStatusCode() == 0) {
+            result.setHttpStatusCode(424);
+            result.setErrors(Collections.singletonList(new SzError(
+                "The record was not loaded because other records in the "
+                + "batch are invalid.")));
+          }
+          response.addResult(result);
+        }
+        throw new BadRequestException(
+            Response.status(400).entity(response).build());
+      }
+
+      // load the valid records concurrently
+      List<AsyncWorkerPool.Task<SzBatchLoadResult>> tasks
+          = new ArrayList<>(recordCount);
+      List<SzBatchLoadResult> taskResults = new ArrayList<>(recordCount);
+      List<Timers> taskTimers = new ArrayList<>(recordCount);
+      for (int index = 0; index < recordCount; index++) {
+        SzBatchLoadResult result = results.get(index);
+        if (result.getHttpStatusCode() != 0) continue;
+
+        String  recordText  = recordTexts.get(index);
+        Timers  subTimers   = new Timers();
+        taskResults.add(result);
+        taskTimers.add(subTimers);
+        tasks.add(() -> {
+          enteringQueue(subTimers);
+          return provider.executeInThread(() -> {
+            exitingQueue(subTimers);
+            G2Engine engineApi = provider.getEngineApi();
+
+            String  recordId = result.getRecordId();
+            int     returnCode;
+
+            // add through the change feed (if enabled) to publish changes
+            EntityChangeFeed changeFeed = provider.getChangeFeed();
+            String recordSource = result.getDataSource();
+
+            if (recordId != null) {
+              callingNativeAPI(subTimers, "engine", "addRecord");
+              returnCode = (changeFeed == null)
+                  ? engineApi.addRecord(
+                      recordSource, recordId, recordText, normalizedLoadId)
+                  : changeFeed.addRecord(engineApi, recordSource, recordId,
+                                         recordText, normalizedLoadId);
+              calledNativeAPI(subTimers, "engine", "addRecord");
+
+            } else {
+              StringBuffer sb = new StringBuffer();
+              callingNativeAPI(subTimers, "engine",
+                               "addRecordWithReturnedRecordID");
+              returnCode = (changeFeed == null)
+                  ? engineApi.addRecordWithReturnedRecordID(
+                      recordSource, sb, recordText, normalizedLoadId)
+                  : changeFeed.addRecordWithReturnedRecordID(
+                      engineApi, recordSource, sb, recordText,
+                      normalizedLoadId);
+              calledNativeAPI(subTimers, "engine",
+                              "addRecordWithReturnedRecordID");
+              recordId = sb.toString().trim();
+            }
+            LastModifiedSampler.getInstance().invalidate();
+
+            if (returnCode != 0) {
+              WebApplicationException e = newWebApplicationException(
+                  POST, uriInfo, subTimers, engineApi);
+              result.setHttpStatusCode(e.getResponse().getStatus());
+              result.setErrors(getErrors(e));
+
+            } else {
+              result.setRecordId(recordId);
+              result.setHttpStatusCode(200);
+            }
+            return result;
+          });
+        });
+      }
+
+      List<BatchExecutor.BatchResult<SzBatchLoadResult>> batchResults
+          = BatchExecutor.executeAll(
+              provider.getConcurrency(), tasks);
+
+      // report the unexpected failures against their records
+      for (BatchExecutor.BatchResult<SzBatchLoadResult> batchResult
+          : batchResults)
+      {
+        if (batchResult.getFailure() == null) continue;
+        SzBatchLoadResult result = taskResults.get(batchResult.getIndex());
+        result.setHttpStatusCode(500);
+        result.setErrors(Collections.singletonList(
+            new SzError(batchResult.getFailure())));
+      }
+
+      // merge the timers
+      for (Timers subTimers : taskTimers) {
+        timers.mergeWith(subTimers);
+      }
+
+      SzBatchLoadResponse response
+          = new SzBatchLoadResponse(POST, 200, uriInfo, timers);
+      response.setData(results);
+
+      // return the response
+      return response;
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw ServicesUtil.newInternalServerErrorException(POST, uriInfo, timers, e);
+    }
+  }
+
   @GET
   @Path("data-sources/{dataSourceCode}/records/{recordId}")
-  public SzRecordResponse getRecord(
+  @ConditionalRead
+  public SzBasicResponse getRecord(
       @PathParam("dataSourceCode")                  String  dataSourceCode,
       @PathParam("recordId")                        String  recordId,
       @DefaultValue("false") @QueryParam("withRaw") boolean withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly") boolean rawOnly,
       @Context                                      UriInfo uriInfo)
   {
     Timers timers = newTimers();
@@ -214,6 +475,11 @@ public class EntityDataServices {
         return sb.toString();
       });
 
+      // check if only the raw data is requested
+      if (rawOnly) {
+        return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+      }
+
       processingRawData(timers);
 
       // parse the raw data
@@ -250,12 +516,198 @@ public class EntityDataServices {
     }
   }
 
+  public SzRecordResponse getRecord(
+      String   dataSourceCode,
+      String   recordId,
+      boolean  withRaw,
+      UriInfo  uriInfo)
+  {
+    return (SzRecordResponse) this.getRecord(dataSourceCode,
+                                             recordId,
+                                             withRaw,
+                                             false,
+                                             uriInfo);
+  }
+
+  @POST
+  @Path("records/batch")
+  public Response getRecords(@Context UriInfo uriInfo,
+                             String           identifiersText)
+  {
+    Timers timers = newTimers();
+
+    // parse the record identifiers preserving order and duplicates
+    List<SzEntityIdentifier> identifiers;
+    try {
+      identifiers = (identifiersText == null
+                     || identifiersText.trim().length() == 0)
+          ? Collections.emptyList()
+          : SzEntityIdentifiers.valueOf(identifiersText).getIdentifiers();
+    } catch (Exception e) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "Improperly formatted record identifiers in request body: "
+              + identifiersText);
+    }
+
+    List<SzRecordId> recordIds = new ArrayList<>(identifiers.size());
+    for (SzEntityIdentifier identifier : identifiers) {
+      if (!(identifier instanceof SzRecordId)) {
+        throw newBadRequestException(
+            POST, uriInfo, timers,
+            "Only record identifiers may be specified, not entity IDs: "
+                + identifier);
+      }
+      recordIds.add((SzRecordId) identifier);
+    }
+
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    checkBatchSize(provider, recordIds.size(), POST, uriInfo, timers);
+
+    // split the records into chunks so each task retrieves several records
+    // in a single trip through the worker thread pool
+    int concurrency = provider.getConcurrency();
+    int chunkSize = Math.min(
+        MAX_RECORD_CHUNK_SIZE,
+        (recordIds.size() + concurrency - 1) / concurrency);
+    List<List<SzRecordId>> chunks = new ArrayList<>();
+    for (int index = 0; index < recordIds.size(); index += chunkSize) {
+      chunks.add(recordIds.subList(
+          index, Math.min(index + chunkSize, recordIds.size())));
+    }
+
+    StreamingArrayOutput output = new StreamingArrayOutput(
+        POST, uriInfo, timers, (sink) -> {
+          BatchExecutor<List<SzBatchRecordResult>> executor
+              = new BatchExecutor<>(
+                  Math.min(concurrency, chunks.size()),
+                  true,
+                  (batchResult) -> {
+                    List<SzBatchRecordResult> results = batchResult.getValue();
+                    if (batchResult.getFailure() != null) {
+                      results = new ArrayList<>();
+                      for (SzRecordId recordId
+                          : chunks.get(batchResult.getIndex()))
+                      {
+                        SzBatchRecordResult result
+                            = new SzBatchRecordResult(recordId);
+                        result.setHttpStatusCode(500);
+                        result.setErrors(Collections.singletonList(
+                            new SzError(batchResult.getFailure())));
+                        results.add(result);
+                      }
+                    }
+                    for (SzBatchRecordResult result : results) {
+                      sink.add(result);
+                    }
+                  });
+
+          try {
+            for (List<SzRecordId> chunk : chunks) {
+              executor.submit(
+                  () -> retrieveRecords(provider, chunk, uriInfo));
+            }
+            executor.complete();
+
+          } finally {
+            executor.abort();
+          }
+        });
+
+    return Response.ok(output).build();
+  }
+
+  /**
+   * Retrieves the specified records in a single task on an engine worker
+   * thread and parses them after leaving the worker thread.  A failure to
+   * retrieve or parse a record is reported in its result without affecting
+   * the others.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param recordIds The {@link List} of {@link SzRecordId} instances
+   *                  identifying the records to retrieve.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link List} of {@link SzBatchRecordResult} instances in the
+   *         same order as the specified record IDs.
+   *
+   * @throws Exception If the worker thread task fails.
+   */
+  private static List<SzBatchRecordResult> retrieveRecords(
+      SzApiProvider     provider,
+      List<SzRecordId>  recordIds,
+      UriInfo           uriInfo)
+    throws Exception
+  {
+    Timers timers = newTimers();
+    List<SzBatchRecordResult> results = new ArrayList<>(recordIds.size());
+    List<String> rawData = new ArrayList<>(recordIds.size());
+
+    enteringQueue(timers);
+    provider.executeInThread(() -> {
+      exitingQueue(timers);
+
+      // get the engine API
+      G2Engine engineApi = provider.getEngineApi();
+
+      for (SzRecordId recordId : recordIds) {
+        SzBatchRecordResult result = new SzBatchRecordResult(recordId);
+        StringBuffer sb = new StringBuffer();
+
+        callingNativeAPI(timers, "engine", "getRecordV2");
+        int returnCode = engineApi.getRecordV2(
+            recordId.getDataSourceCode().trim().toUpperCase(),
+            recordId.getRecordId(),
+            BATCH_RECORD_FLAGS,
+            sb);
+        calledNativeAPI(timers, "engine", "getRecordV2");
+
+        if (returnCode != 0) {
+          WebApplicationException e = newWebApplicationException(
+              POST, uriInfo, timers, engineApi);
+          result.setHttpStatusCode(e.getResponse().getStatus());
+          result.setErrors(getErrors(e));
+          rawData.add(null);
+        } else {
+          rawData.add(sb.toString());
+        }
+        results.add(result);
+      }
+      return null;
+    });
+
+    // parse the records that were found
+    processingRawData(timers);
+    for (int index = 0; index < results.size(); index++) {
+      String recordJson = rawData.get(index);
+      if (recordJson == null) continue;
+      SzBatchRecordResult result = results.get(index);
+      try {
+        JsonObject jsonObject = JsonUtils.parseJsonObject(recordJson);
+        result.setRecord(SzEntityRecord.parseEntityRecord(null, jsonObject));
+        result.setHttpStatusCode(200);
+
+      } catch (Exception e) {
+        result.setHttpStatusCode(500);
+        result.setErrors(Collections.singletonList(new SzError(e)));
+      }
+    }
+    processedRawData(timers);
+
+    return results;
+  }
+
   @GET
   @Path("data-sources/{dataSourceCode}/records/{recordId}/entity")
-  public SzEntityResponse getEntityByRecordId(
+  @ConditionalRead
+  @FieldProjected
+  public SzBasicResponse getEntityByRecordId(
       @PathParam("dataSourceCode")                                String              dataSourceCode,
       @PathParam("recordId")                                      String              recordId,
       @DefaultValue("false") @QueryParam("withRaw")               boolean             withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly")               boolean             rawOnly,
+      @QueryParam("fields")                                       List<String>        fields,
       @DefaultValue("false") @QueryParam("withRelated")           boolean             withRelated,
       @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
       @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
@@ -275,11 +727,21 @@ public class EntityDataServices {
 
       SzEntityData entityData = null;
 
+      // avoid retrieving what will not be returned unless raw data is needed
+      FieldProjection projection
+          = parseFieldProjection(fields, GET, uriInfo, timers);
+      boolean withRelations = true;
+      if (projection != null && !withRaw && !rawOnly) {
+        featureMode   = projection.getFeatureMode(featureMode);
+        withRelations = projection.isRelatedIncluded();
+        withRelated   = withRelated && withRelations;
+      }
+
       int flags = getFlags(forceMinimal,
                            featureMode,
                            withFeatureStats,
                            withDerivedFeatures,
-                           true);
+                           withRelations);
 
       String rawData = null;
 
@@ -322,6 +784,11 @@ public class EntityDataServices {
           return sb.toString();
         });
 
+        // check if only the raw data is requested
+        if (rawOnly) {
+          return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+        }
+
         processingRawData(timers);
 
         // organize all the entities into a map for lookup
@@ -364,6 +831,11 @@ public class EntityDataServices {
           return engineJSON;
         });
 
+        // check if only the raw data is requested
+        if (rawOnly) {
+          return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+        }
+
         processingRawData(timers);
         // parse the result
         entityData = SzEntityData.parseEntityData(
@@ -392,11 +864,39 @@ public class EntityDataServices {
     }
   }
 
+  public SzEntityResponse getEntityByRecordId(
+      String              dataSourceCode,
+      String              recordId,
+      boolean             withRaw,
+      boolean             withRelated,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      UriInfo             uriInfo)
+  {
+    return (SzEntityResponse) this.getEntityByRecordId(dataSourceCode,
+                                                       recordId,
+                                                       withRaw,
+                                                       false,
+                                                       null,
+                                                       withRelated,
+                                                       forceMinimal,
+                                                       featureMode,
+                                                       withFeatureStats,
+                                                       withDerivedFeatures,
+                                                       uriInfo);
+  }
+
   @GET
   @Path("entities/{entityId}")
-  public SzEntityResponse getEntityByEntityId(
+  @ConditionalRead
+  @FieldProjected
+  public SzBasicResponse getEntityByEntityId(
       @PathParam("entityId")                                      long                entityId,
       @DefaultValue("false") @QueryParam("withRaw")               boolean             withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly")               boolean             rawOnly,
+      @QueryParam("fields")                                       List<String>        fields,
       @DefaultValue("false") @QueryParam("withRelated")           boolean             withRelated,
       @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
       @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
@@ -415,11 +915,21 @@ public class EntityDataServices {
 
       String rawData = null;
 
+      // avoid retrieving what will not be returned unless raw data is needed
+      FieldProjection projection
+          = parseFieldProjection(fields, GET, uriInfo, timers);
+      boolean withRelations = true;
+      if (projection != null && !withRaw && !rawOnly) {
+        featureMode   = projection.getFeatureMode(featureMode);
+        withRelations = projection.isRelatedIncluded();
+        withRelated   = withRelated && withRelations;
+      }
+
       int flags = getFlags(forceMinimal,
                            featureMode,
                            withFeatureStats,
                            withDerivedFeatures,
-                           true);
+                           withRelations);
 
       // check if we want 1-degree relations as well -- if so we need to
       // find the network instead of a simple lookup
@@ -457,6 +967,11 @@ public class EntityDataServices {
           return sb.toString();
         });
 
+        // check if only the raw data is requested
+        if (rawOnly) {
+          return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+        }
+
         processingRawData(timers);
 
         // organize all the entities into a map for lookup
@@ -486,6 +1001,11 @@ public class EntityDataServices {
           return engineJSON;
         });
 
+        // check if only the raw data is requested
+        if (rawOnly) {
+          return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+        }
+
         processingRawData(timers);
 
         // parse the result
@@ -516,9 +1036,227 @@ public class EntityDataServices {
     }
   }
 
+  public SzEntityResponse getEntityByEntityId(
+      long                entityId,
+      boolean             withRaw,
+      boolean             withRelated,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      UriInfo             uriInfo)
+  {
+    return (SzEntityResponse) this.getEntityByEntityId(entityId,
+                                                       withRaw,
+                                                       false,
+                                                       null,
+                                                       withRelated,
+                                                       forceMinimal,
+                                                       featureMode,
+                                                       withFeatureStats,
+                                                       withDerivedFeatures,
+                                                       uriInfo);
+  }
+
+  @GET
+  @Path("entities/batch")
+  @ConditionalRead
+  public SzBatchEntitiesResponse getEntities(
+      @QueryParam("e")                                            List<String>        entitiesParam,
+      @QueryParam("entities")                                     String              entityList,
+      @DefaultValue("false") @QueryParam("withRelated")           boolean             withRelated,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
+      @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
+      @Context                                                    UriInfo             uriInfo)
+  {
+    Timers timers = newTimers();
+
+    // parse the identifiers preserving order and duplicates
+    List<SzEntityIdentifier> identifiers = new ArrayList<>();
+    if (entitiesParam != null) {
+      for (String param : entitiesParam) {
+        try {
+          identifiers.add(SzEntityIdentifier.valueOf(param));
+
+        } catch (Exception e) {
+          throw newBadRequestException(
+              GET, uriInfo, timers,
+              "Improperly formatted entity identifier parameter: e=" + param);
+        }
+      }
+    }
+    if (entityList != null && entityList.trim().length() > 0) {
+      try {
+        identifiers.addAll(
+            SzEntityIdentifiers.valueOf(entityList).getIdentifiers());
+
+      } catch (Exception e) {
+        throw newBadRequestException(
+            GET, uriInfo, timers,
+            "Improperly formatted entity identifiers parameter: entities="
+                + entityList);
+      }
+    }
+
+    return this.getEntitiesBatch(GET,
+                                 identifiers,
+                                 withRelated,
+                                 forceMinimal,
+                                 featureMode,
+                                 withFeatureStats,
+                                 withDerivedFeatures,
+                                 uriInfo,
+                                 timers);
+  }
+
+  @POST
+  @Path("entities/batch")
+  public SzBatchEntitiesResponse getEntities(
+      @DefaultValue("false") @QueryParam("withRelated")           boolean             withRelated,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
+      @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
+      @Context                                                    UriInfo             uriInfo,
+      String                                                                          identifiersText)
+  {
+    Timers timers = newTimers();
+
+    List<SzEntityIdentifier> identifiers;
+    try {
+      identifiers = (identifiersText == null
+                     || identifiersText.trim().length() == 0)
+          ? Collections.emptyList()
+          : SzEntityIdentifiers.valueOf(identifiersText).getIdentifiers();
+
+    } catch (Exception e) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "Improperly formatted entity identifiers in request body: "
+              + identifiersText);
+    }
+
+    return this.getEntitiesBatch(POST,
+                                 identifiers,
+                                 withRelated,
+                                 forceMinimal,
+                                 featureMode,
+                                 withFeatureStats,
+                                 withDerivedFeatures,
+                                 uriInfo,
+                                 timers);
+  }
+
+  /**
+   * Retrieves the entities identified by the specified {@link List} of
+   * {@link SzEntityIdentifier} instances concurrently and returns the
+   * results in the same order.  Failures for individual entities are
+   * reported in the corresponding {@link SzBatchEntityResult} rather than
+   * failing the entire request.
+   */
+  private SzBatchEntitiesResponse getEntitiesBatch(
+      SzHttpMethod              httpMethod,
+      List<SzEntityIdentifier>  identifiers,
+      boolean                   withRelated,
+      boolean                   forceMinimal,
+      SzFeatureInclusion        featureMode,
+      boolean                   withFeatureStats,
+      boolean                   withDerivedFeatures,
+      UriInfo                   uriInfo,
+      Timers                    timers)
+  {
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    checkBatchSize(provider, identifiers.size(), httpMethod, uriInfo, timers);
+
+    try {
+      List<AsyncWorkerPool.Task<SzBatchEntityResult>> tasks
+          = new ArrayList<>(identifiers.size());
+
+      for (SzEntityIdentifier identifier : identifiers) {
+        tasks.add(() -> {
+          SzBatchEntityResult result = new SzBatchEntityResult(identifier);
+          try {
+            SzEntityResponse response;
+            if (identifier instanceof SzRecordId) {
+              SzRecordId recordId = (SzRecordId) identifier;
+              response = this.getEntityByRecordId(
+                  recordId.getDataSourceCode(),
+                  recordId.getRecordId(),
+                  false,
+                  withRelated,
+                  forceMinimal,
+                  featureMode,
+                  withFeatureStats,
+                  withDerivedFeatures,
+                  uriInfo);
+
+            } else {
+              response = this.getEntityByEntityId(
+                  ((SzEntityId) identifier).getValue(),
+                  false,
+                  withRelated,
+                  forceMinimal,
+                  featureMode,
+                  withFeatureStats,
+                  withDerivedFeatures,
+                  uriInfo);
+            }
+            result.setHttpStatusCode(200);
+            result.setEntity(response.getData());
+
+          } catch (WebApplicationException e) {
+            result.setHttpStatusCode(e.getResponse().getStatus());
+            result.setErrors(getErrors(e));
+          }
+          return result;
+        });
+      }
+
+      List<BatchExecutor.BatchResult<SzBatchEntityResult>> batchResults
+          = BatchExecutor.executeAll(
+              provider.getConcurrency(), tasks);
+
+      SzBatchEntitiesResponse response
+          = new SzBatchEntitiesResponse(httpMethod, 200, uriInfo, timers);
+
+      for (int index = 0; index < batchResults.size(); index++) {
+        BatchExecutor.BatchResult<SzBatchEntityResult> batchResult
+            = batchResults.get(index);
+
+        SzBatchEntityResult result = batchResult.getValue();
+        if (batchResult.getFailure() != null) {
+          result = new SzBatchEntityResult(identifiers.get(index));
+          result.setHttpStatusCode(500);
+          result.setErrors(Collections.singletonList(
+              new SzError(batchResult.getFailure())));
+        }
+        response.addResult(result);
+      }
+
+      // return the response
+      return response;
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw ServicesUtil.newInternalServerErrorException(
+          httpMethod, uriInfo, timers, e);
+    }
+  }
+
   @GET
   @Path("entities")
-  public SzAttributeSearchResponse searchByAttributes(
+  @FieldProjected
+  public SzBasicResponse searchByAttributes(
       @QueryParam("attrs")                                        String              attrs,
       @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
       @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
@@ -526,55 +1264,22 @@ public class EntityDataServices {
       @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
       @DefaultValue("true") @QueryParam("withRelationships")      boolean             withRelationships,
       @DefaultValue("false") @QueryParam("withRaw")               boolean             withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly")               boolean             rawOnly,
+      @QueryParam("fields")                                       List<String>        fields,
       @Context                                                    UriInfo             uriInfo)
   {
     Timers timers = newTimers();
     try {
       SzApiProvider provider = SzApiProvider.Factory.getProvider();
 
-      boolean[] logAttrs = { false };
-      // check if no attributes
-      if (attrs == null || attrs.trim().length() == 0) {
-        // look for the "attr_" parameters
-        MultivaluedMap<String,String> params= uriInfo.getQueryParameters(true);
-        JsonObjectBuilder objBuilder = Json.createObjectBuilder();
-        params.entrySet().forEach(e -> {
-          String key = e.getKey().trim();
-          if (!key.toLowerCase().startsWith("attr_")
-              || key.length() <= ("attr_").length())
-          {
-            // skip this key since it is not of the expected format
-            return;
-          }
-          String        jsonProp    = key.substring("attr_".length());
-          List<String>  values      = e.getValue();
-          String        firstValue  = values.get(0);
-          if (values.size() == 1) {
-            JsonUtils.add(objBuilder, jsonProp, firstValue);
-          } else if (values.size() > 1) {
-            logAttrs[0] = true;
-            JsonArrayBuilder jab = Json.createArrayBuilder();
-            for (String value : values) {
-              JsonObjectBuilder job = Json.createObjectBuilder();
-              JsonUtils.add(job, jsonProp, value);
-              jab.add(job);
-            }
-            objBuilder.add(jsonProp, jab);
-          }
-        });
-        JsonObject jsonObject = null;
-        try {
-          jsonObject = objBuilder.build();
-        } catch (Exception ignore) {
-          // do nothing
-        }
-        if (jsonObject == null || jsonObject.size() == 0) {
-          throw newBadRequestException(
-              GET, uriInfo, timers,
-              "Parameter missing or empty: \"attrs\".  "
-              + "Search criteria attributes are required.");
-        }
-        attrs = JsonUtils.toJsonText(jsonObject);
+      attrs = resolveSearchAttributes(attrs, uriInfo, timers);
+
+      // avoid retrieving what will not be returned unless raw data is needed
+      FieldProjection projection
+          = parseFieldProjection(fields, GET, uriInfo, timers);
+      if (projection != null && !withRaw && !rawOnly) {
+        featureMode       = projection.getFeatureMode(featureMode);
+        withRelationships = withRelationships && projection.isRelatedIncluded();
       }
 
       StringBuffer sb = new StringBuffer();
@@ -585,22 +1290,12 @@ public class EntityDataServices {
                            withDerivedFeatures,
                            withRelationships);
 
-      final String json = attrs;
-      enteringQueue(timers);
-      provider.executeInThread(() -> {
-        exitingQueue(timers);
-
-        // get the engine API
-        G2Engine engineApi = provider.getEngineApi();
+      executeSearch(attrs, flags, sb, provider, uriInfo, timers);
 
-        callingNativeAPI(timers, "engine", "searchBy AttributesV2");
-        int result = engineApi.searchByAttributesV2(json, flags, sb);
-        calledNativeAPI(timers, "engine", "searchByAttributesV2");
-        if (result != 0) {
-          throw newInternalServerErrorException(GET, uriInfo, timers, engineApi);
-        }
-        return sb.toString();
-      });
+      // check if only the raw data is requested
+      if (rawOnly) {
+        return new SzRawDataResponse(GET, 200, uriInfo, timers, sb.toString());
+      }
 
       processingRawData(timers);
 
@@ -647,6 +1342,340 @@ public class EntityDataServices {
     }
   }
 
+  public SzAttributeSearchResponse searchByAttributes(
+      String              attrs,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      boolean             withRelationships,
+      boolean             withRaw,
+      UriInfo             uriInfo)
+  {
+    return (SzAttributeSearchResponse) this.searchByAttributes(attrs,
+                                                               forceMinimal,
+                                                               featureMode,
+                                                               withFeatureStats,
+                                                               withDerivedFeatures,
+                                                               withRelationships,
+                                                               withRaw,
+                                                               false,
+                                                               null,
+                                                               uriInfo);
+  }
+
+  @GET
+  @Path("entities")
+  @Produces({"application/x-ndjson; qs=0.4", "application/cbor-seq; qs=0.4"})
+  public Response streamSearchByAttributes(
+      @QueryParam("attrs")                                        String              attrs,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
+      @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
+      @DefaultValue("true") @QueryParam("withRelationships")      boolean             withRelationships,
+      @Context                                                    UriInfo             uriInfo)
+  {
+    Timers timers = newTimers();
+    try {
+      SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+      attrs = resolveSearchAttributes(attrs, uriInfo, timers);
+
+      StringBuffer sb = new StringBuffer();
+
+      int flags = getFlags(forceMinimal,
+                           featureMode,
+                           withFeatureStats,
+                           withDerivedFeatures,
+                           withRelationships);
+
+      executeSearch(attrs, flags, sb, provider, uriInfo, timers);
+
+      // stream the results as they are parsed
+      StreamingSearchResultOutput output = new StreamingSearchResultOutput(
+          uriInfo,
+          timers,
+          sb.toString(),
+          forceMinimal,
+          featureMode,
+          withRelationships,
+          provider);
+
+      return Response.ok(output).build();
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw asJsonError(e);
+
+    } catch (WebApplicationException e) {
+      throw asJsonError(e);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw asJsonError(ServicesUtil.newInternalServerErrorException(
+          GET, uriInfo, timers, e));
+    }
+  }
+
+  /**
+   * Converts the specified {@link WebApplicationException} to one whose
+   * error response is explicitly typed as JSON.  This is used by endpoints
+   * that produce media types for which the error response has no writer.
+   *
+   * @param e The {@link WebApplicationException} to convert.
+   *
+   * @return The {@link WebApplicationException} with the JSON-typed response.
+   */
+  private static WebApplicationException asJsonError(
+      WebApplicationException e)
+  {
+    Response response = e.getResponse();
+    if (!response.hasEntity()) return e;
+    return new WebApplicationException(
+        e.getCause(),
+        Response.fromResponse(response)
+            .type("application/json; charset=UTF-8").build());
+  }
+
+  /**
+   * Resolves the search attributes for an attribute search.  If the specified
+   * attributes are missing or empty then the search attributes are built from
+   * the <tt>"attr_"</tt> query parameters.
+   *
+   * @param attrs The JSON text for the search attributes, or <tt>null</tt> if
+   *              the <tt>"attr_"</tt> query parameters should be used.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} for the request.
+   *
+   * @return The JSON text for the search attributes.
+   *
+   * @throws BadRequestException If no search attributes were specified.
+   */
+  private static String resolveSearchAttributes(String  attrs,
+                                                UriInfo uriInfo,
+                                                Timers  timers)
+  {
+    boolean[] logAttrs = { false };
+    // check if no attributes
+    if (attrs == null || attrs.trim().length() == 0) {
+      // look for the "attr_" parameters
+      MultivaluedMap<String,String> params= uriInfo.getQueryParameters(true);
+      JsonObjectBuilder objBuilder = Json.createObjectBuilder();
+      params.entrySet().forEach(e -> {
+        String key = e.getKey().trim();
+        if (!key.toLowerCase().startsWith("attr_")
+            || key.length() <= ("attr_").length())
+        {
+          // skip this key since it is not of the expected format
+          return;
+        }
+        String        jsonProp    = key.substring("attr_".length());
+        List<String>  values      = e.getValue();
+        String        firstValue  = values.get(0);
+        if (values.size() == 1) {
+          JsonUtils.add(objBuilder, jsonProp, firstValue);
+        } else if (values.size() > 1) {
+          logAttrs[0] = true;
+          JsonArrayBuilder jab = Json.createArrayBuilder();
+          for (String value : values) {
+            JsonObjectBuilder job = Json.createObjectBuilder();
+            JsonUtils.add(job, jsonProp, value);
+            jab.add(job);
+          }
+          objBuilder.add(jsonProp, jab);
+        }
+      });
+      JsonObject jsonObject = null;
+      try {
+        jsonObject = objBuilder.build();
+      } catch (Exception ignore) {
+        // do nothing
+      }
+      if (jsonObject == null || jsonObject.size() == 0) {
+        throw newBadRequestException(
+            GET, uriInfo, timers,
+            "Parameter missing or empty: \"attrs\".  "
+            + "Search criteria attributes are required.");
+      }
+      attrs = JsonUtils.toJsonText(jsonObject);
+    }
+    return attrs;
+  }
+
+  /**
+   * Streams the entity report for the entire repository as newline-delimited
+   * JSON (one entity per line) or as CSV.  The report is written as it is
+   * fetched from the engine using chunked transfer so the memory used does
+   * not grow with the size of the repository.  The report is compressed with
+   * gzip if the <tt>compress</tt> parameter is <tt>true</tt> (the default)
+   * and the <tt>Accept-Encoding</tt> header accepts gzip.  The produced media
+   * types are those of the {@link SzExportFormat} values and the response
+   * uses the one for the requested format.  The export is opened by the
+   * {@link EntityReportStreamer} when the response body is written.
+   */
+  @GET
+  @Path("entities/export")
+  @Produces({"application/x-ndjson; charset=UTF-8",
+             "text/csv; charset=UTF-8"})
+  public Response exportEntities(
+      @DefaultValue("JSON") @QueryParam("format")                 SzExportFormat      format,
+      @QueryParam("csvColumns")                                   String              csvColumns,
+      @DefaultValue("true") @QueryParam("compress")               boolean             compress,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
+      @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
+      @DefaultValue("true") @QueryParam("withRelationships")      boolean             withRelationships,
+      @Context                                                    HttpHeaders         headers,
+      @Context                                                    UriInfo             uriInfo)
+  {
+    Timers timers = newTimers();
+
+    try {
+      SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+      if (csvColumns != null && format != SzExportFormat.CSV) {
+        throw newBadRequestException(
+            GET, uriInfo, timers,
+            "The csvColumns parameter is only supported for CSV format.");
+      }
+      String columns = normalizeString(csvColumns);
+
+      int flags = getFlags(forceMinimal,
+                           featureMode,
+                           withFeatureStats,
+                           withDerivedFeatures,
+                           withRelationships)
+                | G2_EXPORT_INCLUDE_ALL_ENTITIES;
+
+      boolean gzip = compress && isGzipAccepted(headers);
+
+      Response.ResponseBuilder builder = Response.ok(
+          new EntityReportStreamer(provider, format, columns, flags, gzip),
+          format.getMediaType() + "; charset=UTF-8");
+      if (gzip) {
+        builder.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+      }
+      builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      return builder.build();
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw asJsonError(e);
+
+    } catch (WebApplicationException e) {
+      throw asJsonError(e);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw asJsonError(newInternalServerErrorException(
+          GET, uriInfo, timers, e));
+    }
+  }
+
+  /**
+   * Streams the changes published to the {@link EntityChangeFeed} as
+   * server-sent events.  Each {@link #CHANGE_EVENT} carries an {@link
+   * SzEntityChange} whose sequence number is used as the event ID, so a
+   * client that reconnects with the <tt>Last-Event-ID</tt> header (or the
+   * <tt>after</tt> parameter) resumes where it left off.  If the changes
+   * after that sequence number are no longer retained, either because the
+   * client fell too far behind or was disconnected for too long, then a
+   * {@link #RESET_EVENT} with the current sequence number is sent and the
+   * stream is closed so the client can rescan before resuming.  This
+   * returns immediately and the events are sent by the {@link
+   * EntityChangeStreamer} so that no request thread is held per subscriber.
+   */
+  @GET
+  @Path("entity-changes")
+  @Produces("text/event-stream")
+  public void streamEntityChanges(
+      @QueryParam("after")          Long          after,
+      @HeaderParam("Last-Event-ID") String        lastEventId,
+      @Context                      UriInfo       uriInfo,
+      @Context                      SseEventSink  sseEventSink,
+      @Context                      Sse           sse)
+  {
+    Timers timers = newTimers();
+    OutboundSseEvent.Builder eventBuilder = sse.newEventBuilder();
+
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+    EntityChangeFeed changeFeed = provider.getChangeFeed();
+    if (changeFeed == null) {
+      SzErrorResponse errorResponse = new SzErrorResponse(
+          GET, 403, uriInfo, timers,
+          "The entity change feed is not enabled for this server.");
+      sseEventSink.send(eventBuilder.name(FAILED_EVENT)
+                            .mediaType(APPLICATION_JSON_TYPE)
+                            .data(errorResponse)
+                            .build());
+      sseEventSink.close();
+      return;
+    }
+
+    // determine where to resume from
+    long sequence = changeFeed.getLastSequence();
+    if (after != null) {
+      sequence = after;
+    } else if (lastEventId != null) {
+      try {
+        sequence = Long.parseLong(lastEventId.trim());
+      } catch (NumberFormatException ignore) {
+        // start with the next change
+      }
+    }
+
+    EntityChangeStreamer.getInstance(changeFeed).subscribe(
+        sseEventSink, sse, sequence);
+  }
+
+  /**
+   * Performs the attribute search for the specified search attributes and
+   * flags, appending the raw engine output to the specified {@link
+   * StringBuffer}.
+   *
+   * @param json The JSON text for the search attributes.
+   *
+   * @param flags The engine flags for the search.
+   *
+   * @param sb The {@link StringBuffer} for the raw engine output.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} for the request.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  private static void executeSearch(String        json,
+                                    int           flags,
+                                    StringBuffer  sb,
+                                    SzApiProvider provider,
+                                    UriInfo       uriInfo,
+                                    Timers        timers)
+    throws Exception
+  {
+    enteringQueue(timers);
+    provider.executeInThread(() -> {
+      exitingQueue(timers);
+
+      // get the engine API
+      G2Engine engineApi = provider.getEngineApi();
+
+      callingNativeAPI(timers, "engine", "searchBy AttributesV2");
+      int result = engineApi.searchByAttributesV2(json, flags, sb);
+      calledNativeAPI(timers, "engine", "searchByAttributesV2");
+      if (result != 0) {
+        throw newInternalServerErrorException(GET, uriInfo, timers, engineApi);
+      }
+      return sb.toString();
+    });
+  }
+
   private static WebApplicationException newWebApplicationException(
       SzHttpMethod  httpMethod,
       UriInfo       uriInfo,
@@ -880,7 +1909,7 @@ public class EntityDataServices {
    *
    * @param withRelationships Whether or not to include relationships.
    */
-  private static void postProcessSearchResults(
+  static void postProcessSearchResults(
       List<SzAttributeSearchResult>   searchResults,
       boolean                         forceMinimal,
       SzFeatureInclusion              featureMode,
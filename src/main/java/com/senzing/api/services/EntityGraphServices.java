@@ -2,19 +2,21 @@ package com.senzing.api.services;
 
 import com.senzing.api.model.*;
 import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.AsyncWorkerPool;
 import com.senzing.util.JsonUtils;
 import com.senzing.util.Timers;
 
 import javax.json.*;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
-import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.model.SzHttpMethod.*;
 import static com.senzing.api.services.ServicesUtil.*;
 import static com.senzing.g2.engine.G2Engine.*;
 
@@ -22,7 +24,7 @@ import static com.senzing.g2.engine.G2Engine.*;
  * Provides entity graph related API services.
  */
 @Path("/")
-@Produces("application/json; charset=UTF-8")
+@Produces({"application/json; charset=UTF-8", "application/cbor; qs=0.5"})
 public class EntityGraphServices {
   private static final int ENTITY_NOT_FOUND_CODE = 37;
 
@@ -30,7 +32,8 @@ public class EntityGraphServices {
 
   @GET
   @Path("entity-paths")
-  public SzEntityPathResponse getEntityPath(
+  @ConditionalRead
+  public SzBasicResponse getEntityPath(
       @QueryParam("from")                                         String              fromParam,
       @QueryParam("to")                                           String              toParam,
       @DefaultValue("3") @QueryParam("maxDegrees")                int                 maxDegrees,
@@ -43,6 +46,7 @@ public class EntityGraphServices {
       @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
       @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
       @DefaultValue("false") @QueryParam("withRaw")               boolean             withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly")               boolean             rawOnly,
       @Context                                                    UriInfo             uriInfo)
   {
     Timers timers = newTimers();
@@ -267,6 +271,11 @@ public class EntityGraphServices {
         return responseDataBuffer.toString();
       });
 
+      // check if only the raw data is requested
+      if (rawOnly) {
+        return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+      }
+
       processingRawData(timers);
       JsonObject jsonObject = JsonUtils.parseJsonObject(rawData);
       SzEntityPathData entityPathData
@@ -302,9 +311,253 @@ public class EntityGraphServices {
     }
   }
 
+  public SzEntityPathResponse getEntityPath(
+      String              fromParam,
+      String              toParam,
+      int                 maxDegrees,
+      List<String>        avoidParam,
+      String              avoidList,
+      boolean             forbidAvoided,
+      List<String>        sourcesParam,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      boolean             withRaw,
+      UriInfo             uriInfo)
+  {
+    return (SzEntityPathResponse) this.getEntityPath(fromParam,
+                                                     toParam,
+                                                     maxDegrees,
+                                                     avoidParam,
+                                                     avoidList,
+                                                     forbidAvoided,
+                                                     sourcesParam,
+                                                     forceMinimal,
+                                                     featureMode,
+                                                     withFeatureStats,
+                                                     withDerivedFeatures,
+                                                     withRaw,
+                                                     false,
+                                                     uriInfo);
+  }
+
+  @GET
+  @Path("entity-paths/batch")
+  public Response getEntityPaths(
+      @QueryParam("from")                                         String              fromParam,
+      @QueryParam("to")                                           List<String>        toParam,
+      @QueryParam("toEntities")                                   String              toList,
+      @DefaultValue("3") @QueryParam("maxDegrees")                int                 maxDegrees,
+      @QueryParam("x")                                            List<String>        avoidParam,
+      @QueryParam("avoidEntities")                                String              avoidList,
+      @DefaultValue("false") @QueryParam("forbidAvoided")         boolean             forbidAvoided,
+      @QueryParam("s")                                            List<String>        sourcesParam,
+      @DefaultValue("0") @QueryParam("parallelism")               int                 parallelism,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
+      @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
+      @Context                                                    UriInfo             uriInfo)
+  {
+    Timers timers = newTimers();
+
+    if (fromParam == null || fromParam.trim().length() == 0) {
+      throw newBadRequestException(
+          GET, uriInfo, timers,
+          "Parameter missing or empty: \"from\".  "
+              + "The 'from' entity identifier is required.");
+    }
+
+    // pair the "from" entity with each of the "to" entities
+    List<String[]> pairs = new ArrayList<>();
+    if (toParam != null) {
+      for (String to : toParam) {
+        pairs.add(new String[] { fromParam.trim(), to.trim() });
+      }
+    }
+    if (toList != null && toList.trim().length() > 0) {
+      try {
+        for (SzEntityIdentifier to
+            : SzEntityIdentifiers.valueOf(toList).getIdentifiers())
+        {
+          pairs.add(new String[] { fromParam.trim(), to.toString() });
+        }
+      } catch (Exception e) {
+        throw newBadRequestException(
+            GET, uriInfo, timers,
+            "Improperly formatted entity identifiers parameter: toEntities="
+                + toList);
+      }
+    }
+
+    return this.getEntityPathsBatch(GET,
+                                    pairs,
+                                    maxDegrees,
+                                    avoidParam,
+                                    avoidList,
+                                    forbidAvoided,
+                                    sourcesParam,
+                                    parallelism,
+                                    forceMinimal,
+                                    featureMode,
+                                    withFeatureStats,
+                                    withDerivedFeatures,
+                                    uriInfo,
+                                    timers);
+  }
+
+  @POST
+  @Path("entity-paths/batch")
+  public Response getEntityPaths(
+      @DefaultValue("3") @QueryParam("maxDegrees")                int                 maxDegrees,
+      @QueryParam("x")                                            List<String>        avoidParam,
+      @QueryParam("avoidEntities")                                String              avoidList,
+      @DefaultValue("false") @QueryParam("forbidAvoided")         boolean             forbidAvoided,
+      @QueryParam("s")                                            List<String>        sourcesParam,
+      @DefaultValue("0") @QueryParam("parallelism")               int                 parallelism,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
+      @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
+      @Context                                                    UriInfo             uriInfo,
+      String                                                                          pairsText)
+  {
+    Timers timers = newTimers();
+
+    // parse the explicit pairs
+    List<String[]> pairs = new ArrayList<>();
+    try {
+      if (pairsText != null && pairsText.trim().length() > 0) {
+        JsonArray jsonArray = JsonUtils.parseJsonArray(pairsText);
+        for (JsonObject jsonObject : jsonArray.getValuesAs(JsonObject.class)) {
+          pairs.add(new String[] {
+              toIdentifierText(jsonObject.get("from")),
+              toIdentifierText(jsonObject.get("to"))
+          });
+        }
+      }
+    } catch (Exception e) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "Improperly formatted entity pairs in request body.  Expected a "
+              + "JSON array of objects with from and to properties: "
+              + pairsText);
+    }
+
+    return this.getEntityPathsBatch(POST,
+                                    pairs,
+                                    maxDegrees,
+                                    avoidParam,
+                                    avoidList,
+                                    forbidAvoided,
+                                    sourcesParam,
+                                    parallelism,
+                                    forceMinimal,
+                                    featureMode,
+                                    withFeatureStats,
+                                    withDerivedFeatures,
+                                    uriInfo,
+                                    timers);
+  }
+
+  /**
+   * Finds the entity paths for the specified {@link List} of "from" and "to"
+   * entity identifier pairs concurrently, sharing the degree, avoidance,
+   * source and detail parameters across all pairs.  The results are streamed
+   * in the order they complete and failures for individual pairs are
+   * reported in the corresponding {@link SzBatchEntityPathResult} rather than
+   * failing the entire request.
+   */
+  private Response getEntityPathsBatch(
+      SzHttpMethod        httpMethod,
+      List<String[]>      pairs,
+      int                 maxDegrees,
+      List<String>        avoidParam,
+      String              avoidList,
+      boolean             forbidAvoided,
+      List<String>        sourcesParam,
+      int                 parallelism,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      UriInfo             uriInfo,
+      Timers              timers)
+  {
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    checkBatchSize(provider, pairs.size(), httpMethod, uriInfo, timers);
+
+    if (maxDegrees < 1) {
+      throw newBadRequestException(
+          httpMethod, uriInfo, timers,
+          "Max degrees must be greater than zero: " + maxDegrees);
+    }
+
+    // cap the parallelism at the server concurrency
+    int concurrency = provider.getConcurrency();
+    if (parallelism <= 0 || parallelism > concurrency) {
+      parallelism = concurrency;
+    }
+
+    List<AsyncWorkerPool.Task<SzBatchEntityPathResult>> tasks
+        = new ArrayList<>(pairs.size());
+    for (int index = 0; index < pairs.size(); index++) {
+      String[] pair = pairs.get(index);
+      SzBatchEntityPathResult result
+          = new SzBatchEntityPathResult(index, pair[0], pair[1]);
+      tasks.add(() -> {
+        try {
+          SzEntityPathResponse response = this.getEntityPath(
+              pair[0],
+              pair[1],
+              maxDegrees,
+              avoidParam,
+              avoidList,
+              forbidAvoided,
+              sourcesParam,
+              forceMinimal,
+              featureMode,
+              withFeatureStats,
+              withDerivedFeatures,
+              false,
+              uriInfo);
+          result.setHttpStatusCode(200);
+          result.setEntityPath(response.getData());
+
+        } catch (WebApplicationException e) {
+          result.setHttpStatusCode(e.getResponse().getStatus());
+          result.setErrors(getErrors(e));
+        }
+        return result;
+      });
+    }
+
+    final int taskParallelism = parallelism;
+    StreamingArrayOutput output = new StreamingArrayOutput(
+        httpMethod, uriInfo, timers, (sink) -> BatchExecutor.executeAll(
+            taskParallelism, false, tasks,
+            (batchResult) -> {
+              SzBatchEntityPathResult result = batchResult.getValue();
+              if (batchResult.getFailure() != null) {
+                String[] pair = pairs.get(batchResult.getIndex());
+                result = new SzBatchEntityPathResult(
+                    batchResult.getIndex(), pair[0], pair[1]);
+                result.setHttpStatusCode(500);
+                result.setErrors(Collections.singletonList(
+                    new SzError(batchResult.getFailure())));
+              }
+              sink.add(result);
+            }));
+
+    return Response.ok(output).build();
+  }
+
   @GET
   @Path("entity-networks")
-  public SzEntityNetworkResponse getEntityNetwork(
+  @ConditionalRead
+  public Response streamEntityNetwork(
       @QueryParam("e")        List<String>  entitiesParam,
       @QueryParam("entities") String        entityList,
       @DefaultValue("5")      @QueryParam("maxDegrees")           int                 maxDegrees,
@@ -315,11 +568,125 @@ public class EntityGraphServices {
       @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
       @DefaultValue("false") @QueryParam("withDerivedFeatures")   boolean             withDerivedFeatures,
       @DefaultValue("false")  @QueryParam("withRaw")              boolean             withRaw,
+      @DefaultValue("false")  @QueryParam("rawOnly")              boolean             rawOnly,
       @Context                                                    UriInfo             uriInfo)
   {
     Timers timers = newTimers();
     SzApiProvider provider = SzApiProvider.Factory.getProvider();
 
+    String rawData = this.findEntityNetwork(entitiesParam,
+                                            entityList,
+                                            maxDegrees,
+                                            buildOut,
+                                            maxEntities,
+                                            forceMinimal,
+                                            featureMode,
+                                            withFeatureStats,
+                                            withDerivedFeatures,
+                                            uriInfo,
+                                            timers,
+                                            provider);
+
+    // check if only the raw data is requested
+    if (rawOnly) {
+      return Response.ok(
+          new SzRawDataResponse(GET, 200, uriInfo, timers, rawData)).build();
+    }
+
+    // stream the response so the network is never fully materialized
+    return Response.ok(new StreamingEntityNetworkOutput(uriInfo,
+                                                        timers,
+                                                        rawData,
+                                                        withRaw,
+                                                        forceMinimal,
+                                                        featureMode,
+                                                        provider)).build();
+  }
+
+  public SzEntityNetworkResponse getEntityNetwork(
+      List<String>        entitiesParam,
+      String              entityList,
+      int                 maxDegrees,
+      int                 buildOut,
+      int                 maxEntities,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      boolean             withRaw,
+      UriInfo             uriInfo)
+  {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    String rawData = this.findEntityNetwork(entitiesParam,
+                                            entityList,
+                                            maxDegrees,
+                                            buildOut,
+                                            maxEntities,
+                                            forceMinimal,
+                                            featureMode,
+                                            withFeatureStats,
+                                            withDerivedFeatures,
+                                            uriInfo,
+                                            timers,
+                                            provider);
+    try {
+      processingRawData(timers);
+
+      JsonObject jsonObject = JsonUtils.parseJsonObject(rawData);
+
+      SzEntityNetworkData entityNetworkData
+          = SzEntityNetworkData.parseEntityNetworkData(
+              jsonObject,
+              provider::getAttributeClassForFeature);
+
+      entityNetworkData.getEntities().forEach(e -> {
+        postProcessEntityData(e, forceMinimal, featureMode);
+      });
+
+      processedRawData(timers);
+
+      // construct the response
+      SzEntityNetworkResponse response
+          = new SzEntityNetworkResponse(GET,
+                                        200,
+                                        uriInfo,
+                                        timers,
+                                        entityNetworkData);
+
+      // if including raw data then add it
+      if (withRaw) response.setRawData(rawData);
+
+      // return the response
+      return response;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      throw ServicesUtil.newInternalServerErrorException(GET, uriInfo, timers, e);
+    }
+  }
+
+  /**
+   * Validates the entity network parameters and finds the entity network
+   * via the native API, returning the raw data from the engine.
+   */
+  private String findEntityNetwork(
+      List<String>        entitiesParam,
+      String              entityList,
+      int                 maxDegrees,
+      int                 buildOut,
+      int                 maxEntities,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      UriInfo             uriInfo,
+      Timers              timers,
+      SzApiProvider       provider)
+  {
     Set<SzEntityIdentifier> entities;
     // check for consistent entity IDs
     try {
@@ -386,7 +753,7 @@ public class EntityGraphServices {
                                true);
     try {
       enteringQueue(timers);
-      String rawData = provider.executeInThread(() -> {
+      return provider.executeInThread(() -> {
         exitingQueue(timers);
 
         // get the engine API and the config API
@@ -423,39 +790,9 @@ public class EntityGraphServices {
           throw newWebApplicationException(GET, uriInfo, timers, engineApi);
         }
 
-        // parse the raw data
         return sb.toString();
       });
 
-      processingRawData(timers);
-
-      JsonObject jsonObject = JsonUtils.parseJsonObject(rawData);
-
-      SzEntityNetworkData entityNetworkData
-          = SzEntityNetworkData.parseEntityNetworkData(
-              jsonObject,
-              provider::getAttributeClassForFeature);
-
-      entityNetworkData.getEntities().forEach(e -> {
-        postProcessEntityData(e, forceMinimal, featureMode);
-      });
-
-      processedRawData(timers);
-
-      // construct the response
-      SzEntityNetworkResponse response
-          = new SzEntityNetworkResponse(GET,
-                                        200,
-                                        uriInfo,
-                                        timers,
-                                        entityNetworkData);
-
-      // if including raw data then add it
-      if (withRaw) response.setRawData(rawData);
-
-      // return the response
-      return response;
-
     } catch (WebApplicationException e) {
       throw e;
 
@@ -464,6 +801,26 @@ public class EntityGraphServices {
     }
   }
 
+  /**
+   * Converts the specified {@link JsonValue} describing an entity identifier
+   * to text that can be parsed by {@link SzEntityIdentifier#valueOf(String)}.
+   *
+   * @param jsonValue The {@link JsonValue} to convert.
+   *
+   * @return The entity identifier text.
+   */
+  private static String toIdentifierText(JsonValue jsonValue) {
+    if (jsonValue == null
+        || jsonValue.getValueType() == JsonValue.ValueType.NULL)
+    {
+      throw new IllegalArgumentException("Missing entity identifier.");
+    }
+    if (jsonValue.getValueType() == JsonValue.ValueType.STRING) {
+      return ((JsonString) jsonValue).getString().trim();
+    }
+    return JsonUtils.toJsonText(jsonValue);
+  }
+
   /**
    * Checks if the entity ID's in the specified list are of a consistent type.
    *
@@ -0,0 +1,187 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzExportFormat;
+import com.senzing.g2.engine.G2Engine;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.senzing.util.LoggingUtilities.*;
+
+/**
+ * A {@link StreamingOutput} that streams an entity report export from the
+ * Senzing engine to the client.  The rows are fetched in batches of at most
+ * {@link #FETCH_BATCH_SIZE} on the engine worker threads and then written to
+ * the client outside of the worker threads, so a slow client applies
+ * back-pressure to the export without tying up an engine thread and memory
+ * use is bounded by the batch size no matter how many entities are exported.
+ * The export is only opened once streaming begins and is closed when
+ * streaming completes or fails, so no export handle is left open if the
+ * response is never written.
+ */
+class EntityReportStreamer implements StreamingOutput {
+  /**
+   * The maximum number of rows to fetch from the engine in a single task.
+   */
+  static final int FETCH_BATCH_SIZE = 1000;
+
+  /**
+   * The size of the buffer for writing to the client.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The {@link SzApiProvider} whose engine is being exported.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * The {@link SzExportFormat} for the export.
+   */
+  private SzExportFormat format;
+
+  /**
+   * The CSV column list for the export, or <tt>null</tt> for the default
+   * columns.
+   */
+  private String csvColumns;
+
+  /**
+   * The flags for the export.
+   */
+  private int flags;
+
+  /**
+   * Whether or not the output should be compressed with gzip.
+   */
+  private boolean gzip;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param provider The {@link SzApiProvider} whose engine is being exported.
+   *
+   * @param format The {@link SzExportFormat} for the export.
+   *
+   * @param csvColumns The CSV column list for a CSV export, or <tt>null</tt>
+   *                   for the default columns.
+   *
+   * @param flags The flags for the export.
+   *
+   * @param gzip <tt>true</tt> if the output should be compressed with gzip,
+   *             otherwise <tt>false</tt>.
+   */
+  EntityReportStreamer(SzApiProvider  provider,
+                       SzExportFormat format,
+                       String         csvColumns,
+                       int            flags,
+                       boolean        gzip)
+  {
+    this.provider   = provider;
+    this.format     = format;
+    this.csvColumns = csvColumns;
+    this.flags      = flags;
+    this.gzip       = gzip;
+  }
+
+  /**
+   * Opens the export on an engine worker thread.
+   *
+   * @return The handle for the export.
+   *
+   * @throws IOException If the export could not be opened.
+   */
+  private long open() throws IOException {
+    G2Engine engineApi = this.provider.getEngineApi();
+    return this.provider.executeInThread(() -> {
+      long handle;
+      if (this.format == SzExportFormat.JSON) {
+        handle = engineApi.exportJSONEntityReport(this.flags);
+
+      } else if (this.csvColumns == null) {
+        handle = engineApi.exportCSVEntityReport(this.flags);
+
+      } else {
+        handle = engineApi.exportCSVEntityReportV2(this.csvColumns,
+                                                   this.flags);
+      }
+      if (handle < 0L) {
+        throw new IOException(
+            formatError("G2Engine.export" + this.format + "EntityReport()",
+                        engineApi));
+      }
+      return handle;
+    });
+  }
+
+  /**
+   * Closes the specified export handle on an engine worker thread.
+   *
+   * @param exportHandle The handle for the export to close.
+   */
+  private void close(long exportHandle) {
+    G2Engine engineApi = this.provider.getEngineApi();
+    try {
+      this.provider.executeInThread(() -> {
+        engineApi.closeExport(exportHandle);
+        return null;
+      });
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  @Override
+  public void write(OutputStream outputStream) throws IOException {
+    G2Engine engineApi = this.provider.getEngineApi();
+    long exportHandle = this.open();
+    OutputStream os = outputStream;
+    try {
+      if (this.gzip) os = new GZIPOutputStream(os, BUFFER_SIZE, true);
+      Writer writer = new BufferedWriter(
+          new OutputStreamWriter(os, "UTF-8"), BUFFER_SIZE);
+
+      for (boolean done = false; !done; ) {
+        List<String> rows = this.provider.executeInThread(() -> {
+          List<String> batch = new ArrayList<>(FETCH_BATCH_SIZE);
+          engineApi.clearLastException();
+          while (batch.size() < FETCH_BATCH_SIZE) {
+            String row = engineApi.fetchNext(exportHandle);
+            if (row == null) {
+              if (engineApi.getLastExceptionCode() != 0) {
+                throw new IOException(
+                    formatError("G2Engine.fetchNext()", engineApi));
+              }
+              break;
+            }
+            batch.add(row);
+          }
+          return batch;
+        });
+
+        for (String row : rows) {
+          writer.write(row);
+          if (!row.endsWith("\n")) writer.write("\n");
+        }
+        done = (rows.size() < FETCH_BATCH_SIZE);
+
+        // flush each batch so it goes out as a chunk (this blocks while the
+        // client is not reading, which applies the back-pressure)
+        writer.flush();
+      }
+      writer.flush();
+      if (this.gzip) ((GZIPOutputStream) os).finish();
+      outputStream.flush();
+
+    } catch (IOException|RuntimeException e) {
+      e.printStackTrace();
+      throw e;
+
+    } finally {
+      this.close(exportHandle);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.senzing.api.services;
+
+import javax.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Name-binding annotation for endpoints that honor the <tt>"fields"</tt>
+ * query parameter.  The responses for such endpoints are serialized by the
+ * {@link FieldProjectionInterceptor} which omits the entity properties that
+ * were not requested (see {@link FieldProjection}).
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface FieldProjected {
+}
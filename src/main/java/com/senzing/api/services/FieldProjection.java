@@ -0,0 +1,274 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.senzing.api.model.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+import static com.senzing.api.model.SzFeatureInclusion.*;
+
+/**
+ * Describes the set of entity properties requested via the <tt>"fields"</tt>
+ * query parameter (similar to a sparse fieldset).  The projection is used
+ * both to avoid requesting and parsing sub-structures that were not requested
+ * (e.g.: features and related entities) and to omit the unrequested
+ * properties when the response is serialized.  Since the features, records
+ * and related entities of the model are parsed on demand, omitting them at
+ * serialization means they are never parsed at all.
+ * <p>
+ * The projection applies to the resolved entity, the related entities and
+ * the attribute search results.  Field names are the unqualified property
+ * names, so nested paths (e.g.: <tt>"records.recordId"</tt>) are rejected as
+ * unrecognized.  The <tt>"entityId"</tt> property is always included.  The <tt>"timings"</tt> of the response meta data are only
+ * included if <tt>"timings"</tt> is one of the requested fields.
+ */
+class FieldProjection {
+  /**
+   * The filter ID for the Jackson property filter.
+   */
+  private static final String FILTER_ID = "fieldProjection";
+
+  /**
+   * The entity property that is always included.
+   */
+  private static final String ENTITY_ID = "entityId";
+
+  /**
+   * The meta data property that is only included if requested.
+   */
+  private static final String TIMINGS = "timings";
+
+  /**
+   * The entity property for the related entities.
+   */
+  private static final String RELATED_ENTITIES = "relatedEntities";
+
+  /**
+   * The entity properties that are derived from the entity features.
+   */
+  private static final Set<String> FEATURE_FIELDS
+      = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+          "features", "addressData", "attributeData", "identifierData",
+          "nameData", "phoneData", "relationshipData")));
+
+  /**
+   * The recognized field names.
+   */
+  private static final Set<String> KNOWN_FIELDS;
+
+  static {
+    Set<String> set = new LinkedHashSet<>();
+    set.addAll(Arrays.asList(
+        ENTITY_ID, "entityName", "bestName", "recordSummaries", "records",
+        "otherData", "partial", "matchLevel", "fullNameScore", "matchScore",
+        "ambiguous", "matchKey", "resolutionRuleCode", "refScore",
+        "disclosed", "relationType", "resultType", RELATED_ENTITIES,
+        TIMINGS));
+    set.addAll(FEATURE_FIELDS);
+    KNOWN_FIELDS = Collections.unmodifiableSet(set);
+  }
+
+  /**
+   * Mix-in class to associate the property filter with the model classes
+   * without requiring a filter for the default serialization.
+   */
+  @JsonFilter(FILTER_ID)
+  private static abstract class FilterMixIn {
+  }
+
+  /**
+   * The {@link ObjectMapper} for serializing projected responses.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  static {
+    OBJECT_MAPPER.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    OBJECT_MAPPER.addMixIn(SzMeta.class, FilterMixIn.class);
+    OBJECT_MAPPER.addMixIn(SzEntityData.class, FilterMixIn.class);
+    OBJECT_MAPPER.addMixIn(SzResolvedEntity.class, FilterMixIn.class);
+    OBJECT_MAPPER.addMixIn(SzBaseRelatedEntity.class, FilterMixIn.class);
+    OBJECT_MAPPER.addMixIn(SzRelatedEntity.class, FilterMixIn.class);
+    OBJECT_MAPPER.addMixIn(SzAttributeSearchResult.class, FilterMixIn.class);
+  }
+
+  /**
+   * The {@link Set} of requested field names.
+   */
+  private Set<String> fields;
+
+  /**
+   * Constructs with the specified {@link Set} of requested field names.
+   *
+   * @param fields The {@link Set} of requested field names.
+   */
+  private FieldProjection(Set<String> fields) {
+    this.fields = Collections.unmodifiableSet(fields);
+  }
+
+  /**
+   * Parses the values of the <tt>"fields"</tt> query parameter.  Each value
+   * may be a comma-separated list of field names.
+   *
+   * @param params The {@link List} of parameter values, or <tt>null</tt> if
+   *               the parameter was not specified.
+   *
+   * @return The {@link FieldProjection} for the parameter values, or
+   *         <tt>null</tt> if no fields were specified.
+   *
+   * @throws IllegalArgumentException If an unrecognized field name is
+   *                                  specified.
+   */
+  static FieldProjection parse(List<String> params)
+    throws IllegalArgumentException
+  {
+    if (params == null) return null;
+    Set<String> fields = new LinkedHashSet<>();
+    for (String param : params) {
+      if (param == null) continue;
+      for (String token : param.split(",")) {
+        String field = token.trim();
+        if (field.length() == 0) continue;
+        if (!KNOWN_FIELDS.contains(field)) {
+          throw new IllegalArgumentException(
+              "Unrecognized field name: " + field + ".  Supported field names "
+              + "are: " + KNOWN_FIELDS);
+        }
+        fields.add(field);
+      }
+    }
+    return (fields.size() == 0) ? null : new FieldProjection(fields);
+  }
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Set} of requested field names.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of requested field names.
+   */
+  Set<String> getFields() {
+    return this.fields;
+  }
+
+  /**
+   * Checks if any of the properties derived from the entity features were
+   * requested.
+   *
+   * @return <tt>true</tt> if any of the properties derived from the entity
+   *         features were requested, otherwise <tt>false</tt>.
+   */
+  boolean isFeaturesIncluded() {
+    for (String field : FEATURE_FIELDS) {
+      if (this.fields.contains(field)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Checks if the related entities were requested.
+   *
+   * @return <tt>true</tt> if the related entities were requested, otherwise
+   *         <tt>false</tt>.
+   */
+  boolean isRelatedIncluded() {
+    return this.fields.contains(RELATED_ENTITIES);
+  }
+
+  /**
+   * Returns the {@link SzFeatureInclusion} to use in place of the specified
+   * {@link SzFeatureInclusion} given this projection.  This returns {@link
+   * SzFeatureInclusion#NONE} if no feature-derived properties were requested,
+   * otherwise the specified value.
+   *
+   * @param featureMode The requested {@link SzFeatureInclusion}.
+   *
+   * @return The {@link SzFeatureInclusion} to use.
+   */
+  SzFeatureInclusion getFeatureMode(SzFeatureInclusion featureMode) {
+    return this.isFeaturesIncluded() ? featureMode : NONE;
+  }
+
+  /**
+   * Checks if the specified property of the specified object should be
+   * serialized.
+   *
+   * @param pojo The object being serialized.
+   *
+   * @param name The name of the property.
+   *
+   * @return <tt>true</tt> if the property should be serialized, otherwise
+   *         <tt>false</tt>.
+   */
+  private boolean isIncluded(Object pojo, String name) {
+    if (pojo instanceof SzMeta) {
+      return (!TIMINGS.equals(name) || this.fields.contains(TIMINGS));
+    }
+    if (pojo instanceof SzEntityData && !RELATED_ENTITIES.equals(name)) {
+      return true;
+    }
+    return (ENTITY_ID.equals(name) || this.fields.contains(name));
+  }
+
+  /**
+   * Serializes the specified response to the specified {@link OutputStream}
+   * omitting the properties that were not requested.
+   *
+   * @param response The response object to serialize.
+   *
+   * @param outputStream The {@link OutputStream} to write to.
+   *
+   * @param factory The {@link JsonFactory} for creating the generator, or
+   *                <tt>null</tt> if the response should be written as JSON
+   *                text.
+   *
+   * @throws IOException If a failure occurs in writing.
+   */
+  void write(Object       response,
+             OutputStream outputStream,
+             JsonFactory  factory)
+    throws IOException
+  {
+    SimpleBeanPropertyFilter filter = new SimpleBeanPropertyFilter() {
+      @Override
+      public void serializeAsField(Object             pojo,
+                                   JsonGenerator      generator,
+                                   SerializerProvider provider,
+                                   PropertyWriter     writer)
+        throws Exception
+      {
+        if (isIncluded(pojo, writer.getName())) {
+          writer.serializeAsField(pojo, generator, provider);
+        } else if (!generator.canOmitFields()) {
+          writer.serializeAsOmittedField(pojo, generator, provider);
+        }
+      }
+    };
+
+    ObjectWriter objectWriter = OBJECT_MAPPER.writer(
+        new SimpleFilterProvider().addFilter(FILTER_ID, filter));
+
+    if (factory == null) {
+      objectWriter.writeValue(outputStream, response);
+      return;
+    }
+
+    JsonGenerator generator = factory.createGenerator(outputStream);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    objectWriter.writeValue(generator, response);
+  }
+
+  @Override
+  public String toString() {
+    return "FieldProjection{" +
+        "fields=" + fields +
+        '}';
+  }
+}
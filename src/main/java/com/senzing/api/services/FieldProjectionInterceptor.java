@@ -0,0 +1,67 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.senzing.api.model.SzBasicResponse;
+import com.senzing.api.model.SzRawDataResponse;
+
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+
+/**
+ * Serializes the responses of endpoints annotated with {@link FieldProjected}
+ * according to the {@link FieldProjection} described by the
+ * <tt>"fields"</tt> query parameter.  If the parameter is absent or invalid
+ * then the response is serialized normally.
+ */
+@Provider
+@FieldProjected
+public class FieldProjectionInterceptor implements WriterInterceptor {
+  /**
+   * The name of the query parameter describing the projection.
+   */
+  static final String FIELDS_PARAMETER = "fields";
+
+  /**
+   * The {@link UriInfo} for the current request.
+   */
+  @Context
+  private UriInfo uriInfo;
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context)
+    throws IOException
+  {
+    Object entity = context.getEntity();
+    if (!(entity instanceof SzBasicResponse)
+        || (entity instanceof SzRawDataResponse))
+    {
+      context.proceed();
+      return;
+    }
+
+    FieldProjection projection;
+    try {
+      projection = FieldProjection.parse(
+          this.uriInfo.getQueryParameters().get(FIELDS_PARAMETER));
+
+    } catch (IllegalArgumentException e) {
+      // the endpoint reports the invalid parameter
+      projection = null;
+    }
+
+    if (projection == null) {
+      context.proceed();
+      return;
+    }
+
+    // write in the negotiated encoding
+    JsonFactory factory = CborResponseWriter.isCbor(context.getMediaType())
+        ? CborResponseWriter.CBOR_FACTORY : null;
+
+    projection.write(entity, context.getOutputStream(), factory);
+  }
+}
@@ -0,0 +1,211 @@
+package com.senzing.api.services;
+
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.g2.engine.Result;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Samples the repository last-modified time via {@link
+ * G2Engine#getRepositoryLastModifiedTime(Result)} and shares the sampled
+ * value across requests so that the native function is called at most once
+ * per {@linkplain #SAMPLE_PERIOD sample period}.  The request threads never
+ * call the native function themselves: they are served the cached value and
+ * an expired value is refreshed by a background thread through {@link
+ * SzApiProvider#executeInThread(com.senzing.util.WorkerThreadPool.Task)} so
+ * that sampling honors the engine worker pool (including while it is
+ * paused).  Modifications made through this server {@linkplain #invalidate()
+ * invalidate} the sample so that no request is validated against the value
+ * obtained before the modification.
+ */
+class LastModifiedSampler {
+  /**
+   * The singleton instance.
+   */
+  private static final LastModifiedSampler INSTANCE = new LastModifiedSampler();
+
+  /**
+   * The number of milliseconds after which a sampled value is refreshed.
+   */
+  static final long SAMPLE_PERIOD = 1000L;
+
+  /**
+   * The number of milliseconds after which a sampled value is no longer
+   * served while waiting for it to be refreshed.
+   */
+  static final long MAXIMUM_AGE = 5000L;
+
+  /**
+   * The {@link Executor} that refreshes the sampled value.
+   */
+  private final Executor refresher;
+
+  /**
+   * The number of milliseconds after which a sampled value is refreshed.
+   */
+  private final long samplePeriod;
+
+  /**
+   * The number of milliseconds after which a sampled value is no longer
+   * served.
+   */
+  private final long maximumAge;
+
+  /**
+   * The most recently sampled last-modified time, or <tt>null</tt> if no
+   * value has been sampled or the sample was invalidated.
+   */
+  private Long lastModifiedTime = null;
+
+  /**
+   * The {@link System#nanoTime()} at which the last sample was started.
+   */
+  private long sampleNanoTime = 0L;
+
+  /**
+   * Incremented each time the sample is invalidated so that a refresh that
+   * started before the invalidation does not store its result.
+   */
+  private long generation = 0L;
+
+  /**
+   * Whether or not a refresh is in progress.
+   */
+  private boolean refreshing = false;
+
+  /**
+   * Private default constructor.
+   */
+  private LastModifiedSampler() {
+    this(Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "LastModifiedSampler");
+      thread.setDaemon(true);
+      return thread;
+    }), SAMPLE_PERIOD, MAXIMUM_AGE);
+  }
+
+  /**
+   * Constructs with the {@link Executor} that refreshes the sampled value,
+   * the number of milliseconds after which a sampled value is refreshed and
+   * the number of milliseconds after which it is no longer served.
+   *
+   * @param refresher The {@link Executor} that refreshes the sampled value.
+   *
+   * @param samplePeriod The number of milliseconds after which a sampled
+   *                     value is refreshed.
+   *
+   * @param maximumAge The number of milliseconds after which a sampled value
+   *                   is no longer served.
+   */
+  LastModifiedSampler(Executor refresher, long samplePeriod, long maximumAge)
+  {
+    this.refresher    = refresher;
+    this.samplePeriod = samplePeriod;
+    this.maximumAge   = maximumAge;
+  }
+
+  /**
+   * Returns the singleton instance.
+   *
+   * @return The singleton instance.
+   */
+  static LastModifiedSampler getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the sampled repository last-modified time in milliseconds since the
+   * epoch without blocking.  If the sampled value is missing or expired then
+   * a refresh from the specified {@link SzApiProvider} is started in the
+   * background.  An expired value continues to be returned until it is
+   * refreshed unless it is older than the maximum age.
+   *
+   * @param provider The {@link SzApiProvider} to sample from.
+   *
+   * @return The repository last-modified time, or <tt>null</tt> if no
+   *         current value has been sampled.
+   */
+  Long getLastModifiedTime(SzApiProvider provider) {
+    Long result = null;
+    long generation;
+    synchronized (this) {
+      long age = (System.nanoTime() - this.sampleNanoTime) / 1000000L;
+      if (this.lastModifiedTime != null && age < this.maximumAge) {
+        result = this.lastModifiedTime;
+      }
+      if (this.refreshing
+          || (this.lastModifiedTime != null && age < this.samplePeriod))
+      {
+        return result;
+      }
+      this.refreshing = true;
+      generation = this.generation;
+    }
+
+    this.refresher.execute(() -> this.refresh(provider, generation));
+    return result;
+  }
+
+  /**
+   * Invalidates the sampled value so that it is no longer served and the
+   * next call to {@link #getLastModifiedTime(SzApiProvider)} starts a fresh
+   * sample.  This should be called whenever the repository is modified
+   * through this server.
+   */
+  synchronized void invalidate() {
+    this.generation++;
+    this.lastModifiedTime = null;
+  }
+
+  /**
+   * Refreshes the sampled value and stores it unless the sample has been
+   * {@linkplain #invalidate() invalidated} since the refresh was started.
+   *
+   * @param provider The {@link SzApiProvider} to sample from.
+   *
+   * @param generation The generation of the sample when the refresh was
+   *                   started.
+   */
+  private void refresh(SzApiProvider provider, long generation) {
+    long startNanoTime = System.nanoTime();
+    Long value = null;
+    try {
+      value = this.sample(provider);
+    } catch (Exception e) {
+      e.printStackTrace();
+    } finally {
+      synchronized (this) {
+        this.refreshing = false;
+        if (this.generation == generation) {
+          this.lastModifiedTime = value;
+          this.sampleNanoTime   = startNanoTime;
+        }
+      }
+    }
+  }
+
+  /**
+   * Obtains the repository last-modified time from the specified {@link
+   * SzApiProvider} on an engine worker thread.
+   *
+   * @param provider The {@link SzApiProvider} to sample from.
+   *
+   * @return The repository last-modified time, or <tt>null</tt> if it could
+   *         not be obtained.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  Long sample(SzApiProvider provider) throws Exception {
+    return provider.executeInThread(() -> {
+      G2Engine engineApi = provider.getEngineApi();
+      Result<Long> result = new Result<>();
+      int returnCode = engineApi.getRepositoryLastModifiedTime(result);
+      if (returnCode != 0) {
+        engineApi.clearLastException();
+        return null;
+      }
+      return result.getValue();
+    });
+  }
+}
@@ -8,6 +8,7 @@ import com.senzing.util.Timers;
 
 import javax.json.*;
 import javax.ws.rs.*;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -22,6 +23,11 @@ import static com.senzing.g2.engine.G2Engine.*;
  * Utility functions for services.
  */
 public class ServicesUtil {
+  /**
+   * The content encoding for gzip-compressed responses.
+   */
+  static final String GZIP_ENCODING = "gzip";
+
   /**
    * Creates an {@link InternalServerErrorException} and builds a response
    * with an {@link SzErrorResponse} using the specified {@link UriInfo}
@@ -241,6 +247,38 @@ public class ServicesUtil {
     return new BadRequestException(builder.build());
   }
 
+  /**
+   * Parses the values of the <tt>"fields"</tt> query parameter as a {@link
+   * FieldProjection}.
+   *
+   * @param fields The {@link List} of parameter values, or <tt>null</tt> if
+   *               the parameter was not specified.
+   *
+   * @param httpMethod The HTTP method for the request.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} object for the timings that were taken.
+   *
+   * @return The {@link FieldProjection} for the parameter values, or
+   *         <tt>null</tt> if no fields were specified.
+   *
+   * @throws BadRequestException If an unrecognized field name is specified.
+   */
+  static FieldProjection parseFieldProjection(List<String>  fields,
+                                              SzHttpMethod  httpMethod,
+                                              UriInfo       uriInfo,
+                                              Timers        timers)
+    throws BadRequestException
+  {
+    try {
+      return FieldProjection.parse(fields);
+
+    } catch (IllegalArgumentException e) {
+      throw newBadRequestException(httpMethod, uriInfo, timers, e.getMessage());
+    }
+  }
+
   /**
    * Creates an {@link ForbiddenException} and builds a response
    * with an {@link SzErrorResponse} using the specified {@link UriInfo}.
@@ -589,33 +627,31 @@ public class ServicesUtil {
 
   /**
    * Sets the partial flags for the resolved entity and related
-   * entities in the {@link SzEntityData}.
+   * entities in the {@link SzEntityData}.  This does not force the related
+   * entities to be parsed if they have not been parsed yet.
    */
   static void setEntitiesPartial(SzEntityData entityData) {
-    entityData.getResolvedEntity().setPartial(true);
-    entityData.getRelatedEntities().forEach(e -> {
-      e.setPartial(true);
-    });
+    entityData.setPartial(true);
   }
 
   /**
    * Strips out duplicate feature values for each feature in the resolved
-   * and related entities of the specified {@link SzEntityData}.
+   * and related entities of the specified {@link SzEntityData}.  This does
+   * not force the related entities to be parsed if they have not been
+   * parsed yet.
    */
   static void stripDuplicateFeatureValues(SzEntityData entityData) {
     stripDuplicateFeatureValues(entityData.getResolvedEntity());
-    entityData.getRelatedEntities().forEach(e->stripDuplicateFeatureValues(e));
+    entityData.forEachRelated(e -> stripDuplicateFeatureValues(e));
   }
 
   /**
    * Strips out duplicate feature values in the specified {@link
-   * SzResolvedEntity}.
+   * SzResolvedEntity}.  This does not force the features to be parsed if
+   * they have not been parsed yet.
    */
   static void stripDuplicateFeatureValues(SzResolvedEntity entity) {
-    Map<String, List<SzEntityFeature>> featureMap = entity.getFeatures();
-    featureMap.values().forEach(list -> {
-      list.forEach(f -> f.setDuplicateValues(null));
-    });
+    entity.stripDuplicateFeatureValues();
   }
 
 
@@ -687,6 +723,32 @@ public class ServicesUtil {
     }
   }
 
+  /**
+   * Ensures that admin functions are enabled and if not throws a
+   * {@link ForbiddenException}.
+   *
+   * @param provider The {@link SzApiProvider} to check for admin mode.
+   * @param method The {@link HttpMethod} used.
+   * @param uriInfo The {@link UriInfo} for the request path.
+   * @param timers The {@link Timers} being used by the request handler.
+   *
+   * @throws ForbiddenException If the specified {@link SzApiProvider} does
+   *                            not have admin functions enabled.
+   */
+  public static void ensureAdminEnabled(SzApiProvider provider,
+                                        SzHttpMethod  method,
+                                        UriInfo       uriInfo,
+                                        Timers        timers)
+      throws ForbiddenException
+  {
+    if (!provider.isAdminEnabled()) {
+      throw newForbiddenException(
+          method, uriInfo, timers,
+          "Administrative changes are not allowed if Senzing API Server is "
+              + "not started with admin functions enabled.");
+    }
+  }
+
   /**
    * Ensures that changing the configuration is allowed and if not throws a
    * {@link ForbiddenException}.
@@ -729,6 +791,101 @@ public class ServicesUtil {
     }
   }
 
+  /**
+   * Ensures that the number of items requested for a batch endpoint is
+   * at least one and does not exceed the {@linkplain
+   * SzApiProvider#getMaxBatchSize() maximum batch size}, and if not throws
+   * a {@link BadRequestException}.
+   *
+   * @param provider The {@link SzApiProvider} to get the maximum batch size.
+   * @param itemCount The number of items requested.
+   * @param method The {@link HttpMethod} used.
+   * @param uriInfo The {@link UriInfo} for the request path.
+   * @param timers The {@link Timers} being used by the request handler.
+   *
+   * @throws BadRequestException If the number of items is zero or exceeds
+   *                             the maximum batch size.
+   */
+  static void checkBatchSize(SzApiProvider  provider,
+                             int            itemCount,
+                             SzHttpMethod   method,
+                             UriInfo        uriInfo,
+                             Timers         timers)
+      throws BadRequestException
+  {
+    if (itemCount == 0) {
+      throw newBadRequestException(
+          method, uriInfo, timers,
+          "At least one item must be specified for a batch request.");
+    }
+    int maxBatchSize = provider.getMaxBatchSize();
+    if (itemCount > maxBatchSize) {
+      throw newBadRequestException(
+          method, uriInfo, timers,
+          "The number of items in the batch (" + itemCount + ") exceeds the "
+              + "maximum batch size: " + maxBatchSize);
+    }
+  }
+
+  /**
+   * Gets the {@link List} of {@link SzError} instances from the {@link
+   * SzErrorResponse} of the specified {@link WebApplicationException}.  This
+   * is used to report failures for individual items of a batch request.
+   *
+   * @param exception The {@link WebApplicationException} from which to
+   *                  extract the errors.
+   *
+   * @return The {@link List} of {@link SzError} instances.
+   */
+  static List<SzError> getErrors(WebApplicationException exception) {
+    Object entity = exception.getResponse().getEntity();
+    if (entity instanceof SzErrorResponse) {
+      return ((SzErrorResponse) entity).getErrors();
+    }
+    return Collections.singletonList(new SzError(exception.getMessage()));
+  }
+
+  /**
+   * Checks if the <tt>Accept-Encoding</tt> header of the request described
+   * by the specified {@link HttpHeaders} accepts gzip encoding.
+   *
+   * @param headers The {@link HttpHeaders} for the request.
+   *
+   * @return <tt>true</tt> if gzip encoding is accepted, otherwise
+   *         <tt>false</tt>.
+   */
+  static boolean isGzipAccepted(HttpHeaders headers) {
+    if (headers == null) return false;
+    List<String> values
+        = headers.getRequestHeader(HttpHeaders.ACCEPT_ENCODING);
+    if (values == null) return false;
+    for (String value : values) {
+      for (String token : value.split(",")) {
+        String[] parts = token.split(";");
+        if (!GZIP_ENCODING.equalsIgnoreCase(parts[0].trim())) continue;
+
+        // check for an explicit rejection (e.g.: "gzip;q=0")
+        boolean rejected = false;
+        for (int index = 1; index < parts.length; index++) {
+          String param = parts[index].trim().replace(" ", "");
+          if (param.matches("q=0(\\.0*)?")) rejected = true;
+        }
+        return !rejected;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Invalidates the sampled repository last-modified time used to validate
+   * conditional requests.  This should be called when the repository is
+   * modified through this server outside of the request handlers (e.g.: by
+   * background redo processing).
+   */
+  public static void invalidateLastModified() {
+    LastModifiedSampler.getInstance().invalidate();
+  }
+
   /**
    * Formats a test-info string using the URI text and the body content.
    * @param uriText
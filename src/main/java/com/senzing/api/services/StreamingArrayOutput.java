@@ -0,0 +1,176 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.senzing.api.model.SzHttpMethod;
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Provides a {@link StreamingResponseOutput} that writes a response whose
+ * <tt>"data"</tt> property is a JSON array, serializing each element as soon
+ * as it is produced so that the elements need not be held in memory.
+ * <p>
+ * Alternatively, the response can be written as a sequence in which each
+ * element is a top-level value followed by a final object holding the
+ * sections of the response other than <tt>"data"</tt>.  In JSON each value
+ * is written on its own line (<tt>application/x-ndjson</tt>) and in CBOR the
+ * values are concatenated as a CBOR sequence (<tt>application/cbor-seq</tt>).
+ */
+class StreamingArrayOutput extends StreamingResponseOutput {
+  /**
+   * Interface for accepting the elements of the array as they are produced.
+   */
+  interface ElementSink {
+    /**
+     * Serializes the specified element to the array.
+     *
+     * @param element The element to serialize.
+     *
+     * @throws IOException If a failure occurs in writing the element.
+     */
+    void add(Object element) throws IOException;
+  }
+
+  /**
+   * Interface for producing the elements of the array.
+   */
+  interface ElementProducer {
+    /**
+     * Produces the elements of the array by adding them to the specified
+     * {@link ElementSink}.
+     *
+     * @param sink The {@link ElementSink} to add the elements to.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    void produce(ElementSink sink) throws Exception;
+  }
+
+  /**
+   * The line separator for newline-delimited JSON.
+   */
+  private static final char NEWLINE = '\n';
+
+  /**
+   * The {@link ElementProducer} for the elements, or <tt>null</tt> if the
+   * subclass overrides {@link #produce(ElementSink)}.
+   */
+  private ElementProducer producer;
+
+  /**
+   * Whether or not the response is written as a sequence of values rather
+   * than as a single object.
+   */
+  private boolean sequence;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param httpMethod The HTTP method for the request.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} for the request.
+   *
+   * @param producer The {@link ElementProducer} for the elements.
+   */
+  StreamingArrayOutput(SzHttpMethod     httpMethod,
+                       UriInfo          uriInfo,
+                       Timers           timers,
+                       ElementProducer  producer)
+  {
+    super(httpMethod, uriInfo, timers);
+    this.producer = producer;
+    this.sequence = false;
+  }
+
+  /**
+   * Constructs with the specified parameters for a subclass that overrides
+   * {@link #produce(ElementSink)}.
+   *
+   * @param httpMethod The HTTP method for the request.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} for the request.
+   *
+   * @param sequence <tt>true</tt> if the response should be written as a
+   *                 sequence of values, or <tt>false</tt> if it should be
+   *                 written as a single object.
+   */
+  protected StreamingArrayOutput(SzHttpMethod httpMethod,
+                                 UriInfo      uriInfo,
+                                 Timers       timers,
+                                 boolean      sequence)
+  {
+    super(httpMethod, uriInfo, timers);
+    this.producer = null;
+    this.sequence = sequence;
+  }
+
+  /**
+   * Produces the elements by adding them to the specified {@link
+   * ElementSink}.  By default this delegates to the {@link ElementProducer}
+   * specified during construction.
+   *
+   * @param sink The {@link ElementSink} to add the elements to.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  protected void produce(ElementSink sink) throws Exception {
+    this.producer.produce(sink);
+  }
+
+  @Override
+  protected void writeData(JsonGenerator generator) throws Exception {
+    generator.writeStartArray();
+    this.produce(element -> {
+      OBJECT_MAPPER.writeValue(generator, element);
+      generator.flush();
+    });
+    generator.writeEndArray();
+  }
+
+  @Override
+  void write(OutputStream outputStream, JsonFactory factory)
+    throws IOException
+  {
+    if (!this.sequence) {
+      super.write(outputStream, factory);
+      return;
+    }
+
+    JsonGenerator generator = factory.createGenerator(outputStream);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    // only the JSON text format requires a delimiter between the values
+    boolean delimited
+        = JsonFactory.FORMAT_NAME_JSON.equals(factory.getFormatName());
+    if (delimited) generator.setRootValueSeparator(null);
+
+    try {
+      this.produce(element -> {
+        OBJECT_MAPPER.writeValue(generator, element);
+        if (delimited) generator.writeRaw(NEWLINE);
+        generator.flush();
+      });
+
+    } catch (IOException|RuntimeException e) {
+      throw e;
+
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+
+    // append the remaining sections now that the timings are complete
+    generator.writeStartObject();
+    this.writeRemainingSections(generator);
+    generator.writeEndObject();
+    if (delimited) generator.writeRaw(NEWLINE);
+    generator.close();
+  }
+}
@@ -0,0 +1,162 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.senzing.api.model.*;
+import com.senzing.util.Timers;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.stream.JsonParser;
+import javax.ws.rs.core.UriInfo;
+import java.io.StringReader;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static javax.json.stream.JsonParser.Event.*;
+
+/**
+ * Provides a {@link StreamingResponseOutput} for the entity network response
+ * that parses the entity paths and entities from the raw engine output one
+ * at a time and serializes each before parsing the next.  This produces the
+ * same JSON as {@link SzEntityNetworkResponse} without ever materializing the
+ * complete {@link SzEntityNetworkData}.
+ */
+class StreamingEntityNetworkOutput extends StreamingResponseOutput {
+  /**
+   * The raw data from the engine.
+   */
+  private String rawData;
+
+  /**
+   * Whether or not the raw data should be included in the response.
+   */
+  private boolean withRaw;
+
+  /**
+   * Whether or not the entity data should be forced to be minimal.
+   */
+  private boolean forceMinimal;
+
+  /**
+   * The {@link SzFeatureInclusion} describing how features are retrieved.
+   */
+  private SzFeatureInclusion featureMode;
+
+  /**
+   * The {@link SzApiProvider} for mapping features to attribute classes.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} for the request.
+   *
+   * @param rawData The raw data from the engine.
+   *
+   * @param withRaw <tt>true</tt> if the raw data should be included in the
+   *                response, otherwise <tt>false</tt>.
+   *
+   * @param forceMinimal Whether or not the entity data should be forced to
+   *                     be minimal.
+   *
+   * @param featureMode The {@link SzFeatureInclusion} describing how features
+   *                    are retrieved.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   */
+  StreamingEntityNetworkOutput(UriInfo            uriInfo,
+                               Timers             timers,
+                               String             rawData,
+                               boolean            withRaw,
+                               boolean            forceMinimal,
+                               SzFeatureInclusion featureMode,
+                               SzApiProvider      provider)
+  {
+    super(SzHttpMethod.GET, uriInfo, timers);
+    this.rawData      = rawData;
+    this.withRaw      = withRaw;
+    this.forceMinimal = forceMinimal;
+    this.featureMode  = featureMode;
+    this.provider     = provider;
+  }
+
+  @Override
+  protected void writeData(JsonGenerator generator) throws Exception {
+    Timers timers = this.getTimers();
+    processingRawData(timers);
+
+    boolean pathsWritten    = false;
+    boolean entitiesWritten = false;
+
+    generator.writeStartObject();
+    try (JsonParser parser = Json.createParser(new StringReader(this.rawData)))
+    {
+      // advance past the start of the root object
+      parser.next();
+      while (parser.hasNext()) {
+        JsonParser.Event event = parser.next();
+        if (event != KEY_NAME) continue;
+
+        String key = parser.getString();
+        event = parser.next();
+
+        if ("ENTITY_PATHS".equals(key) && event == START_ARRAY) {
+          generator.writeFieldName("entityPaths");
+          generator.writeStartArray();
+          while (parser.next() == START_OBJECT) {
+            JsonObject jsonObject = parser.getObject();
+            OBJECT_MAPPER.writeValue(
+                generator, SzEntityPath.parseEntityPath(jsonObject));
+          }
+          generator.writeEndArray();
+          pathsWritten = true;
+
+        } else if ("ENTITIES".equals(key) && event == START_ARRAY) {
+          generator.writeFieldName("entities");
+          generator.writeStartArray();
+          while (parser.next() == START_OBJECT) {
+            JsonObject jsonObject = parser.getObject();
+            SzEntityData entityData = SzEntityData.parseEntityData(
+                null, jsonObject, this.provider::getAttributeClassForFeature);
+            postProcessEntityData(
+                entityData, this.forceMinimal, this.featureMode);
+            OBJECT_MAPPER.writeValue(generator, entityData);
+          }
+          generator.writeEndArray();
+          entitiesWritten = true;
+
+        } else if (event == START_OBJECT) {
+          parser.skipObject();
+
+        } else if (event == START_ARRAY) {
+          parser.skipArray();
+        }
+      }
+    }
+
+    // write empty arrays for anything that was missing
+    if (!pathsWritten) {
+      generator.writeFieldName("entityPaths");
+      generator.writeStartArray();
+      generator.writeEndArray();
+    }
+    if (!entitiesWritten) {
+      generator.writeFieldName("entities");
+      generator.writeStartArray();
+      generator.writeEndArray();
+    }
+    generator.writeEndObject();
+
+    processedRawData(timers);
+  }
+
+  @Override
+  protected SzBasicResponse newEnvelope() {
+    SzResponseWithRawData envelope = new SzResponseWithRawData(
+        this.getHttpMethod(), 200, this.getUriInfo(), this.getTimers());
+    if (this.withRaw) envelope.setRawData(this.rawData);
+    return envelope;
+  }
+}
@@ -0,0 +1,178 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.senzing.api.model.SzBasicResponse;
+import com.senzing.api.model.SzHttpMethod;
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Base {@link StreamingOutput} for responses whose <tt>"data"</tt> section is
+ * serialized incrementally with a {@link JsonGenerator} rather than being
+ * fully materialized before any bytes are written.  The remaining sections
+ * of the response (e.g.: <tt>"meta"</tt> and <tt>"links"</tt>) are written
+ * after the <tt>"data"</tt> section so that the timings cover the work done
+ * while streaming.
+ */
+abstract class StreamingResponseOutput implements StreamingOutput {
+  /**
+   * The {@link ObjectMapper} to use for serialization.
+   */
+  protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * The HTTP method for the request.
+   */
+  private SzHttpMethod httpMethod;
+
+  /**
+   * The {@link UriInfo} from the request.
+   */
+  private UriInfo uriInfo;
+
+  /**
+   * The {@link Timers} for the request.
+   */
+  private Timers timers;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param httpMethod The HTTP method for the request.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} for the request.
+   */
+  protected StreamingResponseOutput(SzHttpMethod  httpMethod,
+                                    UriInfo       uriInfo,
+                                    Timers        timers)
+  {
+    this.httpMethod = httpMethod;
+    this.uriInfo    = uriInfo;
+    this.timers     = timers;
+  }
+
+  /**
+   * Returns the HTTP method for the request.
+   *
+   * @return The HTTP method for the request.
+   */
+  protected SzHttpMethod getHttpMethod() {
+    return this.httpMethod;
+  }
+
+  /**
+   * Returns the {@link UriInfo} from the request.
+   *
+   * @return The {@link UriInfo} from the request.
+   */
+  protected UriInfo getUriInfo() {
+    return this.uriInfo;
+  }
+
+  /**
+   * Returns the {@link Timers} for the request.
+   *
+   * @return The {@link Timers} for the request.
+   */
+  protected Timers getTimers() {
+    return this.timers;
+  }
+
+  /**
+   * Writes the value of the <tt>"data"</tt> section using the specified
+   * {@link JsonGenerator}.
+   *
+   * @param generator The {@link JsonGenerator} to write with.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  protected abstract void writeData(JsonGenerator generator) throws Exception;
+
+  /**
+   * Creates the response envelope whose sections other than <tt>"data"</tt>
+   * are written after the <tt>"data"</tt> section.  By default this is an
+   * {@link SzBasicResponse} with a 200 status code.
+   *
+   * @return The response envelope.
+   */
+  protected SzBasicResponse newEnvelope() {
+    return new SzBasicResponse(this.httpMethod, 200, this.uriInfo, this.timers);
+  }
+
+  /**
+   * Concludes the timers and writes the fields for the sections of the
+   * {@linkplain #newEnvelope() response envelope} other than <tt>"data"</tt>
+   * using the specified {@link JsonGenerator}.  This is called once the
+   * <tt>"data"</tt> section has been written so the timings cover it.
+   *
+   * @param generator The {@link JsonGenerator} to write with.
+   *
+   * @throws IOException If a failure occurs in writing.
+   */
+  protected void writeRemainingSections(JsonGenerator generator)
+    throws IOException
+  {
+    SzBasicResponse envelope = this.newEnvelope();
+    envelope.concludeTimers();
+    ObjectNode node = OBJECT_MAPPER.valueToTree(envelope);
+    node.remove("data");
+    Iterator<Map.Entry<String, JsonNode>> iter = node.fields();
+    while (iter.hasNext()) {
+      Map.Entry<String, JsonNode> field = iter.next();
+      generator.writeFieldName(field.getKey());
+      OBJECT_MAPPER.writeTree(generator, field.getValue());
+    }
+  }
+
+  @Override
+  public void write(OutputStream outputStream) throws IOException {
+    this.write(outputStream, OBJECT_MAPPER.getFactory());
+  }
+
+  /**
+   * Writes the response to the specified {@link OutputStream} using a
+   * {@link JsonGenerator} created by the specified {@link JsonFactory}.  This
+   * allows the response to be streamed in an encoding other than JSON text.
+   *
+   * @param outputStream The {@link OutputStream} to write to.
+   *
+   * @param factory The {@link JsonFactory} for creating the generator.
+   *
+   * @throws IOException If a failure occurs in writing.
+   */
+  void write(OutputStream outputStream, JsonFactory factory)
+    throws IOException
+  {
+    JsonGenerator generator = factory.createGenerator(outputStream);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    generator.writeStartObject();
+    generator.writeFieldName("data");
+    try {
+      this.writeData(generator);
+
+    } catch (IOException|RuntimeException e) {
+      throw e;
+
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+
+    // append the remaining sections now that the timings are complete
+    this.writeRemainingSections(generator);
+    generator.writeEndObject();
+    generator.close();
+  }
+}
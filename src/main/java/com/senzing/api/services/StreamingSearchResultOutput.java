@@ -0,0 +1,131 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.*;
+import com.senzing.util.Timers;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.stream.JsonParser;
+import javax.ws.rs.core.UriInfo;
+import java.io.StringReader;
+import java.util.Collections;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static javax.json.stream.JsonParser.Event.*;
+
+/**
+ * Provides a {@link StreamingArrayOutput} that writes the attribute search
+ * results as a sequence: newline-delimited JSON
+ * (<tt>application/x-ndjson</tt>) or a CBOR sequence
+ * (<tt>application/cbor-seq</tt>).  Each {@link SzAttributeSearchResult} is
+ * parsed from the raw engine output and written before the next is parsed
+ * so the complete result list is never materialized.  The final value is an
+ * object with the <tt>"meta"</tt> and <tt>"links"</tt> sections of the
+ * response so the timings cover the streaming.
+ */
+class StreamingSearchResultOutput extends StreamingArrayOutput {
+  /**
+   * The raw data from the engine.
+   */
+  private String rawData;
+
+  /**
+   * Whether or not the entity data should be forced to be minimal.
+   */
+  private boolean forceMinimal;
+
+  /**
+   * The {@link SzFeatureInclusion} describing how features are retrieved.
+   */
+  private SzFeatureInclusion featureMode;
+
+  /**
+   * Whether or not the relationships were requested.
+   */
+  private boolean withRelationships;
+
+  /**
+   * The {@link SzApiProvider} for mapping features to attribute classes.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param uriInfo The {@link UriInfo} from the request.
+   *
+   * @param timers The {@link Timers} for the request.
+   *
+   * @param rawData The raw data from the engine.
+   *
+   * @param forceMinimal Whether or not the entity data should be forced to
+   *                     be minimal.
+   *
+   * @param featureMode The {@link SzFeatureInclusion} describing how features
+   *                    are retrieved.
+   *
+   * @param withRelationships Whether or not the relationships were requested.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   */
+  StreamingSearchResultOutput(UriInfo             uriInfo,
+                              Timers              timers,
+                              String              rawData,
+                              boolean             forceMinimal,
+                              SzFeatureInclusion  featureMode,
+                              boolean             withRelationships,
+                              SzApiProvider       provider)
+  {
+    super(SzHttpMethod.GET, uriInfo, timers, true);
+    this.rawData            = rawData;
+    this.forceMinimal       = forceMinimal;
+    this.featureMode        = featureMode;
+    this.withRelationships  = withRelationships;
+    this.provider           = provider;
+  }
+
+  @Override
+  protected void produce(ElementSink sink) throws Exception {
+    processingRawData(this.getTimers());
+
+    try (JsonParser parser = Json.createParser(new StringReader(this.rawData)))
+    {
+      // advance past the start of the root object
+      parser.next();
+      while (parser.hasNext()) {
+        JsonParser.Event event = parser.next();
+        if (event != KEY_NAME) continue;
+
+        String key = parser.getString();
+        event = parser.next();
+
+        if ("RESOLVED_ENTITIES".equals(key) && event == START_ARRAY) {
+          while (parser.next() == START_OBJECT) {
+            JsonObject jsonObject = parser.getObject();
+            SzAttributeSearchResult result
+                = SzAttributeSearchResult.parseSearchResult(
+                    null,
+                    jsonObject,
+                    this.provider::getAttributeClassForFeature);
+
+            EntityDataServices.postProcessSearchResults(
+                Collections.singletonList(result),
+                this.forceMinimal,
+                this.featureMode,
+                this.withRelationships);
+
+            sink.add(result);
+          }
+
+        } else if (event == START_OBJECT) {
+          parser.skipObject();
+
+        } else if (event == START_ARRAY) {
+          parser.skipArray();
+        }
+      }
+    }
+
+    processedRawData(this.getTimers());
+  }
+}
@@ -1,5 +1,8 @@
 package com.senzing.api.services;
 
+import com.senzing.api.model.SzRedoMetrics;
+import com.senzing.api.model.SzReinitMetrics;
+import com.senzing.api.model.SzWorkerPoolStats;
 import com.senzing.g2.engine.G2Config;
 import com.senzing.g2.engine.G2ConfigMgr;
 import com.senzing.g2.engine.G2Engine;
@@ -136,6 +139,99 @@ public interface SzApiProvider {
    */
   int getConcurrency();
 
+  /**
+   * Returns the maximum number of items that may be requested in a single
+   * call to a batch endpoint.
+   *
+   * @return The maximum number of items that may be requested in a single
+   *         call to a batch endpoint.
+   */
+  int getMaxBatchSize();
+
+  /**
+   * Returns the compression level (from one to nine) for compressing HTTP
+   * responses, or zero (0) if responses are not compressed.
+   *
+   * @return The compression level for compressing HTTP responses, or zero
+   *         (0) if responses are not compressed.
+   */
+  int getCompressionLevel();
+
+  /**
+   * Returns the minimum size in bytes of an HTTP response for it to be
+   * compressed.
+   *
+   * @return The minimum size in bytes of an HTTP response for it to be
+   *         compressed.
+   */
+  int getCompressionMinSize();
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link Set} of MIME types for the HTTP
+   * responses that are compressed.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of MIME types for the HTTP
+   *         responses that are compressed.
+   */
+  Set<String> getCompressionMimeTypes();
+
+  /**
+   * Notifies the provider that the default configuration was changed via
+   * this server so that it may reinitialize without waiting to detect the
+   * change on its own.  This should return without waiting for the
+   * reinitialization.
+   */
+  void notifyConfigChanged();
+
+  /**
+   * Returns the {@link SzReinitMetrics} describing the reinitializations
+   * with new configurations and the time that engine calls were stalled by
+   * them.
+   *
+   * @return The {@link SzReinitMetrics} describing the reinitializations.
+   */
+  SzReinitMetrics getReinitMetrics();
+
+  /**
+   * Returns the {@link SzRedoMetrics} describing the background processing
+   * of redo records, or <tt>null</tt> if redo records are not being
+   * processed in the background.
+   *
+   * @return The {@link SzRedoMetrics} describing the background processing
+   *         of redo records, or <tt>null</tt> if not processing redos.
+   */
+  SzRedoMetrics getRedoMetrics();
+
+  /**
+   * Returns the {@link EntityChangeFeed} to which the entities affected by
+   * changes made through the API server are published, or <tt>null</tt> if
+   * the change feed is not enabled.
+   *
+   * @return The {@link EntityChangeFeed} for the API server, or <tt>null</tt>
+   *         if the change feed is not enabled.
+   */
+  EntityChangeFeed getChangeFeed();
+
+  /**
+   * Returns the {@link SzWorkerPoolStats} describing the current state of
+   * the pool of worker threads used for executing tasks.
+   *
+   * @return The {@link SzWorkerPoolStats} describing the worker thread pool.
+   */
+  SzWorkerPoolStats getWorkerPoolStats();
+
+  /**
+   * Changes the number of worker threads used for executing tasks without
+   * restarting.  Shrinking the pool does not interrupt tasks that are in
+   * progress.
+   *
+   * @param concurrency The new number of worker threads.
+   *
+   * @throws IllegalArgumentException If the specified concurrency is not
+   *                                  positive.
+   */
+  void setConcurrency(int concurrency) throws IllegalArgumentException;
+
   /**
    * Executes the specified task with the proper thread for utilizing the
    * various G2 API implementations.
@@ -212,4 +308,14 @@ public interface SzApiProvider {
    *         <tt>false</tt>.
    */
   boolean isAdminEnabled();
+
+  /**
+   * Returns the configuration ID of the active configuration as of the most
+   * recent initialization or reinitialization of the engine.  This does not
+   * call the native API and may lag behind an external configuration change
+   * that has not yet been detected.
+   *
+   * @return The active configuration ID, or <tt>null</tt> if not known.
+   */
+  Long getActiveConfigId();
 }
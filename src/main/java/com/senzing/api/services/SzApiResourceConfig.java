@@ -0,0 +1,38 @@
+package com.senzing.api.services;
+
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+
+/**
+ * The Jersey {@link ResourceConfig} for the Senzing REST API services.  The
+ * resource and provider classes are registered explicitly rather than found
+ * by scanning the class path for the package so that the Jersey application
+ * starts faster.  Any new resource or provider class in this package must be
+ * registered here.
+ */
+public class SzApiResourceConfig extends ResourceConfig {
+  /**
+   * Default constructor.
+   */
+  public SzApiResourceConfig() {
+    // the resource classes
+    this.register(AdminServices.class);
+    this.register(BulkDataServices.class);
+    this.register(ConfigServices.class);
+    this.register(EntityDataServices.class);
+    this.register(EntityGraphServices.class);
+    this.register(WhyServices.class);
+
+    // the provider classes
+    this.register(CborResponseWriter.class);
+    this.register(ConditionalReadFilter.class);
+    this.register(FieldProjectionInterceptor.class);
+
+    // the features
+    this.register(JacksonFeature.class);
+    this.register(MultiPartFeature.class);
+
+    this.property("jersey.api.json.POJOMappingFeature", true);
+  }
+}
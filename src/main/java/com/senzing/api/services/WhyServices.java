@@ -2,6 +2,7 @@ package com.senzing.api.services;
 
 import com.senzing.api.model.*;
 import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.AsyncWorkerPool;
 import com.senzing.util.JsonUtils;
 import com.senzing.util.Timers;
 
@@ -9,6 +10,7 @@ import javax.json.*;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
 import java.util.*;
@@ -22,7 +24,7 @@ import static com.senzing.g2.engine.G2Engine.*;
  * Provides "why" API services.
  */
 @Path("/")
-@Produces("application/json; charset=UTF-8")
+@Produces({"application/json; charset=UTF-8", "application/cbor; qs=0.5"})
 public class WhyServices {
   private static final int DATA_SOURCE_NOT_FOUND_CODE = 27;
 
@@ -32,7 +34,7 @@ public class WhyServices {
 
   @GET
   @Path("data-sources/{dataSourceCode}/records/{recordId}/entity/why")
-  public SzWhyEntityResponse whyEntityByRecordId(
+  public SzBasicResponse whyEntityByRecordId(
       @PathParam("dataSourceCode")                                String              dataSourceCode,
       @PathParam("recordId")                                      String              recordId,
       @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
@@ -41,6 +43,7 @@ public class WhyServices {
       @DefaultValue("true") @QueryParam("withDerivedFeatures")    boolean             withDerivedFeatures,
       @DefaultValue("false") @QueryParam("withRelationships")     boolean             withRelationships,
       @DefaultValue("false") @QueryParam("withRaw")               boolean             withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly")               boolean             rawOnly,
       @Context                                                    UriInfo             uriInfo)
   {
     Timers timers = newTimers();
@@ -83,6 +86,11 @@ public class WhyServices {
         return sb.toString();
       });
 
+      // check if only the raw data is requested
+      if (rawOnly) {
+        return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+      }
+
       return createWhyEntityResponse(rawData,
                                      timers,
                                      uriInfo,
@@ -102,9 +110,32 @@ public class WhyServices {
     }
   }
 
+  public SzWhyEntityResponse whyEntityByRecordId(
+      String              dataSourceCode,
+      String              recordId,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      boolean             withRelationships,
+      boolean             withRaw,
+      UriInfo             uriInfo)
+  {
+    return (SzWhyEntityResponse) this.whyEntityByRecordId(dataSourceCode,
+                                                          recordId,
+                                                          forceMinimal,
+                                                          featureMode,
+                                                          withFeatureStats,
+                                                          withDerivedFeatures,
+                                                          withRelationships,
+                                                          withRaw,
+                                                          false,
+                                                          uriInfo);
+  }
+
   @GET
   @Path("entities/{entityId}/why")
-  public SzWhyEntityResponse whyEntityByEntityId(
+  public SzBasicResponse whyEntityByEntityId(
       @PathParam("entityId")                                      long                entityId,
       @DefaultValue("false") @QueryParam("withRelationships")     boolean             withRelationships,
       @DefaultValue("true") @QueryParam("withFeatureStats")       boolean             withFeatureStats,
@@ -112,6 +143,7 @@ public class WhyServices {
       @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
       @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
       @DefaultValue("false") @QueryParam("withRaw")               boolean             withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly")               boolean             rawOnly,
       @Context                                                    UriInfo             uriInfo)
   {
     Timers timers = newTimers();
@@ -150,6 +182,11 @@ public class WhyServices {
         return sb.toString();
       });
 
+      // check if only the raw data is requested
+      if (rawOnly) {
+        return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+      }
+
       return createWhyEntityResponse(rawData,
                                      timers,
                                      uriInfo,
@@ -169,9 +206,30 @@ public class WhyServices {
     }
   }
 
+  public SzWhyEntityResponse whyEntityByEntityId(
+      long                entityId,
+      boolean             withRelationships,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withRaw,
+      UriInfo             uriInfo)
+  {
+    return (SzWhyEntityResponse) this.whyEntityByEntityId(entityId,
+                                                          withRelationships,
+                                                          withFeatureStats,
+                                                          withDerivedFeatures,
+                                                          forceMinimal,
+                                                          featureMode,
+                                                          withRaw,
+                                                          false,
+                                                          uriInfo);
+  }
+
   @GET
   @Path("why/records")
-  public SzWhyRecordsResponse whyRecords(
+  public SzBasicResponse whyRecords(
       @QueryParam("dataSource1")                                  String              dataSourceCode1,
       @QueryParam("recordId1")                                    String              recordId1,
       @QueryParam("dataSource2")                                  String              dataSourceCode2,
@@ -182,6 +240,7 @@ public class WhyServices {
       @DefaultValue("true") @QueryParam("withDerivedFeatures")    boolean             withDerivedFeatures,
       @DefaultValue("false") @QueryParam("withRelationships")     boolean             withRelationships,
       @DefaultValue("false") @QueryParam("withRaw")               boolean             withRaw,
+      @DefaultValue("false") @QueryParam("rawOnly")               boolean             rawOnly,
       @Context                                                    UriInfo             uriInfo)
   {
     Timers timers = newTimers();
@@ -253,6 +312,11 @@ public class WhyServices {
         return sb.toString();
       });
 
+      // check if only the raw data is requested
+      if (rawOnly) {
+        return new SzRawDataResponse(GET, 200, uriInfo, timers, rawData);
+      }
+
       processingRawData(timers);
       // parse the result
       JsonObject  json        = JsonUtils.parseJsonObject(rawData);
@@ -300,6 +364,217 @@ public class WhyServices {
     }
   }
 
+  public SzWhyRecordsResponse whyRecords(
+      String              dataSourceCode1,
+      String              recordId1,
+      String              dataSourceCode2,
+      String              recordId2,
+      boolean             forceMinimal,
+      SzFeatureInclusion  featureMode,
+      boolean             withFeatureStats,
+      boolean             withDerivedFeatures,
+      boolean             withRelationships,
+      boolean             withRaw,
+      UriInfo             uriInfo)
+  {
+    return (SzWhyRecordsResponse) this.whyRecords(dataSourceCode1,
+                                                  recordId1,
+                                                  dataSourceCode2,
+                                                  recordId2,
+                                                  forceMinimal,
+                                                  featureMode,
+                                                  withFeatureStats,
+                                                  withDerivedFeatures,
+                                                  withRelationships,
+                                                  withRaw,
+                                                  false,
+                                                  uriInfo);
+  }
+
+  @POST
+  @Path("why/records/batch")
+  public Response whyRecordsBatch(
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @DefaultValue("true") @QueryParam("withFeatureStats")       boolean             withFeatureStats,
+      @DefaultValue("true") @QueryParam("withDerivedFeatures")    boolean             withDerivedFeatures,
+      @DefaultValue("false") @QueryParam("withRelationships")     boolean             withRelationships,
+      @Context                                                    UriInfo             uriInfo,
+      String                                                                          pairsText)
+  {
+    Timers timers = newTimers();
+
+    // parse the record pairs
+    List<SzRecordId[]> pairs = new ArrayList<>();
+    try {
+      if (pairsText != null && pairsText.trim().length() > 0) {
+        JsonArray jsonArray = JsonUtils.parseJsonArray(pairsText);
+        for (JsonObject jsonObject : jsonArray.getValuesAs(JsonObject.class)) {
+          pairs.add(new SzRecordId[] {
+              new SzRecordId(
+                  jsonObject.getString("dataSource1").trim().toUpperCase(),
+                  jsonObject.getString("recordId1")),
+              new SzRecordId(
+                  jsonObject.getString("dataSource2").trim().toUpperCase(),
+                  jsonObject.getString("recordId2"))
+          });
+        }
+      }
+    } catch (Exception e) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "Improperly formatted record pairs in request body.  Expected a "
+              + "JSON array of objects with dataSource1, recordId1, "
+              + "dataSource2 and recordId2 properties: " + pairsText);
+    }
+
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    checkBatchSize(provider, pairs.size(), POST, uriInfo, timers);
+
+    List<AsyncWorkerPool.Task<SzBatchWhyRecordsResult>> tasks
+        = new ArrayList<>(pairs.size());
+    for (int index = 0; index < pairs.size(); index++) {
+      SzBatchWhyRecordsResult result = new SzBatchWhyRecordsResult(
+          index, pairs.get(index)[0], pairs.get(index)[1]);
+      tasks.add(() -> {
+        try {
+          SzWhyRecordsResponse response = this.whyRecords(
+              result.getDataSource1(),
+              result.getRecordId1(),
+              result.getDataSource2(),
+              result.getRecordId2(),
+              forceMinimal,
+              featureMode,
+              withFeatureStats,
+              withDerivedFeatures,
+              withRelationships,
+              false,
+              uriInfo);
+          result.setHttpStatusCode(200);
+          result.setWhyResult(response.getData().getWhyResult());
+          result.setEntities(response.getData().getEntities());
+
+        } catch (WebApplicationException e) {
+          result.setHttpStatusCode(e.getResponse().getStatus());
+          result.setErrors(getErrors(e));
+        }
+        return result;
+      });
+    }
+
+    StreamingArrayOutput output = new StreamingArrayOutput(
+        POST, uriInfo, timers, (sink) -> BatchExecutor.executeAll(
+            provider.getConcurrency(), false, tasks,
+            (batchResult) -> {
+              SzBatchWhyRecordsResult result = batchResult.getValue();
+              if (batchResult.getFailure() != null) {
+                SzRecordId[] pair = pairs.get(batchResult.getIndex());
+                result = new SzBatchWhyRecordsResult(
+                    batchResult.getIndex(), pair[0], pair[1]);
+                result.setHttpStatusCode(500);
+                result.setErrors(Collections.singletonList(
+                    new SzError(batchResult.getFailure())));
+              }
+              sink.add(result);
+            }));
+
+    return Response.ok(output).build();
+  }
+
+  @POST
+  @Path("why/entities/batch")
+  public Response whyEntitiesBatch(
+      @DefaultValue("false") @QueryParam("withRelationships")     boolean             withRelationships,
+      @DefaultValue("true") @QueryParam("withFeatureStats")       boolean             withFeatureStats,
+      @DefaultValue("true") @QueryParam("withDerivedFeatures")    boolean             withDerivedFeatures,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureInclusion  featureMode,
+      @Context                                                    UriInfo             uriInfo,
+      String                                                                          identifiersText)
+  {
+    Timers timers = newTimers();
+
+    List<SzEntityIdentifier> identifiers;
+    try {
+      identifiers = (identifiersText == null
+                     || identifiersText.trim().length() == 0)
+          ? Collections.emptyList()
+          : SzEntityIdentifiers.valueOf(identifiersText).getIdentifiers();
+
+    } catch (Exception e) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "Improperly formatted entity identifiers in request body: "
+              + identifiersText);
+    }
+
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    checkBatchSize(provider, identifiers.size(), POST, uriInfo, timers);
+
+    List<AsyncWorkerPool.Task<SzBatchWhyEntityResult>> tasks
+        = new ArrayList<>(identifiers.size());
+    for (int index = 0; index < identifiers.size(); index++) {
+      SzEntityIdentifier identifier = identifiers.get(index);
+      SzBatchWhyEntityResult result
+          = new SzBatchWhyEntityResult(index, identifier);
+      tasks.add(() -> {
+        try {
+          SzWhyEntityResponse response;
+          if (identifier instanceof SzRecordId) {
+            SzRecordId recordId = (SzRecordId) identifier;
+            response = this.whyEntityByRecordId(recordId.getDataSourceCode(),
+                                                recordId.getRecordId(),
+                                                forceMinimal,
+                                                featureMode,
+                                                withFeatureStats,
+                                                withDerivedFeatures,
+                                                withRelationships,
+                                                false,
+                                                uriInfo);
+          } else {
+            response = this.whyEntityByEntityId(
+                ((SzEntityId) identifier).getValue(),
+                withRelationships,
+                withFeatureStats,
+                withDerivedFeatures,
+                forceMinimal,
+                featureMode,
+                false,
+                uriInfo);
+          }
+          result.setHttpStatusCode(200);
+          result.setWhyResults(response.getData().getWhyResults());
+          result.setEntities(response.getData().getEntities());
+
+        } catch (WebApplicationException e) {
+          result.setHttpStatusCode(e.getResponse().getStatus());
+          result.setErrors(getErrors(e));
+        }
+        return result;
+      });
+    }
+
+    StreamingArrayOutput output = new StreamingArrayOutput(
+        POST, uriInfo, timers, (sink) -> BatchExecutor.executeAll(
+            provider.getConcurrency(), false, tasks,
+            (batchResult) -> {
+              SzBatchWhyEntityResult result = batchResult.getValue();
+              if (batchResult.getFailure() != null) {
+                result = new SzBatchWhyEntityResult(
+                    batchResult.getIndex(),
+                    identifiers.get(batchResult.getIndex()));
+                result.setHttpStatusCode(500);
+                result.setErrors(Collections.singletonList(
+                    new SzError(batchResult.getFailure())));
+              }
+              sink.add(result);
+            }));
+
+    return Response.ok(output).build();
+  }
+
   private static WebApplicationException newWebApplicationException(
       SzHttpMethod  httpMethod,
       UriInfo       uriInfo,
@@ -28,6 +28,32 @@ public class WorkerThreadPool {
    */
   private AccessToken pauseToken;
 
+  /**
+   * The base name for naming the worker threads.
+   */
+  private String baseName;
+
+  /**
+   * The index to use when naming the next worker thread.
+   */
+  private int nextThreadIndex;
+
+  /**
+   * The number of threads that the pool should have, which can be less than
+   * the number of threads while busy threads are being retired.
+   */
+  private int targetSize;
+
+  /**
+   * The number of callers currently waiting for an available thread.
+   */
+  private int waitingCount;
+
+  /**
+   * The total number of tasks that have been executed.
+   */
+  private long taskCount;
+
   /**
    * Constructs with the specified number of threads in the pool.
    *
@@ -49,33 +75,133 @@ public class WorkerThreadPool {
    */
   public WorkerThreadPool(String baseName, int size)
   {
-    this.available    = new LinkedList<>();
-    this.allThreads   = new LinkedList<>();
-    this.closed       = false;
+    this.available        = new LinkedList<>();
+    this.allThreads       = new LinkedList<>();
+    this.closed           = false;
+    this.nextThreadIndex  = 0;
+    this.targetSize       = 0;
+    this.waitingCount     = 0;
+    this.taskCount        = 0L;
 
     // if baseName ends with "-" then strip it off since we will add it back
     if (baseName.endsWith("-")) {
       baseName = baseName.substring(0, baseName.length() - 1);
     }
+    this.baseName = baseName + "-" + System.identityHashCode(this);
 
-    int identityHashCode = System.identityHashCode(this);
-    for (int index = 0; index < size; index++) {
-      WorkerThread wt = new WorkerThread();
-      wt.setName(baseName + "-" + identityHashCode + "-" + index);
-      this.available.add(wt);
-      this.allThreads.add(wt);
-      wt.start();
-    }
-    this.allThreads = Collections.unmodifiableList(this.allThreads);
+    this.resize(size);
   }
 
   /**
-   * Returns the size of the worker thread pool.
+   * Returns the size of the worker thread pool.  If the pool has been
+   * {@linkplain #resize(int) shrunk} this is the new size even if some busy
+   * threads have not yet been retired.
    *
    * @return The size of the worker thread pool.
    */
   public int size() {
-    return this.allThreads.size();
+    synchronized (this.available) {
+      return this.targetSize;
+    }
+  }
+
+  /**
+   * Resizes the pool to the specified number of threads.  Growing the pool
+   * starts the new threads immediately.  Shrinking the pool retires idle
+   * threads immediately and retires busy threads as they complete their
+   * current tasks, so callers are never blocked by a resize.
+   *
+   * @param size The new number of threads for the pool.
+   *
+   * @throws IllegalArgumentException If the specified size is not positive.
+   *
+   * @throws IllegalStateException If the pool has been closed.
+   */
+  public void resize(int size)
+    throws IllegalArgumentException, IllegalStateException
+  {
+    if (size <= 0) {
+      throw new IllegalArgumentException(
+          "The size of the pool must be positive: " + size);
+    }
+    List<WorkerThread> retired = new LinkedList<>();
+    synchronized (this.available) {
+      if (this.closed) {
+        throw new IllegalStateException(
+            "This WorkerThreadPool has already been marked as closed and the "
+            + "threads have been shutdown.");
+      }
+      this.targetSize = size;
+
+      // start new threads if growing
+      while (this.allThreads.size() < this.targetSize) {
+        WorkerThread wt = new WorkerThread();
+        wt.setName(this.baseName + "-" + (this.nextThreadIndex++));
+        this.available.add(wt);
+        this.allThreads.add(wt);
+        wt.start();
+      }
+
+      // retire idle threads if shrinking (busy ones are retired on return)
+      while (this.allThreads.size() > this.targetSize
+             && this.available.size() > 0)
+      {
+        WorkerThread wt = this.available.remove(this.available.size() - 1);
+        this.allThreads.remove(wt);
+        retired.add(wt);
+      }
+      this.available.notifyAll();
+    }
+    for (WorkerThread thread : retired) {
+      thread.markComplete();
+    }
+  }
+
+  /**
+   * Returns the number of threads currently in the pool, which can exceed
+   * the {@linkplain #size() size} after the pool has been shrunk until the
+   * busy threads complete their current tasks.
+   *
+   * @return The number of threads currently in the pool.
+   */
+  public int getThreadCount() {
+    synchronized (this.available) {
+      return this.allThreads.size();
+    }
+  }
+
+  /**
+   * Returns the number of threads that are currently busy executing tasks.
+   *
+   * @return The number of threads that are currently busy executing tasks.
+   */
+  public int getBusyCount() {
+    synchronized (this.available) {
+      return this.allThreads.size() - this.available.size();
+    }
+  }
+
+  /**
+   * Returns the number of callers currently waiting for a thread to become
+   * available to execute their tasks.
+   *
+   * @return The number of callers currently waiting for a thread.
+   */
+  public int getQueueLength() {
+    synchronized (this.available) {
+      return this.waitingCount;
+    }
+  }
+
+  /**
+   * Returns the total number of tasks that have been executed by the pool.
+   *
+   * @return The total number of tasks that have been executed by the pool.
+   */
+  public long getTaskCount() {
+    synchronized (this.available) {
+      return this.taskCount;
+    }
   }
 
   /**
@@ -97,20 +223,22 @@ public class WorkerThreadPool {
   public void close(boolean join)
   {
     // mark this pool as closed and notify
+    List<WorkerThread> threads;
     synchronized (this.available) {
       this.closed = true;
       this.available.notifyAll();
+      threads = new ArrayList<>(this.allThreads);
     }
 
     // mark all the threads complete
-    for (WorkerThread thread: this.allThreads) {
+    for (WorkerThread thread: threads) {
       thread.markComplete();
     }
 
     // check if we are joining
     if (join) {
       // loop through the threads and join
-      for (WorkerThread thread: this.allThreads) {
+      for (WorkerThread thread: threads) {
         try {
           // join against this thread
           thread.join();
@@ -144,14 +272,20 @@ public class WorkerThreadPool {
       }
 
       // wait for an available worker thread
-      while (this.available.size() == 0 || this.pauseToken != null) {
-        try {
-          this.available.wait(2000L);
-        } catch (InterruptedException ignore) {
-          // do nothing
+      this.waitingCount++;
+      try {
+        while (this.available.size() == 0 || this.pauseToken != null) {
+          try {
+            this.available.wait(2000L);
+          } catch (InterruptedException ignore) {
+            // do nothing
+          }
         }
+      } finally {
+        this.waitingCount--;
       }
       thread = this.available.remove(0);
+      this.taskCount++;
     }
 
     // execute the task on the thread and get the result
@@ -164,13 +298,18 @@ public class WorkerThreadPool {
         // synchronize on the available pool
         synchronized (this.available) {
           // if not complete then return it to the pool and set thread to null
-          if (!this.closed) {
+          if (!this.closed && this.allThreads.size() <= this.targetSize) {
             this.available.add(thread);
             this.available.notifyAll();
 
             // set the thread to null to indicate that it was returned
             // to the thread pool
             thread = null;
+
+          } else if (!this.closed) {
+            // the pool was shrunk while busy so retire the thread
+            this.allThreads.remove(thread);
+            this.available.notifyAll();
           }
         }
 
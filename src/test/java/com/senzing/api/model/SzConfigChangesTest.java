@@ -0,0 +1,112 @@
+package com.senzing.api.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SzConfigChanges}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SzConfigChangesTest {
+  private static <T> List<T> list(Collection<T> collection) {
+    return new ArrayList<>(collection);
+  }
+
+  @Test
+  public void testValueOfAllProperties() {
+    SzConfigChanges changes = SzConfigChanges.valueOf(
+        "{\"dataSources\": [\"CUSTOMERS\", "
+        + "{\"dataSourceCode\": \"VENDORS\", \"dataSourceId\": 1000}], "
+        + "\"entityClasses\": [{\"entityClassCode\": \"ORG\", "
+        + "\"resolving\": false}, \"THING\"], "
+        + "\"entityTypes\": [{\"entityTypeCode\": \"VENDOR\", "
+        + "\"entityClassCode\": \"ORG\"}]}");
+
+    assertFalse(changes.isEmpty());
+
+    List<SzDataSource> dataSources = list(changes.getDataSources());
+    assertEquals(2, dataSources.size());
+    assertEquals("CUSTOMERS", dataSources.get(0).getDataSourceCode());
+    assertNull(dataSources.get(0).getDataSourceId());
+    assertEquals("VENDORS", dataSources.get(1).getDataSourceCode());
+    assertEquals(1000, dataSources.get(1).getDataSourceId());
+
+    // entity classes without a resolving flag default to resolving
+    List<SzEntityClass> entityClasses = list(changes.getEntityClasses());
+    assertEquals(2, entityClasses.size());
+    assertEquals("ORG", entityClasses.get(0).getEntityClassCode());
+    assertEquals(Boolean.FALSE, entityClasses.get(0).isResolving());
+    assertEquals("THING", entityClasses.get(1).getEntityClassCode());
+    assertEquals(Boolean.TRUE, entityClasses.get(1).isResolving());
+
+    List<SzEntityType> entityTypes = list(changes.getEntityTypes());
+    assertEquals(1, entityTypes.size());
+    assertEquals("VENDOR", entityTypes.get(0).getEntityTypeCode());
+    assertEquals("ORG", entityTypes.get(0).getEntityClassCode());
+  }
+
+  @Test
+  public void testValueOfSingleDescriptors() {
+    SzConfigChanges changes = SzConfigChanges.valueOf(
+        "  {\"dataSources\": \"CUSTOMERS\", "
+        + "\"entityTypes\": {\"entityTypeCode\": \"VENDOR\", "
+        + "\"entityClassCode\": \"ACTOR\"}}  ");
+
+    List<SzDataSource> dataSources = list(changes.getDataSources());
+    assertEquals(1, dataSources.size());
+    assertEquals("CUSTOMERS", dataSources.get(0).getDataSourceCode());
+    assertEquals(0, changes.getEntityClasses().size());
+    List<SzEntityType> entityTypes = list(changes.getEntityTypes());
+    assertEquals(1, entityTypes.size());
+    assertEquals("VENDOR", entityTypes.get(0).getEntityTypeCode());
+  }
+
+  @Test
+  public void testValueOfReplacesDuplicates() {
+    SzConfigChanges changes = SzConfigChanges.valueOf(
+        "{\"dataSources\": [\"CUSTOMERS\", "
+        + "{\"dataSourceCode\": \"CUSTOMERS\", \"dataSourceId\": 1001}]}");
+
+    List<SzDataSource> dataSources = list(changes.getDataSources());
+    assertEquals(1, dataSources.size());
+    assertEquals(1001, dataSources.get(0).getDataSourceId());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "{}",
+      "{\"dataSources\": null, \"entityClasses\": null}",
+      "{\"dataSources\": [], \"entityClasses\": [], \"entityTypes\": []}"})
+  public void testValueOfEmpty(String text) {
+    SzConfigChanges changes = SzConfigChanges.valueOf(text);
+    assertTrue(changes.isEmpty(), "Changes not empty: " + changes);
+    assertEquals(0, changes.getDataSources().size());
+    assertEquals(0, changes.getEntityClasses().size());
+    assertEquals(0, changes.getEntityTypes().size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "", "CUSTOMERS", "[\"CUSTOMERS\"]", "{\"dataSources\": [\"CUSTOMERS\""})
+  public void testValueOfInvalid(String text) {
+    assertThrows(RuntimeException.class, () -> SzConfigChanges.valueOf(text));
+  }
+
+  @Test
+  public void testCollectionsUnmodifiable() {
+    SzConfigChanges changes = new SzConfigChanges();
+    changes.addDataSource(new SzDataSource("CUSTOMERS"));
+    assertThrows(UnsupportedOperationException.class,
+                 () -> changes.getDataSources().clear());
+    assertThrows(UnsupportedOperationException.class,
+                 () -> changes.getEntityClasses().clear());
+    assertThrows(UnsupportedOperationException.class,
+                 () -> changes.getEntityTypes().clear());
+  }
+}
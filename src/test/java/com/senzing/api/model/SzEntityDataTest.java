@@ -0,0 +1,196 @@
+package com.senzing.api.model;
+
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.json.JsonObject;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SzEntityData}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SzEntityDataTest {
+  private static final Function<String,String> MAPPER = (f) -> f;
+
+  private static final String NAME_FEATURES
+      = "{\"NAME\":[{\"FEAT_DESC\":\"JOHN SMITH\",\"LIB_FEAT_ID\":1,"
+      + "\"UTYPE_CODE\":\"PRIMARY\",\"FEAT_DESC_VALUES\":["
+      + "{\"FEAT_DESC\":\"JOHN SMITH\",\"LIB_FEAT_ID\":1},"
+      + "{\"FEAT_DESC\":\"JON SMITH\",\"LIB_FEAT_ID\":2}]}]}";
+
+  private static String entityJson(long entityId) {
+    return "{\"ENTITY_ID\":" + entityId + ",\"ENTITY_NAME\":\"JOHN SMITH\","
+        + "\"FEATURES\":" + NAME_FEATURES + ",\"RECORDS\":[{"
+        + "\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"" + entityId + "\"}]}";
+  }
+
+  private static String largeEntityDataJson(int recordCount, int relatedCount)
+  {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"RESOLVED_ENTITY\":{\"ENTITY_ID\":1,")
+        .append("\"ENTITY_NAME\":\"JOHN SMITH\",\"FEATURES\":")
+        .append(NAME_FEATURES).append(",\"RECORDS\":[");
+    for (int index = 0; index < recordCount; index++) {
+      if (index > 0) sb.append(",");
+      sb.append("{\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"")
+          .append(index).append("\",\"ENTITY_DATA\":[\"NAME: JOHN SMITH\"],")
+          .append("\"OTHER_DATA\":[\"LOYALTY: GOLD\"]}");
+    }
+    sb.append("]},\"RELATED_ENTITIES\":[");
+    for (int index = 0; index < relatedCount; index++) {
+      if (index > 0) sb.append(",");
+      sb.append(entityJson(index + 2));
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+
+  /**
+   * Measures the bytes allocated and CPU time used by the current thread
+   * while running the specified task the specified number of times.
+   */
+  private static long[] measure(int iterations, Runnable task) {
+    com.sun.management.ThreadMXBean threadBean
+        = (com.sun.management.ThreadMXBean)
+        ManagementFactory.getThreadMXBean();
+    long startBytes = threadBean.getCurrentThreadAllocatedBytes();
+    long startTime  = threadBean.getCurrentThreadCpuTime();
+    for (int index = 0; index < iterations; index++) {
+      task.run();
+    }
+    return new long[] {
+        threadBean.getCurrentThreadAllocatedBytes() - startBytes,
+        threadBean.getCurrentThreadCpuTime() - startTime };
+  }
+
+  private static SzEntityData parseEntityData() {
+    JsonObject jsonObject = JsonUtils.parseJsonObject(
+        "{\"RESOLVED_ENTITY\":" + entityJson(1L) + ",\"RELATED_ENTITIES\":["
+        + entityJson(2L) + "," + entityJson(3L) + "]}");
+    return SzEntityData.parseEntityData(null, jsonObject, MAPPER);
+  }
+
+  @Test
+  public void testForEachRelatedIsDeferred() {
+    SzEntityData entityData = parseEntityData();
+    List<Long> visited = new LinkedList<>();
+    entityData.forEachRelated(e -> visited.add(e.getEntityId()));
+    assertEquals(0, visited.size(),
+                 "Related entities were parsed before being accessed");
+
+    List<SzRelatedEntity> related = entityData.getRelatedEntities();
+    assertEquals(2, related.size());
+    assertEquals(Arrays.asList(2L, 3L), visited);
+
+    // once parsed the consumer is applied immediately
+    visited.clear();
+    entityData.forEachRelated(e -> visited.add(e.getEntityId()));
+    assertEquals(Arrays.asList(2L, 3L), visited);
+  }
+
+  @Test
+  public void testSetPartial() {
+    SzEntityData entityData = parseEntityData();
+    entityData.setPartial(false);
+    assertFalse(entityData.getResolvedEntity().isPartial());
+    entityData.getRelatedEntities().forEach(e -> {
+      assertFalse(e.isPartial(), "Related entity is partial: " + e);
+    });
+
+    entityData.setPartial(true);
+    assertTrue(entityData.getResolvedEntity().isPartial());
+    entityData.getRelatedEntities().forEach(e -> {
+      assertTrue(e.isPartial(), "Related entity is not partial: " + e);
+    });
+  }
+
+  @Test
+  public void testSetRelatedEntitiesDiscardsDeferred() {
+    SzEntityData entityData = parseEntityData();
+    List<Long> visited = new LinkedList<>();
+    entityData.forEachRelated(e -> visited.add(e.getEntityId()));
+
+    SzRelatedEntity relatedEntity = new SzRelatedEntity();
+    relatedEntity.setEntityId(4L);
+    entityData.setRelatedEntities(Collections.singletonList(relatedEntity));
+    assertEquals(1, entityData.getRelatedEntities().size());
+    assertEquals(0, visited.size());
+  }
+
+  @Test
+  public void testStripDuplicatesIsDeferred() {
+    SzEntityData entityData = parseEntityData();
+    entityData.forEachRelated(e -> e.stripDuplicateFeatureValues());
+
+    for (SzRelatedEntity related : entityData.getRelatedEntities()) {
+      List<SzEntityFeature> names = related.getFeatures().get("NAME");
+      assertEquals(1, names.size());
+      assertEquals(0, names.get(0).getDuplicateValues().size());
+    }
+    List<SzEntityFeature> names
+        = entityData.getResolvedEntity().getFeatures().get("NAME");
+    assertEquals(Collections.singleton("JON SMITH"),
+                 new HashSet<>(names.get(0).getDuplicateValues()));
+  }
+
+  @Test
+  public void testSetterDiscardsPendingFeatures() {
+    SzResolvedEntity entity = SzResolvedEntity.parseResolvedEntity(
+        null, JsonUtils.parseJsonObject(entityJson(1L)), MAPPER);
+    List<String> addresses = Collections.singletonList("123 MAIN ST");
+    entity.setAddressData(addresses);
+
+    assertEquals(addresses, entity.getAddressData());
+    assertEquals(0, entity.getNameData().size(),
+                 "Pending features were parsed by the setter");
+    assertEquals(0, entity.getFeatures().size());
+  }
+
+  @Test
+  public void testDeferredParsingAllocatesLess() {
+    JsonObject jsonObject
+        = JsonUtils.parseJsonObject(largeEntityDataJson(200, 50));
+    int iterations = 200;
+
+    // the forceMinimal path only needs the entity ID and record summaries
+    Runnable deferred = () -> {
+      SzEntityData data
+          = SzEntityData.parseEntityData(null, jsonObject, MAPPER);
+      data.setPartial(true);
+      data.getResolvedEntity().getRecordSummaries();
+    };
+
+    // parsing everything is what every response did before the deferral
+    Runnable eager = () -> {
+      SzEntityData data
+          = SzEntityData.parseEntityData(null, jsonObject, MAPPER);
+      data.getResolvedEntity().getFeatures();
+      data.getResolvedEntity().getRecords();
+      data.getRelatedEntities().forEach(SzRelatedEntity::getFeatures);
+      data.setPartial(true);
+    };
+
+    // warm up both paths before measuring
+    measure(iterations, deferred);
+    measure(iterations, eager);
+    long[] deferredCost = measure(iterations, deferred);
+    long[] eagerCost = measure(iterations, eager);
+
+    System.out.println(
+        "Parsing a 200-record entity with 50 related entities " + iterations
+            + " times: deferred=" + deferredCost[0] + " bytes/"
+            + (deferredCost[1] / 1000000L) + " ms CPU, eager="
+            + eagerCost[0] + " bytes/" + (eagerCost[1] / 1000000L)
+            + " ms CPU");
+
+    assertTrue(deferredCost[0] < eagerCost[0] / 2,
+               "Deferred parsing allocated " + deferredCost[0]
+                   + " bytes versus " + eagerCost[0] + " bytes eagerly");
+  }
+}
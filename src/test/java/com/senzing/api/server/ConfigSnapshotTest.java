@@ -0,0 +1,221 @@
+package com.senzing.api.server;
+
+import com.senzing.api.model.SzReinitMetrics;
+import com.senzing.g2.engine.G2ConfigMgr;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.g2.engine.Result;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ConfigSnapshot} handling of {@link SzApiServer} when
+ * reinitializing with a new configuration.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConfigSnapshotTest {
+  private static final long STALL_MILLIS = 100L;
+
+  /**
+   * A fake configuration store shared by the proxy engine and configuration
+   * manager, with hooks to block the engine reinitialization and to change
+   * the default configuration while a reinitialization is in progress.
+   */
+  private static class FakeConfigStore {
+    private final AtomicLong activeConfigId = new AtomicLong(1L);
+    private final List<Long> defaultConfigIds;
+    private final AtomicInteger defaultCallCount = new AtomicInteger(0);
+    private final AtomicInteger exportCount = new AtomicInteger(0);
+    private final AtomicInteger getConfigCount = new AtomicInteger(0);
+    private final CountDownLatch reinitEntered = new CountDownLatch(1);
+    private final CountDownLatch reinitRelease;
+
+    private FakeConfigStore(boolean blockReinit, Long... defaultConfigIds) {
+      this.defaultConfigIds = List.of(defaultConfigIds);
+      this.reinitRelease = new CountDownLatch(blockReinit ? 1 : 0);
+    }
+
+    private long nextDefaultConfigId() {
+      int index = this.defaultCallCount.getAndIncrement();
+      return this.defaultConfigIds.get(
+          Math.min(index, this.defaultConfigIds.size() - 1));
+    }
+
+    private G2Engine newProxyEngine() {
+      InvocationHandler handler = (p, m, a) -> {
+        switch (m.getName()) {
+          case "getActiveConfigID":
+            ((Result<Long>) a[0]).setValue(this.activeConfigId.get());
+            return 0;
+          case "exportConfig":
+            this.exportCount.incrementAndGet();
+            ((StringBuffer) a[0]).append(
+                configJson(dataSourceFor(this.activeConfigId.get())));
+            return 0;
+          case "reinitV2":
+            this.reinitEntered.countDown();
+            this.reinitRelease.await();
+            this.activeConfigId.set((Long) a[0]);
+            return 0;
+          default:
+            throw new UnsupportedOperationException(
+                "Operation not implemented on proxy G2Engine");
+        }
+      };
+      ClassLoader loader = ConfigSnapshotTest.class.getClassLoader();
+      Class[] classes = {G2Engine.class};
+      return (G2Engine) Proxy.newProxyInstance(loader, classes, handler);
+    }
+
+    private G2ConfigMgr newProxyConfigMgr() {
+      InvocationHandler handler = (p, m, a) -> {
+        switch (m.getName()) {
+          case "getDefaultConfigID":
+            ((Result<Long>) a[0]).setValue(this.nextDefaultConfigId());
+            return 0;
+          case "getConfig":
+            this.getConfigCount.incrementAndGet();
+            ((StringBuffer) a[1]).append(
+                configJson(dataSourceFor((Long) a[0])));
+            return 0;
+          default:
+            throw new UnsupportedOperationException(
+                "Operation not implemented on proxy G2ConfigMgr");
+        }
+      };
+      ClassLoader loader = ConfigSnapshotTest.class.getClassLoader();
+      Class[] classes = {G2ConfigMgr.class};
+      return (G2ConfigMgr) Proxy.newProxyInstance(loader, classes, handler);
+    }
+  }
+
+  private static String dataSourceFor(long configId) {
+    return "DS" + configId;
+  }
+
+  private static String configJson(String dataSource) {
+    return "{\"G2_CONFIG\":{\"CFG_DSRC\":[{\"DSRC_CODE\":\"" + dataSource
+        + "\"}],\"CFG_ECLASS\":[{\"ECLASS_CODE\":\"ACTOR\"}],"
+        + "\"CFG_ETYPE\":[{\"ETYPE_CODE\":\"GENERIC\"}],"
+        + "\"CFG_ATTR\":[{\"ATTR_CODE\":\"NAME_FULL\","
+        + "\"FTYPE_CODE\":\"NAME\",\"ATTR_CLASS\":\"NAME\"}]}}";
+  }
+
+  private static SzApiServer newServer(FakeConfigStore store,
+                                       boolean         blueGreenReinit)
+  {
+    return new SzApiServer(store.newProxyEngine(),
+                           store.newProxyConfigMgr(),
+                           blueGreenReinit);
+  }
+
+  @Test
+  public void testBlueGreenSwap() throws Exception {
+    FakeConfigStore store = new FakeConfigStore(true, 2L);
+    SzApiServer server = newServer(store, true);
+    assertEquals(1L, server.getActiveConfigId());
+    assertEquals(Set.of("DS1"), server.getDataSources());
+
+    AtomicReference<Boolean> result = new AtomicReference<>();
+    Thread thread = new Thread(
+        () -> result.set(server.ensureConfigCurrent()));
+    thread.start();
+    try {
+      assertTrue(store.reinitEntered.await(10, TimeUnit.SECONDS),
+                 "Engine reinitialization was never started");
+
+      // the new snapshot is prepared before the engine is reinitialized
+      assertEquals(1, store.getConfigCount.get());
+
+      // readers keep the old snapshot until the reinitialization completes
+      assertEquals(1L, server.getActiveConfigId());
+      assertEquals(Set.of("DS1"), server.getDataSources());
+      assertEquals(0, server.getReinitMetrics().getReinitCount());
+
+      Thread.sleep(STALL_MILLIS);
+    } finally {
+      store.reinitRelease.countDown();
+      thread.join(10000L);
+    }
+
+    assertEquals(Boolean.TRUE, result.get());
+    assertEquals(2L, server.getActiveConfigId());
+    assertEquals(Set.of("DS2"), server.getDataSources());
+    assertEquals("NAME", server.getAttributeClassForFeature("NAME"));
+
+    // the prepared snapshot is swapped in rather than exported again
+    assertEquals(1, store.exportCount.get());
+
+    SzReinitMetrics metrics = server.getReinitMetrics();
+    assertEquals(1, metrics.getReinitCount());
+    assertTrue(metrics.getLastStallMillis() >= STALL_MILLIS,
+               "Stall not measured: " + metrics);
+    assertEquals(metrics.getLastStallMillis(), metrics.getMaxStallMillis());
+    assertEquals(metrics.getLastStallMillis(),
+                 metrics.getTotalStallMillis());
+  }
+
+  @Test
+  public void testBlueGreenConfigChangedAgain() {
+    // the default config changes after the snapshot for config 2 is prepared
+    FakeConfigStore store = new FakeConfigStore(false, 2L, 3L);
+    SzApiServer server = newServer(store, true);
+
+    assertEquals(Boolean.TRUE, server.ensureConfigCurrent());
+    assertEquals(1, store.getConfigCount.get());
+
+    // the stale prepared snapshot is discarded and the config exported
+    assertEquals(2, store.exportCount.get());
+    assertEquals(3L, server.getActiveConfigId());
+    assertEquals(Set.of("DS3"), server.getDataSources());
+    assertEquals(1, server.getReinitMetrics().getReinitCount());
+  }
+
+  @Test
+  public void testReinitWithoutBlueGreen() {
+    FakeConfigStore store = new FakeConfigStore(false, 2L);
+    SzApiServer server = newServer(store, false);
+
+    assertEquals(Boolean.TRUE, server.ensureConfigCurrent());
+    assertEquals(0, store.getConfigCount.get());
+    assertEquals(2, store.exportCount.get());
+    assertEquals(2L, server.getActiveConfigId());
+    assertEquals(Set.of("DS2"), server.getDataSources());
+    assertEquals(1, server.getReinitMetrics().getReinitCount());
+  }
+
+  @Test
+  public void testAlreadyCurrent() {
+    FakeConfigStore store = new FakeConfigStore(false, 1L);
+    SzApiServer server = newServer(store, true);
+
+    assertEquals(Boolean.FALSE, server.ensureConfigCurrent());
+    assertEquals(0, store.getConfigCount.get());
+    assertEquals(Set.of("DS1"), server.getDataSources());
+
+    SzReinitMetrics metrics = server.getReinitMetrics();
+    assertEquals(0, metrics.getReinitCount());
+    assertEquals(0L, metrics.getTotalStallMillis());
+  }
+
+  @Test
+  public void testReaderRefreshesForUnknownDataSource() {
+    FakeConfigStore store = new FakeConfigStore(false, 2L);
+    SzApiServer server = newServer(store, true);
+
+    // asking for an unknown data source triggers the reinitialization
+    assertEquals(Set.of("DS2"), server.getDataSources("DS2"));
+    assertEquals(1, server.getReinitMetrics().getReinitCount());
+  }
+}
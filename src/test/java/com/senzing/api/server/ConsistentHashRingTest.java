@@ -0,0 +1,88 @@
+package com.senzing.api.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ConsistentHashRing}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConsistentHashRingTest {
+  private static final int KEY_COUNT = 10000;
+
+  private static Map<String, String> nodes(String... ids) {
+    Map<String, String> map = new LinkedHashMap<>();
+    for (String id : ids) map.put(id, id);
+    return map;
+  }
+
+  private static String key(int index) {
+    return "CUSTOMERS\n" + index;
+  }
+
+  @Test
+  public void testEmptyRing() {
+    ConsistentHashRing<String> ring
+        = new ConsistentHashRing<>(Collections.emptyMap());
+    assertTrue(ring.isEmpty());
+    assertNull(ring.get(key(1)));
+  }
+
+  @Test
+  public void testInvalidVirtualNodeCount() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> new ConsistentHashRing<>(nodes("A"), 0));
+  }
+
+  @Test
+  public void testSameKeySameNode() {
+    ConsistentHashRing<String> ring1
+        = new ConsistentHashRing<>(nodes("A", "B", "C"));
+    ConsistentHashRing<String> ring2
+        = new ConsistentHashRing<>(nodes("C", "B", "A"));
+    for (int index = 0; index < 1000; index++) {
+      String node = ring1.get(key(index));
+      assertEquals(node, ring1.get(key(index)));
+      assertEquals(node, ring2.get(key(index)),
+                   "Node order changed the mapping for key: " + index);
+    }
+  }
+
+  @Test
+  public void testKeysAreSpread() {
+    ConsistentHashRing<String> ring
+        = new ConsistentHashRing<>(nodes("A", "B", "C", "D"));
+    Map<String, Integer> counts = new HashMap<>();
+    for (int index = 0; index < KEY_COUNT; index++) {
+      counts.merge(ring.get(key(index)), 1, Integer::sum);
+    }
+    assertEquals(4, counts.size());
+    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+      assertTrue(entry.getValue() > KEY_COUNT / 8,
+                 "Node " + entry.getKey() + " only received "
+                 + entry.getValue() + " of " + KEY_COUNT + " keys");
+    }
+  }
+
+  @Test
+  public void testRemovedNodeOnlyMovesItsKeys() {
+    ConsistentHashRing<String> before
+        = new ConsistentHashRing<>(nodes("A", "B", "C", "D"));
+    ConsistentHashRing<String> after
+        = new ConsistentHashRing<>(nodes("A", "B", "C"));
+    for (int index = 0; index < KEY_COUNT; index++) {
+      String oldNode = before.get(key(index));
+      String newNode = after.get(key(index));
+      if (!"D".equals(oldNode)) {
+        assertEquals(oldNode, newNode,
+                     "Key moved though its node remained: " + index);
+      } else {
+        assertNotEquals("D", newNode);
+      }
+    }
+  }
+}
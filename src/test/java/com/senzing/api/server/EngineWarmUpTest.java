@@ -0,0 +1,226 @@
+package com.senzing.api.server;
+
+import com.senzing.api.services.SzApiProvider;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.WorkerThreadPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.json.JsonObject;
+import java.io.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.api.server.EngineWarmUp.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EngineWarmUp}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EngineWarmUpTest {
+  private static File writeQueryFile(String... lines) throws IOException {
+    File queryFile = File.createTempFile("warm-up-", ".jsonl");
+    queryFile.deleteOnExit();
+    Files.write(queryFile.toPath(), Arrays.asList(lines),
+                StandardCharsets.UTF_8);
+    return queryFile;
+  }
+
+  /**
+   * A proxy {@link G2Engine} that records the calls made to it and fails
+   * the calls for the entity with the ID {@link #FAILED_ENTITY_ID}.
+   */
+  private static class TestEngine {
+    private static final long FAILED_ENTITY_ID = 999L;
+    private final Queue<String> calls = new ConcurrentLinkedQueue<>();
+    private final G2Engine proxy;
+
+    private TestEngine(int primeReturnCode) {
+      InvocationHandler handler = (p, m, a) -> {
+        this.calls.add(m.getName());
+        switch (m.getName()) {
+          case "primeEngine":
+            return primeReturnCode;
+          case "getEntityByEntityIDV2":
+            return (((Long) a[0]) == FAILED_ENTITY_ID) ? -2 : 0;
+          case "getEntityByRecordIDV2":
+          case "searchByAttributesV2":
+            return 0;
+          case "getLastExceptionCode":
+            return 37;
+          case "getLastException":
+            return "Unknown resolved entity value";
+          case "clearLastException":
+            return null;
+          default:
+            throw new UnsupportedOperationException(
+                "Operation not implemented on proxy G2Engine");
+        }
+      };
+      ClassLoader loader = EngineWarmUpTest.class.getClassLoader();
+      Class[] classes = {G2Engine.class};
+      this.proxy = (G2Engine) Proxy.newProxyInstance(loader, classes, handler);
+    }
+
+    private int getCallCount(String methodName) {
+      int count = 0;
+      for (String call : this.calls) {
+        if (call.equals(methodName)) count++;
+      }
+      return count;
+    }
+  }
+
+  private static SzApiProvider newProxyProvider(TestEngine engine,
+                                                AtomicInteger taskCount)
+  {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getEngineApi":
+          return engine.proxy;
+        case "getConcurrency":
+          return 2;
+        case "executeInThread":
+          taskCount.incrementAndGet();
+          return ((WorkerThreadPool.Task) a[0]).execute();
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy SzApiProvider");
+      }
+    };
+    ClassLoader loader = EngineWarmUpTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    return (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  @Test
+  public void testReadQueries() throws IOException {
+    File queryFile = writeQueryFile(
+        "# hot queries captured from recent traffic",
+        "{\"entityId\": 123}",
+        "",
+        "   ",
+        "  {\"dataSource\": \"CUSTOMERS\", \"recordId\": \"ABC\"}  ",
+        "{\"attributes\": {\"NAME_FULL\": \"Joe Schmoe\"}}");
+
+    List<JsonObject> queries = readQueries(queryFile);
+    assertEquals(3, queries.size());
+    assertEquals(123L, queries.get(0).getJsonNumber(ENTITY_ID_KEY)
+                                      .longValueExact());
+    assertEquals("CUSTOMERS", queries.get(1).getString(DATA_SOURCE_KEY));
+    assertEquals("ABC", queries.get(1).getString(RECORD_ID_KEY));
+    assertEquals("Joe Schmoe", queries.get(2).getJsonObject(ATTRIBUTES_KEY)
+                                             .getString("NAME_FULL"));
+  }
+
+  @Test
+  public void testReadEmptyFile() throws IOException {
+    File queryFile = writeQueryFile("# no queries yet", "");
+    assertEquals(0, readQueries(queryFile).size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "{\"entityId\": 1.5}",
+      "{\"entityId\": \"123\"}",
+      "{\"attributes\": \"NAME_FULL=Joe Schmoe\"}",
+      "{\"dataSource\": \"CUSTOMERS\"}",
+      "{\"recordId\": \"ABC\"}",
+      "{\"dataSource\": \"CUSTOMERS\", \"recordId\": 123}",
+      "{}",
+      "{\"entityId\": 123",
+      "entityId=123"})
+  public void testInvalidQuery(String line) throws IOException {
+    File queryFile = writeQueryFile("{\"entityId\": 1}", "", line);
+    IllegalArgumentException e = assertThrows(
+        IllegalArgumentException.class, () -> readQueries(queryFile));
+    assertTrue(e.getMessage().contains("line 3"),
+               "Line number not reported: " + e.getMessage());
+  }
+
+  @Test
+  public void testMissingFile() throws IOException {
+    File queryFile = writeQueryFile();
+    assertTrue(queryFile.delete());
+    assertThrows(FileNotFoundException.class, () -> readQueries(queryFile));
+  }
+
+  @Test
+  public void testQueryCount() throws IOException {
+    File queryFile = writeQueryFile(
+        "{\"entityId\": 1}", "{\"entityId\": 2}");
+    assertEquals(2, new EngineWarmUp(null, false, queryFile).getQueryCount());
+    assertEquals(0, new EngineWarmUp(null, true, null).getQueryCount());
+  }
+
+  @Test
+  public void testRunReplaysQueries() throws Exception {
+    File queryFile = writeQueryFile(
+        "{\"entityId\": 123}",
+        "{\"entityId\": " + TestEngine.FAILED_ENTITY_ID + "}",
+        "{\"dataSource\": \"CUSTOMERS\", \"recordId\": \"ABC\"}",
+        "{\"attributes\": {\"NAME_FULL\": \"Joe Schmoe\"}}");
+    TestEngine engine = new TestEngine(0);
+    AtomicInteger taskCount = new AtomicInteger(0);
+
+    EngineWarmUp warmUp = new EngineWarmUp(
+        newProxyProvider(engine, taskCount), true, queryFile);
+    warmUp.run();
+
+    // the engine is primed and each query is replayed on a worker thread
+    assertEquals(1, engine.getCallCount("primeEngine"));
+    assertEquals(2, engine.getCallCount("getEntityByEntityIDV2"));
+    assertEquals(1, engine.getCallCount("getEntityByRecordIDV2"));
+    assertEquals(1, engine.getCallCount("searchByAttributesV2"));
+    assertEquals(5, taskCount.get());
+
+    // a failed query is counted without aborting the warm-up
+    assertEquals(3, warmUp.getSuccessCount());
+    assertEquals(1, warmUp.getFailureCount());
+
+    // the failure is cleared so it is not reported by a later request
+    assertEquals(1, engine.getCallCount("clearLastException"));
+  }
+
+  @Test
+  public void testRunWithoutPriming() throws Exception {
+    File queryFile = writeQueryFile("{\"entityId\": 123}");
+    TestEngine engine = new TestEngine(0);
+    AtomicInteger taskCount = new AtomicInteger(0);
+
+    EngineWarmUp warmUp = new EngineWarmUp(
+        newProxyProvider(engine, taskCount), false, queryFile);
+    warmUp.run();
+
+    assertEquals(0, engine.getCallCount("primeEngine"));
+    assertEquals(1, warmUp.getSuccessCount());
+    assertEquals(0, warmUp.getFailureCount());
+    assertEquals(0, engine.getCallCount("clearLastException"));
+  }
+
+  @Test
+  public void testRunPrimeFailure() throws Exception {
+    File queryFile = writeQueryFile("{\"entityId\": 123}");
+    TestEngine engine = new TestEngine(-2);
+    AtomicInteger taskCount = new AtomicInteger(0);
+
+    EngineWarmUp warmUp = new EngineWarmUp(
+        newProxyProvider(engine, taskCount), true, queryFile);
+    IllegalStateException e
+        = assertThrows(IllegalStateException.class, warmUp::run);
+    assertTrue(e.getMessage().contains("G2Engine.primeEngine()"),
+               "Operation not reported: " + e.getMessage());
+
+    // the queries are not replayed if priming fails
+    assertEquals(0, engine.getCallCount("getEntityByEntityIDV2"));
+    assertEquals(0, warmUp.getSuccessCount());
+  }
+}
@@ -0,0 +1,200 @@
+package com.senzing.api.server;
+
+import com.senzing.api.model.SzRedoMetrics;
+import com.senzing.api.model.SzWorkerPoolStats;
+import com.senzing.api.services.SzApiProvider;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.WorkerThreadPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RedoProcessor}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RedoProcessorTest {
+  private static final long MIN_BACKOFF = 5L;
+
+  private static final long MAX_BACKOFF = 40L;
+
+  private static final long IDLE_PERIOD = 200L;
+
+  private static final long BACKLOG = 7L;
+
+  /**
+   * A proxy {@link G2Engine} that returns the specified number of redo
+   * records, then fails the specified number of times and then reports an
+   * empty redo queue.
+   */
+  private static class TestEngine {
+    private final AtomicInteger redoCalls = new AtomicInteger(0);
+    private final G2Engine proxy;
+
+    private TestEngine(int recordCount, int failureCount) {
+      InvocationHandler handler = (p, m, a) -> {
+        switch (m.getName()) {
+          case "countRedoRecords":
+            return BACKLOG;
+          case "processRedoRecord":
+            int call = this.redoCalls.incrementAndGet();
+            if (call <= recordCount) {
+              ((StringBuffer) a[0]).append("{\"RECORD_ID\":\"" + call + "\"}");
+              return 0;
+            }
+            return (call <= recordCount + failureCount) ? -2 : 0;
+          case "getLastExceptionCode":
+            return 7;
+          case "getLastException":
+            return "Redo failed";
+          case "clearLastException":
+            return null;
+          default:
+            throw new UnsupportedOperationException(
+                "Operation not implemented on proxy G2Engine");
+        }
+      };
+      ClassLoader loader = RedoProcessorTest.class.getClassLoader();
+      Class[] classes = {G2Engine.class};
+      this.proxy = (G2Engine) Proxy.newProxyInstance(loader, classes, handler);
+    }
+  }
+
+  private static SzApiProvider newProxyProvider(TestEngine    engine,
+                                                AtomicBoolean busy)
+  {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getEngineApi":
+          return engine.proxy;
+        case "getChangeFeed":
+          return null;
+        case "getWorkerPoolStats":
+          SzWorkerPoolStats stats = new SzWorkerPoolStats();
+          stats.setConcurrency(4);
+          stats.setThreadCount(4);
+          stats.setBusyThreads(busy.get() ? 4 : 0);
+          stats.setQueueLength(busy.get() ? 2 : 0);
+          return stats;
+        case "executeInThread":
+          return ((WorkerThreadPool.Task) a[0]).execute();
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy SzApiProvider");
+      }
+    };
+    ClassLoader loader = RedoProcessorTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    return (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static RedoProcessor newProcessor(SzApiProvider provider) {
+    return new RedoProcessor(provider, MIN_BACKOFF, MAX_BACKOFF, IDLE_PERIOD);
+  }
+
+  private static void await(BooleanSupplier condition, String message)
+    throws InterruptedException
+  {
+    long deadline = System.currentTimeMillis() + 10000L;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, message);
+      Thread.sleep(10L);
+    }
+  }
+
+  private static void stop(RedoProcessor processor)
+    throws InterruptedException
+  {
+    processor.complete();
+    processor.join(10000L);
+    assertFalse(processor.isAlive(), "Redo processor did not complete");
+  }
+
+  @Test
+  public void testMetricCounters() throws Exception {
+    TestEngine engine = new TestEngine(5, 2);
+    RedoProcessor processor
+        = newProcessor(newProxyProvider(engine, new AtomicBoolean(false)));
+    try {
+      await(() -> engine.redoCalls.get() > 7,
+            "Redo records not processed: " + processor.getMetrics());
+    } finally {
+      stop(processor);
+    }
+
+    SzRedoMetrics metrics = processor.getMetrics();
+    assertEquals(5L, metrics.getProcessedCount());
+    assertEquals(2L, metrics.getFailedCount());
+    assertEquals(0L, metrics.getYieldCount());
+
+    // the backlog is cleared once the queue is found to be empty
+    assertEquals(0L, metrics.getBacklog());
+  }
+
+  @Test
+  public void testInitialBacklog() throws Exception {
+    TestEngine engine = new TestEngine(0, 0);
+    AtomicBoolean busy = new AtomicBoolean(true);
+    RedoProcessor processor = newProcessor(newProxyProvider(engine, busy));
+    try {
+      await(() -> processor.getMetrics().getYieldCount() > 0L,
+            "Redo processor never yielded");
+      assertEquals(BACKLOG, processor.getMetrics().getBacklog());
+    } finally {
+      stop(processor);
+    }
+  }
+
+  @Test
+  public void testEmptyQueueBackoff() throws Exception {
+    TestEngine engine = new TestEngine(0, 0);
+    RedoProcessor processor
+        = newProcessor(newProxyProvider(engine, new AtomicBoolean(false)));
+    long elapsed;
+    long start = System.currentTimeMillis();
+    try {
+      Thread.sleep(5 * IDLE_PERIOD);
+    } finally {
+      stop(processor);
+      elapsed = System.currentTimeMillis() - start;
+    }
+
+    // an empty queue is checked once per idle period rather than spun on
+    int calls = engine.redoCalls.get();
+    assertTrue(calls >= 1, "Redo queue never checked");
+    assertTrue(calls <= (elapsed / IDLE_PERIOD) + 1,
+               "Redo queue checked " + calls + " times in " + elapsed
+                   + "ms with an idle period of " + IDLE_PERIOD + "ms");
+  }
+
+  @Test
+  public void testYieldsWhileBusy() throws Exception {
+    TestEngine engine = new TestEngine(3, 0);
+    AtomicBoolean busy = new AtomicBoolean(true);
+    RedoProcessor processor = newProcessor(newProxyProvider(engine, busy));
+    try {
+      Thread.sleep(10 * MAX_BACKOFF);
+
+      // no redo records are processed while the server is busy and the
+      // back-off grows to the maximum rather than spinning
+      assertEquals(0, engine.redoCalls.get());
+      long yields = processor.getMetrics().getYieldCount();
+      assertTrue(yields > 0L, "Redo processor never yielded");
+      assertTrue(yields <= 15L, "Back-off did not grow: " + yields);
+
+      // processing resumes once the server is no longer busy
+      busy.set(false);
+      await(() -> processor.getMetrics().getProcessedCount() == 3L,
+            "Redo processing did not resume: " + processor.getMetrics());
+    } finally {
+      stop(processor);
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package com.senzing.api.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.senzing.api.server.Reinitializer.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Reinitializer}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReinitializerTest {
+  private static final int SAMPLE_COUNT = 10000;
+
+  private static final long TIMEOUT = 10000L;
+
+  /**
+   * A {@link Reinitializer} that records the checks made by its thread
+   * rather than calling through to an {@link SzApiServer}.
+   */
+  private static class TestReinitializer extends Reinitializer {
+    private final long refreshPeriod;
+    private volatile boolean changeDetected = false;
+    private final BlockingQueue<String> checks = new LinkedBlockingQueue<>();
+
+    private TestReinitializer(long refreshPeriod) {
+      super(null, null, null, false);
+      this.refreshPeriod = refreshPeriod;
+      this.start();
+    }
+
+    @Override
+    long getConfigAutoRefreshPeriod() {
+      return this.refreshPeriod;
+    }
+
+    @Override
+    Boolean isConfigChangeDetected() {
+      this.checks.add("poll");
+      return this.changeDetected;
+    }
+
+    @Override
+    Boolean ensureConfigCurrent() {
+      this.checks.add("ensure");
+      return Boolean.TRUE;
+    }
+
+    private String nextCheck(long timeout) throws InterruptedException {
+      return this.checks.poll(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    private void shutdown() throws InterruptedException {
+      this.complete();
+      this.join(TIMEOUT);
+      assertFalse(this.isAlive(), "The reinitializer thread did not stop");
+    }
+  }
+
+  @Test
+  public void testBackoffDoublesUpToRefreshPeriod() {
+    long refreshPeriod = 10000L;
+    long pollPeriod = MIN_POLL_PERIOD;
+    List<Long> periods = new ArrayList<>();
+    for (int index = 0; index < 6; index++) {
+      pollPeriod = nextPollPeriod(pollPeriod, false, refreshPeriod);
+      periods.add(pollPeriod);
+    }
+    assertEquals(Arrays.asList(2000L, 4000L, 8000L, 10000L, 10000L, 10000L),
+                 periods);
+  }
+
+  @Test
+  public void testBackoffResetsOnChange() {
+    assertEquals(MIN_POLL_PERIOD, nextPollPeriod(8000L, true, 10000L));
+    assertEquals(MIN_POLL_PERIOD,
+                 nextPollPeriod(MIN_POLL_PERIOD, true, 10000L));
+  }
+
+  @Test
+  public void testSteadyStateUsesRefreshPeriod() {
+    assertEquals(10000L, nextPollPeriod(Long.MAX_VALUE, false, 10000L));
+    assertEquals(10000L, nextPollPeriod(10000L, false, 10000L));
+    assertEquals(MIN_POLL_PERIOD, nextPollPeriod(Long.MAX_VALUE, true, 10000L));
+  }
+
+  @Test
+  public void testBackoffWithShortRefreshPeriod() {
+    // the polling period never drops below the minimum
+    assertEquals(MIN_POLL_PERIOD,
+                 nextPollPeriod(MIN_POLL_PERIOD, false, 100L));
+    assertEquals(MIN_POLL_PERIOD,
+                 nextPollPeriod(Long.MAX_VALUE, false, 100L));
+  }
+
+  @Test
+  public void testJitterBounds() {
+    long delay = 10000L;
+    long minimum = (long) (delay * (1.0 - JITTER_FRACTION));
+    long maximum = (long) (delay * (1.0 + JITTER_FRACTION));
+    int belowCount = 0;
+    int aboveCount = 0;
+    Set<Long> values = new HashSet<>();
+    for (int index = 0; index < SAMPLE_COUNT; index++) {
+      long value = jitter(delay);
+      assertTrue(value >= minimum && value <= maximum,
+                 "Jittered delay out of bounds: " + value);
+      if (value < delay) belowCount++;
+      if (value > delay) aboveCount++;
+      values.add(value);
+    }
+
+    // the delay is both increased and decreased so that servers drift apart
+    assertTrue(belowCount > SAMPLE_COUNT / 4,
+               "Too few decreased delays: " + belowCount);
+    assertTrue(aboveCount > SAMPLE_COUNT / 4,
+               "Too few increased delays: " + aboveCount);
+    assertTrue(values.size() > 100,
+               "Too few distinct delays: " + values.size());
+  }
+
+  @Test
+  public void testJitterMinimum() {
+    for (int index = 0; index < SAMPLE_COUNT; index++) {
+      assertTrue(jitter(1L) >= 1L);
+    }
+    assertEquals(1L, jitter(0L));
+  }
+
+  @Test
+  public void testSignalChangeWakesPoller() throws Exception {
+    // the refresh period is far longer than the test so only the signal
+    // can trigger the check
+    TestReinitializer reinitializer = new TestReinitializer(600000L);
+    try {
+      Thread.sleep(100L);
+      reinitializer.signalChange();
+      assertEquals("ensure", reinitializer.nextCheck(TIMEOUT));
+
+      // each signal triggers another check
+      reinitializer.signalChange();
+      assertEquals("ensure", reinitializer.nextCheck(TIMEOUT));
+    } finally {
+      reinitializer.shutdown();
+    }
+  }
+
+  @Test
+  public void testSignalChangeSpeedsUpPolling() throws Exception {
+    TestReinitializer reinitializer = new TestReinitializer(600000L);
+    try {
+      // the steady state polls at the refresh period, not the minimum
+      assertNull(reinitializer.nextCheck(3L * MIN_POLL_PERIOD / 2L));
+
+      // after a signal the polling drops to the minimum period
+      reinitializer.signalChange();
+      assertEquals("ensure", reinitializer.nextCheck(TIMEOUT));
+      assertEquals("poll", reinitializer.nextCheck(TIMEOUT));
+    } finally {
+      reinitializer.shutdown();
+    }
+  }
+
+  @Test
+  public void testRequestRefreshWaitsForCheck() throws Exception {
+    TestReinitializer reinitializer = new TestReinitializer(600000L);
+    try {
+      reinitializer.requestRefresh();
+      assertEquals("ensure", reinitializer.nextCheck(0L));
+    } finally {
+      reinitializer.shutdown();
+    }
+  }
+
+  @Test
+  public void testRequestRefreshWithoutPolling() throws Exception {
+    // a negative refresh period disables polling but honors requests
+    TestReinitializer reinitializer = new TestReinitializer(-1L);
+    try {
+      reinitializer.signalChange();
+      assertNull(reinitializer.nextCheck(500L));
+      reinitializer.requestRefresh();
+      assertEquals("ensure", reinitializer.nextCheck(0L));
+    } finally {
+      reinitializer.shutdown();
+    }
+  }
+
+  @Test
+  public void testPollDetectsChange() throws Exception {
+    TestReinitializer reinitializer = new TestReinitializer(50L);
+    try {
+      // polls only check cheaply until a change is detected
+      assertEquals("poll", reinitializer.nextCheck(TIMEOUT));
+      reinitializer.changeDetected = true;
+      String check;
+      do {
+        check = reinitializer.nextCheck(TIMEOUT);
+        assertNotNull(check, "No check was made");
+      } while (check.equals("poll"));
+      assertEquals("ensure", check);
+    } finally {
+      reinitializer.shutdown();
+    }
+  }
+}
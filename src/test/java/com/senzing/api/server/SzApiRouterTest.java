@@ -0,0 +1,356 @@
+package com.senzing.api.server;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static com.senzing.api.server.SzApiRouter.ReadPolicy.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SzApiRouter} and {@link RouterProxyServlet}.  The backends
+ * are Jetty servers that reply with their name, the request method and the
+ * request URI, and they are discovered through monitor files written in the
+ * format maintained by {@link FileMonitor}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SzApiRouterTest {
+  private static final int BACKEND_COUNT = 3;
+
+  private final List<Server> backendServers = new ArrayList<>();
+
+  private final List<File> monitorFiles = new ArrayList<>();
+
+  private final List<RouterBackend> backends = new ArrayList<>();
+
+  private SzApiRouter router = null;
+
+  private int routerPort = -1;
+
+  /**
+   * A backend reply parsed into the backend name, method and URI.
+   */
+  private static class Reply {
+    private final int status;
+    private final String backend;
+    private final String method;
+    private final String uri;
+
+    private Reply(int status, String body) {
+      String[] tokens = body.split(" ");
+      this.status   = status;
+      this.backend  = (tokens.length == 3) ? tokens[0] : null;
+      this.method   = (tokens.length == 3) ? tokens[1] : null;
+      this.uri      = (tokens.length == 3) ? tokens[2] : null;
+    }
+  }
+
+  private static Server startBackend(String name) throws Exception {
+    Server server = new Server(new InetSocketAddress("127.0.0.1", 0));
+    server.setHandler(new AbstractHandler() {
+      @Override
+      public void handle(String              target,
+                         Request             baseRequest,
+                         HttpServletRequest  request,
+                         HttpServletResponse response)
+        throws IOException
+      {
+        String uri = request.getRequestURI();
+        if (request.getQueryString() != null) {
+          uri = uri + "?" + request.getQueryString();
+        }
+        response.setStatus(200);
+        response.setContentType("text/plain");
+        response.getWriter().print(
+            name + " " + request.getMethod() + " " + uri);
+        baseRequest.setHandled(true);
+      }
+    });
+    server.start();
+    return server;
+  }
+
+  private static int getPort(Server server) {
+    return ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+  }
+
+  private static int findFreePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static void writeMonitorFile(File     file,
+                                       int      port,
+                                       boolean  shutdown,
+                                       long     heartbeat)
+    throws IOException
+  {
+    String json = "{\"pid\":1,\"port\":" + port + ",\"shutdown\":" + shutdown
+        + ",\"heartbeat\":" + heartbeat + "}";
+    Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void writeMonitorFile(int index, boolean shutdown, long heartbeat)
+    throws IOException
+  {
+    writeMonitorFile(this.monitorFiles.get(index),
+                     getPort(this.backendServers.get(index)),
+                     shutdown,
+                     heartbeat);
+  }
+
+  private void startRouter(SzApiRouter.ReadPolicy readPolicy)
+    throws Exception
+  {
+    this.routerPort = findFreePort();
+    this.router = new SzApiRouter(InetAddress.getLoopbackAddress(),
+                                  this.routerPort,
+                                  readPolicy,
+                                  this.backends);
+  }
+
+  private Reply send(String method, String path) throws IOException {
+    URL url = new URL("http://127.0.0.1:" + this.routerPort + path);
+    HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    conn.setRequestMethod(method);
+    if (!"GET".equals(method) && !"DELETE".equals(method)) {
+      conn.setDoOutput(true);
+      try (OutputStream os = conn.getOutputStream()) {
+        os.write("{}".getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    int status = conn.getResponseCode();
+    InputStream is = (status < 400)
+        ? conn.getInputStream() : conn.getErrorStream();
+    String body = "";
+    if (is != null) {
+      try (InputStream in = is) {
+        body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      }
+    }
+    conn.disconnect();
+    return new Reply(status, body);
+  }
+
+  private String backendName(RouterBackend backend) {
+    return "backend-" + this.backends.indexOf(backend);
+  }
+
+  @BeforeEach
+  public void startBackends() throws Exception {
+    long now = System.currentTimeMillis();
+    for (int index = 0; index < BACKEND_COUNT; index++) {
+      this.backendServers.add(startBackend("backend-" + index));
+      File monitorFile = File.createTempFile("sz-api-router-test-", ".json");
+      monitorFile.deleteOnExit();
+      this.monitorFiles.add(monitorFile);
+      this.backends.add(new RouterBackend(monitorFile, null));
+      this.writeMonitorFile(index, false, now);
+    }
+  }
+
+  @AfterEach
+  public void stopAll() throws Exception {
+    if (this.router != null) this.router.shutdown();
+    this.router = null;
+    for (Server server : this.backendServers) {
+      server.stop();
+    }
+    this.backendServers.clear();
+    for (File file : this.monitorFiles) {
+      file.delete();
+    }
+    this.monitorFiles.clear();
+    this.backends.clear();
+  }
+
+  @Test
+  public void testDiscovery() throws Exception {
+    // a backend with an empty monitor file is not yet available
+    Files.write(this.monitorFiles.get(2).toPath(), new byte[0]);
+    this.startRouter(ROUND_ROBIN);
+    assertEquals(2, this.router.getAvailableCount());
+    assertFalse(this.backends.get(2).isAvailable());
+
+    // it is discovered once the file has its port and a heartbeat
+    this.writeMonitorFile(2, false, System.currentTimeMillis());
+    this.router.refreshBackends();
+    assertEquals(3, this.router.getAvailableCount());
+    assertEquals("http://127.0.0.1:" + getPort(this.backendServers.get(2)),
+                 this.backends.get(2).getBaseUrl());
+  }
+
+  @Test
+  public void testHealth() throws Exception {
+    this.startRouter(ROUND_ROBIN);
+    assertEquals(3, this.router.getAvailableCount());
+
+    // a stale heartbeat or a shutdown flag makes the backend unavailable
+    long stale = System.currentTimeMillis()
+        - RouterBackend.HEARTBEAT_TIMEOUT - 1000L;
+    this.writeMonitorFile(0, false, stale);
+    this.writeMonitorFile(1, true, System.currentTimeMillis());
+    this.router.refreshBackends();
+    assertEquals(1, this.router.getAvailableCount());
+    assertFalse(this.backends.get(0).isAvailable());
+    assertFalse(this.backends.get(1).isAvailable());
+
+    for (int index = 0; index < 5; index++) {
+      Reply reply = this.send("GET", "/heartbeat");
+      assertEquals(200, reply.status);
+      assertEquals("backend-2", reply.backend);
+    }
+
+    // a fresh heartbeat makes it available again
+    this.writeMonitorFile(0, false, System.currentTimeMillis());
+    this.router.refreshBackends();
+    assertEquals(2, this.router.getAvailableCount());
+  }
+
+  @Test
+  public void testRoundRobinReads() throws Exception {
+    this.startRouter(ROUND_ROBIN);
+    Set<String> names = new LinkedHashSet<>();
+    for (int index = 0; index < BACKEND_COUNT; index++) {
+      Reply reply = this.send("GET", "/entities/1?withRaw=true");
+      assertEquals(200, reply.status);
+      assertEquals("GET", reply.method);
+      assertEquals("/entities/1?withRaw=true", reply.uri);
+      names.add(reply.backend);
+    }
+    assertEquals(BACKEND_COUNT, names.size(), "Not rotated: " + names);
+  }
+
+  @Test
+  public void testLeastOutstandingReads() throws Exception {
+    this.startRouter(LEAST_OUTSTANDING);
+
+    // the backends with outstanding requests are avoided
+    this.backends.get(0).acquire();
+    this.backends.get(2).acquire();
+    try {
+      for (int index = 0; index < 4; index++) {
+        Reply reply = this.send("GET", "/license");
+        assertEquals("backend-1", reply.backend);
+      }
+    } finally {
+      this.backends.get(0).release();
+      this.backends.get(2).release();
+    }
+
+    // the outstanding count is released once each response completes
+    for (RouterBackend backend : this.backends) {
+      assertEquals(0, backend.getOutstandingCount(), backend.toString());
+    }
+  }
+
+  @Test
+  public void testWritesRoutedByRecordKey() throws Exception {
+    this.startRouter(ROUND_ROBIN);
+    Set<String> names = new LinkedHashSet<>();
+    for (int index = 0; index < 30; index++) {
+      String recordId = "REC-" + index;
+      String expected = this.backendName(
+          this.router.selectWriteBackend("CUSTOMERS", recordId));
+      names.add(expected);
+
+      // every write to the same record goes to the same backend regardless
+      // of the method, the data source case or the base path
+      for (String path : List.of(
+          "/data-sources/CUSTOMERS/records/" + recordId,
+          "/data-sources/customers/records/" + recordId + "/",
+          "/sz/api/data-sources/CUSTOMERS/records/" + recordId))
+      {
+        for (String method : List.of("PUT", "POST", "DELETE")) {
+          Reply reply = this.send(method, path + "?withInfo=true");
+          assertEquals(200, reply.status);
+          assertEquals(method, reply.method);
+          assertEquals(path + "?withInfo=true", reply.uri);
+          assertEquals(expected, reply.backend,
+                       method + " " + path + " routed to wrong backend");
+        }
+      }
+    }
+    assertEquals(BACKEND_COUNT, names.size(),
+                 "Record keys not spread across backends: " + names);
+  }
+
+  @Test
+  public void testEncodedRecordKey() throws Exception {
+    this.startRouter(ROUND_ROBIN);
+    String expected = this.backendName(
+        this.router.selectWriteBackend("CUSTOMERS", "A/B C+D"));
+    for (int index = 0; index < BACKEND_COUNT; index++) {
+      Reply reply = this.send(
+          "PUT", "/data-sources/CUSTOMERS/records/A%2FB%20C+D");
+      assertEquals(expected, reply.backend);
+    }
+  }
+
+  @Test
+  public void testFailover() throws Exception {
+    this.startRouter(ROUND_ROBIN);
+
+    Map<String, String> before = new LinkedHashMap<>();
+    for (int index = 0; index < 30; index++) {
+      String recordId = "REC-" + index;
+      before.put(recordId, this.send(
+          "PUT", "/data-sources/CUSTOMERS/records/" + recordId).backend);
+    }
+
+    // take down one backend and let the router notice
+    this.backendServers.get(1).stop();
+    this.backends.get(1).requestShutdown();
+    this.router.refreshBackends();
+    assertEquals(2, this.router.getAvailableCount());
+
+    for (Map.Entry<String, String> entry : before.entrySet()) {
+      Reply reply = this.send(
+          "PUT", "/data-sources/CUSTOMERS/records/" + entry.getKey());
+      assertEquals(200, reply.status);
+      assertNotEquals("backend-1", reply.backend);
+
+      // records on the surviving backends are not remapped
+      if (!"backend-1".equals(entry.getValue())) {
+        assertEquals(entry.getValue(), reply.backend,
+                     "Record remapped: " + entry.getKey());
+      }
+    }
+    for (int index = 0; index < 4; index++) {
+      assertNotEquals("backend-1", this.send("GET", "/heartbeat").backend);
+    }
+  }
+
+  @Test
+  public void testNoBackendAvailable() throws Exception {
+    long stale = System.currentTimeMillis()
+        - RouterBackend.HEARTBEAT_TIMEOUT - 1000L;
+    for (int index = 0; index < BACKEND_COUNT; index++) {
+      this.writeMonitorFile(index, false, stale);
+    }
+    this.startRouter(LEAST_OUTSTANDING);
+    assertEquals(0, this.router.getAvailableCount());
+
+    assertEquals(503, this.send("GET", "/heartbeat").status);
+    assertEquals(503, this.send(
+        "PUT", "/data-sources/CUSTOMERS/records/ABC").status);
+  }
+}
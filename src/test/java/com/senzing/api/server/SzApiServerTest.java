@@ -0,0 +1,145 @@
+package com.senzing.api.server;
+
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+
+import static com.senzing.api.server.SzApiServer.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Jetty tuning options of {@link SzApiServer}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SzApiServerTest {
+  private static final String HOST = "127.0.0.1";
+
+  private static final int PORT = 8250;
+
+  /**
+   * Parses the specified command-line arguments along with the required
+   * initialization option.
+   */
+  private static Map<SzApiServerOption, ?> parse(String... args) {
+    List<String> list = new ArrayList<>(Arrays.asList("-initJson", "{}"));
+    list.addAll(Arrays.asList(args));
+    return parseCommandLine(list.toArray(new String[list.size()]));
+  }
+
+  /**
+   * Gets the job queue of the specified {@link QueuedThreadPool}, which it
+   * does not otherwise expose.
+   */
+  private static BlockingQueue<?> getQueue(QueuedThreadPool threadPool)
+    throws Exception
+  {
+    Field field = QueuedThreadPool.class.getDeclaredField("_jobs");
+    field.setAccessible(true);
+    return (BlockingQueue<?>) field.get(threadPool);
+  }
+
+  @Test
+  public void testTuningOptions() throws Exception {
+    Map<SzApiServerOption, ?> options = parse(
+        "-httpAcceptors", "2",
+        "-httpSelectors", "3",
+        "-httpMinThreads", "4",
+        "-httpMaxThreads", "16",
+        "-httpQueueSize", "100",
+        "-httpIdleTimeout", "5000",
+        "-httpOutputBufferSize", "65536",
+        "-disableKeepAlive",
+        "-enableH2c");
+
+    QueuedThreadPool threadPool = createThreadPool(options);
+    assertEquals(4, threadPool.getMinThreads());
+    assertEquals(16, threadPool.getMaxThreads());
+    BlockingQueue<?> queue = getQueue(threadPool);
+    assertTrue(queue instanceof BlockingArrayQueue,
+               "Unexpected queue type: " + queue.getClass());
+    assertEquals(100, ((BlockingArrayQueue<?>) queue).getMaxCapacity());
+
+    Server server = new Server(threadPool);
+    ServerConnector connector
+        = createConnector(server, HOST, PORT, options);
+    assertEquals(HOST, connector.getHost());
+    assertEquals(PORT, connector.getPort());
+    assertEquals(2, connector.getAcceptors());
+    assertEquals(3, connector.getSelectorManager().getSelectorCount());
+    assertEquals(5000L, connector.getIdleTimeout());
+
+    HttpConnectionFactory http1
+        = connector.getConnectionFactory(HttpConnectionFactory.class);
+    assertNotNull(http1, "Missing HTTP/1.1 connection factory");
+    HttpConfiguration httpConfig = http1.getHttpConfiguration();
+    assertEquals(65536, httpConfig.getOutputBufferSize());
+    assertFalse(httpConfig.isPersistentConnectionsEnabled());
+    assertNotNull(
+        connector.getConnectionFactory(HTTP2CServerConnectionFactory.class),
+        "Missing h2c connection factory");
+  }
+
+  @Test
+  public void testJettyDefaults() throws Exception {
+    Map<SzApiServerOption, ?> options = parse();
+
+    QueuedThreadPool defaultPool = new QueuedThreadPool();
+    QueuedThreadPool threadPool = createThreadPool(options);
+    assertEquals(defaultPool.getMinThreads(), threadPool.getMinThreads());
+    assertEquals(defaultPool.getMaxThreads(), threadPool.getMaxThreads());
+    assertEquals(Integer.MAX_VALUE,
+                 ((BlockingArrayQueue<?>) getQueue(threadPool))
+                     .getMaxCapacity(),
+                 "The request queue should be unbounded by default");
+
+    Server server = new Server(threadPool);
+    ServerConnector defaultConnector = new ServerConnector(server);
+    ServerConnector connector
+        = createConnector(server, HOST, PORT, options);
+    assertEquals(defaultConnector.getAcceptors(), connector.getAcceptors());
+    assertEquals(defaultConnector.getIdleTimeout(),
+                 connector.getIdleTimeout());
+
+    HttpConfiguration httpConfig = connector.getConnectionFactory(
+        HttpConnectionFactory.class).getHttpConfiguration();
+    assertEquals(new HttpConfiguration().getOutputBufferSize(),
+                 httpConfig.getOutputBufferSize());
+    assertTrue(httpConfig.isPersistentConnectionsEnabled());
+    assertNull(
+        connector.getConnectionFactory(HTTP2CServerConnectionFactory.class),
+        "The h2c connection factory should not be present by default");
+  }
+
+  @Test
+  public void testMaxThreadsOnly() {
+    // the default minimum is lowered rather than exceeding the maximum
+    Map<SzApiServerOption, ?> options = parse("-httpMaxThreads", "2");
+    QueuedThreadPool threadPool = createThreadPool(options);
+    assertEquals(2, threadPool.getMaxThreads());
+    assertTrue(threadPool.getMinThreads() <= 2,
+               "Minimum threads exceed maximum: "
+                   + threadPool.getMinThreads());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "-httpAcceptors -1", "-httpSelectors 0", "-httpMinThreads 0",
+      "-httpMaxThreads abc", "-httpQueueSize 0", "-httpIdleTimeout 0",
+      "-httpOutputBufferSize 0"})
+  public void testInvalidTuningOptions(String args) {
+    assertThrows(IllegalArgumentException.class,
+                 () -> parse(args.split(" ")));
+  }
+}
@@ -21,9 +21,12 @@ import com.senzing.util.JsonUtils;
 
 import javax.json.*;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import static com.senzing.io.IOUtilities.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assumptions.*;
 import static com.senzing.util.LoggingUtilities.*;
 import static com.senzing.repomgr.RepositoryManager.*;
@@ -1134,6 +1137,52 @@ public abstract class AbstractServiceTest {
       throw new RuntimeException(e);
     }
   }
+  /**
+   * Writes the {@link StreamingOutput} entity of a {@link Response} obtained
+   * by directly calling a streaming API services function and parses what
+   * was written as a JSON object.
+   *
+   * @param response The {@link Response} whose entity should be written.
+   *
+   * @return The {@link JsonObject} that was written.
+   */
+  protected static JsonObject readStreamedResponse(Response response) {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      ((StreamingOutput) response.getEntity()).write(baos);
+      return JsonUtils.parseJsonObject(baos.toString("UTF-8"));
+
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Maps the batch results in the <tt>"data"</tt> array of the specified
+   * streamed response by their <tt>"index"</tt> property, since unordered
+   * batch results are streamed in the order they complete.  This asserts
+   * that the expected number of results with distinct indexes are present.
+   *
+   * @param response The {@link JsonObject} for the streamed response.
+   *
+   * @param count The expected number of results.
+   *
+   * @return The {@link Map} of {@link Integer} indexes to {@link JsonObject}
+   *         results.
+   */
+  protected static Map<Integer, JsonObject> mapBatchResults(
+      JsonObject response, int count)
+  {
+    JsonArray data = response.getJsonArray("data");
+    assertEquals(count, data.size(), "Unexpected number of results: " + data);
+    Map<Integer, JsonObject> results = new TreeMap<>();
+    for (JsonObject result : data.getValuesAs(JsonObject.class)) {
+      results.put(result.getInt("index"), result);
+    }
+    assertEquals(count, results.size(), "Duplicate result indexes: " + data);
+    return results;
+  }
+
 
   /**
    * Invoke an operation on the currently running API server over HTTP.
@@ -0,0 +1,268 @@
+package com.senzing.api.services;
+
+import com.senzing.api.services.BatchExecutor.BatchResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.util.AsyncWorkerPool.Task;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BatchExecutor}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BatchExecutorTest {
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ignore) {
+      // do nothing
+    }
+  }
+
+  /**
+   * Creates tasks that return their index after sleeping for a pseudo-random
+   * period while tracking the number of concurrently executing tasks.
+   */
+  private static List<Task<Integer>> newTasks(int           count,
+                                              AtomicInteger running,
+                                              AtomicInteger maxRunning,
+                                              AtomicInteger executed)
+  {
+    Random random = new Random(count);
+    List<Task<Integer>> tasks = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      final int value = index;
+      final long delay = random.nextInt(20);
+      tasks.add(() -> {
+        int current = running.incrementAndGet();
+        maxRunning.accumulateAndGet(current, Math::max);
+        executed.incrementAndGet();
+        try {
+          sleep(delay);
+          return value;
+        } finally {
+          running.decrementAndGet();
+        }
+      });
+    }
+    return tasks;
+  }
+
+  @Test
+  public void testOrderedResults() throws Exception {
+    AtomicInteger running     = new AtomicInteger(0);
+    AtomicInteger maxRunning  = new AtomicInteger(0);
+    AtomicInteger executed    = new AtomicInteger(0);
+    List<Task<Integer>> tasks = newTasks(50, running, maxRunning, executed);
+
+    List<BatchResult<Integer>> results = new ArrayList<>();
+    Thread submitter = Thread.currentThread();
+    BatchExecutor.executeAll(4, true, tasks, (result) -> {
+      assertSame(submitter, Thread.currentThread(),
+                 "Result not handled on the submitting thread");
+      results.add(result);
+    });
+
+    assertEquals(50, results.size());
+    for (int index = 0; index < results.size(); index++) {
+      BatchResult<Integer> result = results.get(index);
+      assertEquals(index, result.getIndex());
+      assertEquals(index, result.getValue());
+      assertNull(result.getFailure());
+    }
+    assertTrue(maxRunning.get() <= 4,
+               "Too many concurrent tasks: " + maxRunning.get());
+    assertEquals(0, running.get());
+  }
+
+  @Test
+  public void testOrderedWindow() throws Exception {
+    // the first task is held so later results cannot be handled
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executed = new AtomicInteger(0);
+    List<Task<Integer>> tasks = new ArrayList<>();
+    for (int index = 0; index < 20; index++) {
+      final int value = index;
+      tasks.add(() -> {
+        executed.incrementAndGet();
+        if (value == 0) release.await(10L, TimeUnit.SECONDS);
+        return value;
+      });
+    }
+
+    List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+    List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+    Thread submitter = new Thread(() -> {
+      try {
+        BatchExecutor.executeAll(
+            2, true, tasks, (result) -> handled.add(result.getValue()));
+      } catch (Exception e) {
+        failures.add(e);
+      }
+    });
+    submitter.start();
+
+    // submission stops once the window of unhandled tasks is full
+    int window = 2 * BatchExecutor.ORDERED_WINDOW_FACTOR;
+    Thread.sleep(200L);
+    assertEquals(window, executed.get(),
+                 "Unexpected number of tasks submitted past the window");
+    assertEquals(0, handled.size());
+
+    release.countDown();
+    submitter.join(10000L);
+    assertFalse(submitter.isAlive(), "Batch did not complete");
+    assertEquals(0, failures.size(), "Unexpected failures: " + failures);
+    assertEquals(20, executed.get());
+    for (int index = 0; index < handled.size(); index++) {
+      assertEquals(index, handled.get(index));
+    }
+    assertEquals(20, handled.size());
+  }
+
+  @Test
+  public void testUnorderedResults() throws Exception {
+    // the first task cannot finish until the second has been handled
+    CountDownLatch secondHandled = new CountDownLatch(1);
+    List<Task<String>> tasks = Arrays.asList(
+        () -> secondHandled.await(10L, TimeUnit.SECONDS) ? "first" : "late",
+        () -> "second");
+
+    List<BatchResult<String>> results = new ArrayList<>();
+    BatchExecutor.executeAll(2, false, tasks, (result) -> {
+      results.add(result);
+      if (result.getIndex() == 1) secondHandled.countDown();
+    });
+
+    assertEquals(2, results.size());
+    assertEquals(1, results.get(0).getIndex());
+    assertEquals("second", results.get(0).getValue());
+    assertEquals(0, results.get(1).getIndex());
+    assertEquals("first", results.get(1).getValue());
+  }
+
+  @Test
+  public void testUnorderedParallelism() throws Exception {
+    AtomicInteger running     = new AtomicInteger(0);
+    AtomicInteger maxRunning  = new AtomicInteger(0);
+    AtomicInteger executed    = new AtomicInteger(0);
+    List<Task<Integer>> tasks = newTasks(50, running, maxRunning, executed);
+
+    Set<Integer> indexes = new TreeSet<>();
+    BatchExecutor.executeAll(3, false, tasks, (result) -> {
+      assertEquals(result.getIndex(), result.getValue());
+      assertTrue(indexes.add(result.getIndex()),
+                 "Result handled twice: " + result.getIndex());
+    });
+
+    assertEquals(50, indexes.size());
+    assertEquals(50, executed.get());
+    assertTrue(maxRunning.get() <= 3,
+               "Too many concurrent tasks: " + maxRunning.get());
+  }
+
+  @Test
+  public void testPerItemFailures() {
+    List<Task<Integer>> tasks = new ArrayList<>();
+    for (int index = 0; index < 20; index++) {
+      final int value = index;
+      tasks.add(() -> {
+        if (value % 3 == 0) {
+          throw new IllegalArgumentException("Failed: " + value);
+        }
+        return value;
+      });
+    }
+
+    List<BatchResult<Integer>> results = BatchExecutor.executeAll(4, tasks);
+    assertEquals(20, results.size());
+    for (int index = 0; index < results.size(); index++) {
+      BatchResult<Integer> result = results.get(index);
+      assertEquals(index, result.getIndex());
+      if (index % 3 == 0) {
+        assertNull(result.getValue());
+        assertTrue(result.getFailure() instanceof IllegalArgumentException,
+                   "Unexpected failure: " + result.getFailure());
+        assertEquals("Failed: " + index, result.getFailure().getMessage());
+      } else {
+        assertEquals(index, result.getValue());
+        assertNull(result.getFailure());
+      }
+    }
+  }
+
+  @Test
+  public void testHandlerFailureAbortsBatch() {
+    AtomicInteger running   = new AtomicInteger(0);
+    AtomicInteger executed  = new AtomicInteger(0);
+    List<Task<Integer>> tasks = new ArrayList<>();
+    for (int index = 0; index < 100; index++) {
+      final int value = index;
+      tasks.add(() -> {
+        running.incrementAndGet();
+        executed.incrementAndGet();
+        try {
+          sleep(10L);
+          return value;
+        } finally {
+          running.decrementAndGet();
+        }
+      });
+    }
+
+    IllegalStateException failure = assertThrows(
+        IllegalStateException.class,
+        () -> BatchExecutor.executeAll(2, true, tasks, (result) -> {
+          if (result.getIndex() == 2) {
+            throw new IllegalStateException("Handler failed");
+          }
+        }));
+    assertEquals("Handler failed", failure.getMessage());
+
+    // abort waits for the executing tasks and cancels the rest
+    assertEquals(0, running.get());
+    int executedCount = executed.get();
+    assertTrue(executedCount < 100,
+               "Tasks were not abandoned: " + executedCount);
+    sleep(50L);
+    assertEquals(executedCount, executed.get(),
+                 "Tasks were executed after the batch was aborted");
+  }
+
+  @Test
+  public void testAbortWaitsForExecutingTasks() throws Exception {
+    AtomicInteger running = new AtomicInteger(0);
+    CountDownLatch started = new CountDownLatch(2);
+    List<BatchResult<Integer>> results = new ArrayList<>();
+    BatchExecutor<Integer> executor
+        = new BatchExecutor<>(2, false, results::add);
+    for (int index = 0; index < 2; index++) {
+      executor.submit(() -> {
+        running.incrementAndGet();
+        started.countDown();
+        try {
+          sleep(100L);
+          return 0;
+        } finally {
+          running.decrementAndGet();
+        }
+      });
+    }
+    assertTrue(started.await(10L, TimeUnit.SECONDS));
+    executor.abort();
+    assertEquals(0, running.get());
+    assertEquals(0, results.size(), "Results handled after abort");
+  }
+
+  @Test
+  public void testEmptyBatch() throws Exception {
+    List<Task<Integer>> tasks = Collections.emptyList();
+    assertEquals(0, BatchExecutor.executeAll(4, tasks).size());
+  }
+}
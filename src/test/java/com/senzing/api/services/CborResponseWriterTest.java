@@ -0,0 +1,163 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.senzing.api.model.*;
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.senzing.api.model.SzHttpMethod.*;
+
+/**
+ * Tests for {@link CborResponseWriter}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CborResponseWriterTest {
+  private static final String ENTITY_JSON
+      = "{\"RESOLVED_ENTITY\": {"
+      + "\"ENTITY_ID\": 100, \"ENTITY_NAME\": \"Joe Schmoe\", "
+      + "\"FEATURES\": {\"NAME\": [{\"FEAT_DESC\": \"Joe Schmoe\", "
+      + "\"LIB_FEAT_ID\": 1, \"UTYPE_CODE\": \"PRIMARY\", "
+      + "\"FEAT_DESC_VALUES\": [{\"FEAT_DESC\": \"Joe Schmoe\", "
+      + "\"LIB_FEAT_ID\": 1}, {\"FEAT_DESC\": \"Joseph Schmoe\", "
+      + "\"LIB_FEAT_ID\": 2}]}]}, "
+      + "\"RECORDS\": [{\"DATA_SOURCE\": \"EMPLOYEES\", \"RECORD_ID\": \"ABC\","
+      + " \"JSON_DATA\": {\"NAME_FULL\": \"Joe Schmoe\"}, "
+      + "\"NAME_DATA\": [\"PRIMARY: Joe Schmoe\"]}]}, "
+      + "\"RELATED_ENTITIES\": []}";
+
+  private final CborResponseWriter writer = new CborResponseWriter();
+
+  private final ObjectMapper jsonMapper = new ObjectMapper();
+
+  private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+  private static String largeEntityJson(int recordCount) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"RESOLVED_ENTITY\": {\"ENTITY_ID\": 100, ")
+        .append("\"ENTITY_NAME\": \"Joe Schmoe\", \"FEATURES\": {")
+        .append("\"NAME\": [{\"FEAT_DESC\": \"Joe Schmoe\", ")
+        .append("\"LIB_FEAT_ID\": 1, \"UTYPE_CODE\": \"PRIMARY\", ")
+        .append("\"FEAT_DESC_VALUES\": [{\"FEAT_DESC\": \"Joe Schmoe\", ")
+        .append("\"LIB_FEAT_ID\": 1}]}]}, \"RECORDS\": [");
+    for (int index = 0; index < recordCount; index++) {
+      if (index > 0) sb.append(", ");
+      sb.append("{\"DATA_SOURCE\": \"EMPLOYEES\", \"RECORD_ID\": \"")
+          .append(index).append("\", \"LAST_SEEN_DT\": \"2020-01-01\", ")
+          .append("\"MATCH_LEVEL\": 1, \"MATCH_SCORE\": ").append(index)
+          .append(", \"NAME_DATA\": [\"PRIMARY: Joe Schmoe\"], ")
+          .append("\"ADDRESS_DATA\": [\"HOME: 123 Main St\"], ")
+          .append("\"JSON_DATA\": {\"NAME_FULL\": \"Joe Schmoe\", ")
+          .append("\"EMPLOYEE_NUM\": ").append(index).append("}}");
+    }
+    sb.append("]}, \"RELATED_ENTITIES\": []}");
+    return sb.toString();
+  }
+
+  private byte[] writeCbor(Object value) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    this.writer.writeTo(value,
+                        value.getClass(),
+                        value.getClass(),
+                        new Annotation[0],
+                        CborResponseWriter.APPLICATION_CBOR_TYPE,
+                        null,
+                        baos);
+    return baos.toByteArray();
+  }
+
+  @Test
+  public void testEntityResponseRoundTrip() throws IOException {
+    SzEntityData entityData = SzEntityData.parseEntityData(
+        null, JsonUtils.parseJsonObject(ENTITY_JSON), f -> "NAME");
+
+    SzEntityResponse response = new SzEntityResponse(
+        GET, 200, "http://localhost/entities/100", new Timers(), entityData);
+    response.concludeTimers();
+
+    JsonNode expected = this.jsonMapper.readTree(
+        this.jsonMapper.writeValueAsBytes(response));
+
+    JsonNode actual = this.cborMapper.readTree(this.writeCbor(response));
+
+    assertEquals(expected, actual,
+                 "CBOR form does not match the JSON form");
+  }
+
+  @Test
+  public void testRawDataResponseRoundTrip() throws IOException {
+    SzRawDataResponse response = new SzRawDataResponse(
+        GET, 200, "http://localhost/entities/100", new Timers(), ENTITY_JSON);
+    response.concludeTimers();
+
+    JsonNode expected = this.jsonMapper.readTree(
+        this.jsonMapper.writeValueAsBytes(response));
+
+    JsonNode actual = this.cborMapper.readTree(this.writeCbor(response));
+
+    assertEquals(expected, actual,
+                 "CBOR form does not match the JSON form");
+    assertEquals(100, actual.path("rawData").path("RESOLVED_ENTITY")
+                     .path("ENTITY_ID").asInt(),
+                 "Raw data was not encoded as structured data");
+  }
+
+  @Test
+  public void testMediaTypeDetection() {
+    assertTrue(CborResponseWriter.isCbor(
+        CborResponseWriter.APPLICATION_CBOR_TYPE));
+    assertFalse(CborResponseWriter.isCbor(
+        javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE));
+    assertFalse(CborResponseWriter.isCbor(null));
+  }
+
+  @Test
+  public void testSizeAndThroughputAgainstJson() throws IOException {
+    SzEntityData entityData = SzEntityData.parseEntityData(
+        null, JsonUtils.parseJsonObject(largeEntityJson(1000)), f -> "NAME");
+    SzEntityResponse response = new SzEntityResponse(
+        GET, 200, "http://localhost/entities/100", new Timers(), entityData);
+    response.concludeTimers();
+
+    int iterations = 50;
+    byte[] json = null;
+    byte[] cbor = null;
+
+    // warm up both encoders before timing them
+    for (int index = 0; index < iterations; index++) {
+      json = this.jsonMapper.writeValueAsBytes(response);
+      cbor = this.writeCbor(response);
+    }
+
+    long start = System.nanoTime();
+    for (int index = 0; index < iterations; index++) {
+      json = this.jsonMapper.writeValueAsBytes(response);
+    }
+    long jsonNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int index = 0; index < iterations; index++) {
+      cbor = this.writeCbor(response);
+    }
+    long cborNanos = System.nanoTime() - start;
+
+    System.out.println(
+        "Encoding a 1000-record entity response " + iterations + " times: "
+            + "JSON=" + json.length + " bytes/" + (jsonNanos / 1000000L)
+            + " ms, CBOR=" + cbor.length + " bytes/" + (cborNanos / 1000000L)
+            + " ms");
+
+    // only the size is asserted since the timings are too noisy
+    assertTrue(cbor.length < json.length,
+               "CBOR encoding (" + cbor.length + " bytes) is not smaller "
+                   + "than the JSON encoding (" + json.length + " bytes)");
+  }
+}
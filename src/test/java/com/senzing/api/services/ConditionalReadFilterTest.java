@@ -0,0 +1,212 @@
+package com.senzing.api.services;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ConditionalReadFilter}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConditionalReadFilterTest {
+  private static final URI BASE_URI = URI.create("http://localhost:8250/");
+
+  private static final long CONFIG_ID = 7L;
+
+  private static final long LAST_MODIFIED = 1577836800000L;
+
+  private static final EntityTag ENTITY_TAG
+      = new EntityTag("repo-" + LAST_MODIFIED + "-" + CONFIG_ID, true);
+
+  /**
+   * A {@link LastModifiedSampler} that refreshes synchronously and samples
+   * a settable value.
+   */
+  private static class TestSampler extends LastModifiedSampler {
+    private Long value = LAST_MODIFIED;
+
+    private TestSampler() {
+      super(Runnable::run, 60000L, 60000L);
+    }
+
+    @Override
+    Long sample(SzApiProvider provider) {
+      return this.value;
+    }
+  }
+
+  private static SzApiProvider newProxyProvider() {
+    return newProxyProvider(CONFIG_ID);
+  }
+
+  private static SzApiProvider newProxyProvider(Long configId) {
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getActiveConfigId")) return configId;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy SzApiProvider");
+    };
+    ClassLoader loader = ConditionalReadFilterTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    return (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static ContainerRequest newRequest(String method,
+                                             String headerName,
+                                             String headerValue)
+  {
+    ContainerRequest request = new ContainerRequest(
+        BASE_URI, BASE_URI.resolve("entities/1"), method, null,
+        new MapPropertiesDelegate());
+    if (headerName != null) request.header(headerName, headerValue);
+    return request;
+  }
+
+  private ConditionalReadFilter newFilter(TestSampler sampler) {
+    ConditionalReadFilter filter
+        = new ConditionalReadFilter(newProxyProvider(), sampler);
+
+    // prime the sample as would have been done by an earlier request
+    sampler.getLastModifiedTime(null);
+    return filter;
+  }
+
+  @Test
+  public void testNotModifiedForMatchingEntityTag() {
+    ConditionalReadFilter filter = this.newFilter(new TestSampler());
+    ContainerRequest request = newRequest(
+        HttpMethod.GET, HttpHeaders.IF_NONE_MATCH, ENTITY_TAG.toString());
+
+    filter.filter(request);
+    Response response = request.getAbortResponse();
+    assertNotNull(response, "The request was not aborted");
+    assertEquals(304, response.getStatus());
+    assertEquals(ENTITY_TAG, response.getEntityTag());
+    assertEquals(new Date(LAST_MODIFIED), response.getLastModified());
+  }
+
+  @Test
+  public void testNotModifiedSinceLastModified() {
+    ConditionalReadFilter filter = this.newFilter(new TestSampler());
+    ContainerRequest request = newRequest(
+        HttpMethod.GET, HttpHeaders.IF_MODIFIED_SINCE,
+        "Wed, 01 Jan 2020 00:00:00 GMT");
+
+    filter.filter(request);
+    Response response = request.getAbortResponse();
+    assertNotNull(response, "The request was not aborted");
+    assertEquals(304, response.getStatus());
+  }
+
+  @Test
+  public void testValidatorsAddedWhenModified() {
+    ConditionalReadFilter filter = this.newFilter(new TestSampler());
+    ContainerRequest request = newRequest(
+        HttpMethod.GET, HttpHeaders.IF_NONE_MATCH, "W/\"repo-1-7\"");
+
+    filter.filter(request);
+    assertNull(request.getAbortResponse());
+
+    ContainerResponse response
+        = new ContainerResponse(request, Response.ok().build());
+    filter.filter(request, response);
+    assertEquals(ENTITY_TAG, response.getEntityTag());
+    assertEquals(new Date(LAST_MODIFIED), response.getLastModified());
+  }
+
+  @Test
+  public void testNoValidatorsForFailedResponse() {
+    ConditionalReadFilter filter = this.newFilter(new TestSampler());
+    ContainerRequest request = newRequest(HttpMethod.GET, null, null);
+
+    filter.filter(request);
+    ContainerResponse response = new ContainerResponse(
+        request, Response.status(404).build());
+    filter.filter(request, response);
+    assertNull(response.getEntityTag());
+    assertNull(response.getLastModified());
+  }
+
+  @Test
+  public void testNotModifiedIgnoredForOtherMethods() {
+    ConditionalReadFilter filter = this.newFilter(new TestSampler());
+    ContainerRequest request = newRequest(
+        HttpMethod.POST, HttpHeaders.IF_NONE_MATCH, ENTITY_TAG.toString());
+
+    filter.filter(request);
+    assertNull(request.getAbortResponse());
+  }
+
+  @Test
+  public void testInvalidateSuppressesNotModified() {
+    TestSampler sampler = new TestSampler();
+    ConditionalReadFilter filter = this.newFilter(sampler);
+
+    // a modification made through the server invalidates the sample and
+    // the request that follows must not be told its copy is current
+    sampler.invalidate();
+    ContainerRequest request = newRequest(
+        HttpMethod.GET, HttpHeaders.IF_NONE_MATCH, ENTITY_TAG.toString());
+    filter.filter(request);
+    assertNull(request.getAbortResponse());
+
+    ContainerResponse response
+        = new ContainerResponse(request, Response.ok().build());
+    filter.filter(request, response);
+    assertNull(response.getEntityTag());
+
+    // the invalidated request started a refresh so later requests are
+    // validated against the new last-modified time
+    sampler.value = LAST_MODIFIED + 1000L;
+    sampler.invalidate();
+    filter.filter(newRequest(HttpMethod.GET, null, null));
+    request = newRequest(
+        HttpMethod.GET, HttpHeaders.IF_NONE_MATCH, ENTITY_TAG.toString());
+    filter.filter(request);
+    assertNull(request.getAbortResponse());
+    response = new ContainerResponse(request, Response.ok().build());
+    filter.filter(request, response);
+    assertEquals(new EntityTag(
+        "repo-" + (LAST_MODIFIED + 1000L) + "-" + CONFIG_ID, true),
+                 response.getEntityTag());
+  }
+
+  @Test
+  public void testNoValidatorsWithoutConfigId() {
+    TestSampler sampler = new TestSampler();
+    ConditionalReadFilter filter
+        = new ConditionalReadFilter(newProxyProvider(null), sampler);
+    sampler.getLastModifiedTime(null);
+
+    // neither an entity tag naming a null configuration nor the
+    // last-modified time alone may validate the client representation
+    ContainerRequest request = newRequest(
+        HttpMethod.GET, HttpHeaders.IF_NONE_MATCH,
+        new EntityTag("repo-" + LAST_MODIFIED + "-null", true).toString());
+    filter.filter(request);
+    assertNull(request.getAbortResponse());
+
+    request = newRequest(HttpMethod.GET, HttpHeaders.IF_MODIFIED_SINCE,
+                         "Wed, 01 Jan 2020 00:00:00 GMT");
+    filter.filter(request);
+    assertNull(request.getAbortResponse());
+
+    ContainerResponse response
+        = new ContainerResponse(request, Response.ok().build());
+    filter.filter(request, response);
+    assertNull(response.getEntityTag());
+    assertNull(response.getLastModified());
+  }
+}
@@ -0,0 +1,211 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzConfigChangesResponse;
+import com.senzing.g2.engine.G2Config;
+import com.senzing.g2.engine.G2ConfigMgr;
+import com.senzing.g2.engine.Result;
+import com.senzing.util.AccessToken;
+import com.senzing.util.WorkerThreadPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.UriInfo;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the <tt>POST /config/changes</tt> endpoint of {@link
+ * ConfigServices}.  The config APIs and the provider are proxies that record
+ * the calls so that the single configuration version and the single
+ * reinitialization path can be verified without a repository.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConfigChangesServicesTest {
+  private static final String SELF_LINK
+      = "http://localhost:8250/config/changes";
+
+  private static final String DATA_SOURCES_JSON
+      = "{\"DATA_SOURCES\":[{\"DSRC_CODE\":\"TEST\",\"DSRC_ID\":1}]}";
+
+  private static final String ENTITY_CLASSES_JSON
+      = "{\"ENTITY_CLASSES\":[{\"ECLASS_CODE\":\"ACTOR\",\"ECLASS_ID\":1,"
+      + "\"RESOLVE\":\"Yes\"}]}";
+
+  private static final String ENTITY_TYPES_JSON
+      = "{\"ENTITY_TYPES\":[{\"ETYPE_CODE\":\"GENERIC\",\"ETYPE_ID\":1,"
+      + "\"ECLASS_CODE\":\"ACTOR\"}]}";
+
+  private final List<String> calls = new ArrayList<>();
+
+  private AccessToken token = null;
+
+  private static UriInfo newProxyUriInfo() {
+    URI uri = URI.create(SELF_LINK);
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getRequestUri")) return uri;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy UriInfo");
+    };
+    ClassLoader loader = ConfigChangesServicesTest.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private G2Config newProxyConfig() {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "load":
+          return 1L;
+        case "close":
+          return null;
+        case "save":
+          ((StringBuffer) a[1]).append("{}");
+          return 0;
+        case "listDataSourcesV2":
+          ((StringBuffer) a[1]).append(DATA_SOURCES_JSON);
+          return 0;
+        case "listEntityClassesV2":
+          ((StringBuffer) a[1]).append(ENTITY_CLASSES_JSON);
+          return 0;
+        case "listEntityTypesV2":
+          ((StringBuffer) a[1]).append(ENTITY_TYPES_JSON);
+          return 0;
+        case "addDataSourceV2":
+        case "addEntityClassV2":
+        case "addEntityTypeV2":
+          this.calls.add(m.getName());
+          return 0;
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy G2Config");
+      }
+    };
+    ClassLoader loader = ConfigChangesServicesTest.class.getClassLoader();
+    Class[] classes = {G2Config.class};
+    return (G2Config) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private G2ConfigMgr newProxyConfigMgr() {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getDefaultConfigID":
+          ((Result<Long>) a[0]).setValue(1L);
+          return 0;
+        case "getConfig":
+          ((StringBuffer) a[1]).append("{}");
+          return 0;
+        case "addConfig":
+          this.calls.add(m.getName());
+          ((Result<Long>) a[2]).setValue(2L);
+          return 0;
+        case "setDefaultConfigID":
+          this.calls.add(m.getName() + ":" + a[0]);
+          return 0;
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy G2ConfigMgr");
+      }
+    };
+    ClassLoader loader = ConfigChangesServicesTest.class.getClassLoader();
+    Class[] classes = {G2ConfigMgr.class};
+    return (G2ConfigMgr) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  @BeforeEach
+  public void installProvider() {
+    this.calls.clear();
+    G2Config configApi = this.newProxyConfig();
+    G2ConfigMgr configMgrApi = this.newProxyConfigMgr();
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "isAdminEnabled":
+          return true;
+        case "isReadOnly":
+          return false;
+        case "getConfigApi":
+          return configApi;
+        case "getConfigMgrApi":
+          return configMgrApi;
+        case "executeInThread":
+          return ((WorkerThreadPool.Task) a[0]).execute();
+        case "notifyConfigChanged":
+          this.calls.add(m.getName());
+          return null;
+        case "getDataSources":
+        case "getEntityClasses":
+        case "getEntityTypes":
+          String[] codes = (String[]) a[0];
+          this.calls.add(m.getName() + ":" + Arrays.asList(codes));
+          return new LinkedHashSet<>(Arrays.asList(codes));
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy SzApiProvider");
+      }
+    };
+    ClassLoader loader = ConfigChangesServicesTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    this.token = SzApiProvider.Factory.installProvider(
+        (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler));
+  }
+
+  @AfterEach
+  public void uninstallProvider() {
+    if (this.token != null) SzApiProvider.Factory.uninstallProvider(token);
+    this.token = null;
+  }
+
+  @Test
+  public void testSingleConfigVersionAndReinitPath() {
+    SzConfigChangesResponse response = new ConfigServices().addConfigChanges(
+        newProxyUriInfo(),
+        "{\"dataSources\": [\"TEST\", \"CUSTOMERS\"], "
+            + "\"entityClasses\": [\"ORG\"], "
+            + "\"entityTypes\": [{\"entityTypeCode\": \"VENDOR\", "
+            + "\"entityClassCode\": \"ORG\"}]}");
+
+    assertEquals(Set.of("CUSTOMERS"), response.getData().getDataSources());
+    assertEquals(Set.of("ORG"), response.getData().getEntityClasses());
+    assertEquals(Set.of("VENDOR"), response.getData().getEntityTypes());
+
+    // one config version is saved and the provider reinitializes inline
+    // without also signaling the reinitializer
+    assertEquals(List.of("addDataSourceV2",
+                         "addEntityClassV2",
+                         "addEntityTypeV2",
+                         "addConfig",
+                         "setDefaultConfigID:2",
+                         "getDataSources:[TEST, CUSTOMERS]",
+                         "getEntityClasses:[ORG]",
+                         "getEntityTypes:[VENDOR]"),
+                 this.calls);
+  }
+
+  @Test
+  public void testNoChangesNeeded() {
+    SzConfigChangesResponse response = new ConfigServices().addConfigChanges(
+        newProxyUriInfo(), "{\"dataSources\": [\"TEST\"]}");
+
+    assertEquals(0, response.getData().getDataSources().size());
+    assertEquals(List.of("getDataSources:[TEST]",
+                         "getEntityClasses:[]",
+                         "getEntityTypes:[]"),
+                 this.calls);
+  }
+
+  @Test
+  public void testUnknownEntityClassRejected() {
+    assertThrows(BadRequestException.class,
+                 () -> new ConfigServices().addConfigChanges(
+                     newProxyUriInfo(),
+                     "{\"entityTypes\": [{\"entityTypeCode\": \"VENDOR\", "
+                         + "\"entityClassCode\": \"ORG\"}]}"));
+    assertEquals(0, this.calls.size(), "Unexpected calls: " + this.calls);
+  }
+}
@@ -0,0 +1,106 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.senzing.api.model.*;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static com.senzing.api.model.SzHttpMethod.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ConfigResponseCache}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConfigResponseCacheTest {
+  private static final String SELF_LINK
+      = "http://localhost:8250/data-sources";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static UriInfo newProxyUriInfo(String selfLink) {
+    URI uri = URI.create(selfLink);
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getRequestUri")) return uri;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy UriInfo");
+    };
+    ClassLoader loader = ConfigResponseCacheTest.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static byte[] gunzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (InputStream is
+             = new GZIPInputStream(new ByteArrayInputStream(bytes)))
+    {
+      byte[] buffer = new byte[4096];
+      for (int count = is.read(buffer); count >= 0; count = is.read(buffer)) {
+        baos.write(buffer, 0, count);
+      }
+    }
+    return baos.toByteArray();
+  }
+
+  private JsonNode parseWithoutMeta(byte[] bytes) throws IOException {
+    ObjectNode node = (ObjectNode) this.objectMapper.readTree(bytes);
+    assertNotNull(node.get("meta"), "Missing meta section: " + node);
+    node.remove("meta");
+    return node;
+  }
+
+  @Test
+  public void testCompressedSpliceMatchesUncompressed() throws IOException {
+    UriInfo uriInfo = newProxyUriInfo(SELF_LINK);
+    SzDataSourcesResponse response = new SzDataSourcesResponse(
+        GET, 200, uriInfo, new Timers());
+    for (int index = 0; index < 200; index++) {
+      response.addDataSource(new SzDataSource("DATA_SOURCE_" + index, index));
+    }
+
+    byte[] bodyBytes = ConfigResponseCache.serializeBody(response);
+    byte[] compressedBody = ConfigResponseCache.compressBody(bodyBytes, 6);
+    assertNotNull(compressedBody);
+
+    byte[] plainBytes = ConfigResponseCache.buildResponseBytes(
+        GET, uriInfo, new Timers(), bodyBytes);
+    byte[] gzipBytes = ConfigResponseCache.buildCompressedResponseBytes(
+        GET, uriInfo, new Timers(), compressedBody, 6);
+
+    // the meta section has request-specific timings and timestamps
+    JsonNode expected = this.parseWithoutMeta(plainBytes);
+    JsonNode actual   = this.parseWithoutMeta(gunzip(gzipBytes));
+    assertEquals(expected, actual);
+
+    // the spliced response must match serializing the response directly
+    JsonNode direct = this.parseWithoutMeta(
+        this.objectMapper.writeValueAsBytes(response));
+    assertEquals(direct, expected);
+  }
+
+  @Test
+  public void testEmptyBodyIsNotCompressed() throws IOException {
+    byte[] bodyBytes = "{}".getBytes("UTF-8");
+    assertNull(ConfigResponseCache.compressBody(bodyBytes, 6));
+
+    byte[] plainBytes = ConfigResponseCache.buildResponseBytes(
+        GET, newProxyUriInfo(SELF_LINK), new Timers(), bodyBytes);
+    JsonNode node = this.parseWithoutMeta(plainBytes);
+    assertEquals(SELF_LINK, node.get("links").get("self").asText());
+  }
+}
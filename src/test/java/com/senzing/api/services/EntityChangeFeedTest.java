@@ -0,0 +1,324 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzEntityChange;
+import com.senzing.g2.engine.G2Engine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static com.senzing.api.model.SzChangeOperation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EntityChangeFeed}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EntityChangeFeedTest {
+  private static void publish(EntityChangeFeed feed, int count) {
+    for (int index = 0; index < count; index++) {
+      feed.publish(LOAD_RECORD, "CUSTOMERS", String.valueOf(index),
+                   Collections.singleton((long) index));
+    }
+  }
+
+  /**
+   * Creates a proxy {@link G2Engine} that records the names of the methods
+   * called and simulates a load that merges entities 1 and 2 into 3.  The
+   * record belongs to entity 1 before the change and entity 3 after it, and
+   * the redo record returned without info names entity 2.
+   */
+  private static G2Engine newProxyEngine(List<String> calls, int returnCode) {
+    String info = "{\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"ABC\","
+        + "\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":1},{\"ENTITY_ID\":2},"
+        + "{\"ENTITY_ID\":3}],\"INTERESTING_ENTITIES\":[]}";
+    InvocationHandler handler = (p, m, a) -> {
+      calls.add(m.getName());
+      switch (m.getName()) {
+        case "addRecordWithInfo":
+          ((StringBuffer) a[5]).append(info);
+          return returnCode;
+        case "addRecordWithInfoWithReturnedRecordID":
+          ((StringBuffer) a[4]).append("ABC");
+          ((StringBuffer) a[5]).append(info);
+          return returnCode;
+        case "processRedoRecordWithInfo":
+          ((StringBuffer) a[1]).append("{\"REASON\":\"merge\"}");
+          ((StringBuffer) a[2]).append(info);
+          return returnCode;
+        case "addRecord":
+          return returnCode;
+        case "addRecordWithReturnedRecordID":
+          ((StringBuffer) a[1]).append("ABC");
+          return returnCode;
+        case "processRedoRecord":
+          ((StringBuffer) a[0]).append(
+              "{\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"ABC\","
+              + "\"ENTITY_ID\":2}");
+          return returnCode;
+        case "getEntityByRecordIDV2":
+          boolean changed = calls.contains("addRecord")
+              || calls.contains("addRecordWithReturnedRecordID")
+              || calls.contains("processRedoRecord");
+          long entityId = changed ? 3L : 1L;
+          ((StringBuffer) a[3]).append(
+              "{\"RESOLVED_ENTITY\":{\"ENTITY_ID\":" + entityId + "}}");
+          return 0;
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy G2Engine");
+      }
+    };
+    ClassLoader loader = EntityChangeFeedTest.class.getClassLoader();
+    Class[] classes = {G2Engine.class};
+    return (G2Engine) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static Set<Long> setOf(Long... entityIds) {
+    return new LinkedHashSet<>(Arrays.asList(entityIds));
+  }
+
+  @Test
+  public void testInvalidCapacity() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> new EntityChangeFeed(0));
+  }
+
+  @Test
+  public void testPollInOrder() {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    long start = feed.getLastSequence();
+    publish(feed, 5);
+    assertEquals(start + 5L, feed.getLastSequence());
+
+    List<SzEntityChange> changes = feed.poll(start, 3, 0L);
+    assertEquals(3, changes.size());
+    for (int index = 0; index < changes.size(); index++) {
+      SzEntityChange change = changes.get(index);
+      assertEquals(start + index + 1L, change.getSequence());
+      assertEquals(String.valueOf(index), change.getRecordId());
+      assertEquals(Collections.singleton((long) index),
+                   change.getEntityIds());
+    }
+
+    // resume from the last change received
+    changes = feed.poll(start + 3L, 10, 0L);
+    assertEquals(2, changes.size());
+    assertEquals(start + 4L, changes.get(0).getSequence());
+    assertEquals(start + 5L, changes.get(1).getSequence());
+  }
+
+  @Test
+  public void testPollTimesOutWithoutChanges() {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    List<SzEntityChange> changes = feed.poll(feed.getLastSequence(), 10, 50L);
+    assertNotNull(changes);
+    assertEquals(0, changes.size());
+  }
+
+  @Test
+  public void testPollWakesOnPublish() throws Exception {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    long start = feed.getLastSequence();
+    Thread publisher = new Thread(() -> {
+      try {
+        Thread.sleep(100L);
+      } catch (InterruptedException ignore) {
+        // do nothing
+      }
+      publish(feed, 1);
+    });
+    publisher.start();
+    List<SzEntityChange> changes = feed.poll(start, 10, 10000L);
+    publisher.join();
+    assertEquals(1, changes.size());
+    assertEquals(start + 1L, changes.get(0).getSequence());
+  }
+
+  @Test
+  public void testOverflowRequiresReset() {
+    EntityChangeFeed feed = new EntityChangeFeed(4);
+    long start = feed.getLastSequence();
+    publish(feed, 6);
+
+    // the first two changes are no longer retained
+    assertNull(feed.poll(start, 10, 0L));
+    assertNull(feed.poll(start + 1L, 10, 0L));
+
+    List<SzEntityChange> changes = feed.poll(start + 2L, 10, 0L);
+    assertEquals(4, changes.size());
+    assertEquals(start + 3L, changes.get(0).getSequence());
+    assertEquals(start + 6L, changes.get(3).getSequence());
+  }
+
+  @Test
+  public void testUnknownSequenceRequiresReset() {
+    EntityChangeFeed feed = new EntityChangeFeed(4);
+    publish(feed, 2);
+    assertNull(feed.poll(feed.getLastSequence() + 1L, 10, 0L));
+  }
+
+  @Test
+  public void testCloseReleasesWaiters() throws Exception {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    Thread closer = new Thread(() -> {
+      try {
+        Thread.sleep(100L);
+      } catch (InterruptedException ignore) {
+        // do nothing
+      }
+      feed.close();
+    });
+    closer.start();
+    List<SzEntityChange> changes = feed.poll(feed.getLastSequence(), 10,
+                                             10000L);
+    closer.join();
+    assertTrue(feed.isClosed());
+    assertEquals(0, changes.size());
+  }
+
+  @Test
+  public void testAddRecordPublishesAffectedEntities() {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    List<String> calls = new LinkedList<>();
+    long start = feed.getLastSequence();
+    int returnCode = feed.addRecord(
+        newProxyEngine(calls, 0), "CUSTOMERS", "ABC", "{}", null);
+
+    assertEquals(0, returnCode);
+    assertEquals(Collections.singletonList("addRecordWithInfo"), calls);
+    List<SzEntityChange> changes = feed.poll(start, 10, 0L);
+    assertEquals(1, changes.size());
+    SzEntityChange change = changes.get(0);
+    assertEquals(LOAD_RECORD, change.getOperation());
+    assertEquals("CUSTOMERS", change.getDataSource());
+    assertEquals("ABC", change.getRecordId());
+    assertEquals(setOf(1L, 2L, 3L), change.getEntityIds());
+  }
+
+  @Test
+  public void testAddRecordWithReturnedRecordID() {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    List<String> calls = new LinkedList<>();
+    long start = feed.getLastSequence();
+    StringBuffer recordId = new StringBuffer();
+    int returnCode = feed.addRecordWithReturnedRecordID(
+        newProxyEngine(calls, 0), "CUSTOMERS", recordId, "{}", null);
+
+    assertEquals(0, returnCode);
+    assertEquals("ABC", recordId.toString());
+    assertEquals(
+        Collections.singletonList("addRecordWithInfoWithReturnedRecordID"),
+        calls);
+    SzEntityChange change = feed.poll(start, 10, 0L).get(0);
+    assertEquals("ABC", change.getRecordId());
+    assertEquals(setOf(1L, 2L, 3L), change.getEntityIds());
+  }
+
+  @Test
+  public void testProcessRedoRecordPublishesAffectedEntities() {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    List<String> calls = new LinkedList<>();
+    long start = feed.getLastSequence();
+    StringBuffer redoRecord = new StringBuffer();
+    int returnCode
+        = feed.processRedoRecord(newProxyEngine(calls, 0), redoRecord);
+
+    assertEquals(0, returnCode);
+    assertTrue(redoRecord.length() > 0);
+    assertEquals(Collections.singletonList("processRedoRecordWithInfo"),
+                 calls);
+    SzEntityChange change = feed.poll(start, 10, 0L).get(0);
+    assertEquals(PROCESS_REDO, change.getOperation());
+    assertEquals("CUSTOMERS", change.getDataSource());
+    assertEquals("ABC", change.getRecordId());
+    assertEquals(setOf(1L, 2L, 3L), change.getEntityIds());
+  }
+
+  @Test
+  public void testFailedChangeNotPublished() {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    long start = feed.getLastSequence();
+    int returnCode = feed.addRecord(newProxyEngine(new LinkedList<>(), -2),
+                                    "CUSTOMERS", "ABC", "{}", null);
+    assertEquals(-2, returnCode);
+    assertEquals(start, feed.getLastSequence());
+  }
+
+  @Test
+  public void testLookupFallback() {
+    // without the "with info" methods only the entities the record belongs
+    // to before and after the change are found, missing merged entity 2
+    EntityChangeFeed feed = new EntityChangeFeed(10, false);
+    List<String> calls = new LinkedList<>();
+    long start = feed.getLastSequence();
+    int returnCode = feed.addRecord(
+        newProxyEngine(calls, 0), "CUSTOMERS", "ABC", "{}", null);
+
+    assertEquals(0, returnCode);
+    assertEquals(Arrays.asList("getEntityByRecordIDV2", "addRecord",
+                               "getEntityByRecordIDV2"), calls);
+    SzEntityChange change = feed.poll(start, 10, 0L).get(0);
+    assertEquals(setOf(1L, 3L), change.getEntityIds());
+  }
+
+  @Test
+  public void testAddRecordWithReturnedRecordIDLookupFallback() {
+    // the record ID is not known until the record is added, so only the
+    // entity the record belongs to after the change is found
+    EntityChangeFeed feed = new EntityChangeFeed(10, false);
+    List<String> calls = new LinkedList<>();
+    long start = feed.getLastSequence();
+    StringBuffer recordId = new StringBuffer();
+    int returnCode = feed.addRecordWithReturnedRecordID(
+        newProxyEngine(calls, 0), "CUSTOMERS", recordId, "{}", null);
+
+    assertEquals(0, returnCode);
+    assertEquals("ABC", recordId.toString());
+    assertEquals(Arrays.asList("addRecordWithReturnedRecordID",
+                               "getEntityByRecordIDV2"), calls);
+    SzEntityChange change = feed.poll(start, 10, 0L).get(0);
+    assertEquals(LOAD_RECORD, change.getOperation());
+    assertEquals("ABC", change.getRecordId());
+    assertEquals(setOf(3L), change.getEntityIds());
+  }
+
+  @Test
+  public void testProcessRedoRecordLookupFallback() {
+    // the entity named in the redo record is combined with the entity the
+    // record belongs to after the redo is processed
+    EntityChangeFeed feed = new EntityChangeFeed(10, false);
+    List<String> calls = new LinkedList<>();
+    long start = feed.getLastSequence();
+    StringBuffer redoRecord = new StringBuffer();
+    int returnCode
+        = feed.processRedoRecord(newProxyEngine(calls, 0), redoRecord);
+
+    assertEquals(0, returnCode);
+    assertEquals(Arrays.asList("processRedoRecord", "getEntityByRecordIDV2"),
+                 calls);
+    SzEntityChange change = feed.poll(start, 10, 0L).get(0);
+    assertEquals(PROCESS_REDO, change.getOperation());
+    assertEquals("CUSTOMERS", change.getDataSource());
+    assertEquals("ABC", change.getRecordId());
+    assertEquals(setOf(2L, 3L), change.getEntityIds());
+  }
+
+  @Test
+  public void testFailedFallbackNotPublished() {
+    EntityChangeFeed feed = new EntityChangeFeed(10, false);
+    long start = feed.getLastSequence();
+    List<String> calls = new LinkedList<>();
+    int returnCode = feed.addRecordWithReturnedRecordID(
+        newProxyEngine(calls, -2), "CUSTOMERS", new StringBuffer(), "{}",
+        null);
+    assertEquals(-2, returnCode);
+    returnCode = feed.processRedoRecord(
+        newProxyEngine(calls, -2), new StringBuffer());
+    assertEquals(-2, returnCode);
+    assertEquals(start, feed.getLastSequence());
+    assertFalse(calls.contains("getEntityByRecordIDV2"));
+  }
+}
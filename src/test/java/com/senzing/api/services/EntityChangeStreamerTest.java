@@ -0,0 +1,218 @@
+package com.senzing.api.services;
+
+import com.senzing.util.AccessToken;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.senzing.api.model.SzChangeOperation.*;
+import static com.senzing.api.services.EntityDataServices.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EntityChangeStreamer} through {@link
+ * EntityDataServices#streamEntityChanges}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EntityChangeStreamerTest {
+  private static final long TIMEOUT = 10000L;
+
+  private EntityChangeFeed feed = null;
+
+  private AccessToken token = null;
+
+  /**
+   * An {@link SseEventSink} that queues the events sent to it.
+   */
+  private static class TestSink {
+    private final BlockingQueue<OutboundSseEvent> events
+        = new LinkedBlockingQueue<>();
+    private volatile boolean closed = false;
+    private final SseEventSink proxy;
+
+    private TestSink() {
+      InvocationHandler handler = (p, m, a) -> {
+        switch (m.getName()) {
+          case "send":
+            if (this.closed) throw new IllegalStateException("Closed");
+            this.events.add((OutboundSseEvent) a[0]);
+            return CompletableFuture.completedFuture(null);
+          case "isClosed":
+            return this.closed;
+          case "close":
+            this.closed = true;
+            return null;
+          default:
+            throw new UnsupportedOperationException(
+                "Operation not implemented on proxy SseEventSink");
+        }
+      };
+      ClassLoader loader = EntityChangeStreamerTest.class.getClassLoader();
+      Class[] classes = {SseEventSink.class};
+      this.proxy = (SseEventSink) Proxy.newProxyInstance(
+          loader, classes, handler);
+    }
+
+    private OutboundSseEvent nextEvent() throws InterruptedException {
+      OutboundSseEvent event
+          = this.events.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+      assertNotNull(event, "No event was sent");
+      return event;
+    }
+
+    private void awaitClosed() throws InterruptedException {
+      long start = System.currentTimeMillis();
+      while (!this.closed) {
+        if (System.currentTimeMillis() - start > TIMEOUT) {
+          fail("The sink was not closed");
+        }
+        Thread.sleep(10L);
+      }
+    }
+  }
+
+  private static Sse newProxySse() {
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("newEventBuilder")) {
+        return new OutboundEvent.Builder();
+      }
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy Sse");
+    };
+    ClassLoader loader = EntityChangeStreamerTest.class.getClassLoader();
+    Class[] classes = {Sse.class};
+    return (Sse) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private void installProvider(EntityChangeFeed feed) {
+    this.feed = feed;
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getChangeFeed")) return feed;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy SzApiProvider");
+    };
+    ClassLoader loader = EntityChangeStreamerTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    this.token = SzApiProvider.Factory.installProvider(
+        (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler));
+  }
+
+  @AfterEach
+  public void uninstallProvider() {
+    if (this.feed != null) this.feed.close();
+    if (this.token != null) SzApiProvider.Factory.uninstallProvider(token);
+    this.feed   = null;
+    this.token  = null;
+  }
+
+  private static void publish(EntityChangeFeed feed, int count) {
+    for (int index = 0; index < count; index++) {
+      feed.publish(LOAD_RECORD, "CUSTOMERS", String.valueOf(index),
+                   Collections.singleton((long) index));
+    }
+  }
+
+  private static TestSink stream(Long after, String lastEventId) {
+    TestSink sink = new TestSink();
+    new EntityDataServices().streamEntityChanges(
+        after, lastEventId, null, sink.proxy, newProxySse());
+    return sink;
+  }
+
+  @Test
+  public void testResumeFromLastEventId() throws Exception {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    this.installProvider(feed);
+    long start = feed.getLastSequence();
+    publish(feed, 3);
+
+    // the request returns immediately while the subscription continues
+    TestSink sink = stream(null, String.valueOf(start + 1L));
+    assertFalse(sink.closed);
+
+    for (long sequence = start + 2L; sequence <= start + 3L; sequence++) {
+      OutboundSseEvent event = sink.nextEvent();
+      assertEquals(CHANGE_EVENT, event.getName());
+      assertEquals(String.valueOf(sequence), event.getId());
+    }
+
+    // later changes are sent as they are published
+    publish(feed, 1);
+    OutboundSseEvent event = sink.nextEvent();
+    assertEquals(CHANGE_EVENT, event.getName());
+    assertEquals(String.valueOf(start + 4L), event.getId());
+
+    // closing the feed ends the subscription
+    feed.close();
+    sink.awaitClosed();
+  }
+
+  @Test
+  public void testAfterTakesPrecedence() throws Exception {
+    EntityChangeFeed feed = new EntityChangeFeed(10);
+    this.installProvider(feed);
+    long start = feed.getLastSequence();
+    publish(feed, 3);
+
+    TestSink sink = stream(start + 2L, String.valueOf(start));
+    OutboundSseEvent event = sink.nextEvent();
+    assertEquals(String.valueOf(start + 3L), event.getId());
+  }
+
+  @Test
+  public void testResetWhenChangesNotRetained() throws Exception {
+    EntityChangeFeed feed = new EntityChangeFeed(2);
+    this.installProvider(feed);
+    long start = feed.getLastSequence();
+    publish(feed, 5);
+
+    TestSink sink = stream(null, String.valueOf(start + 1L));
+    OutboundSseEvent event = sink.nextEvent();
+    assertEquals(RESET_EVENT, event.getName());
+    assertEquals(String.valueOf(start + 5L), event.getId());
+    assertEquals(Collections.singletonMap("lastSequence", start + 5L),
+                 event.getData());
+    sink.awaitClosed();
+    assertEquals(0, sink.events.size());
+  }
+
+  @Test
+  public void testSubscribersShareDispatcher() throws Exception {
+    EntityChangeFeed feed = new EntityChangeFeed(100);
+    this.installProvider(feed);
+    long start = feed.getLastSequence();
+
+    // more subscribers than sender threads are all served
+    int count = EntityChangeStreamer.SENDER_COUNT * 3;
+    List<TestSink> sinks = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      sinks.add(stream(null, null));
+    }
+    assertEquals(count,
+                 EntityChangeStreamer.getInstance(feed).getSubscriberCount());
+
+    publish(feed, 2);
+    for (TestSink sink : sinks) {
+      assertEquals(String.valueOf(start + 1L), sink.nextEvent().getId());
+      assertEquals(String.valueOf(start + 2L), sink.nextEvent().getId());
+    }
+
+    // closed sinks are dropped
+    sinks.get(0).proxy.close();
+    assertEquals(count - 1,
+                 EntityChangeStreamer.getInstance(feed).getSubscriberCount());
+  }
+}
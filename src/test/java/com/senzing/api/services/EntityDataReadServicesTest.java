@@ -14,12 +14,18 @@ import org.junit.jupiter.params.provider.MethodSource;
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObjectBuilder;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.io.*;
 import java.util.*;
 
 import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.model.SzHttpMethod.POST;
 import static com.senzing.api.model.SzAttributeClass.*;
 import static com.senzing.util.CollectionUtilities.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -427,6 +433,95 @@ public class EntityDataReadServicesTest extends AbstractServiceTest {
   }
 
 
+  private JsonArray getRecordsData(SzRecordId... recordIds) throws Exception
+  {
+    StringBuilder sb = new StringBuilder("[");
+    String prefix = "";
+    for (SzRecordId recordId : recordIds) {
+      sb.append(prefix).append(recordId);
+      prefix = ",";
+    }
+    sb.append("]");
+
+    String uriText = this.formatServerUri("records/batch");
+    UriInfo uriInfo = this.newProxyUriInfo(uriText);
+    Response response
+        = this.entityDataServices.getRecords(uriInfo, sb.toString());
+    assertEquals(200, response.getStatus());
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(baos);
+    JsonObject jsonObject
+        = JsonUtils.parseJsonObject(baos.toString("UTF-8"));
+    return jsonObject.getJsonArray("data");
+  }
+
+  @Test
+  public void getRecordsTest() {
+    this.performTest(() -> {
+      try {
+        SzRecordId missing = new SzRecordId(PASSENGERS, "ABC123DEF456");
+        SzRecordId[] recordIds = {
+            ABC123, MNO345, missing, STU901, ABC123, GHI789};
+
+        JsonArray data = this.getRecordsData(recordIds);
+
+        // the results keep the requested order including duplicates
+        assertEquals(recordIds.length, data.size());
+        for (int index = 0; index < recordIds.length; index++) {
+          JsonObject result = data.getJsonObject(index);
+          String testInfo = "index=[ " + index + " ], result=[ "
+              + JsonUtils.toJsonText(result) + " ]";
+          assertEquals(recordIds[index].getDataSourceCode(),
+                       result.getString("dataSource"), testInfo);
+          assertEquals(recordIds[index].getRecordId(),
+                       result.getString("recordId"), testInfo);
+
+          if (recordIds[index] == missing) {
+            // a missing record is reported without failing the batch
+            assertEquals(404, result.getInt("httpStatusCode"), testInfo);
+            assertTrue(result.getJsonArray("errors").size() > 0, testInfo);
+            assertFalse(result.containsKey("record")
+                            && !result.isNull("record"), testInfo);
+          } else {
+            assertEquals(200, result.getInt("httpStatusCode"), testInfo);
+            JsonObject record = result.getJsonObject("record");
+            assertEquals(recordIds[index].getDataSourceCode(),
+                         record.getString("dataSource"), testInfo);
+            assertEquals(recordIds[index].getRecordId(),
+                         record.getString("recordId"), testInfo);
+          }
+        }
+
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  @Test
+  public void getRecordsWithEntityIdsTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("records/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+      long before = System.currentTimeMillis();
+      try {
+        this.entityDataServices.getRecords(
+            uriInfo, "[" + ABC123 + ", 1]");
+
+        fail("Expected entity IDs to be rejected in a record batch");
+
+      } catch (BadRequestException expected) {
+        SzErrorResponse response
+            = (SzErrorResponse) expected.getResponse().getEntity();
+        response.concludeTimers();
+        long after = System.currentTimeMillis();
+
+        validateBasics(response, 400, POST, uriText, before, after);
+      }
+    });
+  }
+
   @Test
   public void getRelatedRecordTest() {
     this.performTest(() -> {
@@ -1,5 +1,8 @@
 package com.senzing.api.services;
 
+import com.senzing.api.model.SzBatchLoadMode;
+import com.senzing.api.model.SzBatchLoadResponse;
+import com.senzing.api.model.SzBatchLoadResult;
 import com.senzing.api.model.SzLoadRecordResponse;
 import com.senzing.repomgr.RepositoryManager;
 import com.senzing.util.JsonUtils;
@@ -9,12 +12,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
 import javax.json.Json;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.UriInfo;
 
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.TestInstance.Lifecycle;
 import static com.senzing.api.model.SzHttpMethod.*;
 import static com.senzing.api.services.ResponseValidators.*;
@@ -172,4 +179,122 @@ public class EntityDataWriteServicesTest extends AbstractServiceTest {
 
     });
   }
+
+  private static String batchRecords(String... dataSourceAndRecordIds) {
+    JsonArrayBuilder jab = Json.createArrayBuilder();
+    for (int index = 0; index < dataSourceAndRecordIds.length; index += 2) {
+      JsonObjectBuilder job = Json.createObjectBuilder();
+      job.add("DATA_SOURCE", dataSourceAndRecordIds[index]);
+      job.add("RECORD_ID", dataSourceAndRecordIds[index + 1]);
+      job.add("NAME_FULL", "Batch Person " + (index / 2));
+      job.add("PHONE_NUMBER", "702-555-" + (1000 + index));
+      jab.add(job);
+    }
+    return JsonUtils.toJsonText(jab.build());
+  }
+
+  private boolean isRecordLoaded(String recordId) {
+    String uriText = this.formatServerUri(
+        "data-sources/" + TEST_DATA_SOURCE + "/records/" + recordId);
+    UriInfo uriInfo = this.newProxyUriInfo(uriText);
+    try {
+      this.entityDataServices.getRecord(
+          TEST_DATA_SOURCE, recordId, false, uriInfo);
+      return true;
+    } catch (NotFoundException e) {
+      return false;
+    }
+  }
+
+  private static void validateBatchStatuses(SzBatchLoadResponse response,
+                                            int...              statuses)
+  {
+    List<SzBatchLoadResult> results = response.getData();
+    assertEquals(statuses.length, results.size(),
+                 "Unexpected number of results: " + results);
+    for (int index = 0; index < statuses.length; index++) {
+      SzBatchLoadResult result = results.get(index);
+      assertEquals(statuses[index], result.getHttpStatusCode(),
+                   "Unexpected status for result: " + result);
+      if (statuses[index] == 200) {
+        assertNull(result.getErrors(), "Unexpected errors: " + result);
+      } else {
+        assertTrue(result.getErrors() != null
+                       && result.getErrors().size() > 0,
+                   "Errors not reported: " + result);
+      }
+    }
+  }
+
+  @Test public void postRecordsReportErrorsTest() {
+    this.performTest(() -> {
+      String  uriText = this.formatServerUri("records");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+      String  records = batchRecords(TEST_DATA_SOURCE, "BATCH-RE-1",
+                                     "UNKNOWN_SOURCE", "BATCH-RE-2",
+                                     TEST_DATA_SOURCE, "BATCH-RE-3");
+
+      long before = System.currentTimeMillis();
+      SzBatchLoadResponse response = this.entityDataServices.loadRecords(
+          null, null, SzBatchLoadMode.REPORT_ERRORS, uriInfo, records);
+      response.concludeTimers();
+      long after = System.currentTimeMillis();
+
+      // the valid records are loaded despite the invalid one
+      validateBasics(response, 200, POST, uriText, before, after);
+      validateBatchStatuses(response, 200, 404, 200);
+      assertTrue(this.isRecordLoaded("BATCH-RE-1"));
+      assertTrue(this.isRecordLoaded("BATCH-RE-3"));
+    });
+  }
+
+  @Test public void postRecordsValidateFirstTest() {
+    this.performTest(() -> {
+      String  uriText = this.formatServerUri("records?mode=VALIDATE_FIRST");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+      String  records = batchRecords(TEST_DATA_SOURCE, "BATCH-VF-1",
+                                     "UNKNOWN_SOURCE", "BATCH-VF-2",
+                                     TEST_DATA_SOURCE, "BATCH-VF-3");
+
+      long before = System.currentTimeMillis();
+      try {
+        this.entityDataServices.loadRecords(
+            null, null, SzBatchLoadMode.VALIDATE_FIRST, uriInfo, records);
+
+        fail("Expected the batch to be rejected without loading");
+
+      } catch (BadRequestException expected) {
+        SzBatchLoadResponse response
+            = (SzBatchLoadResponse) expected.getResponse().getEntity();
+        response.concludeTimers();
+        long after = System.currentTimeMillis();
+
+        // nothing is loaded when any record fails validation
+        validateBasics(response, 400, POST, uriText, before, after);
+        validateBatchStatuses(response, 424, 404, 424);
+        assertFalse(this.isRecordLoaded("BATCH-VF-1"));
+        assertFalse(this.isRecordLoaded("BATCH-VF-3"));
+      }
+    });
+  }
+
+  @Test public void postRecordsValidateFirstAllValidTest() {
+    this.performTest(() -> {
+      String  uriText = this.formatServerUri("records?mode=VALIDATE_FIRST");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+      String  records = batchRecords(TEST_DATA_SOURCE, "BATCH-VV-1",
+                                     TEST_DATA_SOURCE, "BATCH-VV-2");
+
+      long before = System.currentTimeMillis();
+      SzBatchLoadResponse response = this.entityDataServices.loadRecords(
+          null, null, SzBatchLoadMode.VALIDATE_FIRST, uriInfo, records);
+      response.concludeTimers();
+      long after = System.currentTimeMillis();
+
+      validateBasics(response, 200, POST, uriText, before, after);
+      validateBatchStatuses(response, 200, 200);
+      assertTrue(this.isRecordLoaded("BATCH-VV-1"));
+      assertTrue(this.isRecordLoaded("BATCH-VV-2"));
+    });
+  }
 }
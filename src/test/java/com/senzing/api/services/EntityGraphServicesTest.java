@@ -4,11 +4,15 @@ import com.senzing.api.model.*;
 import com.senzing.repomgr.RepositoryManager;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import javax.json.JsonObject;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.io.File;
 import java.io.PrintWriter;
@@ -20,9 +24,11 @@ import java.util.*;
 import static com.senzing.api.model.SzFeatureInclusion.NONE;
 import static com.senzing.api.model.SzFeatureInclusion.WITH_DUPLICATES;
 import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.model.SzHttpMethod.POST;
 import static com.senzing.util.CollectionUtilities.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.TestInstance.Lifecycle;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -2002,4 +2008,132 @@ public class EntityGraphServicesTest extends AbstractServiceTest {
     }
   }
 
+  private static void validateBatchPath(JsonObject result,
+                                        long       fromEntityId,
+                                        long       toEntityId)
+  {
+    String testInfo = "result=[ " + result + " ]";
+    assertEquals(200, result.getInt("httpStatusCode"), testInfo);
+    JsonObject entityPath
+        = result.getJsonObject("entityPath").getJsonObject("entityPath");
+    assertEquals(fromEntityId,
+                 entityPath.getJsonNumber("startEntityId").longValue(),
+                 testInfo);
+    assertEquals(toEntityId,
+                 entityPath.getJsonNumber("endEntityId").longValue(),
+                 testInfo);
+  }
+
+  @Test
+  public void postEntityPathsBatchTest() {
+    this.performTest(() -> {
+      long entityId1 = this.getEntityIdForRecordId(ABC123);
+      long entityId2 = this.getEntityIdForRecordId(DEF456);
+      long entityId3 = this.getEntityIdForRecordId(MNO345);
+      long missingEntityId = 999999999L;
+
+      String pairs = "[{\"from\": " + entityId1 + ", \"to\": " + entityId2
+          + "}, {\"from\": " + ABC123 + ", \"to\": " + MNO345
+          + "}, {\"from\": " + entityId1 + ", \"to\": " + missingEntityId
+          + "}]";
+
+      String uriText = this.formatServerUri("entity-paths/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      Response response = this.entityGraphServices.getEntityPaths(
+          DEFAULT_PATH_DEGREES, null, null, false, null, 0, false,
+          WITH_DUPLICATES, false, false, uriInfo, pairs);
+      assertEquals(200, response.getStatus());
+
+      Map<Integer, JsonObject> results
+          = mapBatchResults(readStreamedResponse(response), 3);
+
+      validateBatchPath(results.get(0), entityId1, entityId2);
+      validateBatchPath(results.get(1), entityId1, entityId3);
+
+      // the pair with the unknown entity is reported without failing the
+      // other pairs
+      JsonObject result = results.get(2);
+      assertEquals(String.valueOf(missingEntityId), result.getString("to"));
+      assertEquals(400, result.getInt("httpStatusCode"), "" + result);
+      assertTrue(result.getJsonArray("errors").size() > 0, "" + result);
+    });
+  }
+
+  @Test
+  public void getEntityPathsBatchTest() {
+    this.performTest(() -> {
+      long fromEntityId = this.getEntityIdForRecordId(ABC123);
+      long toEntityId1  = this.getEntityIdForRecordId(GHI789);
+      long toEntityId2  = this.getEntityIdForRecordId(STU901);
+
+      String uriText = this.formatServerUri(
+          "entity-paths/batch?from=" + fromEntityId + "&to=" + toEntityId1
+              + "&toEntities=" + toEntityId2);
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      Response response = this.entityGraphServices.getEntityPaths(
+          String.valueOf(fromEntityId),
+          Collections.singletonList(String.valueOf(toEntityId1)),
+          String.valueOf(toEntityId2),
+          DEFAULT_PATH_DEGREES, null, null, false, null, 0, false,
+          WITH_DUPLICATES, false, false, uriInfo);
+      assertEquals(200, response.getStatus());
+
+      Map<Integer, JsonObject> results
+          = mapBatchResults(readStreamedResponse(response), 2);
+
+      validateBatchPath(results.get(0), fromEntityId, toEntityId1);
+      validateBatchPath(results.get(1), fromEntityId, toEntityId2);
+    });
+  }
+
+  @Test
+  public void getEntityPathsBatchWithoutFromTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("entity-paths/batch?to=1");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+      long before = System.currentTimeMillis();
+      try {
+        this.entityGraphServices.getEntityPaths(
+            null, Collections.singletonList("1"), null,
+            DEFAULT_PATH_DEGREES, null, null, false, null, 0, false,
+            WITH_DUPLICATES, false, false, uriInfo);
+
+        fail("Expected a missing from parameter to be rejected");
+
+      } catch (BadRequestException expected) {
+        SzErrorResponse response
+            = (SzErrorResponse) expected.getResponse().getEntity();
+        response.concludeTimers();
+        long after = System.currentTimeMillis();
+
+        validateBasics(response, 400, GET, uriText, before, after);
+      }
+    });
+  }
+
+  @Test
+  public void postEntityPathsBatchMalformedTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("entity-paths/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+      long before = System.currentTimeMillis();
+      try {
+        this.entityGraphServices.getEntityPaths(
+            DEFAULT_PATH_DEGREES, null, null, false, null, 0, false,
+            WITH_DUPLICATES, false, false, uriInfo, "[{\"from\": 1}]");
+
+        fail("Expected a pair without a to entity to be rejected");
+
+      } catch (BadRequestException expected) {
+        SzErrorResponse response
+            = (SzErrorResponse) expected.getResponse().getEntity();
+        response.concludeTimers();
+        long after = System.currentTimeMillis();
+
+        validateBasics(response, 400, POST, uriText, before, after);
+      }
+    });
+  }
 }
@@ -0,0 +1,363 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzExportFormat;
+import com.senzing.api.model.SzFeatureInclusion;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.AccessToken;
+import com.senzing.util.WorkerThreadPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import java.io.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static com.senzing.api.services.EntityReportStreamer.*;
+import static com.senzing.api.services.ServicesUtilTest.newProxyHeaders;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EntityReportStreamer} and the <tt>GET /entities/export</tt>
+ * endpoint of {@link EntityDataServices}.  The engine and the provider are
+ * proxies that record the calls so the batching, the flushing and the
+ * closing of the export handle can be verified without a repository.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EntityReportStreamerTest {
+  private static final long EXPORT_HANDLE = 42L;
+
+  private static final String SELF_LINK
+      = "http://localhost:8250/entities/export";
+
+  private AccessToken token = null;
+
+  /**
+   * A proxy {@link G2Engine} that exports the specified number of rows and
+   * records the calls made to it.
+   */
+  private static class TestEngine {
+    private final List<String> calls = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private int fetchCount = 0;
+    private boolean fetched = false;
+    private int errorCode = 0;
+    private final G2Engine proxy;
+
+    private TestEngine(int rowCount, long handle, boolean failFetch) {
+      InvocationHandler handler = (p, m, a) -> {
+        switch (m.getName()) {
+          case "exportJSONEntityReport":
+          case "exportCSVEntityReport":
+          case "exportCSVEntityReportV2":
+            this.calls.add(m.getName());
+            if (handle < 0L) this.errorCode = 7;
+            return handle;
+          case "fetchNext":
+            assertEquals(handle, a[0]);
+            this.fetched = true;
+            if (this.fetchCount < rowCount) {
+              this.fetchCount++;
+              return "{\"ENTITY_ID\":" + this.fetchCount + "}";
+            }
+            if (failFetch) this.errorCode = 7;
+            return null;
+          case "getLastExceptionCode":
+            return this.errorCode;
+          case "getLastException":
+            return "Export failed";
+          case "clearLastException":
+            this.errorCode = 0;
+            return null;
+          case "closeExport":
+            assertEquals(handle, a[0]);
+            this.calls.add(m.getName());
+            return null;
+          default:
+            throw new UnsupportedOperationException(
+                "Operation not implemented on proxy G2Engine");
+        }
+      };
+      ClassLoader loader = EntityReportStreamerTest.class.getClassLoader();
+      Class[] classes = {G2Engine.class};
+      this.proxy = (G2Engine) Proxy.newProxyInstance(loader, classes, handler);
+    }
+
+    private long count(String call) {
+      return this.calls.stream().filter(call::equals).count();
+    }
+  }
+
+  /**
+   * An {@link OutputStream} that records the number of bytes written at each
+   * flush.
+   */
+  private static class RecordingOutputStream extends ByteArrayOutputStream {
+    private final List<Integer> flushSizes = new ArrayList<>();
+
+    @Override
+    public void flush() {
+      this.flushSizes.add(this.size());
+    }
+
+    private List<String> lines() {
+      String text = new String(this.toByteArray(), StandardCharsets.UTF_8);
+      return text.isEmpty()
+          ? Collections.emptyList() : Arrays.asList(text.split("\n"));
+    }
+  }
+
+  /**
+   * An {@link OutputStream} that fails every write with an {@link
+   * IOException} as if the client had aborted the request.
+   */
+  private static class AbortedOutputStream extends OutputStream {
+    private int writeCount = 0;
+
+    @Override
+    public void write(int b) throws IOException {
+      this.writeCount++;
+      throw new EOFException("Client aborted");
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length)
+        throws IOException
+    {
+      this.writeCount++;
+      throw new EOFException("Client aborted");
+    }
+  }
+
+  private static SzApiProvider newProxyProvider(TestEngine engine) {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getEngineApi":
+          return engine.proxy;
+        case "executeInThread":
+          int before = engine.fetchCount;
+          engine.fetched = false;
+          try {
+            return ((WorkerThreadPool.Task) a[0]).execute();
+          } finally {
+            if (engine.fetched) {
+              engine.batchSizes.add(engine.fetchCount - before);
+            }
+          }
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy SzApiProvider");
+      }
+    };
+    ClassLoader loader = EntityReportStreamerTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    return (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static UriInfo newProxyUriInfo() {
+    URI uri = URI.create(SELF_LINK);
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getRequestUri")) return uri;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy UriInfo");
+    };
+    ClassLoader loader = EntityReportStreamerTest.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static EntityReportStreamer newStreamer(TestEngine engine,
+                                                  boolean    gzip)
+  {
+    return new EntityReportStreamer(
+        newProxyProvider(engine), SzExportFormat.JSON, null, 0, gzip);
+  }
+
+  private static int rowBytes(int first, int last) {
+    int total = 0;
+    for (int index = first; index <= last; index++) {
+      total += ("{\"ENTITY_ID\":" + index + "}\n").length();
+    }
+    return total;
+  }
+
+  private Response export(TestEngine  engine,
+                          boolean     compress,
+                          String...   acceptEncodings)
+  {
+    this.token = SzApiProvider.Factory.installProvider(
+        newProxyProvider(engine));
+    return new EntityDataServices().exportEntities(
+        SzExportFormat.JSON, null, compress, false,
+        SzFeatureInclusion.WITH_DUPLICATES, false, false, true,
+        newProxyHeaders(acceptEncodings), newProxyUriInfo());
+  }
+
+  @AfterEach
+  public void uninstallProvider() {
+    if (this.token != null) SzApiProvider.Factory.uninstallProvider(token);
+    this.token = null;
+  }
+
+  @Test
+  public void testBatchFetch() throws Exception {
+    TestEngine engine = new TestEngine(2500, EXPORT_HANDLE, false);
+    RecordingOutputStream os = new RecordingOutputStream();
+    newStreamer(engine, false).write(os);
+
+    // the rows are fetched in bounded batches, one engine task per batch
+    assertEquals(List.of(FETCH_BATCH_SIZE, FETCH_BATCH_SIZE, 500),
+                 engine.batchSizes);
+    assertEquals(List.of("exportJSONEntityReport", "closeExport"),
+                 engine.calls);
+
+    List<String> lines = os.lines();
+    assertEquals(2500, lines.size());
+    assertEquals("{\"ENTITY_ID\":1}", lines.get(0));
+    assertEquals("{\"ENTITY_ID\":2500}", lines.get(2499));
+  }
+
+  @Test
+  public void testFlushPerBatch() throws Exception {
+    TestEngine engine = new TestEngine(2500, EXPORT_HANDLE, false);
+    RecordingOutputStream os = new RecordingOutputStream();
+    newStreamer(engine, false).write(os);
+
+    // each batch is flushed to the client before the next is fetched
+    int first = rowBytes(1, FETCH_BATCH_SIZE);
+    int second = first + rowBytes(FETCH_BATCH_SIZE + 1, 2 * FETCH_BATCH_SIZE);
+    int total = rowBytes(1, 2500);
+    assertEquals(List.of(first, second, total), os.flushSizes.subList(0, 3));
+    for (int size : os.flushSizes.subList(3, os.flushSizes.size())) {
+      assertEquals(total, size);
+    }
+  }
+
+  @Test
+  public void testClientAbortClosesExport() {
+    TestEngine engine = new TestEngine(2500, EXPORT_HANDLE, false);
+    AbortedOutputStream os = new AbortedOutputStream();
+    assertThrows(IOException.class,
+                 () -> newStreamer(engine, false).write(os));
+
+    // the export is closed and no further batches are fetched
+    assertEquals(List.of("exportJSONEntityReport", "closeExport"),
+                 engine.calls);
+    assertEquals(List.of(FETCH_BATCH_SIZE), engine.batchSizes);
+    assertTrue(os.writeCount > 0);
+  }
+
+  @Test
+  public void testOpenFailure() {
+    TestEngine engine = new TestEngine(10, -1L, false);
+    RecordingOutputStream os = new RecordingOutputStream();
+    assertThrows(IOException.class,
+                 () -> newStreamer(engine, false).write(os));
+
+    // there is no handle to close
+    assertEquals(0, engine.count("closeExport"));
+    assertEquals(0, os.size());
+  }
+
+  @Test
+  public void testFetchFailureClosesExport() {
+    TestEngine engine = new TestEngine(10, EXPORT_HANDLE, true);
+    RecordingOutputStream os = new RecordingOutputStream();
+    assertThrows(IOException.class,
+                 () -> newStreamer(engine, false).write(os));
+    assertEquals(1, engine.count("closeExport"));
+  }
+
+  @Test
+  public void testGzipOutput() throws Exception {
+    TestEngine engine = new TestEngine(1500, EXPORT_HANDLE, false);
+    RecordingOutputStream os = new RecordingOutputStream();
+    newStreamer(engine, true).write(os);
+
+    byte[] bytes;
+    try (InputStream is = new GZIPInputStream(
+        new ByteArrayInputStream(os.toByteArray())))
+    {
+      bytes = is.readAllBytes();
+    }
+    String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\n");
+    assertEquals(1500, lines.length);
+    assertEquals("{\"ENTITY_ID\":1500}", lines[1499]);
+    assertEquals(1, engine.count("closeExport"));
+  }
+
+  @Test
+  public void testCompressParameter() {
+    TestEngine engine = new TestEngine(0, EXPORT_HANDLE, false);
+
+    Response response = this.export(engine, true, "deflate, gzip");
+    assertEquals("gzip",
+                 response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(HttpHeaders.ACCEPT_ENCODING,
+                 response.getHeaderString(HttpHeaders.VARY));
+    this.uninstallProvider();
+
+    // compression is skipped if not requested or not accepted
+    response = this.export(engine, false, "gzip");
+    assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(HttpHeaders.ACCEPT_ENCODING,
+                 response.getHeaderString(HttpHeaders.VARY));
+    this.uninstallProvider();
+
+    response = this.export(engine, true);
+    assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(MediaType.valueOf("application/x-ndjson; charset=UTF-8"),
+                 response.getMediaType());
+
+    // the export is not opened until the response body is written
+    assertEquals(0, engine.calls.size());
+  }
+
+  @Test
+  public void testCsvColumnsRejectedForJson() {
+    TestEngine engine = new TestEngine(0, EXPORT_HANDLE, false);
+    this.token = SzApiProvider.Factory.installProvider(
+        newProxyProvider(engine));
+    WebApplicationException e = assertThrows(
+        WebApplicationException.class,
+        () -> new EntityDataServices().exportEntities(
+            SzExportFormat.JSON, "RESOLVED_ENTITY_ID", true, false,
+            SzFeatureInclusion.WITH_DUPLICATES, false, false, true,
+            newProxyHeaders(), newProxyUriInfo()));
+
+    // the error is typed as JSON even though the endpoint produces ndjson
+    assertEquals(400, e.getResponse().getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE.getSubtype(),
+                 e.getResponse().getMediaType().getSubtype());
+  }
+
+  @Test
+  public void testProducesMatchesFormats() throws Exception {
+    Method method = null;
+    for (Method m : EntityDataServices.class.getMethods()) {
+      if (m.getName().equals("exportEntities")) method = m;
+    }
+    assertNotNull(method);
+    Set<String> produced = new TreeSet<>();
+    for (String mediaType : method.getAnnotation(Produces.class).value()) {
+      MediaType type = MediaType.valueOf(mediaType);
+      produced.add(type.getType() + "/" + type.getSubtype());
+    }
+    Set<String> expected = new TreeSet<>();
+    for (SzExportFormat format : SzExportFormat.values()) {
+      expected.add(format.getMediaType());
+    }
+    assertEquals(expected, produced);
+  }
+}
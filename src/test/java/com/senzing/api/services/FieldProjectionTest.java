@@ -0,0 +1,289 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.senzing.api.model.*;
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.api.model.SzFeatureInclusion.*;
+import static com.senzing.api.model.SzHttpMethod.GET;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FieldProjection} and {@link FieldProjectionInterceptor}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FieldProjectionTest {
+  private static final String SELF_LINK
+      = "http://localhost:8250/entities/100";
+
+  private static final String ENTITY_JSON
+      = "{\"RESOLVED_ENTITY\": {"
+      + "\"ENTITY_ID\": 100, \"ENTITY_NAME\": \"Joe Schmoe\", "
+      + "\"FEATURES\": {\"NAME\": [{\"FEAT_DESC\": \"Joe Schmoe\", "
+      + "\"LIB_FEAT_ID\": 1, \"UTYPE_CODE\": \"PRIMARY\", "
+      + "\"FEAT_DESC_VALUES\": [{\"FEAT_DESC\": \"Joe Schmoe\", "
+      + "\"LIB_FEAT_ID\": 1}]}]}, "
+      + "\"RECORDS\": [{\"DATA_SOURCE\": \"EMPLOYEES\", \"RECORD_ID\": \"ABC\"}"
+      + "]}, \"RELATED_ENTITIES\": [{\"ENTITY_ID\": 200, "
+      + "\"ENTITY_NAME\": \"Joseph Schmoe\", \"MATCH_LEVEL\": 2, "
+      + "\"MATCH_KEY\": \"+NAME\", \"ERRULE_CODE\": \"SF1\", "
+      + "\"IS_DISCLOSED\": 0, \"IS_AMBIGUOUS\": 0, \"RECORD_SUMMARY\": [{"
+      + "\"DATA_SOURCE\": \"EMPLOYEES\", \"RECORD_COUNT\": 1}]}]}";
+
+  private final ObjectMapper jsonMapper = new ObjectMapper();
+
+  private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+  private static UriInfo newProxyUriInfo(String... fields) {
+    URI uri = URI.create(SELF_LINK);
+    MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
+    if (fields.length > 0) params.put("fields", Arrays.asList(fields));
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getRequestUri":
+          return uri;
+        case "getQueryParameters":
+          return params;
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy UriInfo");
+      }
+    };
+    ClassLoader loader = FieldProjectionTest.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static SzEntityResponse newEntityResponse() {
+    Timers timers = new Timers();
+    timers.start("test");
+    timers.pause("test");
+    SzEntityData entityData = SzEntityData.parseEntityData(
+        null, JsonUtils.parseJsonObject(ENTITY_JSON), f -> "NAME");
+    return new SzEntityResponse(
+        GET, 200, newProxyUriInfo(), timers, entityData);
+  }
+
+  private JsonNode writeJson(FieldProjection projection, Object response)
+    throws IOException
+  {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    projection.write(response, baos, null);
+    return this.jsonMapper.readTree(baos.toByteArray());
+  }
+
+  private static Set<String> fieldNames(JsonNode node) {
+    Set<String> names = new TreeSet<>();
+    node.fieldNames().forEachRemaining(names::add);
+    return names;
+  }
+
+  private static Set<String> set(String... names) {
+    return new TreeSet<>(Arrays.asList(names));
+  }
+
+  /**
+   * Creates a proxy {@link WriterInterceptorContext} for the specified
+   * response that counts the calls to <tt>proceed()</tt>.
+   */
+  private static WriterInterceptorContext newProxyContext(
+      Object                entity,
+      MediaType             mediaType,
+      ByteArrayOutputStream outputStream,
+      AtomicInteger         proceedCount)
+  {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getEntity":
+          return entity;
+        case "getMediaType":
+          return mediaType;
+        case "getOutputStream":
+          return outputStream;
+        case "proceed":
+          proceedCount.incrementAndGet();
+          return null;
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy WriterInterceptorContext");
+      }
+    };
+    ClassLoader loader = FieldProjectionTest.class.getClassLoader();
+    Class[] classes = {WriterInterceptorContext.class};
+    return (WriterInterceptorContext) Proxy.newProxyInstance(
+        loader, classes, handler);
+  }
+
+  private static FieldProjectionInterceptor newInterceptor(String... fields)
+    throws Exception
+  {
+    FieldProjectionInterceptor interceptor = new FieldProjectionInterceptor();
+    Field field = FieldProjectionInterceptor.class.getDeclaredField("uriInfo");
+    field.setAccessible(true);
+    field.set(interceptor, newProxyUriInfo(fields));
+    return interceptor;
+  }
+
+  @Test
+  public void testParse() {
+    FieldProjection projection = FieldProjection.parse(Arrays.asList(
+        "entityName, records", null, "", "relatedEntities,,entityName"));
+    assertEquals(Arrays.asList("entityName", "records", "relatedEntities"),
+                 new ArrayList<>(projection.getFields()));
+    assertFalse(projection.isFeaturesIncluded());
+    assertTrue(projection.isRelatedIncluded());
+    assertEquals(NONE, projection.getFeatureMode(WITH_DUPLICATES));
+
+    projection = FieldProjection.parse(Collections.singletonList("nameData"));
+    assertTrue(projection.isFeaturesIncluded());
+    assertFalse(projection.isRelatedIncluded());
+    assertEquals(REPRESENTATIVE, projection.getFeatureMode(REPRESENTATIVE));
+  }
+
+  @Test
+  public void testParseEmpty() {
+    assertNull(FieldProjection.parse(null));
+    assertNull(FieldProjection.parse(Collections.emptyList()));
+    assertNull(FieldProjection.parse(Arrays.asList(" , ", "")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "foo", "entityName,foo", "EntityName", "records.recordId",
+      "relatedEntities.entityName", "data", "resolvedEntity", "meta.timings"})
+  public void testUnknownField(String fields) {
+    // field names are the entity property names, not nested paths
+    IllegalArgumentException e = assertThrows(
+        IllegalArgumentException.class,
+        () -> FieldProjection.parse(Collections.singletonList(fields)));
+    assertTrue(e.getMessage().contains("Unrecognized field name"),
+               "Unexpected message: " + e.getMessage());
+  }
+
+  @Test
+  public void testNestedProjection() throws IOException {
+    FieldProjection projection = FieldProjection.parse(
+        Collections.singletonList("entityName,relatedEntities"));
+    JsonNode node = this.writeJson(projection, newEntityResponse());
+
+    // the envelope and entity data wrappers are not projected
+    assertEquals(set("data", "links", "meta", "rawData"), fieldNames(node));
+    assertFalse(node.path("meta").has("timings"));
+    assertTrue(node.path("meta").has("httpStatusCode"));
+    assertEquals(SELF_LINK, node.path("links").path("self").asText());
+    assertEquals(set("relatedEntities", "resolvedEntity"),
+                 fieldNames(node.path("data")));
+
+    // the resolved and the nested related entities are both projected
+    JsonNode resolved = node.path("data").path("resolvedEntity");
+    assertEquals(set("entityId", "entityName"), fieldNames(resolved));
+    assertEquals(100, resolved.path("entityId").asLong());
+    JsonNode related = node.path("data").path("relatedEntities");
+    assertEquals(1, related.size());
+    assertEquals(set("entityId", "entityName"), fieldNames(related.get(0)));
+    assertEquals("Joseph Schmoe", related.get(0).path("entityName").asText());
+  }
+
+  @Test
+  public void testRelatedEntitiesOmitted() throws IOException {
+    FieldProjection projection = FieldProjection.parse(
+        Collections.singletonList("records,timings"));
+    JsonNode node = this.writeJson(projection, newEntityResponse());
+
+    assertTrue(node.path("meta").has("timings"));
+    assertEquals(set("resolvedEntity"), fieldNames(node.path("data")));
+    JsonNode resolved = node.path("data").path("resolvedEntity");
+    assertEquals(set("entityId", "records"), fieldNames(resolved));
+    assertEquals("ABC", resolved.path("records").get(0)
+                                .path("recordId").asText());
+  }
+
+  @Test
+  public void testCborProjection() throws IOException {
+    FieldProjection projection = FieldProjection.parse(
+        Collections.singletonList("entityName,nameData,relatedEntities"));
+    SzEntityResponse response = newEntityResponse();
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    projection.write(response, baos, CborResponseWriter.CBOR_FACTORY);
+    JsonNode cbor = this.cborMapper.readTree(baos.toByteArray());
+
+    // the CBOR encoding carries exactly the projected JSON properties
+    assertEquals(this.writeJson(projection, response), cbor);
+    assertEquals(set("entityId", "entityName", "nameData"),
+                 fieldNames(cbor.path("data").path("resolvedEntity")));
+  }
+
+  @Test
+  public void testInterceptorProjectsCbor() throws Exception {
+    SzEntityResponse response = newEntityResponse();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    AtomicInteger proceedCount = new AtomicInteger(0);
+
+    newInterceptor("entityName").aroundWriteTo(newProxyContext(
+        response, CborResponseWriter.APPLICATION_CBOR_TYPE, baos,
+        proceedCount));
+
+    assertEquals(0, proceedCount.get());
+    JsonNode node = this.cborMapper.readTree(baos.toByteArray());
+    assertEquals(set("entityId", "entityName"),
+                 fieldNames(node.path("data").path("resolvedEntity")));
+  }
+
+  @Test
+  public void testInterceptorSkipsRawOnly() throws Exception {
+    SzRawDataResponse response = new SzRawDataResponse(
+        GET, 200, newProxyUriInfo(), new Timers(), ENTITY_JSON);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    AtomicInteger proceedCount = new AtomicInteger(0);
+
+    // the raw engine JSON is written by the normal writer, unprojected
+    newInterceptor("entityName").aroundWriteTo(newProxyContext(
+        response, APPLICATION_JSON_TYPE, baos, proceedCount));
+    assertEquals(1, proceedCount.get());
+    assertEquals(0, baos.size());
+
+    newInterceptor("entityName").aroundWriteTo(newProxyContext(
+        response, CborResponseWriter.APPLICATION_CBOR_TYPE, baos,
+        proceedCount));
+    assertEquals(2, proceedCount.get());
+    assertEquals(0, baos.size());
+  }
+
+  @Test
+  public void testInterceptorWithoutProjection() throws Exception {
+    SzEntityResponse response = newEntityResponse();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    AtomicInteger proceedCount = new AtomicInteger(0);
+
+    // absent and invalid projections fall back to the normal writer
+    newInterceptor().aroundWriteTo(newProxyContext(
+        response, APPLICATION_JSON_TYPE, baos, proceedCount));
+    newInterceptor("foo").aroundWriteTo(newProxyContext(
+        response, APPLICATION_JSON_TYPE, baos, proceedCount));
+    assertEquals(2, proceedCount.get());
+    assertEquals(0, baos.size());
+  }
+}
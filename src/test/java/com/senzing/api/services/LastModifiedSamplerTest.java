@@ -0,0 +1,197 @@
+package com.senzing.api.services;
+
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.g2.engine.Result;
+import com.senzing.util.WorkerThreadPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LastModifiedSampler}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LastModifiedSamplerTest {
+  /**
+   * A {@link LastModifiedSampler} that queues its refreshes so the tests
+   * control when they run and that samples a settable value.
+   */
+  private static class TestSampler extends LastModifiedSampler {
+    private final List<Runnable> pending;
+    private Long value = null;
+    private int sampleCount = 0;
+
+    private TestSampler(long samplePeriod, long maximumAge) {
+      this(new LinkedList<>(), samplePeriod, maximumAge);
+    }
+
+    private TestSampler(List<Runnable> pending,
+                        long           samplePeriod,
+                        long           maximumAge)
+    {
+      super(pending::add, samplePeriod, maximumAge);
+      this.pending = pending;
+    }
+
+    @Override
+    Long sample(SzApiProvider provider) {
+      this.sampleCount++;
+      return this.value;
+    }
+
+    private void runPending() {
+      while (this.pending.size() > 0) {
+        this.pending.remove(0).run();
+      }
+    }
+  }
+
+  @Test
+  public void testFirstRequestDoesNotBlock() {
+    TestSampler sampler = new TestSampler(60000L, 60000L);
+    sampler.value = 1000L;
+
+    assertNull(sampler.getLastModifiedTime(null));
+    assertNull(sampler.getLastModifiedTime(null));
+    assertEquals(1, sampler.pending.size(),
+                 "Only one refresh should be started at a time");
+    assertEquals(0, sampler.sampleCount);
+
+    sampler.runPending();
+    assertEquals(1, sampler.sampleCount);
+    assertEquals(1000L, sampler.getLastModifiedTime(null));
+  }
+
+  @Test
+  public void testValueReusedWithinSamplePeriod() {
+    TestSampler sampler = new TestSampler(60000L, 60000L);
+    sampler.value = 1000L;
+    sampler.getLastModifiedTime(null);
+    sampler.runPending();
+
+    sampler.value = 2000L;
+    for (int index = 0; index < 10; index++) {
+      assertEquals(1000L, sampler.getLastModifiedTime(null));
+    }
+    assertEquals(0, sampler.pending.size());
+    assertEquals(1, sampler.sampleCount);
+  }
+
+  @Test
+  public void testExpiredValueServedWhileRefreshing() {
+    TestSampler sampler = new TestSampler(0L, 60000L);
+    sampler.value = 1000L;
+    sampler.getLastModifiedTime(null);
+    sampler.runPending();
+
+    sampler.value = 2000L;
+    assertEquals(1000L, sampler.getLastModifiedTime(null));
+    assertEquals(1000L, sampler.getLastModifiedTime(null));
+    assertEquals(1, sampler.pending.size());
+
+    sampler.runPending();
+    assertEquals(2000L, sampler.getLastModifiedTime(null));
+  }
+
+  @Test
+  public void testValueNotServedPastMaximumAge() throws Exception {
+    TestSampler sampler = new TestSampler(0L, 50L);
+    sampler.value = 1000L;
+    sampler.getLastModifiedTime(null);
+    sampler.runPending();
+
+    Thread.sleep(100L);
+    assertNull(sampler.getLastModifiedTime(null));
+    assertEquals(1, sampler.pending.size());
+  }
+
+  @Test
+  public void testInvalidate() {
+    TestSampler sampler = new TestSampler(60000L, 60000L);
+    sampler.value = 1000L;
+    sampler.getLastModifiedTime(null);
+    sampler.runPending();
+    assertEquals(1000L, sampler.getLastModifiedTime(null));
+
+    sampler.invalidate();
+    sampler.value = 2000L;
+    assertNull(sampler.getLastModifiedTime(null));
+    sampler.runPending();
+    assertEquals(2000L, sampler.getLastModifiedTime(null));
+  }
+
+  @Test
+  public void testInvalidateDiscardsRefreshInProgress() {
+    TestSampler sampler = new TestSampler(60000L, 60000L);
+    sampler.value = 1000L;
+    assertNull(sampler.getLastModifiedTime(null));
+
+    // the repository is modified after the refresh was started
+    sampler.invalidate();
+    sampler.runPending();
+    assertNull(sampler.getLastModifiedTime(null),
+               "The value sampled before the modification was served");
+
+    sampler.value = 2000L;
+    sampler.runPending();
+    assertEquals(2000L, sampler.getLastModifiedTime(null));
+  }
+
+  @Test
+  public void testFailedSampleIsRetried() {
+    TestSampler sampler = new TestSampler(60000L, 60000L);
+    assertNull(sampler.getLastModifiedTime(null));
+    sampler.runPending();
+    assertNull(sampler.getLastModifiedTime(null));
+    assertEquals(1, sampler.pending.size());
+
+    sampler.value = 1000L;
+    sampler.runPending();
+    assertEquals(1000L, sampler.getLastModifiedTime(null));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSampleUsesWorkerThread() throws Exception {
+    List<String> calls = new LinkedList<>();
+    InvocationHandler engineHandler = (p, m, a) -> {
+      if (m.getName().equals("getRepositoryLastModifiedTime")) {
+        calls.add(m.getName());
+        ((Result<Long>) a[0]).setValue(1234L);
+        return 0;
+      }
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy G2Engine");
+    };
+    ClassLoader loader = LastModifiedSamplerTest.class.getClassLoader();
+    G2Engine engineApi = (G2Engine) Proxy.newProxyInstance(
+        loader, new Class[] {G2Engine.class}, engineHandler);
+
+    InvocationHandler providerHandler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getEngineApi":
+          return engineApi;
+        case "executeInThread":
+          calls.add(m.getName());
+          return ((WorkerThreadPool.Task) a[0]).execute();
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy SzApiProvider");
+      }
+    };
+    SzApiProvider provider = (SzApiProvider) Proxy.newProxyInstance(
+        loader, new Class[] {SzApiProvider.class}, providerHandler);
+
+    LastModifiedSampler sampler
+        = new LastModifiedSampler(Runnable::run, 60000L, 60000L);
+    assertNull(sampler.getLastModifiedTime(provider));
+    assertEquals(1234L, sampler.getLastModifiedTime(provider));
+    assertEquals(Arrays.asList("executeInThread",
+                               "getRepositoryLastModifiedTime"), calls);
+  }
+}
@@ -0,0 +1,186 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.senzing.api.model.*;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.AccessToken;
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+import com.senzing.util.WorkerThreadPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.senzing.api.model.SzFeatureInclusion.WITH_DUPLICATES;
+import static com.senzing.api.model.SzHttpMethod.GET;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the <tt>rawOnly</tt> mode of the record and entity reads in
+ * {@link EntityDataServices}.  The engine is a proxy that returns canned
+ * JSON text so that the response can be compared to the engine output.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RawOnlyServicesTest {
+  private static final String SELF_LINK
+      = "http://localhost:8250/data-sources/CUSTOMERS/records/ABC";
+
+  /**
+   * Engine JSON with irregular whitespace, an unknown field and a number
+   * format that would not survive being parsed and written back out.
+   */
+  private static final String RECORD_JSON
+      = "{ \"DATA_SOURCE\" :\"CUSTOMERS\",  \"RECORD_ID\":\"ABC\","
+      + "\"ENTITY_DATA\":[\"NAME: JOHN SMITH\"],\"OTHER_DATA\":[],"
+      + "\"UNKNOWN_FIELD\":1.50E+2 }";
+
+  private static final String ENTITY_JSON
+      = "{\"RESOLVED_ENTITY\":{\"ENTITY_ID\":123,"
+      + "\"ENTITY_NAME\":\"JOHN SMITH\",\"FEATURES\":{},"
+      + "\"RECORD_SUMMARY\":[{\"DATA_SOURCE\":\"CUSTOMERS\","
+      + "\"RECORD_COUNT\":1}],\"RECORDS\":[{\"DATA_SOURCE\":\"CUSTOMERS\","
+      + "\"RECORD_ID\":\"ABC\",\"ENTITY_DATA\":[\"NAME: JOHN SMITH\"]}]},"
+      + "\"RELATED_ENTITIES\":[],  \"UNKNOWN_FIELD\":1.50E+2}";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private AccessToken token = null;
+
+  private static UriInfo newProxyUriInfo() {
+    URI uri = URI.create(SELF_LINK);
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getRequestUri")) return uri;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy UriInfo");
+    };
+    ClassLoader loader = RawOnlyServicesTest.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static G2Engine newProxyEngine() {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getRecord":
+          ((StringBuffer) a[2]).append(RECORD_JSON);
+          return 0;
+        case "getEntityByEntityIDV2":
+          ((StringBuffer) a[2]).append(ENTITY_JSON);
+          return 0;
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy G2Engine");
+      }
+    };
+    ClassLoader loader = RawOnlyServicesTest.class.getClassLoader();
+    Class[] classes = {G2Engine.class};
+    return (G2Engine) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  @BeforeAll
+  public void installProvider() {
+    G2Engine engineApi = newProxyEngine();
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getEngineApi":
+          return engineApi;
+        case "executeInThread":
+          return ((WorkerThreadPool.Task) a[0]).execute();
+        case "getAttributeClassForFeature":
+          return a[0];
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy SzApiProvider");
+      }
+    };
+    ClassLoader loader = RawOnlyServicesTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    this.token = SzApiProvider.Factory.installProvider(
+        (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler));
+  }
+
+  @AfterAll
+  public void uninstallProvider() {
+    if (this.token != null) SzApiProvider.Factory.uninstallProvider(token);
+    this.token = null;
+  }
+
+  private JsonNode withoutMeta(Object response) throws IOException {
+    ObjectNode node = (ObjectNode) this.objectMapper.readTree(
+        this.objectMapper.writeValueAsBytes(response));
+    assertTrue(node.has("meta"), "Missing meta section: " + node);
+    node.remove("meta");
+    return node;
+  }
+
+  private void assertVerbatim(SzBasicResponse response, String rawData)
+    throws IOException
+  {
+    assertEquals(SzRawDataResponse.class, response.getClass());
+    String json = this.objectMapper.writeValueAsString(response);
+    assertTrue(json.contains("\"rawData\":" + rawData),
+               "Raw data not written verbatim: " + json);
+
+    // only the meta, links and raw data sections are present
+    JsonNode node = this.objectMapper.readTree(json);
+    List<String> names = new ArrayList<>();
+    node.fieldNames().forEachRemaining(names::add);
+    names.sort(null);
+    assertEquals(List.of("links", "meta", "rawData"), names);
+  }
+
+  @Test
+  public void testRecordRawOnly() throws IOException {
+    SzBasicResponse response = new EntityDataServices().getRecord(
+        "customers", "ABC", false, true, newProxyUriInfo());
+    this.assertVerbatim(response, RECORD_JSON);
+  }
+
+  @Test
+  public void testRecordDefault() throws IOException {
+    SzBasicResponse response = new EntityDataServices().getRecord(
+        "customers", "ABC", false, false, newProxyUriInfo());
+
+    SzRecordResponse expected = new SzRecordResponse(
+        GET, 200, newProxyUriInfo(), new Timers(),
+        SzEntityRecord.parseEntityRecord(
+            null, JsonUtils.parseJsonObject(RECORD_JSON)));
+
+    assertEquals(SzRecordResponse.class, response.getClass());
+    assertEquals(this.withoutMeta(expected), this.withoutMeta(response));
+  }
+
+  @Test
+  public void testEntityRawOnly() throws IOException {
+    SzBasicResponse response = new EntityDataServices().getEntityByEntityId(
+        123L, false, true, null, false, false, WITH_DUPLICATES,
+        false, false, newProxyUriInfo());
+    this.assertVerbatim(response, ENTITY_JSON);
+  }
+
+  @Test
+  public void testEntityDefault() throws IOException {
+    SzBasicResponse response = new EntityDataServices().getEntityByEntityId(
+        123L, false, false, null, false, false, WITH_DUPLICATES,
+        false, false, newProxyUriInfo());
+
+    SzEntityData entityData = SzEntityData.parseEntityData(
+        null, JsonUtils.parseJsonObject(ENTITY_JSON), (f) -> f);
+    SzEntityResponse expected = new SzEntityResponse(
+        GET, 200, newProxyUriInfo(), new Timers(), entityData);
+
+    assertEquals(SzEntityResponse.class, response.getClass());
+    assertEquals(this.withoutMeta(expected), this.withoutMeta(response));
+  }
+}
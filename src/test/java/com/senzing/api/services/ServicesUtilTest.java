@@ -0,0 +1,66 @@
+package com.senzing.api.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.ws.rs.core.HttpHeaders;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ServicesUtil}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ServicesUtilTest {
+  static HttpHeaders newProxyHeaders(String... acceptEncodings) {
+    List<String> values = (acceptEncodings.length == 0)
+        ? null : Arrays.asList(acceptEncodings);
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getRequestHeader")) {
+        return HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase((String) a[0])
+            ? values : null;
+      }
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy HttpHeaders");
+    };
+    ClassLoader loader = ServicesUtilTest.class.getClassLoader();
+    Class[] classes = {HttpHeaders.class};
+    return (HttpHeaders) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+      "gzip|true",
+      "GZIP|true",
+      "deflate, gzip|true",
+      "gzip;q=0.5|true",
+      "gzip; q=1.0, br|true",
+      "gzip;q=0|false",
+      "gzip; q=0.0|false",
+      "gzip;q=0.000, deflate|false",
+      "deflate, br|false",
+      "x-gzip|false",
+      "identity|false"
+  })
+  public void testGzipAccepted(String acceptEncoding, boolean expected) {
+    assertEquals(expected, isGzipAccepted(newProxyHeaders(acceptEncoding)),
+                 "Unexpected result for: " + acceptEncoding);
+  }
+
+  @Test
+  public void testGzipAcceptedAcrossHeaderValues() {
+    assertTrue(isGzipAccepted(newProxyHeaders("deflate", "gzip")));
+  }
+
+  @Test
+  public void testGzipNotAcceptedWithoutHeader() {
+    assertFalse(isGzipAccepted(null));
+    assertFalse(isGzipAccepted(newProxyHeaders()));
+  }
+}
@@ -0,0 +1,275 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.senzing.api.model.*;
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+
+import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.services.ServicesUtil.postProcessEntityData;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StreamingEntityNetworkOutput}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StreamingEntityNetworkOutputTest {
+  private static final String SELF_LINK
+      = "http://localhost:8250/entity-networks?e=1&e=2";
+
+  private static final int NETWORK_SIZE = 1000;
+
+  private static final int RECORD_COUNT = 5;
+
+  private static final int RELATED_COUNT = 3;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * An {@link OutputStream} that discards what is written but samples the
+   * used heap once a threshold number of bytes has been written, which is
+   * while the response is midway through being serialized.
+   */
+  private static class SamplingOutputStream extends OutputStream {
+    private final long threshold;
+    private long count = 0L;
+    private long sample = -1L;
+
+    private SamplingOutputStream(long threshold) {
+      this.threshold = threshold;
+    }
+
+    @Override
+    public void write(int b) {
+      this.count(1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      this.count(length);
+    }
+
+    private void count(int length) {
+      this.count += length;
+      if (this.sample < 0L && this.count >= this.threshold) {
+        this.sample = usedHeap();
+      }
+    }
+  }
+
+  private static String entityJson(long entityId) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"ENTITY_ID\":").append(entityId)
+        .append(",\"ENTITY_NAME\":\"JOHN SMITH ").append(entityId)
+        .append("\",\"FEATURES\":{\"NAME\":[{\"FEAT_DESC\":\"JOHN SMITH\",")
+        .append("\"LIB_FEAT_ID\":1,\"UTYPE_CODE\":\"PRIMARY\",")
+        .append("\"FEAT_DESC_VALUES\":[{\"FEAT_DESC\":\"JOHN SMITH\",")
+        .append("\"LIB_FEAT_ID\":1},{\"FEAT_DESC\":\"JON SMITH\",")
+        .append("\"LIB_FEAT_ID\":2}]}]},\"RECORD_SUMMARY\":[{")
+        .append("\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_COUNT\":")
+        .append(RECORD_COUNT).append("}],\"RECORDS\":[");
+    String prefix = "";
+    for (int index = 0; index < RECORD_COUNT; index++) {
+      sb.append(prefix).append("{\"DATA_SOURCE\":\"CUSTOMERS\",")
+          .append("\"RECORD_ID\":\"").append(entityId).append("-")
+          .append(index).append("\",\"ENTITY_DATA\":[\"NAME: JOHN SMITH\"],")
+          .append("\"OTHER_DATA\":[\"LOYALTY: GOLD\"]}");
+      prefix = ",";
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+
+  private static String relatedJson(long entityId) {
+    return "{\"ENTITY_ID\":" + entityId + ",\"ENTITY_NAME\":\"JOHN SMITH\","
+        + "\"MATCH_LEVEL\":2,\"MATCH_KEY\":\"+NAME\",\"ERRULE_CODE\":\"SF1\","
+        + "\"IS_DISCLOSED\":0,\"IS_AMBIGUOUS\":0,\"RECORD_SUMMARY\":[{"
+        + "\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_COUNT\":1}]}";
+  }
+
+  private static String networkJson(int entityCount) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"ENTITY_PATHS\":[{\"START_ENTITY_ID\":1,")
+        .append("\"END_ENTITY_ID\":2,\"ENTITIES\":[1,2]}],\"ENTITIES\":[");
+    for (long entityId = 1; entityId <= entityCount; entityId++) {
+      if (entityId > 1) sb.append(",");
+      sb.append("{\"RESOLVED_ENTITY\":").append(entityJson(entityId))
+          .append(",\"RELATED_ENTITIES\":[");
+      for (int index = 1; index <= RELATED_COUNT; index++) {
+        if (index > 1) sb.append(",");
+        sb.append(relatedJson(((entityId + index - 1) % entityCount) + 1));
+      }
+      sb.append("]}");
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+
+  private static UriInfo newProxyUriInfo() {
+    URI uri = URI.create(SELF_LINK);
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getRequestUri")) return uri;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy UriInfo");
+    };
+    ClassLoader loader
+        = StreamingEntityNetworkOutputTest.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static SzApiProvider newProxyProvider() {
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getAttributeClassForFeature")) return a[0];
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy SzApiProvider");
+    };
+    ClassLoader loader
+        = StreamingEntityNetworkOutputTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    return (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static StreamingEntityNetworkOutput newOutput(
+      String              rawData,
+      boolean             withRaw,
+      SzFeatureInclusion  featureMode)
+  {
+    return new StreamingEntityNetworkOutput(
+        newProxyUriInfo(), new Timers(), rawData, withRaw, false,
+        featureMode, newProxyProvider());
+  }
+
+  /**
+   * Builds the response the way the endpoint did before it was streamed.
+   */
+  private static SzEntityNetworkResponse newBufferedResponse(
+      String              rawData,
+      boolean             withRaw,
+      SzFeatureInclusion  featureMode)
+  {
+    SzEntityNetworkData data = SzEntityNetworkData.parseEntityNetworkData(
+        JsonUtils.parseJsonObject(rawData), (feature) -> feature);
+    data.getEntities().forEach(
+        e -> postProcessEntityData(e, false, featureMode));
+    SzEntityNetworkResponse response = new SzEntityNetworkResponse(
+        GET, 200, newProxyUriInfo(), new Timers(), data);
+    if (withRaw) response.setRawData(rawData);
+    return response;
+  }
+
+  private JsonNode withoutMeta(JsonNode node) {
+    ObjectNode copy = node.deepCopy();
+    copy.remove("meta");
+    return copy;
+  }
+
+  private JsonNode readStreamed(StreamingEntityNetworkOutput output)
+    throws IOException
+  {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    output.write(baos);
+    return this.objectMapper.readTree(baos.toByteArray());
+  }
+
+  private static long usedHeap() {
+    MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    long used = Long.MAX_VALUE;
+    for (int index = 0; index < 3; index++) {
+      System.gc();
+      used = Math.min(used, memoryBean.getHeapMemoryUsage().getUsed());
+    }
+    return used;
+  }
+
+  @ParameterizedTest
+  @EnumSource(SzFeatureInclusion.class)
+  public void testSameShapeAsBufferedResponse(SzFeatureInclusion featureMode)
+    throws IOException
+  {
+    String rawData = networkJson(10);
+    JsonNode streamed
+        = this.readStreamed(newOutput(rawData, false, featureMode));
+    JsonNode buffered = this.objectMapper.readTree(
+        this.objectMapper.writeValueAsBytes(
+            newBufferedResponse(rawData, false, featureMode)));
+
+    assertTrue(streamed.has("meta"), "Missing meta section: " + streamed);
+    assertEquals(this.withoutMeta(buffered), this.withoutMeta(streamed));
+  }
+
+  @Test
+  public void testSameShapeWithRaw() throws IOException {
+    String rawData = networkJson(3);
+    SzFeatureInclusion featureMode = SzFeatureInclusion.WITH_DUPLICATES;
+    JsonNode streamed
+        = this.readStreamed(newOutput(rawData, true, featureMode));
+    JsonNode buffered = this.objectMapper.readTree(
+        this.objectMapper.writeValueAsBytes(
+            newBufferedResponse(rawData, true, featureMode)));
+
+    assertTrue(streamed.has("rawData"), "Missing raw data: " + streamed);
+    assertEquals(this.withoutMeta(buffered), this.withoutMeta(streamed));
+  }
+
+  @Test
+  public void testMissingSections() throws IOException {
+    JsonNode streamed = this.readStreamed(
+        newOutput("{}", false, SzFeatureInclusion.WITH_DUPLICATES));
+    JsonNode data = streamed.path("data");
+    assertTrue(data.path("entityPaths").isArray());
+    assertEquals(0, data.path("entityPaths").size());
+    assertTrue(data.path("entities").isArray());
+    assertEquals(0, data.path("entities").size());
+  }
+
+  @Test
+  public void testRetainedHeapBelowBuffered() throws IOException {
+    String rawData = networkJson(NETWORK_SIZE);
+    SzFeatureInclusion featureMode = SzFeatureInclusion.WITH_DUPLICATES;
+
+    // size the output so the heap is sampled midway through it
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    newOutput(rawData, false, featureMode).write(baos);
+    long threshold = baos.size() / 2;
+    baos = null;
+
+    // the raw data is held by both paths so it is part of the baseline
+    long baseline = usedHeap();
+    SamplingOutputStream streamedOut = new SamplingOutputStream(threshold);
+    newOutput(rawData, false, featureMode).write(streamedOut);
+    long streamedHeap = streamedOut.sample - baseline;
+
+    baseline = usedHeap();
+    SamplingOutputStream bufferedOut = new SamplingOutputStream(threshold);
+    this.objectMapper.writeValue(
+        bufferedOut, newBufferedResponse(rawData, false, featureMode));
+    long bufferedHeap = bufferedOut.sample - baseline;
+
+    System.out.println(
+        "Heap retained midway through a " + NETWORK_SIZE
+            + "-entity network response: streamed=" + streamedHeap
+            + " bytes, buffered=" + bufferedHeap + " bytes");
+
+    // the streamed response holds about one entity rather than all of them
+    assertTrue(streamedHeap < bufferedHeap / 4,
+               "Streamed response retained " + streamedHeap
+                   + " bytes versus " + bufferedHeap + " bytes buffered");
+  }
+}
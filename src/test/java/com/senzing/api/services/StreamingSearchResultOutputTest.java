@@ -0,0 +1,161 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.senzing.api.model.SzFeatureInclusion;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StreamingSearchResultOutput}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StreamingSearchResultOutputTest {
+  private static final String SELF_LINK
+      = "http://localhost:8250/entities?attrs=%7B%7D";
+
+  private static final String RAW_DATA
+      = "{\"SEARCH_STATISTICS\":[{\"CANDIDATE_KEYS\":{}}],"
+      + "\"RESOLVED_ENTITIES\":[" + searchResult(1L, 1) + ","
+      + searchResult(2L, 2) + "," + searchResult(3L, 3) + "]}";
+
+  private final ObjectMapper jsonMapper = new ObjectMapper();
+
+  private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+  private static String searchResult(long entityId, int matchLevel) {
+    return "{\"MATCH_INFO\":{\"MATCH_LEVEL\":" + matchLevel + ","
+        + "\"MATCH_KEY\":\"+NAME\",\"ERRULE_CODE\":\"SF1\"},"
+        + "\"ENTITY\":{\"RESOLVED_ENTITY\":{\"ENTITY_ID\":" + entityId + ","
+        + "\"ENTITY_NAME\":\"JOHN SMITH\",\"FEATURES\":{},\"RECORDS\":[{"
+        + "\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"" + entityId + "\""
+        + "}]}}}";
+  }
+
+  private static UriInfo newProxyUriInfo() {
+    URI uri = URI.create(SELF_LINK);
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getRequestUri")) return uri;
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy UriInfo");
+    };
+    ClassLoader loader = StreamingSearchResultOutputTest.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static SzApiProvider newProxyProvider() {
+    InvocationHandler handler = (p, m, a) -> {
+      if (m.getName().equals("getAttributeClassForFeature")) return a[0];
+      throw new UnsupportedOperationException(
+          "Operation not implemented on proxy SzApiProvider");
+    };
+    ClassLoader loader = StreamingSearchResultOutputTest.class.getClassLoader();
+    Class[] classes = {SzApiProvider.class};
+    return (SzApiProvider) Proxy.newProxyInstance(loader, classes, handler);
+  }
+
+  private static StreamingSearchResultOutput newOutput() {
+    return new StreamingSearchResultOutput(
+        newProxyUriInfo(), new Timers(), RAW_DATA, false,
+        SzFeatureInclusion.WITH_DUPLICATES, true, newProxyProvider());
+  }
+
+  private static void checkValues(List<JsonNode> values) {
+    assertEquals(4, values.size(), "Unexpected values: " + values);
+    for (int index = 0; index < 3; index++) {
+      JsonNode value = values.get(index);
+      assertEquals(index + 1, value.path("entityId").asInt(),
+                   "Unexpected search result: " + value);
+      assertEquals(index + 1, value.path("matchLevel").asInt(),
+                   "Unexpected search result: " + value);
+    }
+    JsonNode last = values.get(3);
+    assertTrue(last.has("meta"), "Missing meta section: " + last);
+    assertEquals(SELF_LINK, last.path("links").path("self").asText());
+    assertFalse(last.has("data"), "Unexpected data section: " + last);
+  }
+
+  private static List<JsonNode> withoutMeta(List<JsonNode> values) {
+    List<JsonNode> result = new ArrayList<>(values.size());
+    for (JsonNode value : values) {
+      JsonNode copy = value.deepCopy();
+      ((ObjectNode) copy).remove("meta");
+      result.add(copy);
+    }
+    return result;
+  }
+
+  @Test
+  public void testNewlineDelimitedJson() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    newOutput().write(baos);
+    String text = baos.toString("UTF-8");
+
+    assertTrue(text.endsWith("\n"), "Missing final newline: " + text);
+    String[] lines = text.substring(0, text.length() - 1).split("\n");
+    List<JsonNode> values = new ArrayList<>(lines.length);
+    for (String line : lines) {
+      values.add(this.jsonMapper.readTree(line));
+    }
+    checkValues(values);
+  }
+
+  @Test
+  public void testCborSequence() throws IOException {
+    CborResponseWriter writer = new CborResponseWriter();
+    StreamingSearchResultOutput output = newOutput();
+    MediaType mediaType = CborResponseWriter.APPLICATION_CBOR_SEQ_TYPE;
+    assertTrue(writer.isWriteable(
+        output.getClass(), output.getClass(), new Annotation[0], mediaType));
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    writer.writeTo(output, output.getClass(), output.getClass(),
+                   new Annotation[0], mediaType, null, baos);
+
+    List<JsonNode> values = new ArrayList<>();
+    try (MappingIterator<JsonNode> iter = this.cborMapper.readerFor(
+        JsonNode.class).readValues(baos.toByteArray()))
+    {
+      while (iter.hasNext()) values.add(iter.next());
+    }
+    checkValues(values);
+
+    // the CBOR sequence has the same values as the newline-delimited JSON
+    ByteArrayOutputStream jsonBaos = new ByteArrayOutputStream();
+    newOutput().write(jsonBaos);
+    List<JsonNode> jsonValues = new ArrayList<>();
+    for (String line : jsonBaos.toString("UTF-8").split("\n")) {
+      jsonValues.add(this.jsonMapper.readTree(line));
+    }
+    assertEquals(withoutMeta(jsonValues), withoutMeta(values));
+  }
+
+  @Test
+  public void testCborSequenceMediaType() {
+    CborResponseWriter writer = new CborResponseWriter();
+    MediaType mediaType = CborResponseWriter.APPLICATION_CBOR_SEQ_TYPE;
+    assertTrue(CborResponseWriter.isCborSequence(mediaType));
+    assertFalse(CborResponseWriter.isCbor(mediaType));
+    assertFalse(CborResponseWriter.isCborSequence(
+        CborResponseWriter.APPLICATION_CBOR_TYPE));
+    assertFalse(writer.isWriteable(
+        String.class, String.class, new Annotation[0], mediaType));
+  }
+}
@@ -4,11 +4,15 @@ import com.senzing.api.model.*;
 import com.senzing.repomgr.RepositoryManager;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import javax.json.JsonObject;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.io.File;
 import java.io.UnsupportedEncodingException;
@@ -18,6 +22,7 @@ import java.util.*;
 import static com.senzing.api.model.SzFeatureInclusion.NONE;
 import static com.senzing.api.model.SzFeatureInclusion.WITH_DUPLICATES;
 import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.model.SzHttpMethod.POST;
 import static com.senzing.api.services.ResponseValidators.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.TestInstance.Lifecycle;
@@ -53,6 +58,8 @@ public class WhyServicesTest extends AbstractServiceTest {
                                                           "GHI123");
   private static final SzRecordId JKL456 = new SzRecordId(VIPS,
                                                           "JKL456");
+  private static final SzRecordId NOT_FOUND_RECORD
+      = new SzRecordId(PASSENGERS, "NOSUCH999");
 
   private static final List<SzRecordId> RECORD_IDS;
 
@@ -1116,4 +1123,135 @@ public class WhyServicesTest extends AbstractServiceTest {
     }
   }
 
+  private static void validateBatchFailure(JsonObject result,
+                                           int        httpStatusCode)
+  {
+    String testInfo = "result=[ " + result + " ]";
+    assertEquals(httpStatusCode, result.getInt("httpStatusCode"), testInfo);
+    assertTrue(result.getJsonArray("errors").size() > 0,
+               "Errors not reported: " + testInfo);
+  }
+
+  private static String pairJson(SzRecordId recordId1, SzRecordId recordId2)
+  {
+    return "{\"dataSource1\": \"" + recordId1.getDataSourceCode()
+        + "\", \"recordId1\": \"" + recordId1.getRecordId()
+        + "\", \"dataSource2\": \"" + recordId2.getDataSourceCode()
+        + "\", \"recordId2\": \"" + recordId2.getRecordId() + "\"}";
+  }
+
+  @Test
+  public void whyRecordsBatchTest() {
+    this.performTest(() -> {
+      SzRecordId[][] pairs = {
+          {ABC123, DEF456},
+          {MNO345, NOT_FOUND_RECORD},
+          {STU901, XYZ234}};
+
+      StringBuilder sb = new StringBuilder("[");
+      String prefix = "";
+      for (SzRecordId[] pair : pairs) {
+        sb.append(prefix).append(pairJson(pair[0], pair[1]));
+        prefix = ", ";
+      }
+      sb.append("]");
+
+      String uriText = this.formatServerUri("why/records/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      Response response = this.whyServices.whyRecordsBatch(
+          false, WITH_DUPLICATES, true, true, false, uriInfo, sb.toString());
+      assertEquals(200, response.getStatus());
+
+      Map<Integer, JsonObject> results
+          = mapBatchResults(readStreamedResponse(response), pairs.length);
+
+      for (int index = 0; index < pairs.length; index++) {
+        JsonObject result = results.get(index);
+        String testInfo = "index=[ " + index + " ], result=[ " + result + " ]";
+        assertEquals(pairs[index][0].getDataSourceCode(),
+                     result.getString("dataSource1"), testInfo);
+        assertEquals(pairs[index][0].getRecordId(),
+                     result.getString("recordId1"), testInfo);
+        assertEquals(pairs[index][1].getDataSourceCode(),
+                     result.getString("dataSource2"), testInfo);
+        assertEquals(pairs[index][1].getRecordId(),
+                     result.getString("recordId2"), testInfo);
+
+        if (pairs[index][1] == NOT_FOUND_RECORD) {
+          // the failed pair is reported without failing the batch
+          validateBatchFailure(result, 404);
+        } else {
+          assertEquals(200, result.getInt("httpStatusCode"), testInfo);
+          assertNotNull(result.getJsonObject("whyResult"), testInfo);
+          assertTrue(result.getJsonArray("entities").size() > 0, testInfo);
+        }
+      }
+    });
+  }
+
+  @Test
+  public void whyRecordsBatchMalformedTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("why/records/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+      long before = System.currentTimeMillis();
+      try {
+        this.whyServices.whyRecordsBatch(
+            false, WITH_DUPLICATES, true, true, false, uriInfo,
+            "[{\"dataSource1\": \"" + PASSENGERS + "\"}]");
+
+        fail("Expected incomplete record pairs to be rejected");
+
+      } catch (BadRequestException expected) {
+        SzErrorResponse response
+            = (SzErrorResponse) expected.getResponse().getEntity();
+        response.concludeTimers();
+        long after = System.currentTimeMillis();
+
+        validateBasics(response, 400, POST, uriText, before, after);
+      }
+    });
+  }
+
+  @Test
+  public void whyEntitiesBatchTest() {
+    this.performTest(() -> {
+      Long entityId = this.getEntityIdForRecordId(GHI789);
+      long missingEntityId = 999999999L;
+
+      String identifiers = "[" + entityId + ", " + JKL012 + ", "
+          + missingEntityId + ", " + NOT_FOUND_RECORD + "]";
+
+      String uriText = this.formatServerUri("why/entities/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      Response response = this.whyServices.whyEntitiesBatch(
+          false, true, true, false, WITH_DUPLICATES, uriInfo, identifiers);
+      assertEquals(200, response.getStatus());
+
+      Map<Integer, JsonObject> results
+          = mapBatchResults(readStreamedResponse(response), 4);
+
+      JsonObject result = results.get(0);
+      assertEquals(200, result.getInt("httpStatusCode"), "" + result);
+      assertEquals(entityId.longValue(),
+                   result.getJsonNumber("entityId").longValue());
+      assertTrue(result.getJsonArray("whyResults").size() > 0, "" + result);
+
+      result = results.get(1);
+      assertEquals(200, result.getInt("httpStatusCode"), "" + result);
+      assertEquals(JKL012.getDataSourceCode(), result.getString("dataSource"));
+      assertEquals(JKL012.getRecordId(), result.getString("recordId"));
+      assertTrue(result.getJsonArray("whyResults").size() > 0, "" + result);
+
+      // the missing entity and record are reported individually
+      validateBatchFailure(results.get(2), 404);
+      assertEquals(missingEntityId,
+                   results.get(2).getJsonNumber("entityId").longValue());
+      validateBatchFailure(results.get(3), 404);
+      assertEquals(NOT_FOUND_RECORD.getRecordId(),
+                   results.get(3).getString("recordId"));
+    });
+  }
 }
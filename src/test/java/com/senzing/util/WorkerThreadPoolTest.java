@@ -0,0 +1,260 @@
+package com.senzing.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkerThreadPool}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class WorkerThreadPoolTest {
+  private static final long TIMEOUT = 10000L;
+
+  /**
+   * Waits for the specified condition to become <tt>true</tt>, failing if it
+   * does not do so within the timeout.
+   */
+  private static void awaitCondition(String message, BooleanSupplier condition)
+      throws InterruptedException
+  {
+    long start = System.currentTimeMillis();
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() - start > TIMEOUT) fail(message);
+      Thread.sleep(10L);
+    }
+  }
+
+  /**
+   * Starts callers that each execute a task on the pool that records the
+   * worker thread and then waits for the specified latch to be released.
+   */
+  private static List<Thread> startCallers(WorkerThreadPool pool,
+                                           int              count,
+                                           CountDownLatch   release,
+                                           List<Thread>     workers,
+                                           List<Exception>  failures)
+  {
+    List<Thread> callers = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      Thread caller = new Thread(() -> {
+        try {
+          pool.execute(() -> {
+            workers.add(Thread.currentThread());
+            release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            return null;
+          });
+        } catch (Exception e) {
+          failures.add(e);
+        }
+      });
+      caller.start();
+      callers.add(caller);
+    }
+    return callers;
+  }
+
+  private static void join(List<Thread> threads) throws InterruptedException {
+    for (Thread thread : threads) {
+      thread.join(TIMEOUT);
+      assertFalse(thread.isAlive(), "Thread did not complete: " + thread);
+    }
+  }
+
+  @Test
+  public void testInvalidSize() {
+    WorkerThreadPool pool = new WorkerThreadPool(2);
+    try {
+      assertThrows(IllegalArgumentException.class, () -> pool.resize(0));
+      assertEquals(2, pool.size());
+    } finally {
+      pool.close(true);
+    }
+    assertThrows(IllegalStateException.class, () -> pool.resize(1));
+  }
+
+  @Test
+  public void testGrowWhileCallersWait() throws Exception {
+    WorkerThreadPool pool = new WorkerThreadPool(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Thread> workers = Collections.synchronizedList(new ArrayList<>());
+    List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+    try {
+      List<Thread> callers = startCallers(pool, 4, release, workers, failures);
+      awaitCondition("Callers did not queue", () -> pool.getQueueLength() == 3);
+      assertEquals(1, pool.getBusyCount());
+
+      // the waiting callers obtain the new threads without a release
+      pool.resize(4);
+      assertEquals(4, pool.size());
+      assertEquals(4, pool.getThreadCount());
+      awaitCondition("Waiting callers were not given the new threads",
+                     () -> workers.size() == 4);
+      assertEquals(0, pool.getQueueLength());
+      assertEquals(4, pool.getBusyCount());
+      assertEquals(4, new HashSet<>(workers).size());
+
+      release.countDown();
+      join(callers);
+      assertEquals(0, failures.size(), "Unexpected failures: " + failures);
+      assertEquals(4L, pool.getTaskCount());
+
+    } finally {
+      release.countDown();
+      pool.close(true);
+    }
+  }
+
+  @Test
+  public void testShrinkRetiresIdleThreads() throws Exception {
+    WorkerThreadPool pool = new WorkerThreadPool(4);
+    try {
+      pool.resize(2);
+      assertEquals(2, pool.size());
+      assertEquals(2, pool.getThreadCount());
+      assertEquals("done", pool.execute(() -> "done"));
+      assertEquals(2, pool.getThreadCount());
+    } finally {
+      pool.close(true);
+    }
+  }
+
+  @Test
+  public void testShrinkWhileBusy() throws Exception {
+    WorkerThreadPool pool = new WorkerThreadPool(4);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Thread> workers = Collections.synchronizedList(new ArrayList<>());
+    List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+    try {
+      List<Thread> callers = startCallers(pool, 4, release, workers, failures);
+      awaitCondition("Tasks did not start", () -> workers.size() == 4);
+
+      // busy threads are not retired until they return
+      pool.resize(1);
+      assertEquals(1, pool.size());
+      assertEquals(4, pool.getThreadCount());
+      assertEquals(4, pool.getBusyCount());
+
+      release.countDown();
+      join(callers);
+      assertEquals(0, failures.size(), "Unexpected failures: " + failures);
+      awaitCondition("Thread count did not converge",
+                     () -> pool.getThreadCount() == 1);
+      assertEquals(0, pool.getBusyCount());
+
+      // the retired threads terminate
+      int aliveCount = 0;
+      for (Thread worker : workers) {
+        worker.join(500L);
+        if (worker.isAlive()) aliveCount++;
+      }
+      assertEquals(1, aliveCount);
+
+      // the remaining thread continues to execute tasks
+      assertEquals("done", pool.execute(() -> "done"));
+      assertEquals(1, pool.getThreadCount());
+
+    } finally {
+      release.countDown();
+      pool.close(true);
+    }
+  }
+
+  @Test
+  public void testPauseDuringPendingShrink() throws Exception {
+    WorkerThreadPool pool = new WorkerThreadPool(3);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Thread> workers = Collections.synchronizedList(new ArrayList<>());
+    List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+    List<AccessToken> tokens = Collections.synchronizedList(new ArrayList<>());
+    try {
+      List<Thread> callers = startCallers(pool, 3, release, workers, failures);
+      awaitCondition("Tasks did not start", () -> workers.size() == 3);
+      pool.resize(1);
+
+      // pausing waits for the busy threads, including those being retired
+      Thread pauser = new Thread(() -> tokens.add(pool.pause()));
+      pauser.start();
+      awaitCondition("Pool was not paused", () -> pool.isPaused());
+      Thread.sleep(100L);
+      assertTrue(pauser.isAlive(), "Pause did not wait for busy threads");
+
+      release.countDown();
+      join(callers);
+      pauser.join(TIMEOUT);
+      assertFalse(pauser.isAlive(), "Pause did not complete");
+      assertEquals(1, tokens.size());
+      assertNotNull(tokens.get(0));
+      assertEquals(1, pool.getThreadCount());
+      assertEquals(0, failures.size(), "Unexpected failures: " + failures);
+
+      // callers wait while paused
+      List<String> results = Collections.synchronizedList(new ArrayList<>());
+      Thread caller = new Thread(() -> results.add(pool.execute(() -> "done")));
+      caller.start();
+      awaitCondition("Caller did not queue", () -> pool.getQueueLength() == 1);
+      assertEquals(0, results.size());
+
+      assertTrue(pool.resume(tokens.get(0)));
+      caller.join(TIMEOUT);
+      assertEquals(Collections.singletonList("done"), results);
+
+    } finally {
+      release.countDown();
+      pool.close(true);
+    }
+  }
+
+  @Test
+  public void testCloseAfterResize() throws Exception {
+    WorkerThreadPool pool = new WorkerThreadPool(2);
+    Set<Thread> workers = Collections.synchronizedSet(new HashSet<>());
+    pool.resize(4);
+    for (int index = 0; index < 20; index++) {
+      pool.execute(() -> workers.add(Thread.currentThread()));
+    }
+    pool.resize(3);
+    pool.execute(() -> workers.add(Thread.currentThread()));
+
+    pool.close(true);
+    assertTrue(pool.isClosed());
+    for (Thread worker : workers) {
+      assertFalse(worker.isAlive(), "Worker still alive: " + worker);
+    }
+    assertThrows(IllegalStateException.class, () -> pool.execute(() -> 1));
+    assertThrows(IllegalStateException.class, () -> pool.resize(2));
+  }
+
+  @Test
+  public void testCloseDuringPendingShrink() throws Exception {
+    WorkerThreadPool pool = new WorkerThreadPool(2);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Thread> workers = Collections.synchronizedList(new ArrayList<>());
+    List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> callers = startCallers(pool, 2, release, workers, failures);
+    awaitCondition("Tasks did not start", () -> workers.size() == 2);
+    pool.resize(1);
+
+    // closing with a join waits for the busy threads to finish their tasks
+    Thread closer = new Thread(() -> pool.close(true));
+    closer.start();
+    awaitCondition("Pool was not closed", () -> pool.isClosed());
+    Thread.sleep(100L);
+    assertTrue(closer.isAlive(), "Close did not wait for busy threads");
+
+    release.countDown();
+    join(callers);
+    closer.join(TIMEOUT);
+    assertFalse(closer.isAlive(), "Close did not complete");
+    assertEquals(0, failures.size(), "Unexpected failures: " + failures);
+    for (Thread worker : workers) {
+      assertFalse(worker.isAlive(), "Worker still alive: " + worker);
+    }
+  }
+}